@@ -0,0 +1,538 @@
+package com.ericyl.excel.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * 行数据映射类生成器
+ * <p>
+ * 编译期为带 @ExcelReader 注解的类生成 {@code 类名_RowMapper}，为带 @ExcelWriter 注解的类生成
+ * {@code 类名_RowWriter}，并写入 META-INF/services，运行时由 RowMappers 自动加载。
+ * 生成的类直接调用构造方法、getter/setter（非 private 字段直接访问），注解配置生成为常量，
+ * 数据转换器从 FormatterRegistry 获取（需要创建时直接调用构造方法），读写过程不再使用反射。
+ * </p>
+ * <p>
+ * 以下情况不生成映射类（编译时输出提示），运行时仍使用反射：
+ * </p>
+ * <ul>
+ * <li>类为抽象类、非静态内部类或在所在包内不可访问</li>
+ * <li>读取时没有可访问的无参构造方法</li>
+ * <li>private 字段没有对应的 getter/setter（Lombok 的 @Data、@Getter、@Setter、@Value 视为存在）</li>
+ * </ul>
+ * <p>
+ * 处理器只按名称引用 excel-plus 中的类，本身不依赖 excel-plus
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+@SupportedAnnotationTypes({ExcelMapperProcessor.EXCEL_READER, ExcelMapperProcessor.EXCEL_WRITER})
+public class ExcelMapperProcessor extends AbstractProcessor {
+
+    static final String EXCEL_READER = "com.ericyl.excel.reader.annotation.ExcelReader";
+    static final String EXCEL_WRITER = "com.ericyl.excel.writer.annotation.ExcelWriter";
+
+    private static final String DEFAULT_READER_FORMATTER = "com.ericyl.excel.reader.formatter.DefaultExcelReaderFormatter";
+    private static final String DEFAULT_WRITER_FORMATTER = "com.ericyl.excel.writer.formatter.DefaultExcelWriterFormatter";
+    private static final String ROW_MAPPER = "com.ericyl.excel.mapper.IRowMapper";
+    private static final String ROW_WRITER = "com.ericyl.excel.mapper.IRowWriter";
+    private static final String MAPPED_FIELD = "com.ericyl.excel.mapper.model.MappedField";
+
+    private static final String LOMBOK = "lombok.";
+
+    private final Set<String> rowMapperSet = new TreeSet<>();
+    private final Set<String> rowWriterSet = new TreeSet<>();
+    private final List<Element> originatingElementList = new ArrayList<>();
+
+    private Elements elements;
+    private Types types;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+
+        if (roundEnv.processingOver()) {
+            writeServices(ROW_MAPPER, rowMapperSet);
+            writeServices(ROW_WRITER, rowWriterSet);
+            return false;
+        }
+
+        Set<TypeElement> typeSet = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD)
+                    typeSet.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+        for (TypeElement type : typeSet) {
+            generate(type, true);
+            generate(type, false);
+        }
+        return false;
+    }
+
+    /**
+     * 生成映射类
+     *
+     * @param type     注解所在的类
+     * @param isReader true 生成 RowMapper，false 生成 RowWriter
+     */
+    private void generate(TypeElement type, boolean isReader) {
+        String annotationName = isReader ? EXCEL_READER : EXCEL_WRITER;
+        List<VariableElement> fieldList = ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+                .filter(field -> getAnnotationMirror(field, annotationName) != null)
+                .collect(Collectors.toList());
+        if (fieldList.isEmpty())
+            return;
+
+        String suffix = isReader ? "_RowMapper" : "_RowWriter";
+        String reason = checkType(type, isReader);
+        if (reason != null) {
+            note(type, suffix, reason);
+            return;
+        }
+
+        String typeName = type.getQualifiedName().toString();
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = getFlatName(type) + suffix;
+
+        StringBuilder constants = new StringBuilder();
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < fieldList.size(); i++) {
+            VariableElement field = fieldList.get(i);
+            String target = "((" + typeName + ") obj)";
+            String accessor = isReader ? getSetter(type, field, target, getValue(field.asType()))
+                    : getGetter(type, field, target);
+            if (accessor == null) {
+                note(type, suffix, "字段 " + field.getSimpleName() + " 没有可访问的" + (isReader ? " setter" : " getter"));
+                return;
+            }
+
+            AnnotationMirror annotationMirror = getAnnotationMirror(field, annotationName);
+            String constantName = (isReader ? "READER_" : "WRITER_") + i;
+            constants.append("    private static final ").append(annotationName).append(' ').append(constantName)
+                    .append(" = ").append(getAnnotation(annotationMirror, "    ")).append(";\n\n");
+
+            fields.append("        list.add(new ").append(MAPPED_FIELD).append("()\n")
+                    .append("                .setName(").append(elements.getConstantExpression(field.getSimpleName().toString())).append(")\n")
+                    .append("                .setType(").append(getClassLiteral(field.asType())).append(")\n");
+            String elementType = getElementType(field.asType());
+            if (elementType != null)
+                fields.append("                .setElementType(").append(elementType).append(")\n");
+            fields.append("                .set").append(isReader ? "Reader(" : "Writer(").append(constantName).append(")\n");
+            String formatter = getFormatter(annotationMirror, isReader, packageElement);
+            if (formatter != null)
+                fields.append("                .set").append(isReader ? "ReaderFormatterFactory(" : "WriterFormatterFactory(")
+                        .append(formatter).append(")\n");
+            if (isReader) {
+                fields.append("                .setSetter((obj, value) -> ").append(accessor).append("));\n");
+                continue;
+            }
+            fields.append("                .setGetter(obj -> ").append(accessor).append(")");
+            // 基本类型的数字字段同时生成不装箱的读取方法
+            switch (field.asType().getKind()) {
+                case BYTE:
+                case SHORT:
+                case INT:
+                case LONG:
+                    fields.append("\n                .setLongGetter(obj -> ").append(accessor).append(")");
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    fields.append("\n                .setDoubleGetter(obj -> ").append(accessor).append(")");
+                    break;
+                default:
+                    break;
+            }
+            fields.append(");\n");
+        }
+
+        StringBuilder source = new StringBuilder();
+        source.append("// Generated by excel-plus-processor, do not edit\n");
+        if (!packageName.isEmpty())
+            source.append("package ").append(packageName).append(";\n\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(className).append(" implements ")
+                .append(isReader ? ROW_MAPPER : ROW_WRITER).append('<').append(typeName).append("> {\n\n")
+                .append(constants)
+                .append("    @Override\n")
+                .append("    public java.lang.Class<").append(typeName).append("> getType() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n");
+        if (isReader) {
+            source.append("    @Override\n")
+                    .append("    public ").append(typeName).append(" newInstance() {\n")
+                    .append("        return new ").append(typeName).append("();\n")
+                    .append("    }\n\n");
+        }
+        source.append("    @Override\n")
+                .append("    public java.util.List<").append(MAPPED_FIELD).append("> getFields() {\n")
+                .append("        java.util.List<").append(MAPPED_FIELD).append("> list = new java.util.ArrayList<>(")
+                .append(fieldList.size()).append(");\n")
+                .append(fields)
+                .append("        return list;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "生成 " + qualifiedName + " 失败: " + e.getMessage(), type);
+            return;
+        }
+        (isReader ? rowMapperSet : rowWriterSet).add(qualifiedName);
+        originatingElementList.add(type);
+    }
+
+    /**
+     * 检查类是否可以生成映射类
+     *
+     * @return 不能生成的原因，可以生成时返回null
+     */
+    private String checkType(TypeElement type, boolean isReader) {
+        if (type.getKind() != ElementKind.CLASS)
+            return "只支持普通类";
+        if (type.getModifiers().contains(Modifier.ABSTRACT))
+            return "抽象类无法创建实例";
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE))
+                return "类不可访问";
+            if (element.getEnclosingElement() instanceof TypeElement && !element.getModifiers().contains(Modifier.STATIC))
+                return "不支持非静态内部类";
+        }
+        if (isReader && !hasNoArgsConstructor(type))
+            return "没有可访问的无参构造方法";
+        return null;
+    }
+
+    /**
+     * 是否有可访问的无参构造方法
+     * <p>
+     * Lombok 与本处理器在同一轮处理，生成的构造方法不一定可见，因此同时根据 Lombok 注解判断
+     * </p>
+     */
+    private boolean hasNoArgsConstructor(TypeElement type) {
+        if (hasAnnotation(type, LOMBOK + "NoArgsConstructor"))
+            return true;
+        boolean isDefault = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (!constructor.getParameters().isEmpty() || constructor.getModifiers().contains(Modifier.PRIVATE))
+                continue;
+            if (elements.getOrigin(constructor) != Elements.Origin.MANDATED)
+                return true;
+            isDefault = true;
+        }
+        if (!isDefault)
+            return false;
+        // 默认构造方法会被 Lombok 生成的构造方法替代
+        if (hasAnnotation(type, LOMBOK + "AllArgsConstructor") || hasAnnotation(type, LOMBOK + "RequiredArgsConstructor")
+                || hasAnnotation(type, LOMBOK + "Value") || hasAnnotation(type, LOMBOK + "Builder")
+                || hasAnnotation(type, LOMBOK + "experimental.SuperBuilder"))
+            return false;
+        if (hasAnnotation(type, LOMBOK + "Data"))
+            return ElementFilter.fieldsIn(type.getEnclosedElements()).stream().noneMatch(field ->
+                    field.getModifiers().contains(Modifier.FINAL) && !field.getModifiers().contains(Modifier.STATIC));
+        return true;
+    }
+
+    /**
+     * 读取字段值的表达式
+     */
+    private String getGetter(TypeElement type, VariableElement field, String target) {
+        String name = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE))
+            return target + "." + name;
+        String methodName;
+        if (field.asType().getKind() == TypeKind.BOOLEAN)
+            methodName = isPrefixed(name) ? name : "is" + capitalize(name);
+        else
+            methodName = "get" + capitalize(name);
+        if (hasMethod(type, methodName, 0) || hasLombok(type, field, "Getter"))
+            return target + "." + methodName + "()";
+        return null;
+    }
+
+    /**
+     * 设置字段值的语句
+     */
+    private String getSetter(TypeElement type, VariableElement field, String target, String value) {
+        if (field.getModifiers().contains(Modifier.FINAL))
+            return null;
+        String name = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE))
+            return target + "." + name + " = " + value;
+        String methodName;
+        if (field.asType().getKind() == TypeKind.BOOLEAN && isPrefixed(name))
+            methodName = "set" + name.substring(2);
+        else
+            methodName = "set" + capitalize(name);
+        if (hasMethod(type, methodName, 1) || hasLombok(type, field, "Setter"))
+            return target + "." + methodName + "(" + value + ")";
+        return null;
+    }
+
+    /**
+     * 是否为 Lombok 风格的 isXxx 布尔字段
+     */
+    private static boolean isPrefixed(String name) {
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static boolean hasMethod(TypeElement type, String name, int parameterCount) {
+        return ElementFilter.methodsIn(type.getEnclosedElements()).stream().anyMatch(method ->
+                method.getSimpleName().contentEquals(name) && method.getParameters().size() == parameterCount
+                        && !method.getModifiers().contains(Modifier.PRIVATE)
+                        && !method.getModifiers().contains(Modifier.STATIC));
+    }
+
+    /**
+     * 是否由 Lombok 生成对应的 getter/setter
+     *
+     * @param kind Getter 或 Setter
+     */
+    private static boolean hasLombok(TypeElement type, VariableElement field, String kind) {
+        if (hasAnnotation(field, LOMBOK + kind) || hasAnnotation(type, LOMBOK + kind) || hasAnnotation(type, LOMBOK + "Data"))
+            return true;
+        return "Getter".equals(kind) && hasAnnotation(type, LOMBOK + "Value");
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        return getAnnotationMirror(element, annotationName) != null;
+    }
+
+    private static AnnotationMirror getAnnotationMirror(Element element, String annotationName) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName))
+                return annotationMirror;
+        }
+        return null;
+    }
+
+    /**
+     * 生成注解的实现（包含默认值），与运行时通过反射获取的注解内容相同
+     */
+    private String getAnnotation(AnnotationMirror annotationMirror, String indent) {
+        TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+        String annotationName = annotationType.getQualifiedName().toString();
+        StringBuilder sb = new StringBuilder();
+        sb.append("new ").append(annotationName).append("() {\n")
+                .append(indent).append("    @Override\n")
+                .append(indent).append("    public java.lang.Class<? extends java.lang.annotation.Annotation> annotationType() {\n")
+                .append(indent).append("        return ").append(annotationName).append(".class;\n")
+                .append(indent).append("    }\n");
+        Map<? extends ExecutableElement, ? extends AnnotationValue> valueMap = elements.getElementValuesWithDefaults(annotationMirror);
+        for (ExecutableElement method : ElementFilter.methodsIn(annotationType.getEnclosedElements())) {
+            AnnotationValue annotationValue = valueMap.get(method);
+            sb.append('\n')
+                    .append(indent).append("    @Override\n")
+                    .append(indent).append("    public ").append(method.getReturnType()).append(' ')
+                    .append(method.getSimpleName()).append("() {\n")
+                    .append(indent).append("        return ")
+                    .append(getValue(annotationValue, method.getReturnType(), indent + "        ")).append(";\n")
+                    .append(indent).append("    }\n");
+        }
+        return sb.append(indent).append('}').toString();
+    }
+
+    /**
+     * 注解值的源码表示
+     */
+    private String getValue(AnnotationValue annotationValue, TypeMirror type, String indent) {
+        Object value = annotationValue.getValue();
+        if (value instanceof TypeMirror)
+            return types.erasure((TypeMirror) value) + ".class";
+        if (value instanceof VariableElement) {
+            VariableElement constant = (VariableElement) value;
+            return ((TypeElement) constant.getEnclosingElement()).getQualifiedName() + "." + constant.getSimpleName();
+        }
+        if (value instanceof AnnotationMirror)
+            return getAnnotation((AnnotationMirror) value, indent);
+        if (value instanceof List) {
+            TypeMirror componentType = ((ArrayType) type).getComponentType();
+            List<String> valueList = new ArrayList<>();
+            for (Object item : (List<?>) value)
+                valueList.add(getValue((AnnotationValue) item, componentType, indent));
+            return "new " + types.erasure(componentType) + "[]{" + String.join(", ", valueList) + "}";
+        }
+        return elements.getConstantExpression(value);
+    }
+
+    /**
+     * 数据转换器的创建方法表达式（直接调用构造方法）
+     * <p>
+     * 映射类只保存创建方法，转换器实例在每次读写时从 FormatterRegistry 获取，
+     * 有状态转换器不会被缓存的映射类固定为第一个线程的实例
+     * </p>
+     *
+     * @return 使用默认转换器或转换器无法直接创建时返回null（运行时由 FormatterRegistry 通过反射创建）
+     */
+    private String getFormatter(AnnotationMirror annotationMirror, boolean isReader, PackageElement packageElement) {
+        String defaultFormatter = isReader ? DEFAULT_READER_FORMATTER : DEFAULT_WRITER_FORMATTER;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(annotationMirror).entrySet()) {
+            if (!entry.getKey().getSimpleName().contentEquals("formatter"))
+                continue;
+            TypeElement formatter = (TypeElement) types.asElement((TypeMirror) entry.getValue().getValue());
+            if (formatter.getQualifiedName().contentEquals(defaultFormatter)
+                    || formatter.getModifiers().contains(Modifier.ABSTRACT))
+                return null;
+            for (Element element = formatter; element instanceof TypeElement; element = element.getEnclosingElement()) {
+                if (!isAccessible(element, packageElement))
+                    return null;
+                if (element.getEnclosingElement() instanceof TypeElement && !element.getModifiers().contains(Modifier.STATIC))
+                    return null;
+            }
+            boolean hasConstructor = ElementFilter.constructorsIn(formatter.getEnclosedElements()).stream()
+                    .anyMatch(constructor -> constructor.getParameters().isEmpty() && isAccessible(constructor, packageElement));
+            if (!hasConstructor)
+                return null;
+            String formatterName = types.erasure(formatter.asType()).toString();
+            return formatterName + "::new";
+        }
+        return null;
+    }
+
+    private boolean isAccessible(Element element, PackageElement packageElement) {
+        if (element.getModifiers().contains(Modifier.PUBLIC))
+            return true;
+        if (element.getModifiers().contains(Modifier.PRIVATE))
+            return false;
+        return elements.getPackageOf(element).equals(packageElement);
+    }
+
+    /**
+     * 集合元素类型的 class 表达式（与反射方式一致，只处理单个非泛型的类型参数）
+     */
+    private String getElementType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED)
+            return null;
+        TypeMirror collection = types.erasure(elements.getTypeElement("java.util.Collection").asType());
+        if (!types.isAssignable(types.erasure(type), collection))
+            return null;
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+        if (typeArguments.size() != 1 || typeArguments.get(0).getKind() != TypeKind.DECLARED
+                || !((DeclaredType) typeArguments.get(0)).getTypeArguments().isEmpty())
+            return null;
+        return types.erasure(typeArguments.get(0)) + ".class";
+    }
+
+    private String getClassLiteral(TypeMirror type) {
+        if (type.getKind().isPrimitive())
+            return type + ".class";
+        return types.erasure(type) + ".class";
+    }
+
+    /**
+     * 生成 setter 的参数表达式
+     * <p>
+     * 与反射 Field.set 一致，基本类型的数字字段接受可拓宽的包装类型（如 Integer 赋值给 long 字段），
+     * 因此通过 Number 转换而不是直接强转为对应的包装类型
+     * </p>
+     */
+    private String getValue(TypeMirror type) {
+        switch (type.getKind()) {
+            case SHORT:
+                return "((java.lang.Number) value).shortValue()";
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return "(value instanceof java.lang.Character ? (java.lang.Character) value : ((java.lang.Number) value)."
+                        + type.getKind().name().toLowerCase(Locale.ROOT) + "Value())";
+            default:
+                return "(" + getCastType(type) + ") value";
+        }
+    }
+
+    private String getCastType(TypeMirror type) {
+        if (type.getKind().isPrimitive())
+            return types.boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        return types.erasure(type).toString();
+    }
+
+    /**
+     * 内部类使用 外部类_内部类 作为名称
+     */
+    private static String getFlatName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name;
+    }
+
+    private void note(TypeElement type, String suffix, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "未生成 " + getFlatName(type) + suffix + "（" + reason + "），运行时将使用反射", type);
+    }
+
+    /**
+     * 写入 META-INF/services 注册文件
+     */
+    private void writeServices(String service, Set<String> classNameSet) {
+        if (classNameSet.isEmpty())
+            return;
+        String resourceName = "META-INF/services/" + service;
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    resourceName, originatingElementList.toArray(new Element[0]));
+            try (Writer writer = resource.openWriter()) {
+                for (String className : classNameSet)
+                    writer.write(className + "\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "生成 " + resourceName + " 失败: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.csv.CsvCell;
+import com.ericyl.excel.csv.CsvTokenizer;
+import com.ericyl.excel.csv.CsvWriter;
+import com.ericyl.excel.csv.model.CsvOptions;
+import com.ericyl.excel.formatter.ConverterRegistry;
+import com.ericyl.excel.mapper.RowMappers;
+import com.ericyl.excel.reader.ExcelReadErrorCollector;
+import com.ericyl.excel.reader.ExcelReaderBatch;
+import com.ericyl.excel.reader.formatter.ExcelConvertException;
+import com.ericyl.excel.reader.formatter.IExcelBulkReaderFormatter;
+import com.ericyl.excel.reader.formatter.IExcelReaderFormatter;
+import com.ericyl.excel.reader.model.ExcelReadResult;
+import com.ericyl.excel.reader.model.FieldCell;
+import com.ericyl.excel.reader.model.HeaderCell;
+import com.ericyl.excel.writer.IExcelWriterListener;
+import com.ericyl.excel.writer.model.ExcelColumn;
+import com.ericyl.excel.writer.model.FieldColumn;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * CSV 读写工具类
+ * <p>
+ * 与 {@link ExcelReaderUtils}、{@link ExcelWriterUtils} 共用同一套注解：
+ * 读取时 @ExcelReader(index/name) 对应 CSV 的列，自定义的 {@link IExcelReaderFormatter} 通过
+ * {@link CsvCell} 适配后直接复用；写入时 @ExcelWriter(name/index) 决定表头和列顺序。
+ * 读写均以流的方式进行，不经过 POI 工作簿，适合与只接收或只提供 CSV/TSV 的系统交换大量数据。
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class CsvUtils {
+
+    /**
+     * 读取列表数据
+     *
+     * @param inputStream 输入流
+     * @param clazz       列表元素类型
+     * @param <T>         泛型类型
+     * @return 数据列表
+     * @see #doList(InputStream, Class, CsvOptions, Consumer)
+     */
+    public static <T> List<T> doList(InputStream inputStream, Class<T> clazz) {
+        return doList(inputStream, clazz, new CsvOptions());
+    }
+
+    /**
+     * 读取列表数据
+     *
+     * @param inputStream 输入流
+     * @param clazz       列表元素类型
+     * @param options     读取配置
+     * @param <T>         泛型类型
+     * @return 数据列表
+     * @see #doList(InputStream, Class, CsvOptions, Consumer)
+     */
+    public static <T> List<T> doList(InputStream inputStream, Class<T> clazz, CsvOptions options) {
+        List<T> list = new ArrayList<>();
+        doList(inputStream, clazz, options, list::add);
+        return list;
+    }
+
+    /**
+     * 逐行读取数据
+     * <p>
+     * 每解析一行即交给 consumer 处理，不保留已读取的数据，适合处理大文件。
+     * 使用 @ExcelReader(name) 时按表头最后一行匹配列；空行和所有字段均为空的行会被跳过。
+     * 未设置转换器的 String、Integer、Long 字段直接从缓冲区解析，其他类型与 Excel 读取的转换规则相同。
+     * 字段使用 {@link IExcelBulkReaderFormatter} 时，每 {@link CsvOptions#getBatchSize()} 行批量转换一次后再交给 consumer
+     * </p>
+     *
+     * @param inputStream 输入流（由调用方负责关闭）
+     * @param clazz       列表元素类型
+     * @param options     读取配置，为空时使用默认配置
+     * @param consumer    数据处理
+     * @param <T>         泛型类型
+     * @throws RuntimeException 当读取失败或数据处理失败时抛出
+     */
+    public static <T> void doList(InputStream inputStream, Class<T> clazz, CsvOptions options, Consumer<T> consumer) {
+        doList(inputStream, clazz, options, consumer, null);
+    }
+
+    /**
+     * 宽松模式读取列表数据
+     * <p>
+     * 字段转换失败时不抛出异常，而是记录行、列、原始值和错误原因，该字段不赋值，继续读取。
+     * 错误数量达到上限后停止读取后续的行
+     * </p>
+     *
+     * @param inputStream 输入流（由调用方负责关闭）
+     * @param clazz       列表元素类型
+     * @param options     读取配置，为空时使用默认配置
+     * @param maxErrors   错误数量上限
+     * @param <T>         泛型类型
+     * @return 数据列表和错误列表
+     * @see ExcelReaderUtils#doListLenient(org.apache.poi.ss.usermodel.Sheet, Class, com.ericyl.excel.reader.IExcelReaderListener, int)
+     */
+    public static <T> ExcelReadResult<T> doListLenient(InputStream inputStream, Class<T> clazz, CsvOptions options,
+                                                       int maxErrors) {
+        ExcelReadErrorCollector errors = new ExcelReadErrorCollector(maxErrors);
+        List<T> list = new ArrayList<>();
+        doList(inputStream, clazz, options, list::add, errors);
+        return errors.toResult(list);
+    }
+
+    /**
+     * 逐行读取数据
+     *
+     * @param errors 错误收集器，为空时转换失败直接抛出异常
+     */
+    private static <T> void doList(InputStream inputStream, Class<T> clazz, CsvOptions options, Consumer<T> consumer,
+                                   ExcelReadErrorCollector errors) {
+        if (inputStream == null)
+            throw new RuntimeException("表格数据不能为空");
+        if (options == null)
+            options = new CsvOptions();
+        if (options.getHeaderNumber() < 0)
+            throw new RuntimeException("表头行数不能小于0");
+
+        CsvTokenizer tokenizer = new CsvTokenizer(Channels.newChannel(inputStream), options);
+        try {
+            // 解析表头
+            List<HeaderCell> headerCellList = null;
+            for (int rowIndex = 0; rowIndex < options.getHeaderNumber(); rowIndex++) {
+                if (!tokenizer.next())
+                    return;
+                if (rowIndex == options.getHeaderNumber() - 1) {
+                    headerCellList = new ArrayList<>();
+                    for (int cellIndex = 0; cellIndex < tokenizer.getFieldCount(); cellIndex++) {
+                        if (tokenizer.getLength(cellIndex) > 0)
+                            headerCellList.add(new HeaderCell(tokenizer.getString(cellIndex), rowIndex, cellIndex, cellIndex));
+                    }
+                }
+            }
+
+            List<FieldCell> fieldCellList = getFieldCells(clazz, headerCellList);
+            Class<?>[] directTypes = getDirectTypes(fieldCellList);
+
+            // 逐行读取数据
+            ExcelReaderBatch<T> batch = new ExcelReaderBatch<>(options.getBatchSize(), obj -> true, consumer, errors);
+            CsvCell cell = new CsvCell();
+            while (tokenizer.next()) {
+                if (errors != null && errors.shouldStop())
+                    break;
+                if (tokenizer.isBlank())
+                    continue;
+                int rowIndex = (int) tokenizer.getRecordNumber() - 1;
+
+                T obj = RowMappers.newInstance(clazz);
+
+                boolean isEmpty = true;
+                for (int i = 0; i < fieldCellList.size(); i++) {
+                    FieldCell fieldCell = fieldCellList.get(i);
+                    int cellIndex = fieldCell.getStartCellIndex();
+                    if (tokenizer.getLength(cellIndex) == 0)
+                        continue;
+                    if (fieldCell.getFormatter() instanceof IExcelBulkReaderFormatter) {
+                        Object key = ((IExcelBulkReaderFormatter<?>) fieldCell.getFormatter())
+                                .getKey(cell.reset(tokenizer, rowIndex, cellIndex));
+                        if (key != null) {
+                            batch.defer(obj, fieldCell, rowIndex, cellIndex, key);
+                            isEmpty = false;
+                        }
+                        continue;
+                    }
+                    Object value;
+                    try {
+                        value = getValue(fieldCell, directTypes[i], tokenizer, cell.reset(tokenizer, rowIndex, cellIndex));
+                    } catch (RuntimeException e) {
+                        if (errors == null)
+                            throw e;
+                        errors.add(rowIndex, cellIndex, fieldCell, cell, e);
+                        continue;
+                    }
+                    if (value != null) {
+                        fieldCell.getField().getSetter().accept(obj, value);
+                        isEmpty = false;
+                    }
+                }
+                if (!isEmpty)
+                    batch.add(obj);
+            }
+            batch.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("文件读取失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 列表数据写入输出流
+     *
+     * @param outputStream 输出流
+     * @param list         数据列表
+     * @param clazz        列表元素类型
+     * @param <T>          元素类型
+     * @see #list2Csv(OutputStream, int, int, Class, IExcelWriterListener, CsvOptions)
+     */
+    public static <T> void list2Csv(OutputStream outputStream, List<T> list, Class<T> clazz) {
+        list2Csv(outputStream, list, clazz, new CsvOptions());
+    }
+
+    /**
+     * 列表数据写入输出流
+     *
+     * @param outputStream 输出流
+     * @param list         数据列表
+     * @param clazz        列表元素类型
+     * @param options      写入配置
+     * @param <T>          元素类型
+     * @see #list2Csv(OutputStream, int, int, Class, IExcelWriterListener, CsvOptions)
+     */
+    public static <T> void list2Csv(OutputStream outputStream, List<T> list, Class<T> clazz, CsvOptions options) {
+        if (CollectionUtils.isEmpty(list))
+            throw new RuntimeException("未查询到需导出的数据");
+        list2Csv(outputStream, 1, list.size(), clazz, (pageNumber, pageSize) -> list, options);
+    }
+
+    /**
+     * 分页方式写入输出流
+     * <p>
+     * 列顺序与 {@link ExcelWriterUtils#list2Excel(OutputStream, int, int, Class, IExcelWriterListener)} 相同，
+     * 表头行数大于0时先写入一行表头（@ExcelWriter(name)，未设置时为空）。
+     * 自定义转换器的结果按原样写入，日期按 @ExcelWriter(dateFormat) 格式化
+     * </p>
+     *
+     * @param outputStream 输出流（由调用方负责关闭）
+     * @param page         总页数
+     * @param pageSize     每页大小
+     * @param clazz        列表元素类型
+     * @param doExcel      数据获取监听器，用于分页获取数据
+     * @param options      写入配置，为空时使用默认配置
+     * @param <T>          元素类型
+     * @throws RuntimeException 当写入失败时抛出
+     */
+    public static <T> void list2Csv(OutputStream outputStream, int page, int pageSize, Class<T> clazz,
+            IExcelWriterListener<List<T>> doExcel, CsvOptions options) {
+        if (options == null)
+            options = new CsvOptions();
+        List<FieldColumn> fieldColumnList = ExcelWriterUtils.getFieldColumns(clazz);
+
+        try (CsvWriter writer = new CsvWriter(outputStream, options)) {
+            // 生成表头
+            if (options.getHeaderNumber() > 0) {
+                for (FieldColumn fieldColumn : fieldColumnList) {
+                    ExcelColumn excelColumn = fieldColumn.getExcelColumn();
+                    writer.writeField(excelColumn.getData() == null ? excelColumn.getKey() : excelColumn.getData());
+                }
+                writer.endRecord();
+            }
+
+            // 分页写入数据
+            for (int pageNumber = 1; pageNumber <= page; pageNumber++) {
+                List<T> list = doExcel.doSomething(pageNumber, pageSize);
+                if (list == null)
+                    continue;
+                for (T obj : list) {
+                    for (FieldColumn fieldColumn : fieldColumnList) {
+                        Object data = fieldColumn.getField().getGetter().apply(obj);
+                        if (data != null && fieldColumn.getFormatter() != null)
+                            data = fieldColumn.getFormatter().format(data);
+                        writer.writeField(data, fieldColumn.getExcelColumn().getDateFormat());
+                    }
+                    writer.endRecord();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解析字段与列的映射关系，只保留能对应到列的字段
+     */
+    private static List<FieldCell> getFieldCells(Class<?> clazz, List<HeaderCell> headerCellList) {
+        List<FieldCell> fieldCellList = ExcelReaderUtils.getFieldCells(clazz, headerCellList).stream()
+                .filter(it -> it.getRowIndex() == null && it.getStartCellIndex() != null && it.getStartCellIndex() != -1)
+                .collect(Collectors.toList());
+        for (FieldCell fieldCell : fieldCellList) {
+            Class<?> typeClazz = fieldCell.getField().getType();
+            if (Map.class.isAssignableFrom(typeClazz) || Collection.class.isAssignableFrom(typeClazz) || typeClazz.isArray())
+                throw new RuntimeException("CSV 暂不支持该数据类型: " + typeClazz.getName());
+            if (typeClazz.isEnum() && fieldCell.getConverter() == null)
+                throw new RuntimeException("枚举类型请自定义转换器");
+        }
+        return fieldCellList;
+    }
+
+    /**
+     * 获取可以直接从分词器读取的字段类型
+     * <p>
+     * 使用内置转换器的 String、Integer、Long 字段（含基本类型）直接从分词器读取，其他字段为空
+     * </p>
+     */
+    private static Class<?>[] getDirectTypes(List<FieldCell> fieldCellList) {
+        Class<?>[] directTypes = new Class<?>[fieldCellList.size()];
+        for (int i = 0; i < fieldCellList.size(); i++) {
+            FieldCell fieldCell = fieldCellList.get(i);
+            Class<?> typeClazz = ClassUtils.primitiveToWrapper(fieldCell.getField().getType());
+            if ((typeClazz.equals(String.class) || typeClazz.equals(Integer.class) || typeClazz.equals(Long.class))
+                    && fieldCell.getFormatter() == null
+                    && ConverterRegistry.isDefaultReaderConverter(typeClazz, fieldCell.getConverter()))
+                directTypes[i] = typeClazz;
+        }
+        return directTypes;
+    }
+
+    /**
+     * 获取字段值
+     * <p>
+     * 可以直接读取的类型从分词器解析，其他情况使用字段的转换器
+     * </p>
+     */
+    private static Object getValue(FieldCell fieldCell, Class<?> directType, CsvTokenizer tokenizer, CsvCell cell) {
+        if (directType != null) {
+            int cellIndex = cell.getColumnIndex();
+            if (directType.equals(String.class))
+                return tokenizer.getString(cellIndex);
+            if (!tokenizer.isInteger(cellIndex))
+                throw new ExcelConvertException("当前数据不是整数，无法转换: " + tokenizer.getString(cellIndex));
+            if (directType.equals(Long.class))
+                return tokenizer.getLong(cellIndex);
+            long value = tokenizer.getLong(cellIndex);
+            if (value != (int) value)
+                throw new ExcelConvertException("当前数据超出取值范围，无法转换: " + tokenizer.getString(cellIndex));
+            return (int) value;
+        }
+        if (fieldCell.getConverter() == null)
+            throw new RuntimeException("暂不支持该数据类型: " + fieldCell.getField().getType().getName());
+        return fieldCell.getConverter().format(cell);
+    }
+
+}
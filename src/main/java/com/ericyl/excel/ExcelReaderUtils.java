@@ -1,27 +1,44 @@
 package com.ericyl.excel;
 
+import com.ericyl.excel.formatter.ConverterRegistry;
+import com.ericyl.excel.formatter.FormatterRegistry;
+import com.ericyl.excel.mapper.RowMappers;
+import com.ericyl.excel.mapper.model.MappedField;
+import com.ericyl.excel.reader.ExcelReadErrorCollector;
+import com.ericyl.excel.reader.ExcelReadPlanCache;
+import com.ericyl.excel.reader.ExcelReaderBatch;
 import com.ericyl.excel.reader.IExcelReaderListener;
+import com.ericyl.excel.reader.common.EmptyRowMode;
 import com.ericyl.excel.reader.annotation.ExcelReader;
 import com.ericyl.excel.reader.formatter.DefaultExcelReaderFormatter;
+import com.ericyl.excel.reader.formatter.IExcelBulkReaderFormatter;
 import com.ericyl.excel.reader.formatter.IExcelReaderFormatter;
-import com.ericyl.excel.reader.formatter.SimpleDateExcelReaderFormatter;
+import com.ericyl.excel.reader.hssf.HssfEventReader;
+import com.ericyl.excel.reader.model.ExcelReadResult;
 import com.ericyl.excel.reader.model.FieldCell;
 import com.ericyl.excel.reader.model.HeaderCell;
+import com.ericyl.excel.reader.xssf.XssfHeaderReader;
 import com.ericyl.excel.util.ObjectUtils;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.input.CloseShieldInputStream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.math.BigDecimal;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -41,14 +58,14 @@ import java.util.stream.Stream;
 public class ExcelReaderUtils {
 
     /**
-     * 坐标正则表达式，用于匹配 Excel 坐标格式（如 A1, B2）
+     * 多行表头连接符
      */
-    private static final Pattern COORDINATE_PATTERN = Pattern.compile("(\\D+)(\\d+)");
+    private static final String HEADER_SEPARATOR = "-";
 
     /**
-     * 多行表头连接符
+     * 流式读取 .xls 或只读取表头时提供给监听器判断表头的行数
      */
-    private static final String HEADER_SEPARATOR = "-";
+    private static final int HEADER_PREVIEW_ROW_NUMBER = 100;
 
     /**
      * 读取单个对象数据
@@ -66,21 +83,15 @@ public class ExcelReaderUtils {
     public static <T> T doIt(Sheet sheet, Class<T> clazz) {
         if (sheet == null)
             throw new RuntimeException("表格数据不能为空");
-        T obj;
-        try {
-            obj = clazz.getDeclaredConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException("创建对象实例失败: " + e.getMessage(), e);
-        }
+        T obj = RowMappers.newInstance(clazz);
 
         List<FieldCell> fieldCellList = getFieldCells(clazz, null, null, null);
 
         for (FieldCell fieldCell : fieldCellList) {
             if (fieldCell.getRowIndex() == -1 || fieldCell.getStartCellIndex() == -1)
                 continue;
-            ObjectUtils.setField(obj, fieldCell.getField(),
-                    getValue(fieldCell.getField().getType(), sheet, fieldCell.getRowIndex(),
-                            fieldCell.getStartCellIndex(), fieldCell.getFormatter()));
+            setField(obj, fieldCell, getValue(fieldCell.getRowIndex(), fieldCell.getStartCellIndex(),
+                    getCell(sheet, fieldCell.getRowIndex(), fieldCell.getStartCellIndex()), fieldCell, null));
         }
 
         return obj;
@@ -92,7 +103,9 @@ public class ExcelReaderUtils {
      * 支持通过以下方式定位数据：
      * 1. 索引方式：@ExcelReader(index = 0)
      * 2. 表头方式：@ExcelReader(name = {"表头1", "表头2"})
-     * 支持多表头和复杂数据类型（数组、集合等）
+     * 支持多表头和复杂数据类型（数组、集合等）。
+     * 字段使用 {@link IExcelBulkReaderFormatter} 时，每 {@link IExcelReaderListener#batchSize()} 行批量转换一次。
+     * 空行按 {@link IExcelReaderListener#emptyRowMode()} 跳过，默认为字段对应的单元格均为空白的行
      * </p>
      *
      * @param sheet   Excel工作表
@@ -103,6 +116,52 @@ public class ExcelReaderUtils {
      * @throws RuntimeException 当表格数据为空或数据处理失败时抛出
      */
     public static <T> List<T> doList(Sheet sheet, Class<T> clazz, IExcelReaderListener doExcel) {
+        return doList(sheet, clazz, doExcel, null);
+    }
+
+    /**
+     * 宽松模式读取列表数据，不限制错误数量
+     *
+     * @param sheet   Excel工作表
+     * @param clazz   列表元素类型
+     * @param doExcel Excel读取监听器
+     * @param <T>     泛型类型
+     * @return 数据列表和错误列表
+     * @see #doListLenient(Sheet, Class, IExcelReaderListener, int)
+     */
+    public static <T> ExcelReadResult<T> doListLenient(Sheet sheet, Class<T> clazz, IExcelReaderListener doExcel) {
+        return doListLenient(sheet, clazz, doExcel, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 宽松模式读取列表数据
+     * <p>
+     * 与 {@link #doList(Sheet, Class, IExcelReaderListener)} 相同，但单元格转换失败时不抛出异常，
+     * 而是记录行、列、原始值和错误原因，该字段不赋值，继续读取，便于一次性修正上传的数据。
+     * 错误数量达到上限后停止读取后续的行。表头、字段定义等配置错误仍然抛出异常
+     * </p>
+     *
+     * @param sheet     Excel工作表
+     * @param clazz     列表元素类型
+     * @param doExcel   Excel读取监听器
+     * @param maxErrors 错误数量上限
+     * @param <T>       泛型类型
+     * @return 数据列表和错误列表
+     * @throws RuntimeException 当表格数据为空或配置错误时抛出
+     */
+    public static <T> ExcelReadResult<T> doListLenient(Sheet sheet, Class<T> clazz, IExcelReaderListener doExcel,
+                                                       int maxErrors) {
+        ExcelReadErrorCollector errors = new ExcelReadErrorCollector(maxErrors);
+        return errors.toResult(doList(sheet, clazz, doExcel, errors));
+    }
+
+    /**
+     * 读取列表数据
+     *
+     * @param errors 错误收集器，为空时转换失败直接抛出异常
+     */
+    private static <T> List<T> doList(Sheet sheet, Class<T> clazz, IExcelReaderListener doExcel,
+                                      ExcelReadErrorCollector errors) {
         if (sheet == null)
             throw new RuntimeException("表格数据不能为空");
 
@@ -126,94 +185,461 @@ public class ExcelReaderUtils {
         List<FieldCell> fieldCellList = getFieldCells(clazz, sheet, startHeaderNumber, endHeaderNumber);
 
         // 逐行读取数据
-        return IntStream.range(endHeaderNumber, sheet.getLastRowNum() + 1).mapToObj(rowIndex -> {
+        List<T> list = new ArrayList<>();
+        EmptyRowMode emptyRowMode = getEmptyRowMode(doExcel);
+        ExcelReaderBatch<T> batch = new ExcelReaderBatch<>(getBatchSize(doExcel), getRowFilter(emptyRowMode), list::add,
+                errors);
+        int maxBlankRows = getMaxBlankRows(doExcel);
+        int blankRowNumber = 0;
+        for (int rowIndex = endHeaderNumber; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
+            if (errors != null && errors.shouldStop())
+                break;
             Row row = sheet.getRow(rowIndex);
-            // 跳过空行
-            if (row == null)
-                return null;
-            // 跳过表尾
-            if (doExcel != null && doExcel.isFooter(row))
-                return null;
+            // 表尾：跳过或结束读取
+            if (row != null && doExcel != null && doExcel.isFooter(row)) {
+                if (doExcel.stopAtFooter())
+                    break;
+                blankRowNumber = 0;
+                continue;
+            }
+            boolean isBlank = row == null
+                    || ((maxBlankRows > 0 || emptyRowMode == EmptyRowMode.BLANK_CELLS)
+                    && isBlankRow(sheet, row, fieldCellList));
+            // 连续空白行达到上限时结束读取
+            blankRowNumber = isBlank ? blankRowNumber + 1 : 0;
+            if (maxBlankRows > 0 && blankRowNumber >= maxBlankRows)
+                break;
+            // 跳过空行和空白行
+            if (row == null || (isBlank && emptyRowMode == EmptyRowMode.BLANK_CELLS))
+                continue;
+            batch.add(getRowObject(sheet, row, clazz, fieldCellList, batch, errors));
+        }
+        batch.flush();
+        return list;
+
+    }
+
+    /**
+     * 读取文件中第一个工作表的列表数据
+     *
+     * @param inputStream 输入流（.xls 或 .xlsx）
+     * @param clazz       列表元素类型
+     * @param doExcel     Excel读取监听器
+     * @param <T>         泛型类型
+     * @return 数据列表
+     * @see #doList(InputStream, int, Class, IExcelReaderListener)
+     */
+    public static <T> List<T> doList(InputStream inputStream, Class<T> clazz, IExcelReaderListener doExcel) {
+        return doList(inputStream, 0, clazz, doExcel);
+    }
+
+    /**
+     * 读取文件中指定工作表的列表数据
+     * <p>
+     * 根据文件头自动识别格式：.xlsx 加载工作簿后按 {@link #doList(Sheet, Class, IExcelReaderListener)} 读取；
+     * .xls 使用事件方式流式读取，不创建完整的 HSSFWorkbook，结果与按工作表读取相同。
+     * </p>
+     * <p>
+     * 流式读取 .xls 时会读取两遍：第一遍获取合并单元格和前 100 行，
+     * 以此调用监听器确定表头并解析表头；第二遍逐行转换数据，每行处理完即释放，
+     * 只有作为合并单元格起点的行会保留到合并区域结束，用于向下填充。
+     * 因此监听器的 startHeaderNumber/endHeaderNumber 只能看到前 100 行，
+     * isFooter 每次只能看到当前行
+     * </p>
+     *
+     * @param inputStream 输入流（.xls 或 .xlsx，由调用方负责关闭）
+     * @param sheetIndex  工作表下标
+     * @param clazz       列表元素类型
+     * @param doExcel     Excel读取监听器
+     * @param <T>         泛型类型
+     * @return 数据列表
+     * @throws RuntimeException 当文件格式不支持、读取失败或数据处理失败时抛出
+     */
+    public static <T> List<T> doList(InputStream inputStream, int sheetIndex, Class<T> clazz,
+                                     IExcelReaderListener doExcel) {
+        return doList(inputStream, sheetIndex, clazz, doExcel, null);
+    }
+
+    /**
+     * 宽松模式读取文件中指定工作表的列表数据
+     *
+     * @param inputStream 输入流（.xls 或 .xlsx，由调用方负责关闭）
+     * @param sheetIndex  工作表下标
+     * @param clazz       列表元素类型
+     * @param doExcel     Excel读取监听器
+     * @param maxErrors   错误数量上限
+     * @param <T>         泛型类型
+     * @return 数据列表和错误列表
+     * @see #doList(InputStream, int, Class, IExcelReaderListener)
+     * @see #doListLenient(Sheet, Class, IExcelReaderListener, int)
+     */
+    public static <T> ExcelReadResult<T> doListLenient(InputStream inputStream, int sheetIndex, Class<T> clazz,
+                                                       IExcelReaderListener doExcel, int maxErrors) {
+        ExcelReadErrorCollector errors = new ExcelReadErrorCollector(maxErrors);
+        return errors.toResult(doList(inputStream, sheetIndex, clazz, doExcel, errors));
+    }
 
-            T obj;
-            try {
-                obj = clazz.getDeclaredConstructor().newInstance();
-            } catch (Exception e) {
-                throw new RuntimeException("创建对象实例失败: " + e.getMessage(), e);
+    /**
+     * 读取文件中指定工作表的列表数据
+     *
+     * @param errors 错误收集器，为空时转换失败直接抛出异常
+     */
+    private static <T> List<T> doList(InputStream inputStream, int sheetIndex, Class<T> clazz,
+                                      IExcelReaderListener doExcel, ExcelReadErrorCollector errors) {
+        if (inputStream == null)
+            throw new RuntimeException("表格数据不能为空");
+        try {
+            InputStream is = FileMagic.prepareToCheckMagic(inputStream);
+            FileMagic fileMagic = FileMagic.valueOf(is);
+            if (fileMagic == FileMagic.OLE2) {
+                try (POIFSFileSystem fileSystem = new POIFSFileSystem(CloseShieldInputStream.wrap(is))) {
+                    return doList(new HssfEventReader(fileSystem, sheetIndex), clazz, doExcel, errors);
+                }
             }
+            if (fileMagic == FileMagic.OOXML) {
+                try (Workbook workbook = WorkbookFactory.create(CloseShieldInputStream.wrap(is))) {
+                    return doList(workbook.getSheetAt(sheetIndex), clazz, doExcel, errors);
+                }
+            }
+            throw new RuntimeException("不支持的文件格式: " + fileMagic);
+        } catch (IOException e) {
+            throw new RuntimeException("文件读取失败: " + e.getMessage(), e);
+        }
+    }
 
-            // 处理每个字段
-            for (FieldCell fieldCell : fieldCellList) {
-                if (fieldCell.getRowIndex() == null && fieldCell.getStartCellIndex() == null)
-                    continue;
-                if (Objects.equals(-1, fieldCell.getRowIndex()) || Objects.equals(-1, fieldCell.getStartCellIndex()))
-                    continue;
+    /**
+     * 流式读取 .xls 的列表数据
+     */
+    private static <T> List<T> doList(HssfEventReader reader, Class<T> clazz, IExcelReaderListener doExcel,
+                                      ExcelReadErrorCollector errors) throws IOException {
+        try (HSSFWorkbook workbook = new HSSFWorkbook()) {
+            // 临时工作表，只存放表头预览或当前处理的行
+            Sheet sheet = workbook.createSheet();
+
+            // 第一遍：合并单元格和表头预览
+            reader.read(sheet, rowIndex -> rowIndex < HEADER_PREVIEW_ROW_NUMBER, row -> {
+            });
+            List<CellRangeAddress> mergedRegionList = new ArrayList<>(reader.getMergedRegions());
+            for (CellRangeAddress mergedRegion : mergedRegionList)
+                sheet.addMergedRegionUnsafe(mergedRegion);
+
+            int startHeaderNumber;
+            int endHeaderNumber;
+            if (doExcel != null) {
+                startHeaderNumber = doExcel.startHeaderNumber(sheet) - 1;
+                endHeaderNumber = doExcel.endHeaderNumber(sheet);
+            } else {
+                startHeaderNumber = 0;
+                endHeaderNumber = 0;
+            }
+            if (startHeaderNumber < 0)
+                throw new RuntimeException("表头开始行数不正确");
+            if (endHeaderNumber < 0)
+                throw new RuntimeException("表头行数不能小于0");
+            if (endHeaderNumber > HEADER_PREVIEW_ROW_NUMBER)
+                throw new RuntimeException("表头行数不能超过" + HEADER_PREVIEW_ROW_NUMBER);
+
+            List<FieldCell> fieldCellList = getFieldCells(clazz, sheet, startHeaderNumber, endHeaderNumber);
+            List<Row> previewRowList = new ArrayList<>();
+            sheet.forEach(previewRowList::add);
+            previewRowList.forEach(sheet::removeRow);
+
+            // 合并单元格起点所在行需保留到的行下标
+            Map<Integer, Integer> retainMap = new HashMap<>();
+            for (CellRangeAddress mergedRegion : mergedRegionList) {
+                if (mergedRegion.getLastRow() > mergedRegion.getFirstRow())
+                    retainMap.merge(mergedRegion.getFirstRow(), mergedRegion.getLastRow(), Math::max);
+            }
 
-                Class<?> typeClazz = fieldCell.getField().getType();
-
-                // 根据字段类型进行不同的处理
-                if (Map.class.isAssignableFrom(typeClazz)) {
-                    throw new RuntimeException("暂不支持Map类型");
-                } else if (typeClazz.isEnum()) {
-                    // 枚举类型处理
-                    if (fieldCell.getFormatter() == null)
-                        throw new RuntimeException("枚举类型请自定义转换器");
-                    if (!Objects.equals(fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex()))
-                        throw new RuntimeException("枚举类型不支持多列");
-                    Cell cell = row.getCell(fieldCell.getStartCellIndex());
-                    if (cell == null)
-                        continue;
-                    Object enumValue = fieldCell.getFormatter().format(cell);
-                    ObjectUtils.setField(obj, fieldCell.getField(), enumValue);
-                } else if (typeClazz.isArray()) {
-                    // 数组类型处理
-                    Class<?> componentType = typeClazz.getComponentType();
-                    List<Object> list = IntStream.range(fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex() + 1)
-                            .mapToObj(cellIndex -> getValue(componentType, sheet, rowIndex, cellIndex, fieldCell.getFormatter())).collect(Collectors.toList());
-
-                    // 创建并填充数组
-                    Object array = Array.newInstance(componentType, list.size());
-                    for (int i = 0; i < list.size(); i++) {
-                        Array.set(array, i, list.get(i));
-                    }
-                    ObjectUtils.setField(obj, fieldCell.getField(), array);
-                } else if (Collection.class.isAssignableFrom(typeClazz)) {
-                    // 集合类型处理
-                    Type genericType = fieldCell.getField().getGenericType();
-                    if (!(genericType instanceof ParameterizedType)) {
-                        throw new RuntimeException("集合类型必须指定泛型参数");
-                    }
+            // 第二遍：逐行转换，结束读取时中止事件处理
+            List<T> list = new ArrayList<>();
+            EmptyRowMode emptyRowMode = getEmptyRowMode(doExcel);
+            ExcelReaderBatch<T> batch = new ExcelReaderBatch<>(getBatchSize(doExcel), getRowFilter(emptyRowMode), list::add,
+                    errors);
+            int maxBlankRows = getMaxBlankRows(doExcel);
+            // 下一个数据行的行下标、连续空白行数
+            int[] rowState = {endHeaderNumber, 0};
+            List<Row> retainedRowList = new ArrayList<>();
+            reader.read(sheet, rowIndex -> true, row -> {
+                int rowIndex = row.getRowNum();
+                retainedRowList.removeIf(retainedRow -> {
+                    if (retainMap.get(retainedRow.getRowNum()) >= rowIndex)
+                        return false;
+                    sheet.removeRow(retainedRow);
+                    return true;
+                });
+
+                if (rowIndex >= endHeaderNumber)
+                    processRow(reader, sheet, row, clazz, fieldCellList, batch, errors, doExcel, emptyRowMode,
+                            maxBlankRows, rowState);
+
+                if (retainMap.containsKey(rowIndex))
+                    retainedRowList.add(row);
+                else
+                    sheet.removeRow(row);
+            });
+            batch.flush();
+            return list;
+        }
+    }
 
-                    ParameterizedType parameterizedType = (ParameterizedType) genericType;
-                    Type[] types = parameterizedType.getActualTypeArguments();
-                    if (types.length != 1)
-                        throw new RuntimeException("集合类型参数错误");
-                    Class<?> typeClass = (Class<?>) types[0];
-
-                    Stream<Object> stream = IntStream
-                            .range(fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex() + 1)
-                            .mapToObj(cellIndex -> getValue(typeClass, sheet, rowIndex, cellIndex, fieldCell.getFormatter()));
-
-                    // 使用 Class 判断而不是 instanceof
-                    if (List.class.isAssignableFrom(typeClazz)) {
-                        ObjectUtils.setField(obj, fieldCell.getField(), stream.collect(Collectors.toList()));
-                    } else if (Set.class.isAssignableFrom(typeClazz)) {
-                        ObjectUtils.setField(obj, fieldCell.getField(), stream.collect(Collectors.toSet()));
-                    } else {
-                        throw new RuntimeException("暂不支持该集合类型: " + typeClazz.getName());
-                    }
+    /**
+     * 流式读取时处理一个数据行
+     * <p>
+     * 事件方式只回调存在的行，两行之间缺少的行计为空白行；需要结束读取时中止事件处理
+     * </p>
+     */
+    private static <T> void processRow(HssfEventReader reader, Sheet sheet, Row row, Class<T> clazz,
+                                       List<FieldCell> fieldCellList, ExcelReaderBatch<T> batch,
+                                       ExcelReadErrorCollector errors, IExcelReaderListener doExcel,
+                                       EmptyRowMode emptyRowMode, int maxBlankRows, int[] rowState) {
+        int rowIndex = row.getRowNum();
+        int blankRowNumber = rowState[1] + rowIndex - rowState[0];
+        rowState[0] = rowIndex + 1;
+        if ((errors != null && errors.shouldStop()) || (maxBlankRows > 0 && blankRowNumber >= maxBlankRows)) {
+            reader.stop();
+            return;
+        }
+        // 表尾：跳过或结束读取
+        if (doExcel != null && doExcel.isFooter(row)) {
+            if (doExcel.stopAtFooter())
+                reader.stop();
+            rowState[1] = 0;
+            return;
+        }
+        boolean isBlank = (maxBlankRows > 0 || emptyRowMode == EmptyRowMode.BLANK_CELLS)
+                && isBlankRow(sheet, row, fieldCellList);
+        // 连续空白行达到上限时结束读取
+        rowState[1] = isBlank ? blankRowNumber + 1 : 0;
+        if (maxBlankRows > 0 && rowState[1] >= maxBlankRows) {
+            reader.stop();
+            return;
+        }
+        if (isBlank && emptyRowMode == EmptyRowMode.BLANK_CELLS)
+            return;
+        batch.add(getRowObject(sheet, row, clazz, fieldCellList, batch, errors));
+    }
+
+    /**
+     * 将一行数据转换为对象
+     * <p>
+     * 单元格为空时按合并单元格取值（合并单元格的第一个单元格所在行需仍在工作表中）。
+     * 单列字段的转换器为 {@link IExcelBulkReaderFormatter} 时只收集键，由批次统一转换后赋值
+     * </p>
+     *
+     * @param sheet         Excel工作表
+     * @param row           数据行
+     * @param clazz         目标类型
+     * @param fieldCellList 字段单元格映射列表
+     * @param batch         批量读取缓冲区
+     * @param errors        错误收集器，为空时转换失败直接抛出异常
+     * @param <T>           泛型类型
+     * @return 对象实例
+     */
+    private static <T> T getRowObject(Sheet sheet, Row row, Class<T> clazz, List<FieldCell> fieldCellList,
+                                      ExcelReaderBatch<T> batch, ExcelReadErrorCollector errors) {
+        int rowIndex = row.getRowNum();
+        T obj = RowMappers.newInstance(clazz);
+
+        // 处理每个字段
+        for (FieldCell fieldCell : fieldCellList) {
+            if (fieldCell.getRowIndex() == null && fieldCell.getStartCellIndex() == null)
+                continue;
+            if (Objects.equals(-1, fieldCell.getRowIndex()) || Objects.equals(-1, fieldCell.getStartCellIndex()))
+                continue;
+
+            Class<?> typeClazz = fieldCell.getField().getType();
+
+            // 根据字段类型进行不同的处理
+            if (Map.class.isAssignableFrom(typeClazz)) {
+                throw new RuntimeException("暂不支持Map类型");
+            } else if (typeClazz.isEnum()) {
+                // 枚举类型处理
+                if (fieldCell.getConverter() == null)
+                    throw new RuntimeException("枚举类型请自定义转换器");
+                if (!Objects.equals(fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex()))
+                    throw new RuntimeException("枚举类型不支持多列");
+                Cell cell = row.getCell(fieldCell.getStartCellIndex());
+                if (cell == null)
+                    continue;
+                if (fieldCell.getFormatter() instanceof IExcelBulkReaderFormatter) {
+                    defer(batch, obj, fieldCell, cell);
+                    continue;
+                }
+                Object enumValue = getValue(rowIndex, fieldCell.getStartCellIndex(), cell, fieldCell, errors);
+                setField(obj, fieldCell, enumValue);
+            } else if (typeClazz.isArray()) {
+                // 数组类型处理
+                Class<?> componentType = typeClazz.getComponentType();
+                List<Object> list = IntStream.range(fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex() + 1)
+                        .mapToObj(cellIndex -> getValue(rowIndex, cellIndex, getCell(sheet, rowIndex, cellIndex),
+                                fieldCell, errors)).collect(Collectors.toList());
+
+                // 创建并填充数组
+                Object array = Array.newInstance(componentType, list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    Array.set(array, i, list.get(i));
+                }
+                setField(obj, fieldCell, array);
+            } else if (Collection.class.isAssignableFrom(typeClazz)) {
+                // 集合类型处理
+                Class<?> typeClass = fieldCell.getField().getElementType();
+                if (typeClass == null)
+                    throw new RuntimeException("集合类型必须指定泛型参数");
+
+                Stream<Object> stream = IntStream
+                        .range(fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex() + 1)
+                        .mapToObj(cellIndex -> getValue(rowIndex, cellIndex, getCell(sheet, rowIndex, cellIndex),
+                                fieldCell, errors));
+
+                // 使用 Class 判断而不是 instanceof
+                if (List.class.isAssignableFrom(typeClazz)) {
+                    setField(obj, fieldCell, stream.collect(Collectors.toList()));
+                } else if (Set.class.isAssignableFrom(typeClazz)) {
+                    setField(obj, fieldCell, stream.collect(Collectors.toSet()));
                 } else {
-                    // 普通类型处理
-                    if (!Objects.equals(fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex()))
-                        throw new RuntimeException("该数据类型不支持多列");
-                    ObjectUtils.setField(obj, fieldCell.getField(),
-                            getValue(typeClazz, sheet, rowIndex, fieldCell.getStartCellIndex(),
-                                    fieldCell.getFormatter()));
+                    throw new RuntimeException("暂不支持该集合类型: " + typeClazz.getName());
+                }
+            } else {
+                // 普通类型处理
+                if (!Objects.equals(fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex()))
+                    throw new RuntimeException("该数据类型不支持多列");
+                if (fieldCell.getFormatter() instanceof IExcelBulkReaderFormatter) {
+                    defer(batch, obj, fieldCell, getCell(sheet, rowIndex, fieldCell.getStartCellIndex()));
+                    continue;
                 }
+                setField(obj, fieldCell,
+                        getValue(rowIndex, fieldCell.getStartCellIndex(),
+                                getCell(sheet, rowIndex, fieldCell.getStartCellIndex()), fieldCell, errors));
             }
-            return obj;
-        }).filter(ObjectUtils::isNotEmpty).collect(Collectors.toList());
+        }
+        return obj;
+    }
+
+    /**
+     * 使用字段的转换器转换单元格，有错误收集器时记录转换错误并返回空
+     */
+    private static Object getValue(int rowIndex, int cellIndex, Cell cell, FieldCell fieldCell,
+                                   ExcelReadErrorCollector errors) {
+        if (cell == null)
+            return null;
+        IExcelReaderFormatter<?> converter = fieldCell.getConverter();
+        if (converter == null)
+            throw new RuntimeException("暂不支持该数据类型: " + getValueType(fieldCell.getField()).getName());
+        if (errors == null)
+            return converter.format(cell);
+        try {
+            return converter.format(cell);
+        } catch (RuntimeException e) {
+            errors.add(rowIndex, cellIndex, fieldCell, cell, e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取字段值的类型，数组、集合为元素类型
+     */
+    private static Class<?> getValueType(MappedField field) {
+        Class<?> typeClazz = field.getType();
+        if (typeClazz.isArray())
+            return typeClazz.getComponentType();
+        if (Collection.class.isAssignableFrom(typeClazz))
+            return field.getElementType();
+        return typeClazz;
+    }
+
+    /**
+     * 收集批量转换的键，键为空时不设置
+     */
+    private static <T> void defer(ExcelReaderBatch<T> batch, T obj, FieldCell fieldCell, Cell cell) {
+        if (cell == null)
+            return;
+        Object key = ((IExcelBulkReaderFormatter<?>) fieldCell.getFormatter()).getKey(cell);
+        if (key != null)
+            batch.defer(obj, fieldCell, cell.getRowIndex(), cell.getColumnIndex(), key);
+    }
+
+    /**
+     * 获取空行判断方式
+     */
+    private static EmptyRowMode getEmptyRowMode(IExcelReaderListener doExcel) {
+        return doExcel == null ? EmptyRowMode.BLANK_CELLS : doExcel.emptyRowMode();
+    }
+
+    /**
+     * 获取连续空白行数上限
+     */
+    private static int getMaxBlankRows(IExcelReaderListener doExcel) {
+        return doExcel == null ? 0 : doExcel.maxBlankRows();
+    }
 
+    /**
+     * 获取转换后的数据行过滤条件
+     */
+    private static <T> Predicate<T> getRowFilter(EmptyRowMode emptyRowMode) {
+        return emptyRowMode == EmptyRowMode.EMPTY_OBJECT ? ObjectUtils::isNotEmpty : obj -> true;
+    }
+
+    /**
+     * 判断数据行中字段对应的单元格是否均为空白
+     * <p>
+     * 只判断单元格类型，不转换数据；空白单元格在合并单元格范围内时按合并单元格的第一个单元格判断
+     * </p>
+     *
+     * @param sheet         Excel工作表
+     * @param row           数据行
+     * @param fieldCellList 字段单元格映射列表
+     * @return 均为空白时返回true
+     */
+    private static boolean isBlankRow(Sheet sheet, Row row, List<FieldCell> fieldCellList) {
+        int rowIndex = row.getRowNum();
+        for (FieldCell fieldCell : fieldCellList) {
+            if (fieldCell.getRowIndex() != null || fieldCell.getStartCellIndex() == null
+                    || fieldCell.getStartCellIndex() == -1)
+                continue;
+            if (!isBlankCells(sheet, row, rowIndex, fieldCell.getStartCellIndex(), fieldCell.getEndCellIndex()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 判断数据行中指定范围的单元格是否均为空白
+     */
+    private static boolean isBlankCells(Sheet sheet, Row row, int rowIndex, int startCellIndex, int endCellIndex) {
+        for (int cellIndex = startCellIndex; cellIndex <= endCellIndex; cellIndex++) {
+            if (!isBlankCell(row.getCell(cellIndex)))
+                return false;
+            if (sheet.getNumMergedRegions() > 0 && !isBlankCell(getCell(sheet, rowIndex, cellIndex)))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 判断单元格是否为空白（无单元格、空白类型或空字符串）
+     */
+    private static boolean isBlankCell(Cell cell) {
+        if (cell == null)
+            return true;
+        CellType cellType = cell.getCellType();
+        return cellType == CellType.BLANK
+                || (cellType == CellType.STRING && cell.getStringCellValue().isEmpty());
+    }
+
+    /**
+     * 获取每批行数
+     */
+    private static int getBatchSize(IExcelReaderListener doExcel) {
+        return doExcel == null ? ExcelReaderBatch.DEFAULT_BATCH_SIZE : doExcel.batchSize();
+    }
+
+    /**
+     * 设置字段值，值为空时不设置
+     */
+    private static void setField(Object obj, FieldCell fieldCell, Object value) {
+        if (value != null)
+            fieldCell.getField().getSetter().accept(obj, value);
     }
 
     /**
@@ -285,6 +711,77 @@ public class ExcelReaderUtils {
         return finalHeaderCellList;
     }
 
+    /**
+     * 获取文件中每个工作表的表头信息
+     * <p>
+     * 不创建完整的工作簿，每个工作表只读取前 {@value #HEADER_PREVIEW_ROW_NUMBER} 行和其中的合并单元格，
+     * 用于按表头识别上传文件的类型。.xlsx 读取到指定行数即停止解析工作表数据，共享字符串只解析到用到的位置；
+     * 合并单元格位于工作表数据之后，仍需扫描一遍工作表的剩余内容。
+     * 监听器判断表头时只能看到这些行，表头行数不能超过 {@value #HEADER_PREVIEW_ROW_NUMBER}
+     * </p>
+     *
+     * @param file     .xls 或 .xlsx 文件
+     * @param isSingle 是否将多行表头合并为单行
+     * @param doExcel  Excel读取监听器
+     * @return 工作表名称与表头单元格列表的映射（按工作表顺序）
+     * @see #getHeaders(Sheet, boolean, IExcelReaderListener)
+     */
+    public static Map<String, List<HeaderCell>> getHeaders(File file, boolean isSingle, IExcelReaderListener doExcel) {
+        if (file == null)
+            throw new RuntimeException("表格数据不能为空");
+        try {
+            FileMagic fileMagic = FileMagic.valueOf(file);
+            if (fileMagic == FileMagic.OLE2) {
+                try (POIFSFileSystem fileSystem = new POIFSFileSystem(file, true);
+                     HSSFWorkbook workbook = new HSSFWorkbook()) {
+                    readHeaderRows(fileSystem, workbook);
+                    return getHeaders(workbook, isSingle, doExcel);
+                }
+            }
+            if (fileMagic == FileMagic.OOXML) {
+                OPCPackage opcPackage = OPCPackage.open(file, PackageAccess.READ);
+                try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                    new XssfHeaderReader(opcPackage).read(workbook, HEADER_PREVIEW_ROW_NUMBER);
+                    return getHeaders(workbook, isSingle, doExcel);
+                } finally {
+                    // 只读打开的文件不能 close（会尝试保存），使用 revert 释放
+                    opcPackage.revert();
+                }
+            }
+            throw new RuntimeException("不支持的文件格式: " + fileMagic);
+        } catch (IOException | InvalidFormatException e) {
+            throw new RuntimeException("文件读取失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 把 .xls 每个工作表的表头预览行和合并单元格写入临时工作簿（只读取一遍文件）
+     */
+    private static void readHeaderRows(POIFSFileSystem fileSystem, Workbook workbook) throws IOException {
+        HssfEventReader reader = new HssfEventReader(fileSystem, 0);
+        reader.readAll(sheetIndex -> workbook.createSheet(reader.getSheetNames().get(sheetIndex)),
+                rowIndex -> rowIndex < HEADER_PREVIEW_ROW_NUMBER, sheet -> {
+                    for (CellRangeAddress mergedRegion : reader.getMergedRegions()) {
+                        if (mergedRegion.getFirstRow() < HEADER_PREVIEW_ROW_NUMBER)
+                            sheet.addMergedRegionUnsafe(mergedRegion);
+                    }
+                });
+    }
+
+    /**
+     * 获取临时工作簿中每个工作表的表头信息
+     */
+    private static Map<String, List<HeaderCell>> getHeaders(Workbook workbook, boolean isSingle,
+                                                            IExcelReaderListener doExcel) {
+        Map<String, List<HeaderCell>> headerMap = new LinkedHashMap<>();
+        for (Sheet sheet : workbook) {
+            if (doExcel != null && doExcel.endHeaderNumber(sheet) > HEADER_PREVIEW_ROW_NUMBER)
+                throw new RuntimeException("表头行数不能超过" + HEADER_PREVIEW_ROW_NUMBER);
+            headerMap.put(sheet.getSheetName(), getHeaders(sheet, isSingle, doExcel));
+        }
+        return headerMap;
+    }
+
     /**
      * 读取数据为Map格式
      * <p>
@@ -317,26 +814,7 @@ public class ExcelReaderUtils {
             throw new RuntimeException("表头行数不能小于0");
 
         // 逐行读取数据到Map
-        return IntStream.range(headerNumber, sheet.getLastRowNum() + 1).mapToObj(rowIndex -> {
-            Row row = sheet.getRow(rowIndex);
-            if (doExcel != null && doExcel.isFooter(row))
-                return null;
-
-            Map<String, Object> map = new LinkedHashMap<>();
-            for (HeaderCell headerCell : headerCellList) {
-                Object obj;
-                if (headerCell.getStartCellIndex() == headerCell.getEndCellIndex()) {
-                    // 单列数据
-                    obj = getCellValueWithMergedRegion(sheet, rowIndex, headerCell.getStartCellIndex());
-                } else {
-                    // 多列数据，返回列表
-                    obj = IntStream.range(headerCell.getStartCellIndex(), headerCell.getEndCellIndex() + 1)
-                            .mapToObj(cellIndex -> getCellValueWithMergedRegion(sheet, rowIndex, cellIndex)).collect(Collectors.toList());
-                }
-                map.put(headerCell.getCellValue().toString(), obj);
-            }
-            return map;
-        }).collect(Collectors.toList());
+        return getRowMaps(sheet, headerCellList, headerNumber, doExcel);
     }
 
     /**
@@ -369,30 +847,73 @@ public class ExcelReaderUtils {
         if (headerNumber < 0)
             throw new RuntimeException("表头行数不能小于0");
 
-        return IntStream.range(headerNumber, sheet.getLastRowNum() + 1).mapToObj(rowIndex -> {
+        return getRowMaps(sheet, headerCellList, headerNumber, doExcel);
+    }
+
+    /**
+     * 逐行读取数据到Map
+     * <p>
+     * 表尾行对应的元素为空；{@link IExcelReaderListener#stopAtFooter()} 为true时在第一个表尾行结束读取。
+     * 连续空白行达到 {@link IExcelReaderListener#maxBlankRows()} 时结束读取，这些空白行不返回
+     * </p>
+     *
+     * @param sheet          Excel工作表
+     * @param headerCellList 表头单元格列表（已按列排序）
+     * @param headerNumber   表头行数
+     * @param doExcel        Excel读取监听器
+     * @return Map格式的数据列表
+     */
+    private static List<Map<String, Object>> getRowMaps(Sheet sheet, List<HeaderCell> headerCellList, int headerNumber,
+                                                        IExcelReaderListener doExcel) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        int maxBlankRows = getMaxBlankRows(doExcel);
+        int blankRowNumber = 0;
+        for (int rowIndex = headerNumber; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
             Row row = sheet.getRow(rowIndex);
-            if (doExcel != null && doExcel.isFooter(row))
-                return null;
+            if (doExcel != null && doExcel.isFooter(row)) {
+                if (doExcel.stopAtFooter())
+                    break;
+                list.add(null);
+                blankRowNumber = 0;
+                continue;
+            }
+            if (maxBlankRows > 0) {
+                int finalRowIndex = rowIndex;
+                boolean isBlank = row == null || headerCellList.stream().allMatch(headerCell ->
+                        isBlankCells(sheet, row, finalRowIndex, headerCell.getStartCellIndex(), headerCell.getEndCellIndex()));
+                blankRowNumber = isBlank ? blankRowNumber + 1 : 0;
+                // 连续空白行达到上限时结束读取，并去掉之前已读取的空白行
+                if (blankRowNumber >= maxBlankRows) {
+                    list.subList(list.size() - (blankRowNumber - 1), list.size()).clear();
+                    break;
+                }
+            }
 
             Map<String, Object> map = new LinkedHashMap<>();
             for (HeaderCell headerCell : headerCellList) {
                 Object obj;
+                int finalRowIndex = rowIndex;
                 if (headerCell.getStartCellIndex() == headerCell.getEndCellIndex()) {
+                    // 单列数据
                     obj = getCellValueWithMergedRegion(sheet, rowIndex, headerCell.getStartCellIndex());
                 } else {
+                    // 多列数据，返回列表
                     obj = IntStream.range(headerCell.getStartCellIndex(), headerCell.getEndCellIndex() + 1)
-                            .mapToObj(cellIndex -> getCellValueWithMergedRegion(sheet, rowIndex, cellIndex)).collect(Collectors.toList());
+                            .mapToObj(cellIndex -> getCellValueWithMergedRegion(sheet, finalRowIndex, cellIndex)).collect(Collectors.toList());
                 }
                 map.put(headerCell.getCellValue().toString(), obj);
             }
-            return map;
-        }).collect(Collectors.toList());
+            list.add(map);
+        }
+        return list;
     }
 
     /**
      * 解析字段与单元格的映射关系
      * <p>
-     * 根据 @ExcelReader 注解配置，建立字段与Excel单元格的对应关系
+     * 根据 @ExcelReader 注解配置，建立字段与Excel单元格的对应关系。
+     * 有表头名称方式定位的字段时，按表头布局从 {@link ExcelReadPlanCache} 获取已匹配的列下标，
+     * 相同布局的表格不再重复解析表头和匹配表头名称
      * </p>
      *
      * @param clazz             目标类
@@ -403,25 +924,65 @@ public class ExcelReaderUtils {
      */
     private static List<FieldCell> getFieldCells(Class<?> clazz, Sheet sheet, Integer startHeaderNumber,
                                                  Integer endHeaderNumber) {
-        Field[] fields = clazz.getDeclaredFields();
-        return Arrays.stream(fields).map(field -> {
+        if (sheet == null)
+            return getFieldCells(clazz, null, null);
+        // 不按表头名称定位时不需要解析表头
+        if (!hasHeaderNames(clazz))
+            return getFieldCells(clazz, Collections.emptyList(), null);
+
+        List<CellRangeAddress> mergedRegionList = sheet.getMergedRegions().stream()
+                .filter(it -> it.getFirstRow() <= endHeaderNumber).collect(Collectors.toList());
+        List<Object> fingerprint = getHeaderFingerprint(sheet, startHeaderNumber, endHeaderNumber, mergedRegionList);
+        Integer[][] cellIndexes = ExcelReadPlanCache.get(clazz, fingerprint, () -> getCellIndexes(getFieldCells(clazz,
+                getHeaderCellList(sheet, startHeaderNumber, endHeaderNumber, mergedRegionList), null)));
+        return getFieldCells(clazz, null, cellIndexes);
+    }
+
+    /**
+     * 根据已解析的表头解析字段与列的映射关系
+     * <p>
+     * 供不依赖 {@link Sheet} 的读取方式（如 CSV）使用，表头列表本身作为布局指纹，
+     * 相同表头的文件不再重复匹配表头名称
+     * </p>
+     *
+     * @param clazz          目标类
+     * @param headerCellList 表头单元格列表（为空时无法使用表头名称方式定位）
+     * @return 字段单元格映射列表
+     */
+    static List<FieldCell> getFieldCells(Class<?> clazz, List<HeaderCell> headerCellList) {
+        if (headerCellList == null || !hasHeaderNames(clazz))
+            return getFieldCells(clazz, headerCellList, null);
+        List<Object> fingerprint = new ArrayList<>(headerCellList);
+        Integer[][] cellIndexes = ExcelReadPlanCache.get(clazz, fingerprint,
+                () -> getCellIndexes(getFieldCells(clazz, headerCellList, null)));
+        return getFieldCells(clazz, null, cellIndexes);
+    }
+
+    /**
+     * 解析字段与列的映射关系
+     *
+     * @param clazz          目标类
+     * @param headerCellList 表头单元格列表（为空时无法使用表头名称方式定位）
+     * @param cellIndexes    读取计划中各字段的列下标，不为空时不再匹配表头名称
+     * @return 字段单元格映射列表
+     */
+    private static List<FieldCell> getFieldCells(Class<?> clazz, List<HeaderCell> headerCellList,
+                                                 Integer[][] cellIndexes) {
+        List<MappedField> fieldList = RowMappers.getReaderFields(clazz);
+        return IntStream.range(0, fieldList.size()).mapToObj(fieldIndex -> {
+            MappedField field = fieldList.get(fieldIndex);
             FieldCell fieldCell = new FieldCell();
             fieldCell.setField(field);
-            if (!field.isAnnotationPresent(ExcelReader.class))
-                return fieldCell;
-
-            ExcelReader annotation = field.getAnnotation(ExcelReader.class);
-            if (annotation == null)
-                return fieldCell;
+            ExcelReader annotation = field.getReader();
 
             // 设置格式化器
             if (annotation.formatter() != DefaultExcelReaderFormatter.class) {
-                try {
-                    fieldCell.setFormatter(annotation.formatter().getDeclaredConstructor().newInstance());
-                } catch (Exception e) {
-                    throw new RuntimeException("创建格式化器失败: " + e.getMessage(), e);
-                }
+                fieldCell.setFormatter(field.getReaderFormatterFactory() != null
+                        ? FormatterRegistry.getReaderFormatter(annotation.formatter(), field.getReaderFormatterFactory())
+                        : FormatterRegistry.getReaderFormatter(annotation.formatter()));
             }
+            fieldCell.setConverter(fieldCell.getFormatter() != null ? fieldCell.getFormatter()
+                    : ConverterRegistry.getReaderConverter(getValueType(field)));
 
             String cellValue = annotation.value();
             int cellIndex = annotation.index();
@@ -429,12 +990,11 @@ public class ExcelReaderUtils {
 
             if (StringUtils.isNotEmpty(cellValue)) {
                 // 坐标方式定位（如 "A1"）
-                Matcher matcher = COORDINATE_PATTERN.matcher(cellValue);
-                if (matcher.find()) {
-                    String[] parts = {matcher.group(1), matcher.group(2)};
-                    fieldCell.setRowIndex(Integer.parseInt(parts[1]) - 1);
-                    fieldCell.setStartCellIndex(ObjectUtils.convertToNumber(parts[0]) - 1);
-                    fieldCell.setEndCellIndex(ObjectUtils.convertToNumber(parts[0]) - 1);
+                long coordinate = ObjectUtils.convertToCoordinate(cellValue);
+                if (coordinate != -1) {
+                    fieldCell.setRowIndex(ObjectUtils.getRowIndex(coordinate));
+                    fieldCell.setStartCellIndex(ObjectUtils.getCellIndex(coordinate));
+                    fieldCell.setEndCellIndex(ObjectUtils.getCellIndex(coordinate));
                 }
             } else if (cellIndex != -1) {
                 // 索引方式定位
@@ -442,88 +1002,144 @@ public class ExcelReaderUtils {
                 fieldCell.setEndCellIndex(cellIndex);
             } else if (ArrayUtils.isNotEmpty(cellNames)) {
                 // 表头名称方式定位
-                List<HeaderCell> headerCellList;
-                List<CellRangeAddress> mergedRegionList;
-                if (sheet != null) {
-                    mergedRegionList = sheet.getMergedRegions().stream()
-                            .filter(it -> it.getFirstRow() <= endHeaderNumber).collect(Collectors.toList());
-                    headerCellList = getHeaderCellList(sheet, startHeaderNumber, endHeaderNumber, mergedRegionList);
-                } else
-                    headerCellList = null;
-
+                if (cellIndexes != null) {
+                    // 使用读取计划中已匹配的列下标
+                    fieldCell.setStartCellIndex(cellIndexes[fieldIndex][0]);
+                    fieldCell.setEndCellIndex(cellIndexes[fieldIndex][1]);
+                    return fieldCell;
+                }
                 if (headerCellList == null)
                     throw new RuntimeException("无法解析表头数据");
 
-                // 处理多级表头匹配
-                HeaderCell tmpHeaderCell = null;
-                for (int i = 0; i < cellNames.length; i++) {
-                    String name = cellNames[i];
-                    HeaderCell finalTmpHeaderCell = tmpHeaderCell;
-                    List<HeaderCell> list = headerCellList.stream().filter(it -> {
-                        // 多表头的情况，且父表头已获取到数据时
-                        if (finalTmpHeaderCell != null) {
-                            // 判断子表头肯定在父表头的下一行
-                            if (finalTmpHeaderCell.getRowIndex() >= it.getRowIndex())
-                                return false;
-                            // 判断子表头列下标需在父表头的内部
-                            return finalTmpHeaderCell.getStartCellIndex() <= it.getStartCellIndex()
-                                    && finalTmpHeaderCell.getEndCellIndex() >= it.getEndCellIndex()
-                                    && Objects.equals(name, it.getCellValue());
-                        }
-                        return Objects.equals(name, it.getCellValue());
-                    }).collect(Collectors.toList());
-
-                    // 没有对应数据时
-                    if (CollectionUtils.isEmpty(list)) {
-                        // 如果最后的数据匹配不到就break
-                        if (i == cellNames.length - 1) {
-                            tmpHeaderCell = null;
-                            break;
-                        } else {
-                            // 继续尝试获取子表头的数据
-                            continue;
-                        }
-                    }
+                HeaderCell headerCell = getHeaderCell(cellNames, headerCellList);
+                if (headerCell != null) {
+                    fieldCell.setStartCellIndex(headerCell.getStartCellIndex());
+                    fieldCell.setEndCellIndex(headerCell.getEndCellIndex());
+                }
+            }
 
-                    // 如果有数据
-                    if (list.size() == 1)
+            return fieldCell;
+
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * 按表头名称匹配表头单元格
+     *
+     * @param cellNames      表头名称（多级表头从父表头到子表头）
+     * @param headerCellList 表头单元格列表
+     * @return 匹配到的表头单元格，没有匹配到时返回空
+     */
+    private static HeaderCell getHeaderCell(String[] cellNames, List<HeaderCell> headerCellList) {
+        // 处理多级表头匹配
+        HeaderCell tmpHeaderCell = null;
+        for (int i = 0; i < cellNames.length; i++) {
+            String name = cellNames[i];
+            HeaderCell finalTmpHeaderCell = tmpHeaderCell;
+            List<HeaderCell> list = headerCellList.stream().filter(it -> {
+                // 多表头的情况，且父表头已获取到数据时
+                if (finalTmpHeaderCell != null) {
+                    // 判断子表头肯定在父表头的下一行
+                    if (finalTmpHeaderCell.getRowIndex() >= it.getRowIndex())
+                        return false;
+                    // 判断子表头列下标需在父表头的内部
+                    return finalTmpHeaderCell.getStartCellIndex() <= it.getStartCellIndex()
+                            && finalTmpHeaderCell.getEndCellIndex() >= it.getEndCellIndex()
+                            && Objects.equals(name, it.getCellValue());
+                }
+                return Objects.equals(name, it.getCellValue());
+            }).collect(Collectors.toList());
+
+            // 没有对应数据时
+            if (CollectionUtils.isEmpty(list)) {
+                // 如果最后的数据匹配不到就break
+                if (i == cellNames.length - 1) {
+                    tmpHeaderCell = null;
+                    break;
+                } else {
+                    // 继续尝试获取子表头的数据
+                    continue;
+                }
+            }
+
+            // 如果有数据
+            if (list.size() == 1)
+                // 单条数据
+                tmpHeaderCell = list.get(0);
+            else {
+                // 多条数据
+                if (i != cellNames.length - 1) {
+                    // 父表头有重复数据时
+                    throw new RuntimeException("表头过于复杂，推荐使用 @ExcelReader(index = ?) 方式处理数据");
+                } else {
+                    // 过滤掉有父表头的数据
+                    list = list.stream()
+                            .filter(it -> headerCellList.stream()
+                                    .filter(headerCell -> headerCell.getRowIndex() != it.getRowIndex()
+                                            && headerCell.getStartCellIndex() <= it.getStartCellIndex()
+                                            && headerCell.getEndCellIndex() >= it.getEndCellIndex())
+                                    .count() == 1)
+                            .collect(Collectors.toList());
+                    if (CollectionUtils.isEmpty(list))
+                        // 表头数据重复
+                        throw new RuntimeException("表头过于复杂，推荐使用 @ExcelReader(index = ?) 方式处理数据");
+                    else if (list.size() == 1)
                         // 单条数据
                         tmpHeaderCell = list.get(0);
-                    else {
-                        // 多条数据
-                        if (i != cellNames.length - 1) {
-                            // 父表头有重复数据时
-                            throw new RuntimeException("表头过于复杂，推荐使用 @ExcelReader(index = ?) 方式处理数据");
-                        } else {
-                            // 过滤掉有父表头的数据
-                            list = list.stream()
-                                    .filter(it -> headerCellList.stream()
-                                            .filter(headerCell -> headerCell.getRowIndex() != it.getRowIndex()
-                                                    && headerCell.getStartCellIndex() <= it.getStartCellIndex()
-                                                    && headerCell.getEndCellIndex() >= it.getEndCellIndex())
-                                            .count() == 1)
-                                    .collect(Collectors.toList());
-                            if (CollectionUtils.isEmpty(list))
-                                // 表头数据重复
-                                throw new RuntimeException("表头过于复杂，推荐使用 @ExcelReader(index = ?) 方式处理数据");
-                            else if (list.size() == 1)
-                                // 单条数据
-                                tmpHeaderCell = list.get(0);
-                            else
-                                // 子表头有重复数据
-                                throw new RuntimeException("表头过于复杂，推荐使用 @ExcelReader(index = ?) 方式处理数据");
-                        }
-                    }
-                }
-                if (tmpHeaderCell != null) {
-                    fieldCell.setStartCellIndex(tmpHeaderCell.getStartCellIndex());
-                    fieldCell.setEndCellIndex(tmpHeaderCell.getEndCellIndex());
+                    else
+                        // 子表头有重复数据
+                        throw new RuntimeException("表头过于复杂，推荐使用 @ExcelReader(index = ?) 方式处理数据");
                 }
             }
+        }
+        return tmpHeaderCell;
+    }
 
-            return fieldCell;
+    /**
+     * 是否有按表头名称定位的字段
+     */
+    private static boolean hasHeaderNames(Class<?> clazz) {
+        return RowMappers.getReaderFields(clazz).stream().map(MappedField::getReader)
+                .anyMatch(it -> StringUtils.isEmpty(it.value()) && it.index() == -1 && ArrayUtils.isNotEmpty(it.name()));
+    }
 
-        }).collect(Collectors.toList());
+    /**
+     * 获取表头布局指纹
+     * <p>
+     * 由表头范围、表头行中非空单元格的位置和值、以及表头范围内的合并单元格组成，
+     * 按内容比较，不会因哈希冲突取到其他布局的读取计划
+     * </p>
+     */
+    private static List<Object> getHeaderFingerprint(Sheet sheet, int startHeaderNumber, int endHeaderNumber,
+                                                     List<CellRangeAddress> mergedRegionList) {
+        List<Object> fingerprint = new ArrayList<>();
+        fingerprint.add(startHeaderNumber);
+        fingerprint.add(endHeaderNumber);
+        for (int rowIndex = startHeaderNumber; rowIndex < endHeaderNumber; rowIndex++) {
+            Row row = sheet.getRow(rowIndex);
+            if (row == null)
+                continue;
+            for (Cell cell : row) {
+                Object cellValue = getCellValue(cell);
+                if (cellValue == null)
+                    continue;
+                fingerprint.add(rowIndex);
+                fingerprint.add(cell.getColumnIndex());
+                fingerprint.add(cellValue);
+            }
+        }
+        for (CellRangeAddress mergedRegion : mergedRegionList)
+            fingerprint.add(mergedRegion.formatAsString());
+        return fingerprint;
+    }
+
+    /**
+     * 获取各字段的列下标（按字段顺序），作为读取计划缓存
+     */
+    private static Integer[][] getCellIndexes(List<FieldCell> fieldCellList) {
+        return fieldCellList.stream()
+                .map(it -> new Integer[]{it.getStartCellIndex(), it.getEndCellIndex()})
+                .toArray(Integer[][]::new);
     }
 
     /**
@@ -574,7 +1190,8 @@ public class ExcelReaderUtils {
     /**
      * 根据类型获取单元格值
      * <p>
-     * 将单元格的值转换为指定的Java类型，支持自定义格式化器
+     * 将单元格的值转换为指定的Java类型，支持自定义格式化器，
+     * 未设置格式化器时使用 {@link ConverterRegistry} 中该类型的转换器
      * </p>
      *
      * @param clazz     目标类型
@@ -587,66 +1204,11 @@ public class ExcelReaderUtils {
         if (cell == null)
             return null;
 
-        // 优先使用自定义格式化器
-        if (formatter != null)
-            return formatter.format(cell);
-
-        // 字符串类型
-        if (clazz.equals(String.class)) {
-            Object object = getCellValue(cell);
-            return object == null ? null : object.toString();
-        }
-
-        // 数字类型
-        if (Number.class.isAssignableFrom(clazz)) {
-            try {
-                double value = cell.getNumericCellValue();
-                // 检查整数类型是否包含小数部分
-                if ((clazz.equals(Integer.class) || clazz.equals(Long.class))
-                        && (String.valueOf(value).matches(".*\\.\\d*[1-9]+\\d*$")))
-                    throw new RuntimeException("当前数据是浮点类型，无法转换为整数");
-
-                BigDecimal cellValue = BigDecimal.valueOf(value);
-                if (clazz.equals(Integer.class))
-                    return cellValue.intValue();
-                if (clazz.equals(Double.class))
-                    return cellValue.doubleValue();
-                if (clazz.equals(Float.class))
-                    return cellValue.floatValue();
-                if (clazz.equals(Long.class))
-                    return cellValue.longValue();
-                if (clazz.equals(BigDecimal.class))
-                    return cellValue;
-            } catch (IllegalStateException e) {
-                // 尝试从字符串解析数字
-                if (!Objects.equals(CellType.STRING, cell.getCellType()))
-                    throw e;
-                String cellValue = cell.getStringCellValue();
-                if (StringUtils.isEmpty(cellValue))
-                    return null;
-                if (clazz.equals(Integer.class))
-                    return Integer.parseInt(cellValue);
-                if (clazz.equals(Double.class))
-                    return Double.parseDouble(cellValue);
-                if (clazz.equals(Float.class))
-                    return Float.parseFloat(cellValue);
-                if (clazz.equals(Long.class))
-                    return Long.parseLong(cellValue);
-                if (clazz.equals(BigDecimal.class))
-                    return new BigDecimal(cellValue);
-                return null;
-            }
-        }
-
-        // 日期类型
-        if (clazz.equals(Date.class))
-            return new SimpleDateExcelReaderFormatter().format(cell);
-
-        // 布尔类型
-        if (clazz.equals(Boolean.class))
-            return cell.getBooleanCellValue();
-
-        throw new RuntimeException("暂不支持该数据类型: " + clazz.getName());
+        // 优先使用自定义格式化器，否则按类型获取转换器
+        IExcelReaderFormatter<?> converter = formatter != null ? formatter : ConverterRegistry.getReaderConverter(clazz);
+        if (converter == null)
+            throw new RuntimeException("暂不支持该数据类型: " + clazz.getName());
+        return converter.format(cell);
     }
 
     /**
@@ -665,6 +1227,16 @@ public class ExcelReaderUtils {
      */
     public static Object getValue(Class<?> clazz, Sheet sheet, int rowIndex, int cellIndex,
                                   IExcelReaderFormatter<?> formatter) {
+        return getValue(clazz, getCell(sheet, rowIndex, cellIndex), formatter);
+    }
+
+    /**
+     * 获取单元格，考虑合并单元格的情况
+     * <p>
+     * 单元格没有值且在合并单元格范围内时，返回合并单元格的第一个单元格
+     * </p>
+     */
+    private static Cell getCell(Sheet sheet, int rowIndex, int cellIndex) {
         Row row = sheet.getRow(rowIndex);
         if (row == null)
             return null;
@@ -688,8 +1260,7 @@ public class ExcelReaderUtils {
                 }
             }
         }
-
-        return getValue(clazz, cell, formatter);
+        return cell;
     }
 
     /**
@@ -1,5 +1,8 @@
 package com.ericyl.excel;
 
+import com.ericyl.excel.formatter.FormatterRegistry;
+import com.ericyl.excel.mapper.RowMappers;
+import com.ericyl.excel.mapper.model.MappedField;
 import com.ericyl.excel.util.ObjectUtils;
 import com.ericyl.excel.writer.IExcelWriterListener;
 import com.ericyl.excel.writer.annotation.ExcelWriter;
@@ -7,27 +10,61 @@ import com.ericyl.excel.writer.annotation.ExcelWriterBorder;
 import com.ericyl.excel.writer.common.BorderValue;
 import com.ericyl.excel.writer.formatter.DefaultExcelWriterFormatter;
 import com.ericyl.excel.writer.formatter.IExcelWriterFormatter;
+import com.ericyl.excel.writer.layout.OccupancyGrid;
 import com.ericyl.excel.writer.model.ExcelColumn;
 import com.ericyl.excel.writer.model.ExcelColumnBorder;
-import com.ericyl.excel.writer.model.ExcelRegion;
+import com.ericyl.excel.writer.model.ExcelStreamTable;
 import com.ericyl.excel.writer.model.ExcelTable;
+import com.ericyl.excel.writer.model.ExcelWriteOptions;
+import com.ericyl.excel.writer.model.FieldColumn;
+import com.ericyl.excel.writer.style.CellStyleCache;
+import com.ericyl.excel.writer.value.CellValueWriters;
+import com.ericyl.excel.writer.value.ICellValueWriter;
+import com.ericyl.excel.writer.workbook.StreamingWorkbook;
+import com.ericyl.excel.writer.xlsx.XlsxAppender;
+import com.ericyl.excel.writer.xlsx.XlsxTemplate;
+import com.ericyl.excel.writer.xlsx.XlsxWriter;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaRenderer;
+import org.apache.poi.ss.formula.FormulaShifter;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.ptg.AreaPtg;
+import org.apache.poi.ss.formula.ptg.Ptg;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
-
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
-import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
 
 /**
  * Excel 写入工具类
@@ -44,6 +81,26 @@ import java.util.stream.IntStream;
  */
 public class ExcelWriterUtils {
 
+    /**
+     * 坐标方式批量写入时单次允许的最大坐标数量
+     */
+    private static final int MAX_BATCH_SIZE = 1 << 20;
+
+    /**
+     * 最大行号（.xlsx）
+     */
+    private static final int MAX_ROW_INDEX = (1 << 20) - 1;
+
+    /**
+     * 最大列号（.xlsx）
+     */
+    private static final int MAX_CELL_INDEX = (1 << 14) - 1;
+
+    /**
+     * 批量生成文档时每批生成的文档数量（生成后写入 ZIP，限制内存中的文档数量）
+     */
+    private static final int BULK_BATCH_SIZE = 256;
+
     /**
      * 坐标方式写入数据
      * <p>
@@ -67,13 +124,12 @@ public class ExcelWriterUtils {
             throw new RuntimeException("数据不能为空");
 
         // 解析坐标
-        Matcher matcher = Pattern.compile("(\\D+)(\\d+)").matcher(xy);
-        if (!matcher.find())
+        long coordinate = ObjectUtils.convertToCoordinate(xy);
+        if (coordinate == -1)
             return;
 
-        String[] parts = { matcher.group(1), matcher.group(2) };
-        int rowIndex = Integer.parseInt(parts[1]) - 1;
-        int cellIndex = ObjectUtils.convertToNumber(parts[0]) - 1;
+        int rowIndex = ObjectUtils.getRowIndex(coordinate);
+        int cellIndex = ObjectUtils.getCellIndex(coordinate);
 
         // 获取或创建行
         Row row = sheet.getRow(rowIndex);
@@ -89,6 +145,69 @@ public class ExcelWriterUtils {
         setCellValue(workbook, cell, excelColumn);
     }
 
+    /**
+     * 坐标方式批量写入数据
+     * <p>
+     * 坐标（如 "A1"）在写入前统一解析并按行、列排序，同一行只查找一次；
+     * 所有单元格共用同一个缓存样式。值为null的坐标会被跳过，无效坐标会被忽略
+     * </p>
+     * 
+     * @param workbook Excel工作簿
+     * @param sheet    工作表
+     * @param data     坐标与数据的映射
+     * @throws RuntimeException 当参数无效时抛出
+     */
+    public static void xy(Workbook workbook, Sheet sheet, Map<String, ?> data) {
+        if (sheet == null)
+            throw new RuntimeException("表格数据不能为空");
+
+        if (data == null || data.isEmpty())
+            return;
+
+        if (data.size() > MAX_BATCH_SIZE)
+            throw new RuntimeException("单次写入的坐标数量不能超过: " + MAX_BATCH_SIZE);
+
+        // 解析坐标，排序键为 行号|列号|下标
+        Object[] values = new Object[data.size()];
+        long[] keys = new long[data.size()];
+        int size = 0;
+        for (Map.Entry<String, ?> entry : data.entrySet()) {
+            long coordinate = ObjectUtils.convertToCoordinate(entry.getKey());
+            if (coordinate == -1 || entry.getValue() == null
+                    || ObjectUtils.getRowIndex(coordinate) > MAX_ROW_INDEX
+                    || ObjectUtils.getCellIndex(coordinate) > MAX_CELL_INDEX)
+                continue;
+            values[size] = entry.getValue();
+            keys[size] = (long) ObjectUtils.getRowIndex(coordinate) << 34
+                    | (long) ObjectUtils.getCellIndex(coordinate) << 20
+                    | size;
+            size++;
+        }
+        Arrays.sort(keys, 0, size);
+
+        CellStyle cellStyle = CellStyleCache.getCellStyle(workbook, new ExcelColumn(null, null));
+        Row row = null;
+        for (int index = 0; index < size; index++) {
+            int rowIndex = (int) (keys[index] >>> 34);
+            int cellIndex = (int) (keys[index] >>> 20) & MAX_CELL_INDEX;
+
+            // 获取或创建行
+            if (row == null || row.getRowNum() != rowIndex) {
+                row = sheet.getRow(rowIndex);
+                if (row == null)
+                    row = sheet.createRow(rowIndex);
+            }
+
+            // 获取或创建单元格
+            Cell cell = row.getCell(cellIndex);
+            if (cell == null)
+                cell = row.createCell(cellIndex);
+
+            if (CellValueWriters.setCellValue(cell, values[(int) keys[index] & (MAX_BATCH_SIZE - 1)]))
+                cell.setCellStyle(cellStyle);
+        }
+    }
+
     /**
      * 对象方式写入数据
      * <p>
@@ -105,30 +224,43 @@ public class ExcelWriterUtils {
         if (sheet == null)
             throw new RuntimeException("表格数据不能为空");
 
-        List<ExcelColumn> excelColumnList = getExcelColumns(obj.getClass(), obj);
+        // 按行排序后写入，同一行只查找一次
+        List<FieldColumn> fieldColumnList = getFieldColumns(obj.getClass()).stream()
+                .filter(it -> it.getExcelColumn().getRowIndex() != null && it.getExcelColumn().getCellIndex() != null)
+                .sorted(Comparator.comparing((FieldColumn it) -> it.getExcelColumn().getRowIndex())
+                        .thenComparing(it -> it.getExcelColumn().getCellIndex()))
+                .collect(Collectors.toList());
 
-        for (ExcelColumn excelColumn : excelColumnList) {
-            if (excelColumn.getRowIndex() == -1 || excelColumn.getCellIndex() == -1)
-                continue;
+        Row row = null;
+        for (FieldColumn fieldColumn : fieldColumnList) {
+            ExcelColumn excelColumn = fieldColumn.getExcelColumn();
 
             // 获取或创建行
-            Row row = sheet.getRow(excelColumn.getRowIndex());
-            if (row == null)
-                row = sheet.createRow(excelColumn.getRowIndex());
+            if (row == null || row.getRowNum() != excelColumn.getRowIndex()) {
+                row = sheet.getRow(excelColumn.getRowIndex());
+                if (row == null)
+                    row = sheet.createRow(excelColumn.getRowIndex());
+            }
 
             // 获取或创建单元格
             Cell cell = row.getCell(excelColumn.getCellIndex());
             if (cell == null)
                 cell = row.createCell(excelColumn.getCellIndex());
 
-            setCellValue(workbook, cell, excelColumn);
+            try {
+                if (fieldColumn.getValueWriter().write(cell, obj))
+                    setCellStyle(workbook, cell, excelColumn);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("获取字段值失败: " + fieldColumn.getField().getName(), e);
+            }
         }
     }
 
     /**
      * 列表方式写入数据
      * <p>
-     * 将列表数据写入Excel，自动生成表头，支持自定义列宽、行高、对齐方式等
+     * 将列表数据写入Excel，自动生成表头，支持自定义列宽、行高、对齐方式等。
+     * 只有带 @ExcelWriter 注解的字段会被导出（与直接写入输出流的方式一致），未注解的字段不再生成空列
      * </p>
      * 
      * @param workbook Excel工作簿
@@ -143,53 +275,21 @@ public class ExcelWriterUtils {
             throw new RuntimeException("未查询到需导出的数据");
 
         // 生成表头
-        Row title = sheet.createRow(0);
-        List<ExcelColumn> titleExcelColumnList = getExcelColumns(clazz, null);
-
-        IntStream.range(0, titleExcelColumnList.size()).forEach(index -> {
-            ExcelColumn excelColumn = titleExcelColumnList.get(index);
-            // 设置列宽
-            setCellWidth(sheet, index, excelColumn.getWidth());
+        List<FieldColumn> fieldColumnList = getFieldColumns(clazz);
+        setTitle(workbook, sheet, fieldColumnList);
 
-            Cell cell = title.createCell(index);
-            if (excelColumn.getData() == null) {
-                // 设置表头名称
-                cell.setCellValue(excelColumn.getKey());
-                setCellStyle(workbook, cell, excelColumn);
-            } else
-                setCellValue(workbook, cell, excelColumn);
-        });
+        // 行高（取最大值）
+        Float height = getHeight(fieldColumnList);
 
         // 写入内容
-        IntStream.range(0, list.size()).forEach(index -> {
-            Row row = sheet.createRow(index + 1);
-            List<ExcelColumn> excelColumnList = getExcelColumns(clazz, list.get(index));
-
-            // 设置行高（取最大值）
-            Float height = excelColumnList.stream()
-                    .map(ExcelColumn::getHeight)
-                    .filter(Objects::nonNull)
-                    .max(Comparator.naturalOrder())
-                    .orElse(null);
-            setCellHeight(row, height);
-
-            // 写入每个单元格
-            IntStream.range(0, titleExcelColumnList.size()).forEach(i -> {
-                Cell cell = row.createCell(i);
-                ExcelColumn titleExcelColumn = titleExcelColumnList.get(i);
-                ExcelColumn excelColumn = excelColumnList.stream()
-                        .filter(it -> Objects.equals(titleExcelColumn.getKey(), it.getKey()))
-                        .findFirst()
-                        .orElse(null);
-                setCellValue(workbook, cell, excelColumn);
-            });
-        });
+        for (int index = 0; index < list.size(); index++)
+            setRow(workbook, sheet.createRow(index + 1), height, fieldColumnList, list.get(index));
     }
 
     /**
      * 分页方式写入数据
      * <p>
-     * 支持大数据量分页写入，避免内存溢出
+     * 支持大数据量分页写入，避免内存溢出；导出的列与 {@link #list2Excel(Workbook, Sheet, List, Class)} 相同
      * </p>
      * 
      * @param workbook Excel工作簿
@@ -204,494 +304,1610 @@ public class ExcelWriterUtils {
             Class<T> clazz, IExcelWriterListener<List<T>> doExcel) {
 
         // 生成表头
-        Row title = sheet.createRow(0);
-        List<ExcelColumn> titleExcelColumnList = getExcelColumns(clazz, null);
-
-        IntStream.range(0, titleExcelColumnList.size()).forEach(index -> {
-            ExcelColumn excelColumn = titleExcelColumnList.get(index);
-            setCellWidth(sheet, index, excelColumn.getWidth());
+        List<FieldColumn> fieldColumnList = getFieldColumns(clazz);
+        setTitle(workbook, sheet, fieldColumnList);
 
-            Cell cell = title.createCell(index);
-            if (excelColumn.getData() == null) {
-                cell.setCellValue(excelColumn.getKey());
-                setCellStyle(workbook, cell, excelColumn);
-            } else
-                setCellValue(workbook, cell, excelColumn);
-        });
+        // 行高（取最大值）
+        Float height = getHeight(fieldColumnList);
 
         // 分页写入数据
-        IntStream.range(1, page + 1).forEach(pageNumber -> {
+        for (int pageNumber = 1; pageNumber <= page; pageNumber++) {
             List<T> list = doExcel.doSomething(pageNumber, pageSize);
-
-            IntStream.range(0, list.size()).forEach(index -> {
-                Row row = sheet.createRow((pageNumber - 1) * pageSize + index + 1);
-                List<ExcelColumn> excelColumnList = getExcelColumns(clazz, list.get(index));
-
-                // 设置行高
-                Float height = excelColumnList.stream()
-                        .map(ExcelColumn::getHeight)
-                        .filter(Objects::nonNull)
-                        .max(Comparator.naturalOrder())
-                        .orElse(null);
-                setCellHeight(row, height);
-
-                // 写入每个单元格
-                IntStream.range(0, titleExcelColumnList.size()).forEach(i -> {
-                    Cell cell = row.createCell(i);
-                    ExcelColumn titleExcelColumn = titleExcelColumnList.get(i);
-                    ExcelColumn excelColumn = excelColumnList.stream()
-                            .filter(it -> Objects.equals(titleExcelColumn.getKey(), it.getKey()))
-                            .findFirst()
-                            .orElse(null);
-                    setCellValue(workbook, cell, excelColumn);
-                });
-            });
-        });
+            if (list == null)
+                continue;
+            for (int index = 0; index < list.size(); index++)
+                setRow(workbook, sheet.createRow((pageNumber - 1) * pageSize + index + 1), height,
+                        fieldColumnList, list.get(index));
+        }
     }
 
     /**
-     * 复杂表格方式写入数据
-     * <p>
-     * 支持多表头、表尾、合并单元格等复杂表格结构
-     * </p>
-     * 
-     * @param workbook Excel工作簿
-     * @param sheet    工作表
-     * @param table    表格结构定义
-     * @throws RuntimeException 当表格数据为空时抛出
+     * 写入列表表头
+     *
+     * @param workbook        Excel工作簿
+     * @param sheet           工作表
+     * @param fieldColumnList 字段列映射列表
      */
-    public static void table2Excel(Workbook workbook, Sheet sheet, ExcelTable table) {
-        if (table == null)
-            throw new RuntimeException("未查询到需导出的数据");
+    private static void setTitle(Workbook workbook, Sheet sheet, List<FieldColumn> fieldColumnList) {
+        Row title = sheet.createRow(0);
+        for (int index = 0; index < fieldColumnList.size(); index++) {
+            ExcelColumn excelColumn = fieldColumnList.get(index).getExcelColumn();
+            // 设置列宽
+            setCellWidth(sheet, index, excelColumn.getWidth());
 
-        // 写入表头
-        setCell(workbook, sheet, table.getHeaders(), 0);
-        // 写入内容
-        setCell(workbook, sheet, table.getColumns(), table.getHeaders().size());
-        // 写入表尾
-        setCell(workbook, sheet, table.getFooters(), table.getHeaders().size() + table.getColumns().size());
+            Cell cell = title.createCell(index);
+            // 设置表头名称，未设置时使用字段名
+            cell.setCellValue(excelColumn.getData() == null ? excelColumn.getKey() : excelColumn.getData().toString());
+            setCellStyle(workbook, cell, excelColumn);
+        }
     }
 
     /**
-     * 设置单元格数据（支持合并单元格）
-     * 
+     * 写入列表中的一行数据
+     *
      * @param workbook        Excel工作簿
-     * @param sheet           工作表
-     * @param excelColumnList 单元格数据列表
-     * @param rowspan         起始行偏移
+     * @param row             行
+     * @param height          行高
+     * @param fieldColumnList 字段列映射列表
+     * @param obj             对象实例
      */
-    private static void setCell(Workbook workbook, Sheet sheet, List<List<ExcelColumn>> excelColumnList, int rowspan) {
-        List<ExcelRegion> excelRegionList = new ArrayList<>();
-        Map<Integer, Set<Integer>> occupiedColumnsByRow = new HashMap<>();
-
-        IntStream.range(0, excelColumnList.size()).forEach(index -> {
-            int rowIndex = rowspan + index;
-            Row row = sheet.getRow(rowIndex);
-            if (row == null)
-                row = sheet.createRow(rowIndex);
-
-            List<ExcelColumn> columnList = excelColumnList.get(index);
-            Float height = columnList.stream()
-                    .map(ExcelColumn::getHeight)
-                    .filter(Objects::nonNull)
-                    .max(Comparator.naturalOrder())
-                    .orElse(null);
-            setCellHeight(row, height);
-
-            int currentColumnIndex = 0;
-            for (ExcelColumn excelColumn : columnList) {
-                int safeColspan = Math.max(1, excelColumn.getColspan());
-                int safeRowspan = Math.max(1, excelColumn.getRowspan());
-                int columnIndex = findAvailableColumn(occupiedColumnsByRow, rowIndex, currentColumnIndex, safeColspan);
-
-                setColumnWidth(sheet, columnIndex, safeColspan, excelColumn.getWidth());
-
-                Cell cell = row.getCell(columnIndex);
-                if (cell == null)
-                    cell = row.createCell(columnIndex);
-                setCellValue(workbook, cell, excelColumn);
-
-                markOccupiedColumns(occupiedColumnsByRow, rowIndex, columnIndex, safeRowspan, safeColspan);
-
-                // 处理合并单元格
-                if (safeColspan > 1 || safeRowspan > 1) {
-                    CellRangeAddress region = new CellRangeAddress(
-                            rowIndex,
-                            rowIndex + safeRowspan - 1,
-                            columnIndex,
-                            columnIndex + safeColspan - 1);
-                    sheet.addMergedRegion(region);
-                    excelRegionList.add(new ExcelRegion(region, excelColumn));
-                }
-                currentColumnIndex = columnIndex + safeColspan;
+    private static void setRow(Workbook workbook, Row row, Float height, List<FieldColumn> fieldColumnList,
+            Object obj) {
+        setCellHeight(row, height);
+        for (int index = 0; index < fieldColumnList.size(); index++) {
+            FieldColumn fieldColumn = fieldColumnList.get(index);
+            Cell cell = row.createCell(index);
+            try {
+                if (fieldColumn.getValueWriter().write(cell, obj))
+                    setCellStyle(workbook, cell, fieldColumn.getExcelColumn());
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("获取字段值失败: " + fieldColumn.getField().getName(), e);
             }
-        });
-
-        // 设置合并单元格的样式
-        excelRegionList.forEach(excelRegion -> setRegionStyle(workbook, sheet, excelRegion.getRegion(), excelRegion.getExcelColumn()));
-    }
-
-    private static void setColumnWidth(Sheet sheet, int startColumnIndex, int colspan, Integer width) {
-        for (int columnIndex = startColumnIndex; columnIndex < startColumnIndex + colspan; columnIndex++)
-            setCellWidth(sheet, columnIndex, width);
-    }
-
-    private static int findAvailableColumn(Map<Integer, Set<Integer>> occupiedColumnsByRow,
-            int rowIndex, int startColumn, int colspan) {
-        int columnIndex = startColumn;
-        while (!isColumnRangeAvailable(occupiedColumnsByRow, rowIndex, columnIndex, colspan))
-            columnIndex++;
-        return columnIndex;
-    }
-
-    private static boolean isColumnRangeAvailable(Map<Integer, Set<Integer>> occupiedColumnsByRow,
-            int rowIndex, int startColumn, int colspan) {
-        Set<Integer> occupiedColumns = occupiedColumnsByRow.getOrDefault(rowIndex, Collections.emptySet());
-        for (int columnIndex = startColumn; columnIndex < startColumn + colspan; columnIndex++) {
-            if (occupiedColumns.contains(columnIndex))
-                return false;
         }
-        return true;
     }
 
-    private static void markOccupiedColumns(Map<Integer, Set<Integer>> occupiedColumnsByRow,
-            int startRowIndex, int startColumnIndex, int rowspan, int colspan) {
-        for (int rowIndex = startRowIndex; rowIndex < startRowIndex + rowspan; rowIndex++) {
-            Set<Integer> occupiedColumns = occupiedColumnsByRow.computeIfAbsent(rowIndex, key -> new HashSet<>());
-            for (int columnIndex = startColumnIndex; columnIndex < startColumnIndex + colspan; columnIndex++)
-                occupiedColumns.add(columnIndex);
-        }
+    /**
+     * 获取行高（各列行高的最大值）
+     *
+     * @param fieldColumnList 字段列映射列表
+     * @return 行高，未设置时为null
+     */
+    private static Float getHeight(List<FieldColumn> fieldColumnList) {
+        return fieldColumnList.stream()
+                .map(it -> it.getExcelColumn().getHeight())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
     }
 
     /**
-     * 设置合并单元格的样式
+     * 列表方式直接写入输出流
      * <p>
-     * 合并单元格中的每个单元格都需要设置样式
+     * 不创建 POI 工作簿，直接将数据以 xlsx 格式写入输出流，适用于大数据量的普通列表导出。
+     * 表头、列宽、行高、对齐方式、边框等配置与 {@link #list2Excel(Workbook, Sheet, List, Class)} 一致，
+     * 只有带 @ExcelWriter 注解的字段会被导出。
      * </p>
-     * 
-     * @param workbook    Excel工作簿
-     * @param sheet       工作表
-     * @param region      合并区域
-     * @param excelColumn 单元格配置
+     * <p>
+     * 注意：不会关闭传入的输出流
+     * </p>
+     *
+     * @param outputStream 输出流
+     * @param list         数据列表
+     * @param clazz        列表元素类型
+     * @param <T>          元素类型
+     * @throws RuntimeException 当列表为空或写入失败时抛出
      */
-    private static void setRegionStyle(Workbook workbook, Sheet sheet, CellRangeAddress region,
-            ExcelColumn excelColumn) {
-        for (int rowNum = region.getFirstRow(); rowNum <= region.getLastRow(); rowNum++) {
-            Row row = sheet.getRow(rowNum);
-            if (row == null)
-                row = sheet.createRow(rowNum);
-
-            for (int colNum = region.getFirstColumn(); colNum <= region.getLastColumn(); colNum++) {
-                Cell cell = row.getCell(colNum);
-                if (cell == null)
-                    cell = row.createCell(colNum);
-                setCellStyle(workbook, cell, excelColumn);
-            }
-        }
+    public static <T> void list2Excel(OutputStream outputStream, List<T> list, Class<T> clazz) {
+        list2Excel(outputStream, list, clazz, new ExcelWriteOptions());
     }
 
     /**
-     * 解析Excel列配置
+     * 列表方式直接写入输出流
      * <p>
-     * 根据 @ExcelWriter 注解配置，解析字段对应的Excel列信息
+     * 与 {@link #list2Excel(OutputStream, List, Class)} 相同，缓冲区大小和压缩级别由输出配置决定
      * </p>
-     * 
-     * @param clazz 类型
-     * @param obj   对象实例（为null时解析表头）
-     * @return Excel列配置列表
-     */
-    private static List<ExcelColumn> getExcelColumns(Class<?> clazz, Object obj) {
-        Field[] fields = clazz.getDeclaredFields();
-        return Arrays.stream(fields).map(field -> {
-            ExcelColumn excelColumn = new ExcelColumn(field.getName());
-            if (!field.isAnnotationPresent(ExcelWriter.class))
-                return excelColumn;
-
-            ExcelWriter annotation = field.getAnnotation(ExcelWriter.class);
-
-            if (annotation == null)
-                return excelColumn;
-
-            if (obj == null) {
-                // 解析表头
-                String cellName = annotation.name();
-                if (StringUtils.isNotEmpty(cellName))
-                    excelColumn.setData(cellName);
-            } else {
-                // 解析内容
-                Object data = ObjectUtils.getField(obj, field);
-                if (data != null && annotation.formatter() != DefaultExcelWriterFormatter.class) {
-                    try {
-                        IExcelWriterFormatter writerFormatter = annotation.formatter().newInstance();
-                        excelColumn.setData(writerFormatter.format(data));
-                    } catch (Exception e) {
-                        throw new RuntimeException("创建格式化器失败: " + e.getMessage(), e);
-                    }
-                } else {
-                    excelColumn.setData(data);
-                }
-            }
-
-            // 解析坐标或索引
-            String cellValue = annotation.value();
-            int cellIndex = annotation.index();
-            if (StringUtils.isNotEmpty(cellValue)) {
-                // 坐标方式
-                Matcher matcher = Pattern.compile("(\\D+)(\\d+)").matcher(cellValue);
-                if (matcher.find()) {
-                    String[] parts = { matcher.group(1), matcher.group(2) };
-                    excelColumn.setRowIndex(Integer.parseInt(parts[1]) - 1);
-                    excelColumn.setCellIndex(ObjectUtils.convertToNumber(parts[0]) - 1);
-                }
-            } else if (cellIndex != -1) {
-                // 索引方式
-                excelColumn.setCellIndex(cellIndex);
-            }
-
-            // 设置其他属性
-            int cellWidth = annotation.width();
-            if (cellWidth != -1)
-                excelColumn.setWidth(cellWidth);
-
-            float cellHeight = annotation.height();
-            if (cellHeight != -1)
-                excelColumn.setHeight(cellHeight);
-
-            VerticalAlignment verticalAlignment = annotation.verticalAlignment();
-            if (verticalAlignment != null)
-                excelColumn.setVerticalAlignment(verticalAlignment);
-
-            HorizontalAlignment horizontalAlignment = annotation.horizontalAlignment();
-            if (horizontalAlignment != null)
-                excelColumn.setHorizontalAlignment(horizontalAlignment);
-
-            // 设置边框
-            ExcelWriterBorder border = annotation.border();
-            if (border != null) {
-                ExcelColumnBorder excelColumnBorder = new ExcelColumnBorder();
-                BorderValue[] values = border.value();
-                if (ArrayUtils.isNotEmpty(values))
-                    excelColumnBorder.setValue(values);
-                BorderStyle style = border.style();
-                if (style != null)
-                    excelColumnBorder.setStyle(style);
-                IndexedColors color = border.color();
-                if (color != null)
-                    excelColumnBorder.setColor(color);
-                excelColumn.setBorder(excelColumnBorder);
-            }
-
-            excelColumn.setWrapText(annotation.wrapText());
+     *
+     * @param outputStream 输出流
+     * @param list         数据列表
+     * @param clazz        列表元素类型
+     * @param options      输出配置
+     * @param <T>          元素类型
+     * @throws RuntimeException 当列表为空或写入失败时抛出
+     */
+    public static <T> void list2Excel(OutputStream outputStream, List<T> list, Class<T> clazz,
+            ExcelWriteOptions options) {
+        if (CollectionUtils.isEmpty(list))
+            throw new RuntimeException("未查询到需导出的数据");
 
-            return excelColumn;
-        }).sorted().collect(Collectors.toList());
+        list2Excel(outputStream, 1, list.size(), clazz, (pageNumber, pageSize) -> list, options);
     }
 
     /**
-     * 设置单元格值
+     * 分页方式直接写入输出流
      * <p>
-     * 根据数据类型设置单元格的值，并应用样式
+     * 不创建 POI 工作簿，分页获取数据并直接以 xlsx 格式写入输出流
      * </p>
-     * 
-     * @param workbook    Excel工作簿
-     * @param cell        单元格
-     * @param excelColumn 单元格配置
+     * <p>
+     * 注意：不会关闭传入的输出流
+     * </p>
+     *
+     * @param outputStream 输出流
+     * @param page         总页数
+     * @param pageSize     每页大小
+     * @param clazz        列表元素类型
+     * @param doExcel      数据获取监听器，用于分页获取数据
+     * @param <T>          元素类型
+     * @throws RuntimeException 当写入失败时抛出
      */
-    private static void setCellValue(Workbook workbook, Cell cell, ExcelColumn excelColumn) {
-        if (excelColumn == null)
-            return;
-
-        Object obj = excelColumn.getData();
-        if (obj == null)
-            return;
-
-        // 根据数据类型设置值
-        if (Number.class.isAssignableFrom(obj.getClass())) {
-            cell.setCellValue(new BigDecimal(String.valueOf(obj)).doubleValue());
-        } else if (obj instanceof String) {
-            cell.setCellValue(obj.toString());
-        } else if (obj instanceof Date) {
-            cell.setCellValue((Date) obj);
-        } else if (obj instanceof Boolean) {
-            cell.setCellValue((Boolean) obj);
-        } else {
-            throw new RuntimeException("暂不支持当前数据类型: " + obj.getClass().getName());
-        }
-
-        // 应用样式
-        setCellStyle(workbook, cell, excelColumn);
+    public static <T> void list2Excel(OutputStream outputStream, int page, int pageSize,
+            Class<T> clazz, IExcelWriterListener<List<T>> doExcel) {
+        list2Excel(outputStream, page, pageSize, clazz, doExcel, new ExcelWriteOptions());
     }
 
     /**
-     * 设置单元格样式
+     * 分页方式直接写入输出流
      * <p>
-     * 包括边框、对齐方式等样式设置
+     * 与 {@link #list2Excel(OutputStream, int, int, Class, IExcelWriterListener)} 相同，
+     * 缓冲区大小和压缩级别由输出配置决定
      * </p>
-     * 
-     * @param workbook    Excel工作簿
-     * @param cell        单元格
-     * @param excelColumn 单元格配置
+     *
+     * @param outputStream 输出流
+     * @param page         总页数
+     * @param pageSize     每页大小
+     * @param clazz        列表元素类型
+     * @param doExcel      数据获取监听器，用于分页获取数据
+     * @param options      输出配置
+     * @param <T>          元素类型
+     * @throws RuntimeException 当写入失败时抛出
      */
-    private static void setCellStyle(Workbook workbook, Cell cell, ExcelColumn excelColumn) {
-        CellStyle cellStyle = workbook.createCellStyle();
-
-        // 设置边框样式
-        ExcelColumnBorder excelColumnBorder = excelColumn.getBorder();
-        if (excelColumnBorder != null && ArrayUtils.isNotEmpty(excelColumnBorder.getValue())) {
-            BorderStyle style = excelColumnBorder.getStyle();
-            IndexedColors color = excelColumnBorder.getColor();
-
-            for (BorderValue value : excelColumnBorder.getValue()) {
-                switch (value) {
-                    case ALL:
-                        // 设置所有边框
-                        cellStyle.setBorderTop(style);
-                        cellStyle.setBorderBottom(style);
-                        cellStyle.setBorderLeft(style);
-                        cellStyle.setBorderRight(style);
-                        if (color != null) {
-                            cellStyle.setTopBorderColor(color.getIndex());
-                            cellStyle.setBottomBorderColor(color.getIndex());
-                            cellStyle.setLeftBorderColor(color.getIndex());
-                            cellStyle.setRightBorderColor(color.getIndex());
-                        }
-                        break;
-                    case X:
-                        // 设置左右边框
-                        cellStyle.setBorderLeft(style);
-                        cellStyle.setBorderRight(style);
-                        if (color != null) {
-                            cellStyle.setLeftBorderColor(color.getIndex());
-                            cellStyle.setRightBorderColor(color.getIndex());
+    public static <T> void list2Excel(OutputStream outputStream, int page, int pageSize,
+            Class<T> clazz, IExcelWriterListener<List<T>> doExcel, ExcelWriteOptions options) {
+        List<FieldColumn> fieldColumnList = getFieldColumns(clazz);
+        List<ExcelColumn> titleExcelColumnList = fieldColumnList.stream()
+                .map(FieldColumn::getExcelColumn).collect(Collectors.toList());
+
+        // 行高（取最大值）
+        Float height = getHeight(fieldColumnList);
+
+        try (XlsxWriter writer = new XlsxWriter(outputStream, "Sheet1", titleExcelColumnList, options)) {
+            // 生成表头
+            writer.startRow(null);
+            for (int i = 0; i < titleExcelColumnList.size(); i++) {
+                ExcelColumn excelColumn = titleExcelColumnList.get(i);
+                writer.writeCell(i, excelColumn.getData() == null ? excelColumn.getKey() : excelColumn.getData());
+            }
+            writer.endRow();
+
+            // 分页写入数据
+            for (int pageNumber = 1; pageNumber <= page; pageNumber++) {
+                List<T> list = doExcel.doSomething(pageNumber, pageSize);
+                if (list == null)
+                    continue;
+                for (T obj : list) {
+                    writer.startRow(height);
+                    for (int i = 0; i < fieldColumnList.size(); i++) {
+                        FieldColumn fieldColumn = fieldColumnList.get(i);
+                        MappedField field = fieldColumn.getField();
+                        if (fieldColumn.getFormatter() == null && field.getLongGetter() != null) {
+                            writer.writeNumber(i, field.getLongGetter().applyAsLong(obj));
+                            continue;
                         }
-                        break;
-                    case Y:
-                        // 设置上下边框
-                        cellStyle.setBorderTop(style);
-                        cellStyle.setBorderBottom(style);
-                        if (color != null) {
-                            cellStyle.setTopBorderColor(color.getIndex());
-                            cellStyle.setBottomBorderColor(color.getIndex());
+                        if (fieldColumn.getFormatter() == null && field.getDoubleGetter() != null) {
+                            double value = field.getDoubleGetter().applyAsDouble(obj);
+                            writer.writeNumber(i, field.getType() == float.class ? CellValueWriters.toDouble((float) value) : value);
+                            continue;
                         }
-                        break;
-                    case TOP:
-                        cellStyle.setBorderTop(style);
-                        if (color != null)
-                            cellStyle.setTopBorderColor(color.getIndex());
-                        break;
-                    case BOTTOM:
-                        cellStyle.setBorderBottom(style);
-                        if (color != null)
-                            cellStyle.setBottomBorderColor(color.getIndex());
-                        break;
-                    case LEFT:
-                        cellStyle.setBorderLeft(style);
-                        if (color != null)
-                            cellStyle.setLeftBorderColor(color.getIndex());
-                        break;
-                    case RIGHT:
-                        cellStyle.setBorderRight(style);
-                        if (color != null)
-                            cellStyle.setRightBorderColor(color.getIndex());
-                        break;
+                        Object data = field.getGetter().apply(obj);
+                        if (data != null && fieldColumn.getFormatter() != null)
+                            data = fieldColumn.getFormatter().format(data);
+                        writer.writeCell(i, data);
+                    }
+                    writer.endRow();
                 }
             }
+        } catch (IOException e) {
+            throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
         }
-
-        // 设置对齐方式
-        VerticalAlignment verticalAlignment = excelColumn.getVerticalAlignment();
-        if (verticalAlignment != null)
-            cellStyle.setVerticalAlignment(verticalAlignment);
-
-        HorizontalAlignment horizontalAlignment = excelColumn.getHorizontalAlignment();
-        if (horizontalAlignment != null)
-            cellStyle.setAlignment(horizontalAlignment);
-
-        cellStyle.setWrapText(excelColumn.isWrapText());
-
-        cell.setCellStyle(cellStyle);
     }
 
     /**
-     * 设置列宽
+     * 模板方式写入数据
      * 
-     * @param sheet 工作表
-     * @param index 列索引
-     * @param width 列宽
+     * @param template     模板输入流（.xlsx）
+     * @param outputStream 输出流
+     * @param obj          按坐标写入的对象（可为null）
+     * @param list         数据列表
+     * @param clazz        列表元素类型
+     * @param <T>          元素类型
+     * @see #template2Excel(InputStream, OutputStream, Object, int, int, Class, IExcelWriterListener, ExcelWriteOptions)
      */
-    private static void setCellWidth(Sheet sheet, int index, Integer width) {
-        if (width == null || width <= 0)
-            return;
-        sheet.setColumnWidth(index, width);
+    public static <T> void template2Excel(InputStream template, OutputStream outputStream, Object obj,
+            List<T> list, Class<T> clazz) {
+        template2Excel(template, outputStream, obj, list, clazz, new ExcelWriteOptions());
     }
 
     /**
-     * 设置行高
+     * 模板方式写入数据
      * 
-     * @param row    行
-     * @param height 行高
+     * @param template     模板输入流（.xlsx）
+     * @param outputStream 输出流
+     * @param obj          按坐标写入的对象（可为null）
+     * @param list         数据列表
+     * @param clazz        列表元素类型
+     * @param options      输出配置
+     * @param <T>          元素类型
+     * @see #template2Excel(InputStream, OutputStream, Object, int, int, Class, IExcelWriterListener, ExcelWriteOptions)
      */
-    private static void setCellHeight(Row row, Float height) {
-        if (height == null || height <= 0)
-            return;
-        row.setHeightInPoints(height);
+    public static <T> void template2Excel(InputStream template, OutputStream outputStream, Object obj,
+            List<T> list, Class<T> clazz, ExcelWriteOptions options) {
+        List<T> data = list == null ? Collections.emptyList() : list;
+        template2Excel(template, outputStream, obj, 1, Math.max(1, data.size()), clazz,
+                (pageNumber, pageSize) -> data, options);
     }
 
     /**
-     * 保存Excel文件
+     * 模板方式分页写入数据
      * <p>
-     * 将工作簿保存到指定路径，自动生成唯一文件名
+     * 模板中的样式、图片、表头等静态内容只读取一次并原样保留：
+     * </p>
+     * <ul>
+     * <li>对象按字段上的 @ExcelWriter(value = "A1") 坐标写入模板，已有单元格保留模板样式</li>
+     * <li>列表元素字段上的坐标所在行为模板数据行，数据从该行开始通过 SXSSF 流式写入，
+     * 每列直接复用模板数据行中对应单元格的样式（模板中不存在时使用注解配置的样式）；
+     * 模板数据行中不对应字段的单元格（如固定文字、公式）连同样式复制到每个数据行，公式按复制行的方式调整相对引用</li>
+     * <li>模板数据行之后的内容（如表尾）在数据写入完成后顺延输出，其中的公式引用按插入行调整：
+     * 引用表尾的单元格随之顺延，结束于模板数据行的区域（如 SUM(B3:B3)）扩展到全部数据行</li>
+     * </ul>
+     * <p>
+     * 只处理模板的第一个工作表，对象和列表数据都写入该工作表，其他工作表原样保留
      * </p>
      * 
-     * @param filePath 文件路径（相对路径）
-     * @param workbook Excel工作簿
-     * @return 生成的文件路径
-     * @throws RuntimeException 当路径无效或写入失败时抛出
+     * @param template     模板输入流（.xlsx）
+     * @param outputStream 输出流
+     * @param obj          按坐标写入的对象（可为null）
+     * @param page         总页数
+     * @param pageSize     每页大小
+     * @param clazz        列表元素类型
+     * @param doExcel      数据获取监听器
+     * @param options      输出配置
+     * @param <T>          元素类型
+     * @throws RuntimeException 当列表字段未设置列、模板读取或文件写入失败时抛出
      */
-    public static String toFile(String filePath, Workbook workbook) {
-        if (filePath.startsWith("/"))
-            throw new RuntimeException("暂不支持绝对路径");
+    public static <T> void template2Excel(InputStream template, OutputStream outputStream, Object obj,
+            int page, int pageSize, Class<T> clazz, IExcelWriterListener<List<T>> doExcel, ExcelWriteOptions options) {
+        // 列表字段需要确定列
+        List<FieldColumn> fieldColumnList = getFieldColumns(clazz);
+        for (FieldColumn fieldColumn : fieldColumnList) {
+            if (fieldColumn.getExcelColumn().getCellIndex() == null)
+                throw new RuntimeException("列表字段需设置 @ExcelWriter(value) 或 @ExcelWriter(index): "
+                        + fieldColumn.getField().getName());
+        }
 
-        String[] filePaths = Arrays.stream(filePath.split("/"))
-                .filter(path -> path != null && !path.trim().isEmpty())
-                .toArray(String[]::new);
+        XSSFWorkbook templateWorkbook;
+        try {
+            templateWorkbook = new XSSFWorkbook(template);
+        } catch (IOException e) {
+            throw new RuntimeException("模板读取失败: " + e.getMessage(), e);
+        }
+        try {
+            XSSFSheet templateSheet = templateWorkbook.getSheetAt(0);
 
-        if (ArrayUtils.isEmpty(filePaths))
-            filePaths = new String[] { "excel" };
+            // 按坐标写入对象数据
+            if (obj != null)
+                setTemplateCells(templateWorkbook, templateSheet, getFieldColumns(obj.getClass()), obj);
 
-        // 生成唯一文件名
-        String file = String.format("%s_%d.xlsx", UUID.randomUUID(), System.currentTimeMillis());
-        String fullPath = String.join(File.separator, filePaths) + File.separator + file;
+            // 模板数据行（取坐标中最小的行号，未设置坐标时追加到模板末尾）
+            int dataRowIndex = fieldColumnList.stream()
+                    .map(it -> it.getExcelColumn().getRowIndex())
+                    .filter(Objects::nonNull)
+                    .min(Comparator.naturalOrder())
+                    .orElse(templateSheet.getLastRowNum() + 1);
+
+            // 复用模板数据行的样式与行高
+            Row templateRow = templateSheet.getRow(dataRowIndex);
+            CellStyle[] cellStyles = new CellStyle[fieldColumnList.size()];
+            for (int index = 0; index < fieldColumnList.size(); index++) {
+                ExcelColumn excelColumn = fieldColumnList.get(index).getExcelColumn();
+                Cell cell = templateRow == null ? null : templateRow.getCell(excelColumn.getCellIndex());
+                cellStyles[index] = cell != null ? cell.getCellStyle() : CellStyleCache.getCellStyle(templateWorkbook, excelColumn);
+            }
+            Float height = templateRow != null ? templateRow.getHeightInPoints() : getHeight(fieldColumnList);
+
+            // 模板数据行中不对应字段的单元格（如固定文字、公式）复制到每个数据行
+            Set<Integer> fieldCellIndexSet = fieldColumnList.stream()
+                    .map(it -> it.getExcelColumn().getCellIndex())
+                    .collect(Collectors.toSet());
+            TemplateRow dataRow = templateRow == null ? null : new TemplateRow(templateRow, fieldCellIndexSet);
+
+            // 取出模板数据行之后的内容，流式写入时只能在已有行之后追加
+            List<TemplateRow> footerRowList = removeTemplateRows(templateSheet, dataRowIndex);
+            List<CellRangeAddress> footerRegionList = removeTemplateRegions(templateSheet, dataRowIndex);
+
+            // 工作簿由本方法创建，写入后关闭并清理临时文件
+            try (StreamingWorkbook workbook = new StreamingWorkbook(templateWorkbook, SXSSFWorkbook.DEFAULT_WINDOW_SIZE,
+                    options)) {
+                Sheet sheet = workbook.getSheetAt(0);
+
+                // 分页写入数据
+                TemplateFormulaCopier formulaCopier = new TemplateFormulaCopier(templateWorkbook, 0, dataRowIndex);
+                int rowIndex = dataRowIndex;
+                for (int pageNumber = 1; pageNumber <= page; pageNumber++) {
+                    List<T> list = doExcel.doSomething(pageNumber, pageSize);
+                    if (list == null)
+                        continue;
+                    for (T item : list) {
+                        Row row = sheet.createRow(rowIndex++);
+                        setCellHeight(row, height);
+                        if (dataRow != null)
+                            dataRow.writeCells(row, formula -> formulaCopier.copy(formula, row.getRowNum()));
+                        for (int index = 0; index < fieldColumnList.size(); index++) {
+                            FieldColumn fieldColumn = fieldColumnList.get(index);
+                            Cell cell = row.createCell(fieldColumn.getExcelColumn().getCellIndex());
+                            cell.setCellStyle(cellStyles[index]);
+                            try {
+                                fieldColumn.getValueWriter().write(cell, item);
+                            } catch (IllegalAccessException e) {
+                                throw new RuntimeException("获取字段值失败: " + fieldColumn.getField().getName(), e);
+                            }
+                        }
+                    }
+                }
 
-        try (OutputStream out = getOutputStream(fullPath)) {
-            workbook.write(out);
-            out.flush();
-            return String.join("/", filePaths) + "/" + file;
+                // 顺延写入模板数据行之后的内容，公式中的引用随之调整
+                int offset = rowIndex - dataRowIndex - 1;
+                TemplateFormulaShifter formulaShifter = new TemplateFormulaShifter(templateWorkbook, 0, dataRowIndex, offset);
+                for (TemplateRow footerRow : footerRowList)
+                    footerRow.write(sheet.createRow(footerRow.rowIndex + offset),
+                            formula -> formulaShifter.shift(formula, footerRow.rowIndex));
+                for (CellRangeAddress region : footerRegionList)
+                    sheet.addMergedRegionUnsafe(new CellRangeAddress(region.getFirstRow() + offset,
+                            region.getLastRow() + offset, region.getFirstColumn(), region.getLastColumn()));
+
+                toStream(outputStream, workbook, options);
+            }
         } catch (IOException e) {
             throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+        } finally {
+            // 创建流式工作簿前出现异常时同样关闭模板
+            IOUtils.closeQuietly(templateWorkbook);
         }
     }
 
     /**
-     * 获取文件输出流
+     * 按坐标将对象数据写入模板
      * <p>
-     * 如果目录不存在会自动创建
+     * 模板中已存在的单元格保留原有样式，新建的单元格使用注解配置的样式
      * </p>
-     * 
-     * @param path 文件路径
-     * @return 文件输出流
-     * @throws IOException IO异常
+     *
+     * @param workbook        Excel工作簿
+     * @param sheet           工作表
+     * @param fieldColumnList 字段列映射列表
+     * @param obj             对象实例
      */
-    private static FileOutputStream getOutputStream(String path) throws IOException {
-        File file = new File(path);
-        // 创建父目录
-        if (!file.getParentFile().exists()) {
-            file.getParentFile().mkdirs();
+    private static void setTemplateCells(Workbook workbook, Sheet sheet, List<FieldColumn> fieldColumnList, Object obj) {
+        for (FieldColumn fieldColumn : fieldColumnList) {
+            ExcelColumn excelColumn = fieldColumn.getExcelColumn();
+            if (excelColumn.getRowIndex() == null || excelColumn.getCellIndex() == null)
+                continue;
+
+            Row row = sheet.getRow(excelColumn.getRowIndex());
+            boolean styled = row != null && row.getCell(excelColumn.getCellIndex()) != null;
+            Cell cell = getOrCreateCell(sheet, excelColumn.getRowIndex(), excelColumn.getCellIndex());
+            try {
+                if (fieldColumn.getValueWriter().write(cell, obj) && !styled)
+                    setCellStyle(workbook, cell, excelColumn);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("获取字段值失败: " + fieldColumn.getField().getName(), e);
+            }
         }
-        // 创建文件
-        if (!file.exists()) {
-            file.createNewFile();
+    }
+
+    /**
+     * 移除模板中从数据行开始的所有行，并返回数据行之后的内容
+     *
+     * @param sheet        工作表
+     * @param dataRowIndex 模板数据行
+     * @return 数据行之后的行
+     */
+    private static List<TemplateRow> removeTemplateRows(Sheet sheet, int dataRowIndex) {
+        List<TemplateRow> templateRowList = new ArrayList<>();
+        for (int rowIndex = dataRowIndex; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
+            Row row = sheet.getRow(rowIndex);
+            if (row == null)
+                continue;
+            if (rowIndex > dataRowIndex)
+                templateRowList.add(new TemplateRow(row));
+        }
+        for (int rowIndex = sheet.getLastRowNum(); rowIndex >= dataRowIndex; rowIndex--) {
+            Row row = sheet.getRow(rowIndex);
+            if (row != null)
+                sheet.removeRow(row);
+        }
+        return templateRowList;
+    }
+
+    /**
+     * 移除模板数据行之后的合并单元格，并返回被移除的区域
+     *
+     * @param sheet        工作表
+     * @param dataRowIndex 模板数据行
+     * @return 数据行之后的合并区域
+     */
+    private static List<CellRangeAddress> removeTemplateRegions(Sheet sheet, int dataRowIndex) {
+        List<CellRangeAddress> regionList = new ArrayList<>();
+        List<Integer> indexList = new ArrayList<>();
+        for (int index = 0; index < sheet.getNumMergedRegions(); index++) {
+            CellRangeAddress region = sheet.getMergedRegion(index);
+            if (region.getFirstRow() > dataRowIndex) {
+                regionList.add(region);
+                indexList.add(index);
+            }
+        }
+        if (!indexList.isEmpty())
+            sheet.removeMergedRegions(indexList);
+        return regionList;
+    }
+
+    /**
+     * 预处理模板
+     * 
+     * @param template 模板输入流（.xlsx）
+     * @param clazz    数据类型
+     * @param <T>      数据类型
+     * @return 预处理后的模板
+     * @see #prepareTemplate(InputStream, Class, ExcelWriteOptions)
+     */
+    public static <T> XlsxTemplate<T> prepareTemplate(InputStream template, Class<T> clazz) {
+        return prepareTemplate(template, clazz, new ExcelWriteOptions());
+    }
+
+    /**
+     * 预处理模板
+     * <p>
+     * 用于根据同一模板批量生成大量小文档（如发票、单据）：模板、字段映射、样式只处理一次，
+     * 之后每个文档只需合并坐标数据并写入 ZIP。数据按字段上的 @ExcelWriter(value = "A1") 坐标写入第一个工作表，
+     * 模板中已有的单元格沿用其样式，其余单元格使用注解配置的样式（在预处理时创建）。
+     * 模板中的公式会在打开文档时重新计算。
+     * </p>
+     * 
+     * @param template 模板输入流（.xlsx）
+     * @param clazz    数据类型
+     * @param options  输出配置
+     * @param <T>      数据类型
+     * @return 预处理后的模板（线程安全）
+     * @throws RuntimeException 当模板读取失败或多个字段的坐标相同时抛出
+     */
+    public static <T> XlsxTemplate<T> prepareTemplate(InputStream template, Class<T> clazz, ExcelWriteOptions options) {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(template)) {
+            XSSFSheet sheet = workbook.getSheetAt(0);
+
+            // 带坐标的字段，按行、列排序
+            List<FieldColumn> fieldColumnList = getFieldColumns(clazz).stream()
+                    .filter(it -> it.getExcelColumn().getRowIndex() != null && it.getExcelColumn().getCellIndex() != null)
+                    .sorted(Comparator.comparing((FieldColumn it) -> it.getExcelColumn().getRowIndex())
+                            .thenComparing(it -> it.getExcelColumn().getCellIndex()))
+                    .collect(Collectors.toList());
+
+            // 模板中已有的单元格沿用其样式，其余单元格预先创建样式
+            int[] styleIndexes = new int[fieldColumnList.size()];
+            for (int index = 0; index < fieldColumnList.size(); index++) {
+                ExcelColumn excelColumn = fieldColumnList.get(index).getExcelColumn();
+                Row row = sheet.getRow(excelColumn.getRowIndex());
+                if (row != null && row.getCell(excelColumn.getCellIndex()) != null)
+                    styleIndexes[index] = -1;
+                else
+                    styleIndexes[index] = CellStyleCache.getCellStyle(workbook, excelColumn).getIndex();
+            }
+            workbook.setForceFormulaRecalculation(true);
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            workbook.write(outputStream);
+            String sheetEntryName = sheet.getPackagePart().getPartName().getName().substring(1);
+            return new XlsxTemplate<>(outputStream.toByteArray(), sheetEntryName, fieldColumnList, styleIndexes, options);
+        } catch (IOException e) {
+            throw new RuntimeException("模板读取失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 根据模板批量生成文档，每个文档写入各自的输出流
+     * 
+     * @param template             预处理后的模板
+     * @param list                 数据列表，每个元素生成一个文档
+     * @param outputStreamFunction 获取元素对应的输出流
+     * @param <T>                  数据类型
+     * @see #template2Excel(XlsxTemplate, List, Function, Executor)
+     */
+    public static <T> void template2Excel(XlsxTemplate<T> template, List<T> list,
+            Function<T, OutputStream> outputStreamFunction) {
+        template2Excel(template, list, outputStreamFunction, null);
+    }
+
+    /**
+     * 根据模板批量生成文档，每个文档写入各自的输出流
+     * <p>
+     * 指定线程池时文档在线程池中并行生成，获取输出流、写入文档都在线程池中执行，
+     * 线程池由调用方创建和关闭（输出流涉及阻塞 IO 时不要使用公共的 ForkJoinPool）；
+     * 未指定时在调用线程中依次生成。输出流写入完成后会被关闭
+     * </p>
+     * 
+     * @param template             预处理后的模板
+     * @param list                 数据列表，每个元素生成一个文档
+     * @param outputStreamFunction 获取元素对应的输出流
+     * @param executor             生成文档的线程池（可为null）
+     * @param <T>                  数据类型
+     * @throws RuntimeException 当文件写入失败时抛出
+     */
+    public static <T> void template2Excel(XlsxTemplate<T> template, List<T> list,
+            Function<T, OutputStream> outputStreamFunction, Executor executor) {
+        if (CollectionUtils.isEmpty(list))
+            throw new RuntimeException("未查询到需导出的数据");
+
+        map(list, obj -> {
+            try (OutputStream outputStream = outputStreamFunction.apply(obj)) {
+                template.write(outputStream, obj);
+            } catch (IOException e) {
+                throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+            }
+            return null;
+        }, executor);
+    }
+
+    /**
+     * 根据模板批量生成文档，并打包为一个 ZIP 文件
+     * 
+     * @param template         预处理后的模板
+     * @param outputStream     输出流
+     * @param list             数据列表，每个元素生成一个文档
+     * @param fileNameFunction 获取元素对应的文件名（ZIP 中的路径）
+     * @param <T>              数据类型
+     * @see #template2Zip(XlsxTemplate, OutputStream, List, Function, Executor)
+     */
+    public static <T> void template2Zip(XlsxTemplate<T> template, OutputStream outputStream, List<T> list,
+            Function<T, String> fileNameFunction) {
+        template2Zip(template, outputStream, list, fileNameFunction, null);
+    }
+
+    /**
+     * 根据模板批量生成文档，并打包为一个 ZIP 文件
+     * <p>
+     * 文档分批生成（指定线程池时在线程池中并行生成，线程池由调用方创建和关闭；未指定时在调用线程中依次生成），
+     * 再在调用线程中按列表顺序以不压缩的方式（文档本身已压缩）写入 ZIP，不会关闭传入的输出流
+     * </p>
+     * 
+     * @param template         预处理后的模板
+     * @param outputStream     输出流
+     * @param list             数据列表，每个元素生成一个文档
+     * @param fileNameFunction 获取元素对应的文件名（ZIP 中的路径）
+     * @param executor         生成文档的线程池（可为null）
+     * @param <T>              数据类型
+     * @throws RuntimeException 当文件写入失败时抛出
+     */
+    public static <T> void template2Zip(XlsxTemplate<T> template, OutputStream outputStream, List<T> list,
+            Function<T, String> fileNameFunction, Executor executor) {
+        if (CollectionUtils.isEmpty(list))
+            throw new RuntimeException("未查询到需导出的数据");
+
+        try {
+            ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(CloseShieldOutputStream.wrap(outputStream));
+            CRC32 crc = new CRC32();
+            for (int from = 0; from < list.size(); from += BULK_BATCH_SIZE) {
+                List<T> batch = list.subList(from, Math.min(from + BULK_BATCH_SIZE, list.size()));
+                List<byte[]> documentList = map(batch, obj -> {
+                    ByteArrayOutputStream documentOutputStream = new ByteArrayOutputStream();
+                    try {
+                        template.write(documentOutputStream, obj);
+                    } catch (IOException e) {
+                        throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+                    }
+                    return documentOutputStream.toByteArray();
+                }, executor);
+
+                for (int index = 0; index < batch.size(); index++) {
+                    byte[] document = documentList.get(index);
+                    crc.reset();
+                    crc.update(document, 0, document.length);
+
+                    ZipArchiveEntry entry = new ZipArchiveEntry(fileNameFunction.apply(batch.get(index)));
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(document.length);
+                    entry.setCrc(crc.getValue());
+                    zipOutputStream.putArchiveEntry(entry);
+                    zipOutputStream.write(document);
+                    zipOutputStream.closeArchiveEntry();
+                }
+            }
+            zipOutputStream.finish();
+            zipOutputStream.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 对列表中的每个元素执行转换，结果按列表顺序返回
+     * <p>
+     * 指定线程池时在线程池中并行执行，任一元素失败时取消尚未开始的任务并抛出其异常；未指定时在调用线程中依次执行
+     * </p>
+     *
+     * @param list     列表
+     * @param function 转换方法
+     * @param executor 线程池（可为null）
+     * @param <T>      元素类型
+     * @param <R>      结果类型
+     * @return 转换结果
+     */
+    private static <T, R> List<R> map(List<T> list, Function<T, R> function, Executor executor) {
+        if (executor == null)
+            return list.stream().map(function).collect(Collectors.toList());
+
+        List<CompletableFuture<R>> futureList = list.stream()
+                .map(obj -> CompletableFuture.supplyAsync(() -> function.apply(obj), executor))
+                .collect(Collectors.toList());
+        List<R> resultList = new ArrayList<>(list.size());
+        try {
+            for (CompletableFuture<R> future : futureList)
+                resultList.add(future.join());
+        } catch (CompletionException e) {
+            futureList.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
+        return resultList;
+    }
+
+    /**
+     * 向已有文件追加数据
+     * 
+     * @param filePath 已有的 .xlsx 文件路径
+     * @param list     数据列表
+     * @param clazz    列表元素类型
+     * @param <T>      元素类型
+     * @see #append2Excel(File, OutputStream, int, int, Class, IExcelWriterListener, ExcelWriteOptions)
+     */
+    public static <T> void append2Excel(String filePath, List<T> list, Class<T> clazz) {
+        append2Excel(filePath, list, clazz, new ExcelWriteOptions());
+    }
+
+    /**
+     * 向已有文件追加数据
+     * <p>
+     * 先写入同目录下的临时文件，完成后替换原文件
+     * </p>
+     * 
+     * @param filePath 已有的 .xlsx 文件路径
+     * @param list     数据列表
+     * @param clazz    列表元素类型
+     * @param options  输出配置
+     * @param <T>      元素类型
+     * @throws RuntimeException 当文件写入失败时抛出
+     * @see #append2Excel(File, OutputStream, int, int, Class, IExcelWriterListener, ExcelWriteOptions)
+     */
+    public static <T> void append2Excel(String filePath, List<T> list, Class<T> clazz, ExcelWriteOptions options) {
+        append2Excel(filePath, null, list, clazz, options);
+    }
+
+    /**
+     * 向已有文件的指定工作表追加数据
+     * <p>
+     * 先写入同目录下的临时文件，完成后替换原文件
+     * </p>
+     *
+     * @param filePath  已有的 .xlsx 文件路径
+     * @param sheetName 工作表名称，为空时使用第一个工作表
+     * @param list      数据列表
+     * @param clazz     列表元素类型
+     * @param options   输出配置
+     * @param <T>       元素类型
+     * @throws RuntimeException 当工作表不存在或文件写入失败时抛出
+     * @see #append2Excel(File, String, OutputStream, int, int, Class, IExcelWriterListener, ExcelWriteOptions)
+     */
+    public static <T> void append2Excel(String filePath, String sheetName, List<T> list, Class<T> clazz,
+            ExcelWriteOptions options) {
+        File source = new File(filePath);
+        File target = new File(source.getAbsoluteFile().getParentFile(), source.getName() + ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(target.toPath())) {
+                append2Excel(source, sheetName, outputStream, list, clazz, options);
+            }
+            Files.move(target.toPath(), source.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+        } finally {
+            target.delete();
+        }
+    }
+
+    /**
+     * 向已有文件追加数据
+     * 
+     * @param source       已有的 .xlsx 文件
+     * @param outputStream 输出流（不能指向 source）
+     * @param list         数据列表
+     * @param clazz        列表元素类型
+     * @param options      输出配置
+     * @param <T>          元素类型
+     * @see #append2Excel(File, OutputStream, int, int, Class, IExcelWriterListener, ExcelWriteOptions)
+     */
+    public static <T> void append2Excel(File source, OutputStream outputStream, List<T> list, Class<T> clazz,
+            ExcelWriteOptions options) {
+        append2Excel(source, null, outputStream, list, clazz, options);
+    }
+
+    /**
+     * 向已有文件的指定工作表追加数据
+     *
+     * @param source       已有的 .xlsx 文件
+     * @param sheetName    工作表名称，为空时使用第一个工作表
+     * @param outputStream 输出流（不能指向 source）
+     * @param list         数据列表
+     * @param clazz        列表元素类型
+     * @param options      输出配置
+     * @param <T>          元素类型
+     * @see #append2Excel(File, String, OutputStream, int, int, Class, IExcelWriterListener, ExcelWriteOptions)
+     */
+    public static <T> void append2Excel(File source, String sheetName, OutputStream outputStream, List<T> list,
+            Class<T> clazz, ExcelWriteOptions options) {
+        if (CollectionUtils.isEmpty(list))
+            throw new RuntimeException("未查询到需导出的数据");
+        append2Excel(source, sheetName, outputStream, 1, list.size(), clazz, (pageNumber, pageSize) -> list, options);
+    }
+
+    /**
+     * 向已有文件分页追加数据
+     * <p>
+     * 不加载工作簿，数据按 @ExcelWriter 注解的列顺序追加到第一个工作表的最后一行之后（不写入表头），
+     * 其余内容原样复制，开销只与追加的行数有关。
+     * </p>
+     * 
+     * @param source       已有的 .xlsx 文件
+     * @param outputStream 输出流（不能指向 source）
+     * @param page         总页数
+     * @param pageSize     每页大小
+     * @param clazz        列表元素类型
+     * @param doExcel      数据获取监听器
+     * @param options      输出配置
+     * @param <T>          元素类型
+     * @throws RuntimeException 当文件读取或写入失败时抛出
+     */
+    public static <T> void append2Excel(File source, OutputStream outputStream, int page, int pageSize,
+            Class<T> clazz, IExcelWriterListener<List<T>> doExcel, ExcelWriteOptions options) {
+        append2Excel(source, null, outputStream, page, pageSize, clazz, doExcel, options);
+    }
+
+    /**
+     * 向已有文件的指定工作表分页追加数据
+     * <p>
+     * 工作表按 workbook.xml 中的名称及其关系定位，不加载工作簿，
+     * 数据按 @ExcelWriter 注解的列顺序追加到该工作表的最后一行之后（不写入表头），
+     * 其余内容原样复制，开销只与追加的行数有关。
+     * </p>
+     *
+     * @param source       已有的 .xlsx 文件
+     * @param sheetName    工作表名称，为空时使用第一个工作表
+     * @param outputStream 输出流（不能指向 source）
+     * @param page         总页数
+     * @param pageSize     每页大小
+     * @param clazz        列表元素类型
+     * @param doExcel      数据获取监听器
+     * @param options      输出配置
+     * @param <T>          元素类型
+     * @throws RuntimeException 当工作表不存在、文件读取或写入失败时抛出
+     */
+    public static <T> void append2Excel(File source, String sheetName, OutputStream outputStream, int page,
+            int pageSize, Class<T> clazz, IExcelWriterListener<List<T>> doExcel, ExcelWriteOptions options) {
+        List<FieldColumn> fieldColumnList = getFieldColumns(clazz);
+        List<ExcelColumn> excelColumnList = fieldColumnList.stream()
+                .map(FieldColumn::getExcelColumn).collect(Collectors.toList());
+
+        // 行高（取最大值）
+        Float height = getHeight(fieldColumnList);
+
+        try (XlsxAppender appender = new XlsxAppender(source, sheetName, outputStream, excelColumnList, options)) {
+            for (int pageNumber = 1; pageNumber <= page; pageNumber++) {
+                List<T> list = doExcel.doSomething(pageNumber, pageSize);
+                if (list == null)
+                    continue;
+                for (T obj : list) {
+                    appender.startRow(height);
+                    for (int i = 0; i < fieldColumnList.size(); i++) {
+                        FieldColumn fieldColumn = fieldColumnList.get(i);
+                        MappedField field = fieldColumn.getField();
+                        if (fieldColumn.getFormatter() == null && field.getLongGetter() != null) {
+                            appender.writeNumber(i, field.getLongGetter().applyAsLong(obj));
+                            continue;
+                        }
+                        if (fieldColumn.getFormatter() == null && field.getDoubleGetter() != null) {
+                            double value = field.getDoubleGetter().applyAsDouble(obj);
+                            appender.writeNumber(i, field.getType() == float.class ? CellValueWriters.toDouble((float) value) : value);
+                            continue;
+                        }
+                        Object data = field.getGetter().apply(obj);
+                        if (data != null && fieldColumn.getFormatter() != null)
+                            data = fieldColumn.getFormatter().format(data);
+                        appender.writeCell(i, data);
+                    }
+                    appender.endRow();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 复杂表格方式写入数据
+     * <p>
+     * 支持多表头、表尾、合并单元格等复杂表格结构
+     * </p>
+     * 
+     * @param workbook Excel工作簿
+     * @param sheet    工作表
+     * @param table    表格结构定义
+     * @throws RuntimeException 当表格数据为空时抛出
+     */
+    public static void table2Excel(Workbook workbook, Sheet sheet, ExcelTable table) {
+        table2Excel(workbook, sheet, table, new ExcelWriteOptions());
+    }
+
+    /**
+     * 复杂表格方式写入数据
+     * <p>
+     * 合并单元格添加时不再逐个调用 POI 的校验：同一部分内由布局保证互不重叠，
+     * 表头、内容、表尾之间（如表头跨行进入内容）通过占用表判断，重叠时抛出异常；
+     * 可通过 {@link ExcelWriteOptions#setVerifyMergedRegions(boolean)} 在写入完成后再用 POI 统一校验
+     * </p>
+     *
+     * @param workbook Excel工作簿
+     * @param sheet    工作表
+     * @param table    表格结构定义
+     * @param options  输出配置
+     * @throws RuntimeException 当表格数据为空时抛出
+     */
+    public static void table2Excel(Workbook workbook, Sheet sheet, ExcelTable table, ExcelWriteOptions options) {
+        if (table == null)
+            throw new RuntimeException("未查询到需导出的数据");
+
+        // 各部分共用的合并单元格占用表
+        OccupancyGrid regionGrid = new OccupancyGrid();
+        // 写入表头
+        setCell(workbook, sheet, table.getHeaders(), 0, regionGrid);
+        // 写入内容
+        setCell(workbook, sheet, table.getColumns(), table.getHeaders().size(), regionGrid);
+        // 写入表尾
+        setCell(workbook, sheet, table.getFooters(), table.getHeaders().size() + table.getColumns().size(), regionGrid);
+
+        // 统一校验合并单元格
+        if (options.isVerifyMergedRegions())
+            verifyMergedRegions(sheet);
+    }
+
+    /**
+     * 流式复杂表格方式写入数据
+     * <p>
+     * 表头、表尾保存在内存中，内容行从迭代器中逐行读取，只保留仍被跨行单元格占用的行信息。
+     * 配合 {@link SXSSFWorkbook} 使用时，滑动窗口需不小于内容行的最大跨行数
+     * </p>
+     *
+     * @param workbook Excel工作簿
+     * @param sheet    工作表
+     * @param table    流式表格结构定义
+     * @throws RuntimeException 当表格数据为空时抛出
+     */
+    public static void table2Excel(Workbook workbook, Sheet sheet, ExcelStreamTable table) {
+        table2Excel(workbook, sheet, table, new ExcelWriteOptions());
+    }
+
+    /**
+     * 流式复杂表格方式写入数据
+     *
+     * @param workbook Excel工作簿
+     * @param sheet    工作表
+     * @param table    流式表格结构定义
+     * @param options  输出配置
+     * @throws RuntimeException 当表格数据为空时抛出
+     */
+    public static void table2Excel(Workbook workbook, Sheet sheet, ExcelStreamTable table, ExcelWriteOptions options) {
+        if (table == null)
+            throw new RuntimeException("未查询到需导出的数据");
+
+        List<List<ExcelColumn>> headers = table.getHeaders() == null ? Collections.emptyList() : table.getHeaders();
+        Iterator<List<ExcelColumn>> columns = table.getColumns() == null ? Collections.emptyIterator() : table.getColumns();
+        List<List<ExcelColumn>> footers = table.getFooters() == null ? Collections.emptyList() : table.getFooters();
+
+        // 各部分共用的合并单元格占用表
+        OccupancyGrid regionGrid = new OccupancyGrid();
+        // 写入表头
+        setCell(workbook, sheet, headers, 0, regionGrid);
+        // 逐行写入内容
+        int size = setCell(workbook, sheet, columns, headers.size(), regionGrid);
+        // 写入表尾
+        setCell(workbook, sheet, footers, headers.size() + size, regionGrid);
+
+        // 统一校验合并单元格
+        if (options.isVerifyMergedRegions())
+            verifyMergedRegions(sheet);
+    }
+
+    /**
+     * 校验合并单元格是否存在重叠
+     *
+     * @param sheet 工作表
+     * @throws RuntimeException 当合并单元格存在重叠时抛出
+     */
+    private static void verifyMergedRegions(Sheet sheet) {
+        try {
+            sheet.validateMergedRegions();
+        } catch (IllegalStateException e) {
+            throw new RuntimeException("合并单元格校验失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 设置单元格数据（支持合并单元格）
+     * 
+     * @param workbook        Excel工作簿
+     * @param sheet           工作表
+     * @param excelColumnList 单元格数据列表
+     * @param rowspan         起始行偏移
+     * @param regionGrid      各部分共用的合并单元格占用表
+     */
+    private static void setCell(Workbook workbook, Sheet sheet, List<List<ExcelColumn>> excelColumnList, int rowspan,
+            OccupancyGrid regionGrid) {
+        setCell(workbook, sheet, excelColumnList.iterator(), rowspan, regionGrid);
+    }
+
+    /**
+     * 逐行设置单元格数据（支持合并单元格）
+     * <p>
+     * 只保留仍被跨行单元格占用的行信息，合并区域在创建时即设置样式，不再缓存
+     * </p>
+     *
+     * @param workbook Excel工作簿
+     * @param sheet    工作表
+     * @param iterator 单元格数据行迭代器
+     * @param rowspan    起始行偏移
+     * @param regionGrid 各部分共用的合并单元格占用表
+     * @return 写入的行数
+     */
+    private static int setCell(Workbook workbook, Sheet sheet, Iterator<List<ExcelColumn>> iterator, int rowspan,
+            OccupancyGrid regionGrid) {
+        OccupancyGrid occupancyGrid = new OccupancyGrid(rowspan);
+
+        int rowIndex = rowspan;
+        while (iterator.hasNext()) {
+            // 之前的行已不会再被占用，释放以复用
+            occupancyGrid.advance(rowIndex);
+            regionGrid.advance(rowIndex);
+            setTableRow(workbook, sheet, occupancyGrid, regionGrid, rowIndex, iterator.next());
+            rowIndex++;
+        }
+        return rowIndex - rowspan;
+    }
+
+    /**
+     * 设置一行单元格数据
+     *
+     * @param workbook      Excel工作簿
+     * @param sheet         工作表
+     * @param occupancyGrid 单元格占用表
+     * @param regionGrid    各部分共用的合并单元格占用表
+     * @param rowIndex      行号
+     * @param columnList    该行的单元格数据
+     */
+    private static void setTableRow(Workbook workbook, Sheet sheet, OccupancyGrid occupancyGrid,
+            OccupancyGrid regionGrid, int rowIndex, List<ExcelColumn> columnList) {
+        Row row = sheet.getRow(rowIndex);
+        if (row == null)
+            row = sheet.createRow(rowIndex);
+
+        Float height = columnList.stream()
+                .map(ExcelColumn::getHeight)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        setCellHeight(row, height);
+
+        int currentColumnIndex = 0;
+        for (ExcelColumn excelColumn : columnList) {
+            int safeColspan = Math.max(1, excelColumn.getColspan());
+            int safeRowspan = Math.max(1, excelColumn.getRowspan());
+            int columnIndex = occupancyGrid.findAvailable(rowIndex, currentColumnIndex, safeColspan);
+
+            setColumnWidth(sheet, columnIndex, safeColspan, excelColumn.getWidth());
+
+            Cell cell = row.getCell(columnIndex);
+            if (cell == null)
+                cell = row.createCell(columnIndex);
+            setCellValue(workbook, cell, excelColumn);
+
+            occupancyGrid.mark(rowIndex, columnIndex, safeRowspan, safeColspan);
+
+            // 处理合并单元格
+            if (safeColspan > 1 || safeRowspan > 1) {
+                CellRangeAddress region = new CellRangeAddress(
+                        rowIndex,
+                        rowIndex + safeRowspan - 1,
+                        columnIndex,
+                        columnIndex + safeColspan - 1);
+                // 同一部分内由占用表保证不重叠，只需判断是否与之前部分的合并单元格重叠
+                if (regionGrid.isOccupied(rowIndex, columnIndex, safeRowspan, safeColspan))
+                    throw new RuntimeException("合并单元格重叠: " + region.formatAsString());
+                regionGrid.mark(rowIndex, columnIndex, safeRowspan, safeColspan);
+                sheet.addMergedRegionUnsafe(region);
+                // 设置合并单元格的样式
+                setRegionStyle(workbook, sheet, region, excelColumn);
+            }
+            currentColumnIndex = columnIndex + safeColspan;
+        }
+    }
+
+    private static void setColumnWidth(Sheet sheet, int startColumnIndex, int colspan, Integer width) {
+        for (int columnIndex = startColumnIndex; columnIndex < startColumnIndex + colspan; columnIndex++)
+            setCellWidth(sheet, columnIndex, width);
+    }
+
+    /**
+     * 设置合并单元格的样式
+     * <p>
+     * 样式只解析一次，由区域内的单元格共用。合并后只显示左上角单元格的内容，
+     * 其余单元格只影响边框，因此仅在设置了边框时为四周的单元格设置样式，内部单元格不做处理
+     * </p>
+     * 
+     * @param workbook    Excel工作簿
+     * @param sheet       工作表
+     * @param region      合并区域
+     * @param excelColumn 单元格配置
+     */
+    private static void setRegionStyle(Workbook workbook, Sheet sheet, CellRangeAddress region,
+            ExcelColumn excelColumn) {
+        CellStyle cellStyle = CellStyleCache.getCellStyle(workbook, excelColumn);
+        getOrCreateCell(sheet, region.getFirstRow(), region.getFirstColumn()).setCellStyle(cellStyle);
+
+        ExcelColumnBorder border = excelColumn.getBorder();
+        if (border == null || ArrayUtils.isEmpty(border.getValue()) || border.getStyle() == BorderStyle.NONE)
+            return;
+
+        for (int rowNum = region.getFirstRow(); rowNum <= region.getLastRow(); rowNum++) {
+            boolean edgeRow = rowNum == region.getFirstRow() || rowNum == region.getLastRow();
+            int step = edgeRow ? 1 : Math.max(1, region.getLastColumn() - region.getFirstColumn());
+            for (int colNum = region.getFirstColumn(); colNum <= region.getLastColumn(); colNum += step)
+                getOrCreateCell(sheet, rowNum, colNum).setCellStyle(cellStyle);
+        }
+    }
+
+    /**
+     * 获取单元格，不存在时创建
+     *
+     * @param sheet  工作表
+     * @param rowNum 行号
+     * @param colNum 列号
+     * @return 单元格
+     */
+    private static Cell getOrCreateCell(Sheet sheet, int rowNum, int colNum) {
+        Row row = sheet.getRow(rowNum);
+        if (row == null)
+            row = sheet.createRow(rowNum);
+
+        Cell cell = row.getCell(colNum);
+        if (cell == null)
+            cell = row.createCell(colNum);
+        return cell;
+    }
+
+    /**
+     * 解析字段与列的映射关系
+     * <p>
+     * 只解析带有 @ExcelWriter 注解的字段，格式化器在此处创建一次，供整个写入过程复用
+     * </p>
+     *
+     * @param clazz 类型
+     * @return 字段列映射列表（按列索引排序）
+     */
+    static List<FieldColumn> getFieldColumns(Class<?> clazz) {
+        return RowMappers.getWriterFields(clazz).stream().map(field -> {
+            ExcelWriter annotation = field.getWriter();
+            ExcelColumn excelColumn = getExcelColumn(field.getName(), annotation);
+            if (StringUtils.isNotEmpty(annotation.name()))
+                excelColumn.setData(annotation.name());
+
+            IExcelWriterFormatter writerFormatter = null;
+            if (annotation.formatter() != DefaultExcelWriterFormatter.class)
+                writerFormatter = field.getWriterFormatterFactory() != null
+                        ? FormatterRegistry.getWriterFormatter(annotation.formatter(), field.getWriterFormatterFactory())
+                        : FormatterRegistry.getWriterFormatter(annotation.formatter());
+            ICellValueWriter valueWriter = CellValueWriters.of(field, writerFormatter);
+            return new FieldColumn(field, excelColumn, writerFormatter, valueWriter);
+        }).sorted(Comparator.comparing(FieldColumn::getExcelColumn)).collect(Collectors.toList());
+    }
+
+    /**
+     * 解析字段上的 @ExcelWriter 注解配置（不包含数据）
+     *
+     * @param name       字段名称
+     * @param annotation 注解
+     * @return Excel列配置
+     */
+    private static ExcelColumn getExcelColumn(String name, ExcelWriter annotation) {
+        ExcelColumn excelColumn = new ExcelColumn(name);
+
+        // 解析坐标或索引
+        String cellValue = annotation.value();
+        int cellIndex = annotation.index();
+        if (StringUtils.isNotEmpty(cellValue)) {
+            // 坐标方式
+            long coordinate = ObjectUtils.convertToCoordinate(cellValue);
+            if (coordinate != -1) {
+                excelColumn.setRowIndex(ObjectUtils.getRowIndex(coordinate));
+                excelColumn.setCellIndex(ObjectUtils.getCellIndex(coordinate));
+            }
+        } else if (cellIndex != -1) {
+            // 索引方式
+            excelColumn.setCellIndex(cellIndex);
+        }
+
+        // 设置其他属性
+        int cellWidth = annotation.width();
+        if (cellWidth != -1)
+            excelColumn.setWidth(cellWidth);
+
+        float cellHeight = annotation.height();
+        if (cellHeight != -1)
+            excelColumn.setHeight(cellHeight);
+
+        VerticalAlignment verticalAlignment = annotation.verticalAlignment();
+        if (verticalAlignment != null)
+            excelColumn.setVerticalAlignment(verticalAlignment);
+
+        HorizontalAlignment horizontalAlignment = annotation.horizontalAlignment();
+        if (horizontalAlignment != null)
+            excelColumn.setHorizontalAlignment(horizontalAlignment);
+
+        // 设置边框
+        ExcelWriterBorder border = annotation.border();
+        if (border != null) {
+            ExcelColumnBorder excelColumnBorder = new ExcelColumnBorder();
+            BorderValue[] values = border.value();
+            if (ArrayUtils.isNotEmpty(values))
+                excelColumnBorder.setValue(values);
+            BorderStyle style = border.style();
+            if (style != null)
+                excelColumnBorder.setStyle(style);
+            IndexedColors color = border.color();
+            if (color != null)
+                excelColumnBorder.setColor(color);
+            excelColumn.setBorder(excelColumnBorder);
+        }
+
+        excelColumn.setWrapText(annotation.wrapText());
+
+        String dateFormat = annotation.dateFormat();
+        if (StringUtils.isNotEmpty(dateFormat))
+            excelColumn.setDateFormat(dateFormat);
+
+        return excelColumn;
+    }
+
+    /**
+     * 设置单元格值
+     * <p>
+     * 根据数据类型设置单元格的值，并应用样式
+     * </p>
+     * 
+     * @param workbook    Excel工作簿
+     * @param cell        单元格
+     * @param excelColumn 单元格配置
+     */
+    private static void setCellValue(Workbook workbook, Cell cell, ExcelColumn excelColumn) {
+        if (excelColumn == null)
+            return;
+
+        // 根据数据类型设置值，数据为空时不设置样式
+        if (!CellValueWriters.setCellValue(cell, excelColumn.getData()))
+            return;
+
+        // 应用样式
+        setCellStyle(workbook, cell, excelColumn);
+    }
+
+    /**
+     * 设置单元格样式
+     * <p>
+     * 相同配置的单元格共用同一个样式，详见 {@link CellStyleCache}
+     * </p>
+     * 
+     * @param workbook    Excel工作簿
+     * @param cell        单元格
+     * @param excelColumn 单元格配置
+     */
+    private static void setCellStyle(Workbook workbook, Cell cell, ExcelColumn excelColumn) {
+        cell.setCellStyle(CellStyleCache.getCellStyle(workbook, excelColumn));
+    }
+
+    /**
+     * 设置列宽
+     * 
+     * @param sheet 工作表
+     * @param index 列索引
+     * @param width 列宽
+     */
+    private static void setCellWidth(Sheet sheet, int index, Integer width) {
+        if (width == null || width <= 0)
+            return;
+        sheet.setColumnWidth(index, width);
+    }
+
+    /**
+     * 设置行高
+     * 
+     * @param row    行
+     * @param height 行高
+     */
+    private static void setCellHeight(Row row, Float height) {
+        if (height == null || height <= 0)
+            return;
+        row.setHeightInPoints(height);
+    }
+
+    /**
+     * 保存Excel文件
+     * <p>
+     * 将工作簿保存到指定路径，自动生成唯一文件名
+     * </p>
+     * 
+     * @param filePath 文件路径（相对路径）
+     * @param workbook Excel工作簿
+     * @return 生成的文件路径
+     * @throws RuntimeException 当路径无效或写入失败时抛出
+     */
+    public static String toFile(String filePath, Workbook workbook) {
+        return toFile(filePath, workbook, new ExcelWriteOptions());
+    }
+
+    /**
+     * 保存Excel文件
+     * <p>
+     * 将工作簿保存到指定路径，自动生成唯一文件名，缓冲区大小和压缩级别由输出配置决定
+     * </p>
+     *
+     * @param filePath 文件路径（相对路径）
+     * @param workbook Excel工作簿
+     * @param options  输出配置
+     * @return 生成的文件路径
+     * @throws RuntimeException 当路径无效或写入失败时抛出
+     */
+    public static String toFile(String filePath, Workbook workbook, ExcelWriteOptions options) {
+        if (filePath.startsWith("/"))
+            throw new RuntimeException("暂不支持绝对路径");
+
+        String[] filePaths = Arrays.stream(filePath.split("/"))
+                .filter(path -> path != null && !path.trim().isEmpty())
+                .toArray(String[]::new);
+
+        if (ArrayUtils.isEmpty(filePaths))
+            filePaths = new String[] { "excel" };
+
+        // 生成唯一文件名
+        String file = String.format("%s_%d.xlsx", UUID.randomUUID(), System.currentTimeMillis());
+        String fullPath = String.join(File.separator, filePaths) + File.separator + file;
+
+        try (OutputStream out = getOutputStream(fullPath)) {
+            toStream(out, workbook, options);
+            return String.join("/", filePaths) + "/" + file;
+        } catch (IOException e) {
+            throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 将工作簿写入输出流
+     * <p>
+     * 使用默认配置，详见 {@link #toStream(OutputStream, Workbook, ExcelWriteOptions)}
+     * </p>
+     *
+     * @param outputStream 输出流
+     * @param workbook     Excel工作簿
+     * @throws RuntimeException 当写入失败时抛出
+     */
+    public static void toStream(OutputStream outputStream, Workbook workbook) {
+        toStream(outputStream, workbook, new ExcelWriteOptions());
+    }
+
+    /**
+     * 将工作簿写入输出流
+     * <p>
+     * 直接写入调用方提供的输出流（如 HTTP 响应、对象存储上传流），不产生中间文件。
+     * 压缩级别对 XSSFWorkbook 和 {@link StreamingWorkbook} 生效，只作用于本次输出，不修改工作簿上的配置；
+     * 普通 SXSSFWorkbook 无法设置压缩级别，指定压缩级别时抛出异常，请改用 {@link StreamingWorkbook}。
+     * </p>
+     * <p>
+     * 注意：不会关闭传入的输出流和工作簿，SXSSFWorkbook 的临时文件在调用方关闭工作簿时清理
+     * </p>
+     *
+     * @param outputStream 输出流
+     * @param workbook     Excel工作簿
+     * @param options      输出配置
+     * @throws RuntimeException 当写入失败或工作簿不支持指定的压缩级别时抛出
+     */
+    public static void toStream(OutputStream outputStream, Workbook workbook, ExcelWriteOptions options) {
+        if (outputStream == null)
+            throw new RuntimeException("输出流不能为空");
+        if (workbook == null)
+            throw new RuntimeException("工作簿不能为空");
+        if (options == null)
+            options = new ExcelWriteOptions();
+
+        Integer compressionLevel = options.getCompressionLevel();
+        if (compressionLevel != null && workbook instanceof SXSSFWorkbook && !(workbook instanceof StreamingWorkbook))
+            throw new RuntimeException("SXSSFWorkbook 不支持设置压缩级别，请使用 StreamingWorkbook");
+
+        StreamingWorkbook streamingWorkbook = workbook instanceof StreamingWorkbook ? (StreamingWorkbook) workbook : null;
+        Integer previousCompressionLevel = streamingWorkbook == null ? null : streamingWorkbook.getCompressionLevel();
+        try {
+            OutputStream out = new BufferedOutputStream(CloseShieldOutputStream.wrap(outputStream),
+                    options.getBufferSize());
+            if (streamingWorkbook != null && compressionLevel != null)
+                streamingWorkbook.setCompressionLevel(compressionLevel);
+
+            if (workbook instanceof XSSFWorkbook && compressionLevel != null) {
+                // XSSF 在输出流为 ZipArchiveOutputStream 时会直接使用该流，并在写入完成后调用 finish
+                ZipArchiveOutputStream zipArchiveOutputStream = new ZipArchiveOutputStream(out);
+                zipArchiveOutputStream.setLevel(compressionLevel);
+                workbook.write(zipArchiveOutputStream);
+            } else
+                workbook.write(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("文件写入失败: " + e.getMessage(), e);
+        } finally {
+            // 压缩级别只作用于本次输出
+            if (streamingWorkbook != null)
+                streamingWorkbook.setCompressionLevel(previousCompressionLevel);
+        }
+    }
+
+    /**
+     * 将工作簿写入通道
+     * <p>
+     * 与 {@link #toStream(OutputStream, Workbook, ExcelWriteOptions)} 相同，适用于 NIO 通道
+     * </p>
+     * <p>
+     * 注意：不会关闭传入的通道
+     * </p>
+     *
+     * @param channel  通道
+     * @param workbook Excel工作簿
+     * @param options  输出配置
+     * @throws RuntimeException 当写入失败时抛出
+     */
+    public static void toStream(WritableByteChannel channel, Workbook workbook, ExcelWriteOptions options) {
+        if (channel == null)
+            throw new RuntimeException("输出通道不能为空");
+        toStream(Channels.newOutputStream(channel), workbook, options);
+    }
+
+    /**
+     * 获取文件输出流
+     * <p>
+     * 如果目录不存在会自动创建
+     * </p>
+     * 
+     * @param path 文件路径
+     * @return 文件输出流
+     * @throws IOException IO异常
+     */
+    private static FileOutputStream getOutputStream(String path) throws IOException {
+        File file = new File(path);
+        // 创建父目录
+        if (!file.getParentFile().exists()) {
+            file.getParentFile().mkdirs();
+        }
+        // 创建文件
+        if (!file.exists()) {
+            file.createNewFile();
+        }
+        return new FileOutputStream(file, false);
+    }
+
+    /**
+     * 模板行快照
+     * <p>
+     * 模板行从工作表中移除后，保留其行高、单元格样式与内容，以便在数据之后（或每个数据行中）重新写入
+     * </p>
+     */
+    private static class TemplateRow {
+
+        private final int rowIndex;
+
+        private final short height;
+
+        private final List<Integer> columnIndexList = new ArrayList<>();
+
+        private final List<CellStyle> cellStyleList = new ArrayList<>();
+
+        private final List<Object> valueList = new ArrayList<>();
+
+        TemplateRow(Row row) {
+            this(row, Collections.emptySet());
+        }
+
+        /**
+         * @param row                 模板行
+         * @param excludeCellIndexSet 不保留的列
+         */
+        TemplateRow(Row row, Set<Integer> excludeCellIndexSet) {
+            this.rowIndex = row.getRowNum();
+            this.height = row.getHeight();
+            for (Cell cell : row) {
+                if (excludeCellIndexSet.contains(cell.getColumnIndex()))
+                    continue;
+                columnIndexList.add(cell.getColumnIndex());
+                cellStyleList.add(cell.getCellStyle());
+                switch (cell.getCellType()) {
+                    case STRING:
+                        valueList.add(cell.getRichStringCellValue());
+                        break;
+                    case NUMERIC:
+                        valueList.add(cell.getNumericCellValue());
+                        break;
+                    case BOOLEAN:
+                        valueList.add(cell.getBooleanCellValue());
+                        break;
+                    case FORMULA:
+                        valueList.add(cell.getCellFormula());
+                        break;
+                    case ERROR:
+                        valueList.add(cell.getErrorCellValue());
+                        break;
+                    default:
+                        valueList.add(null);
+                        break;
+                }
+            }
+        }
+
+        /**
+         * 写入行高与单元格
+         *
+         * @param row           目标行
+         * @param formulaMapper 公式调整
+         */
+        void write(Row row, UnaryOperator<String> formulaMapper) {
+            row.setHeight(height);
+            writeCells(row, formulaMapper);
+        }
+
+        /**
+         * 写入单元格
+         *
+         * @param row           目标行
+         * @param formulaMapper 公式调整
+         */
+        void writeCells(Row row, UnaryOperator<String> formulaMapper) {
+            for (int index = 0; index < columnIndexList.size(); index++) {
+                Cell cell = row.createCell(columnIndexList.get(index));
+                cell.setCellStyle(cellStyleList.get(index));
+
+                Object value = valueList.get(index);
+                if (value instanceof RichTextString)
+                    cell.setCellValue((RichTextString) value);
+                else if (value instanceof Double)
+                    cell.setCellValue((Double) value);
+                else if (value instanceof Boolean)
+                    cell.setCellValue((Boolean) value);
+                else if (value instanceof String)
+                    cell.setCellFormula(formulaMapper.apply((String) value));
+                else if (value instanceof Byte)
+                    cell.setCellErrorValue((Byte) value);
+            }
+        }
+    }
+
+    /**
+     * 模板表尾公式调整
+     * <p>
+     * 数据写入后，模板数据行之后的内容整体下移。公式按插入行的方式调整：先用 {@link FormulaShifter}
+     * 平移指向被移动行的引用，再把结束于模板数据行的区域扩展到最后一个数据行
+     * </p>
+     */
+    private static class TemplateFormulaShifter {
+
+        private final XSSFEvaluationWorkbook evaluationWorkbook;
+        private final int sheetIndex;
+        private final int dataRowIndex;
+        private final int offset;
+        private final FormulaShifter formulaShifter;
+
+        /**
+         * @param workbook     模板工作簿
+         * @param sheetIndex   模板工作表下标
+         * @param dataRowIndex 模板数据行
+         * @param offset       模板数据行之后的行下移的行数（没有数据时为-1）
+         */
+        TemplateFormulaShifter(XSSFWorkbook workbook, int sheetIndex, int dataRowIndex, int offset) {
+            this.evaluationWorkbook = XSSFEvaluationWorkbook.create(workbook);
+            this.sheetIndex = sheetIndex;
+            this.dataRowIndex = dataRowIndex;
+            this.offset = offset;
+            this.formulaShifter = FormulaShifter.createForRowShift(sheetIndex, workbook.getSheetName(sheetIndex),
+                    dataRowIndex + 1, SpreadsheetVersion.EXCEL2007.getLastRowIndex(), offset,
+                    SpreadsheetVersion.EXCEL2007);
+        }
+
+        /**
+         * 调整公式
+         *
+         * @param formula  公式
+         * @param rowIndex 公式所在的模板行
+         * @return 调整后的公式
+         */
+        String shift(String formula, int rowIndex) {
+            if (offset == 0)
+                return formula;
+            Ptg[] ptgs = FormulaParser.parse(formula, evaluationWorkbook, FormulaType.CELL, sheetIndex, rowIndex);
+            boolean changed = formulaShifter.adjustFormula(ptgs, sheetIndex);
+            if (offset > 0) {
+                for (Ptg ptg : ptgs) {
+                    if (ptg instanceof AreaPtg) {
+                        AreaPtg areaPtg = (AreaPtg) ptg;
+                        if (areaPtg.getFirstRow() <= dataRowIndex && areaPtg.getLastRow() == dataRowIndex) {
+                            areaPtg.setLastRow(dataRowIndex + offset);
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            return changed ? FormulaRenderer.toFormulaString(evaluationWorkbook, ptgs) : formula;
+        }
+    }
+
+    /**
+     * 模板数据行公式复制
+     * <p>
+     * 模板数据行中的公式复制到每个数据行时，按 Excel 复制行的方式调整相对引用（如 B3*C3 复制到第4行为 B4*C4），
+     * 绝对引用保持不变。同一公式只解析一次
+     * </p>
+     */
+    private static class TemplateFormulaCopier {
+
+        private final XSSFEvaluationWorkbook evaluationWorkbook;
+        private final int sheetIndex;
+        private final String sheetName;
+        private final int dataRowIndex;
+        private final Map<String, Ptg[]> ptgMap = new HashMap<>();
+
+        /**
+         * @param workbook     模板工作簿
+         * @param sheetIndex   模板工作表下标
+         * @param dataRowIndex 模板数据行
+         */
+        TemplateFormulaCopier(XSSFWorkbook workbook, int sheetIndex, int dataRowIndex) {
+            this.evaluationWorkbook = XSSFEvaluationWorkbook.create(workbook);
+            this.sheetIndex = sheetIndex;
+            this.sheetName = workbook.getSheetName(sheetIndex);
+            this.dataRowIndex = dataRowIndex;
+        }
+
+        /**
+         * 复制公式
+         *
+         * @param formula  模板数据行中的公式
+         * @param rowIndex 目标行
+         * @return 调整后的公式
+         */
+        String copy(String formula, int rowIndex) {
+            int amount = rowIndex - dataRowIndex;
+            if (amount == 0)
+                return formula;
+            Ptg[] ptgs = ptgMap.computeIfAbsent(formula,
+                    it -> FormulaParser.parse(it, evaluationWorkbook, FormulaType.CELL, sheetIndex, dataRowIndex));
+            Ptg[] copy = new Ptg[ptgs.length];
+            for (int index = 0; index < ptgs.length; index++)
+                copy[index] = ptgs[index].copy();
+            FormulaShifter formulaShifter = FormulaShifter.createForRowCopy(sheetIndex, sheetName,
+                    dataRowIndex, dataRowIndex, amount, SpreadsheetVersion.EXCEL2007);
+            return formulaShifter.adjustFormula(copy, sheetIndex) ? FormulaRenderer.toFormulaString(evaluationWorkbook, copy) : formula;
         }
-        return new FileOutputStream(file, false);
     }
 }
@@ -0,0 +1,265 @@
+package com.ericyl.excel.csv;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.usermodel.Hyperlink;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * CSV 单元格适配器
+ * <p>
+ * 把 CSV 字段包装为只读的 {@link Cell}，使现有的
+ * {@link com.ericyl.excel.reader.formatter.IExcelReaderFormatter} 无需修改即可用于 CSV 读取。
+ * CSV 没有数据类型，单元格始终为文本类型（空字段为空白类型），与 Excel 中文本单元格的行为一致：
+ * 获取数字或日期时抛出 {@link IllegalStateException}；布尔值按 true/false/1/0 解析。
+ * </p>
+ * <p>
+ * 字段内容在首次获取时才从分词器中创建字符串，同一个实例在读取过程中复用
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class CsvCell implements Cell {
+
+    private CsvTokenizer tokenizer;
+    private int rowIndex;
+    private int columnIndex;
+    private String value;
+
+    /**
+     * 指向当前记录的字段
+     *
+     * @param tokenizer   分词器
+     * @param rowIndex    行下标
+     * @param columnIndex 列下标
+     * @return 当前实例
+     */
+    public CsvCell reset(CsvTokenizer tokenizer, int rowIndex, int columnIndex) {
+        this.tokenizer = tokenizer;
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.value = null;
+        return this;
+    }
+
+    @Override
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    @Override
+    public int getRowIndex() {
+        return rowIndex;
+    }
+
+    @Override
+    public Sheet getSheet() {
+        return null;
+    }
+
+    @Override
+    public Row getRow() {
+        return null;
+    }
+
+    @Override
+    public CellType getCellType() {
+        return tokenizer.getLength(columnIndex) == 0 ? CellType.BLANK : CellType.STRING;
+    }
+
+    @Override
+    public CellType getCachedFormulaResultType() {
+        throw new IllegalStateException("Only formula cells have cached results");
+    }
+
+    @Override
+    public String getCellFormula() {
+        throw new IllegalStateException("Cannot get a FORMULA value from a " + getCellType() + " cell");
+    }
+
+    @Override
+    public double getNumericCellValue() {
+        throw new IllegalStateException("Cannot get a NUMERIC value from a " + getCellType() + " cell");
+    }
+
+    @Override
+    public Date getDateCellValue() {
+        throw new IllegalStateException("Cannot get a NUMERIC value from a " + getCellType() + " cell");
+    }
+
+    @Override
+    public LocalDateTime getLocalDateTimeCellValue() {
+        throw new IllegalStateException("Cannot get a NUMERIC value from a " + getCellType() + " cell");
+    }
+
+    @Override
+    public RichTextString getRichStringCellValue() {
+        return new XSSFRichTextString(getStringCellValue());
+    }
+
+    @Override
+    public String getStringCellValue() {
+        if (value == null)
+            value = tokenizer.getLength(columnIndex) == 0 ? "" : tokenizer.getString(columnIndex);
+        return value;
+    }
+
+    @Override
+    public boolean getBooleanCellValue() {
+        String str = getStringCellValue();
+        if (str.isEmpty() || "0".equals(str) || "false".equalsIgnoreCase(str))
+            return false;
+        if ("1".equals(str) || "true".equalsIgnoreCase(str))
+            return true;
+        throw new IllegalStateException("Cannot get a BOOLEAN value from a STRING cell: " + str);
+    }
+
+    @Override
+    public byte getErrorCellValue() {
+        throw new IllegalStateException("Cannot get an ERROR value from a " + getCellType() + " cell");
+    }
+
+    @Override
+    public CellStyle getCellStyle() {
+        return null;
+    }
+
+    @Override
+    public CellAddress getAddress() {
+        return new CellAddress(rowIndex, columnIndex);
+    }
+
+    @Override
+    public Comment getCellComment() {
+        return null;
+    }
+
+    @Override
+    public Hyperlink getHyperlink() {
+        return null;
+    }
+
+    @Override
+    public CellRangeAddress getArrayFormulaRange() {
+        throw new IllegalStateException("Cell " + getAddress() + " is not part of an array formula.");
+    }
+
+    @Override
+    public boolean isPartOfArrayFormulaGroup() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getStringCellValue();
+    }
+
+    // 以下为写入操作，CSV 单元格只读
+
+    @Override
+    @Deprecated
+    public void setCellType(CellType cellType) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setBlank() {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(double value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(Date value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(LocalDateTime value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(Calendar value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(RichTextString value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(String value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellValue(boolean value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellFormula(String formula) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeFormula() {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellErrorValue(byte value) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellStyle(CellStyle style) {
+        throw readOnly();
+    }
+
+    @Override
+    public void setAsActiveCell() {
+        throw readOnly();
+    }
+
+    @Override
+    public void setCellComment(Comment comment) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeCellComment() {
+        throw readOnly();
+    }
+
+    @Override
+    public void setHyperlink(Hyperlink link) {
+        throw readOnly();
+    }
+
+    @Override
+    public void removeHyperlink() {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("CSV 单元格不支持修改");
+    }
+}
@@ -0,0 +1,360 @@
+package com.ericyl.excel.csv;
+
+import com.ericyl.excel.csv.model.CsvOptions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * CSV 分词器
+ * <p>
+ * 从通道中按块读取字节并直接解码到字符缓冲区，逐条解析记录。
+ * 字段不会被复制成字符串，只记录其在缓冲区中的起止位置：
+ * 带引号字段中的转义引号（""）在缓冲区内原地还原，
+ * 补充数据时只把当前记录未解析完的部分移到缓冲区开头，单条记录超过缓冲区时才扩容。
+ * </p>
+ * <p>
+ * 支持 RFC 4180 格式：字段可用引号包裹，引号内可包含分隔符和换行，LF 和 CRLF 均视为记录结束，
+ * 开头的 BOM 会被忽略。字段内容只在当前记录有效，调用 {@link #next()} 后即失效
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class CsvTokenizer {
+
+    private static final int END_OF_RECORD = '\n';
+    private static final int END_OF_INPUT = -1;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer byteBuffer;
+    private final char delimiter;
+    private final char quote;
+
+    private char[] buffer;
+    private int position;
+    private int limit;
+    private boolean inputFinished;
+    private boolean endOfInput;
+    private boolean started;
+
+    /**
+     * 当前记录的起始位置（补充数据时从这里开始保留）
+     */
+    private int recordStart;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int fieldCount;
+    private long recordNumber;
+
+    /**
+     * 创建分词器
+     * <p>
+     * 通道由调用方负责关闭
+     * </p>
+     *
+     * @param channel 输入通道
+     * @param options 读取配置，为空时使用默认配置
+     */
+    public CsvTokenizer(ReadableByteChannel channel, CsvOptions options) {
+        if (options == null)
+            options = new CsvOptions();
+        this.channel = channel;
+        this.decoder = options.getCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.byteBuffer = ByteBuffer.allocate(options.getBufferSize());
+        this.byteBuffer.flip();
+        this.buffer = new char[options.getBufferSize()];
+        this.delimiter = options.getDelimiter();
+        this.quote = options.getQuote();
+    }
+
+    /**
+     * 解析下一条记录
+     *
+     * @return 没有更多记录时返回false
+     * @throws IOException IO异常
+     */
+    public boolean next() throws IOException {
+        fieldCount = 0;
+        recordStart = position;
+        if (position >= limit && !fill())
+            return false;
+        if (!started) {
+            started = true;
+            if (buffer[position] == '\uFEFF' && ++position >= limit && !fill())
+                return false;
+        }
+        recordNumber++;
+        while (true) {
+            int terminator = buffer[position] == quote ? parseQuotedField() : parseField();
+            if (terminator != delimiter)
+                return true;
+            if (position >= limit && !fill()) {
+                // 以分隔符结尾，最后一个字段为空
+                addField(position, position);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 获取当前记录的序号
+     *
+     * @return 序号（从1开始，不区分表头与数据）
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * 获取当前记录的字段数
+     *
+     * @return 字段数
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 当前记录是否为空行
+     *
+     * @return 空行时返回true
+     */
+    public boolean isBlank() {
+        return fieldCount == 1 && ends[0] == starts[0];
+    }
+
+    /**
+     * 获取字段长度
+     *
+     * @param index 字段下标
+     * @return 长度，字段不存在时为0
+     */
+    public int getLength(int index) {
+        return index < fieldCount ? ends[index] - starts[index] : 0;
+    }
+
+    /**
+     * 获取字段内容
+     *
+     * @param index 字段下标
+     * @return 字段内容，字段不存在时为null
+     */
+    public String getString(int index) {
+        if (index >= fieldCount)
+            return null;
+        return new String(buffer, starts[index], ends[index] - starts[index]);
+    }
+
+    /**
+     * 字段是否为整数（可带正负号的数字序列），不创建中间字符串
+     *
+     * @param index 字段下标
+     * @return 是整数时返回true，字段不存在或为空时返回false
+     */
+    public boolean isInteger(int index) {
+        if (index >= fieldCount || starts[index] == ends[index])
+            return false;
+        int start = starts[index];
+        int i = buffer[start] == '-' || buffer[start] == '+' ? start + 1 : start;
+        if (i == ends[index])
+            return false;
+        for (; i < ends[index]; i++) {
+            if (buffer[i] < '0' || buffer[i] > '9')
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 直接从缓冲区解析整数，不创建中间字符串
+     *
+     * @param index 字段下标
+     * @return 整数值
+     * @throws NumberFormatException 当字段不是整数时抛出
+     */
+    public long getLong(int index) {
+        if (index >= fieldCount || starts[index] == ends[index])
+            throw new NumberFormatException("For input string: \"\"");
+        int start = starts[index];
+        int end = ends[index];
+        boolean negative = buffer[start] == '-';
+        int i = negative || buffer[start] == '+' ? start + 1 : start;
+        if (i == end)
+            throw new NumberFormatException("For input string: \"" + getString(index) + "\"");
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            // 超过18位时交给 Long.parseLong 处理溢出
+            if (digit < 0 || digit > 9 || i - start >= 18)
+                return Long.parseLong(getString(index));
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private int parseField() throws IOException {
+        int start = position;
+        while (true) {
+            if (position >= limit) {
+                int shift = recordStart;
+                boolean filled = fill();
+                start -= shift;
+                if (!filled) {
+                    addField(start, position);
+                    return END_OF_INPUT;
+                }
+            }
+            char c = buffer[position];
+            if (c == delimiter || c == '\n' || c == '\r') {
+                addField(start, position++);
+                return c == delimiter ? c : skipLineFeed(c);
+            }
+            position++;
+        }
+    }
+
+    private int parseQuotedField() throws IOException {
+        int start = ++position;
+        int write = start;
+        while (true) {
+            if (position >= limit) {
+                int shift = recordStart;
+                boolean filled = fill();
+                start -= shift;
+                write -= shift;
+                if (!filled) {
+                    // 引号未闭合时，把剩余内容都作为字段值
+                    addField(start, write);
+                    return END_OF_INPUT;
+                }
+            }
+            char c = buffer[position++];
+            if (c != quote) {
+                buffer[write++] = c;
+                continue;
+            }
+            if (position >= limit) {
+                int shift = recordStart;
+                boolean filled = fill();
+                start -= shift;
+                write -= shift;
+                if (!filled) {
+                    addField(start, write);
+                    return END_OF_INPUT;
+                }
+            }
+            if (buffer[position] == quote) {
+                // 转义引号，原地还原
+                buffer[write++] = quote;
+                position++;
+                continue;
+            }
+            addField(start, write);
+            return skipToTerminator();
+        }
+    }
+
+    /**
+     * 跳过闭合引号之后到分隔符或换行之间的内容
+     */
+    private int skipToTerminator() throws IOException {
+        while (true) {
+            if (position >= limit && !fill())
+                return END_OF_INPUT;
+            char c = buffer[position++];
+            if (c == delimiter)
+                return c;
+            if (c == '\n' || c == '\r')
+                return skipLineFeed(c);
+        }
+    }
+
+    private int skipLineFeed(char c) throws IOException {
+        if (c == '\r' && (position < limit || fill()) && buffer[position] == '\n')
+            position++;
+        return END_OF_RECORD;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * 补充数据
+     * <p>
+     * 先把当前记录已读取的部分移到缓冲区开头（已记录的字段位置同步调整），
+     * 剩余空间不足两个字符（放不下一个代理对）时扩容
+     * </p>
+     */
+    private boolean fill() throws IOException {
+        int shift = recordStart;
+        if (shift > 0) {
+            System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+            limit -= shift;
+            position -= shift;
+            for (int i = 0; i < fieldCount; i++) {
+                starts[i] -= shift;
+                ends[i] -= shift;
+            }
+            recordStart = 0;
+        }
+        if (buffer.length - limit < 2)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, limit + 2));
+        return read();
+    }
+
+    /**
+     * 从通道读取字节并解码到缓冲区末尾
+     * <p>
+     * 剩余空间放不下下一个字符（解码溢出且没有进展）时扩容后继续解码
+     * </p>
+     */
+    private boolean read() throws IOException {
+        if (endOfInput)
+            return false;
+        CharBuffer charBuffer = CharBuffer.wrap(buffer, limit, buffer.length - limit);
+        while (true) {
+            CoderResult result = CoderResult.UNDERFLOW;
+            if (inputFinished) {
+                result = decoder.decode(byteBuffer, charBuffer, true);
+                if (result.isUnderflow()) {
+                    result = decoder.flush(charBuffer);
+                    if (result.isUnderflow())
+                        endOfInput = true;
+                }
+            } else if (byteBuffer.hasRemaining()) {
+                result = decoder.decode(byteBuffer, charBuffer, false);
+            }
+            if (charBuffer.position() > limit || endOfInput)
+                break;
+            if (result.isOverflow()) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                charBuffer = CharBuffer.wrap(buffer, limit, buffer.length - limit);
+                continue;
+            }
+            byteBuffer.compact();
+            if (channel.read(byteBuffer) < 0)
+                inputFinished = true;
+            byteBuffer.flip();
+        }
+        int count = charBuffer.position() - limit;
+        limit = charBuffer.position();
+        return count > 0;
+    }
+}
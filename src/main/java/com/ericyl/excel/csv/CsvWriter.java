@@ -0,0 +1,214 @@
+package com.ericyl.excel.csv;
+
+import com.ericyl.excel.csv.model.CsvOptions;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * CSV 写入器
+ * <p>
+ * 按字段顺序写入，字段中包含分隔符、引号或换行时才加引号；整数直接写入缓冲区，不创建中间字符串。
+ * 日期按 Excel 格式字符串（与 @ExcelWriter(dateFormat) 相同，如 "yyyy-mm-dd"）格式化，
+ * 保证与导出 Excel 时显示的内容一致。
+ * </p>
+ *
+ * <pre>
+ * try (CsvWriter writer = new CsvWriter(out, options)) {
+ *     writer.writeField("名称");
+ *     writer.writeField(value, "yyyy-mm-dd");
+ *     writer.endRecord();
+ * }
+ * </pre>
+ * <p>
+ * 注意：{@link #close()} 只会刷新缓冲区，不会关闭传入的输出流
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class CsvWriter implements Closeable {
+
+    /**
+     * 未设置日期格式时使用的格式
+     */
+    private static final String DEFAULT_DATE_TIME_FORMAT = "yyyy-mm-dd hh:mm:ss";
+    private static final String DEFAULT_DATE_FORMAT = "yyyy-mm-dd";
+
+    private final Writer writer;
+    private final char delimiter;
+    private final char quote;
+    private final String lineSeparator;
+    private final DataFormatter dataFormatter = new DataFormatter();
+
+    /**
+     * 数字转换的缓冲区
+     */
+    private final char[] numberBuffer = new char[20];
+
+    private boolean firstField = true;
+
+    /**
+     * 创建写入器
+     *
+     * @param outputStream 输出流
+     * @param options      写入配置，为空时使用默认配置
+     * @throws IOException IO异常
+     */
+    public CsvWriter(OutputStream outputStream, CsvOptions options) throws IOException {
+        if (options == null)
+            options = new CsvOptions();
+        this.writer = new BufferedWriter(new OutputStreamWriter(CloseShieldOutputStream.wrap(outputStream),
+                options.getCharset()), options.getBufferSize());
+        this.delimiter = options.getDelimiter();
+        this.quote = options.getQuote();
+        this.lineSeparator = options.getLineSeparator();
+        if (options.isBom())
+            writer.write('\uFEFF');
+    }
+
+    /**
+     * 写入字段
+     *
+     * @param obj 字段数据，为空时写入空字段
+     * @throws IOException      IO异常
+     * @throws RuntimeException 当数据类型不支持时抛出
+     */
+    public void writeField(Object obj) throws IOException {
+        writeField(obj, null);
+    }
+
+    /**
+     * 写入字段
+     *
+     * @param obj        字段数据，为空时写入空字段
+     * @param dateFormat 日期格式（Excel 格式字符串），为空时使用默认格式
+     * @throws IOException      IO异常
+     * @throws RuntimeException 当数据类型不支持时抛出
+     */
+    public void writeField(Object obj, String dateFormat) throws IOException {
+        if (firstField)
+            firstField = false;
+        else
+            writer.write(delimiter);
+        if (obj == null)
+            return;
+
+        if (obj instanceof String) {
+            writeText((String) obj);
+        } else if (obj instanceof Integer || obj instanceof Long || obj instanceof Short || obj instanceof Byte) {
+            writeLong(((Number) obj).longValue());
+        } else if (obj instanceof BigDecimal) {
+            writer.write(((BigDecimal) obj).toPlainString());
+        } else if (obj instanceof BigInteger || obj instanceof Float) {
+            writer.write(obj.toString());
+        } else if (obj instanceof Number) {
+            double value = ((Number) obj).doubleValue();
+            if (value == (long) value && Math.abs(value) < 1e15)
+                writeLong((long) value);
+            else
+                writer.write(Double.toString(value));
+        } else if (obj instanceof Date) {
+            writeDate(DateUtil.getExcelDate((Date) obj), dateFormat, DEFAULT_DATE_TIME_FORMAT);
+        } else if (obj instanceof LocalDateTime) {
+            writeDate(DateUtil.getExcelDate((LocalDateTime) obj), dateFormat, DEFAULT_DATE_TIME_FORMAT);
+        } else if (obj instanceof LocalDate) {
+            writeDate(DateUtil.getExcelDate((LocalDate) obj), dateFormat, DEFAULT_DATE_FORMAT);
+        } else if (obj instanceof Calendar) {
+            writeDate(DateUtil.getExcelDate((Calendar) obj, false), dateFormat, DEFAULT_DATE_TIME_FORMAT);
+        } else if (obj instanceof Boolean) {
+            writer.write((Boolean) obj ? "true" : "false");
+        } else if (obj instanceof Character) {
+            writeText(obj.toString());
+        } else if (obj instanceof Enum) {
+            writeText(((Enum<?>) obj).name());
+        } else {
+            throw new RuntimeException("暂不支持当前数据类型: " + obj.getClass().getName());
+        }
+    }
+
+    /**
+     * 结束当前记录
+     *
+     * @throws IOException IO异常
+     */
+    public void endRecord() throws IOException {
+        writer.write(lineSeparator);
+        firstField = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeDate(double excelDate, String dateFormat, String defaultFormat) throws IOException {
+        String format = StringUtils.isEmpty(dateFormat) ? defaultFormat : dateFormat;
+        writeText(dataFormatter.formatRawCellContents(excelDate, -1, format));
+    }
+
+    /**
+     * 写入文本，包含分隔符、引号或换行时加引号并转义
+     */
+    private void writeText(String str) throws IOException {
+        int length = str.length();
+        int index = 0;
+        while (index < length) {
+            char c = str.charAt(index);
+            if (c == delimiter || c == quote || c == '\n' || c == '\r')
+                break;
+            index++;
+        }
+        if (index == length) {
+            writer.write(str);
+            return;
+        }
+
+        writer.write(quote);
+        int start = 0;
+        for (int i = index; i < length; i++) {
+            if (str.charAt(i) == quote) {
+                writer.write(str, start, i + 1 - start);
+                writer.write(quote);
+                start = i + 1;
+            }
+        }
+        writer.write(str, start, length - start);
+        writer.write(quote);
+    }
+
+    /**
+     * 不创建字符串的整数写入
+     */
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writer.write(Long.toString(value));
+            return;
+        }
+        boolean negative = value < 0;
+        if (negative)
+            value = -value;
+        int position = numberBuffer.length;
+        do {
+            numberBuffer[--position] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        if (negative)
+            numberBuffer[--position] = '-';
+        writer.write(numberBuffer, position, numberBuffer.length - position);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ericyl.excel.csv.model;
+
+import com.ericyl.excel.reader.ExcelReaderBatch;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.experimental.SuperBuilder;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV 读写配置
+ * <p>
+ * 默认为 RFC 4180 格式（逗号分隔、双引号转义、CRLF 换行、UTF-8 编码），
+ * TSV 等其他分隔符格式只需修改 {@link #delimiter}
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CsvOptions {
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * 分隔符
+     */
+    @Builder.Default
+    private char delimiter = ',';
+
+    /**
+     * 引号
+     */
+    @Builder.Default
+    private char quote = '"';
+
+    /**
+     * 字符集
+     */
+    @Builder.Default
+    private Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * 读写缓冲区大小（字节）
+     */
+    @Builder.Default
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * 表头行数
+     * <p>
+     * 读取时跳过前几行，并以其中最后一行作为 @ExcelReader(name) 的匹配依据；
+     * 写入时大于0则输出一行表头。为0时表示没有表头
+     * </p>
+     */
+    @Builder.Default
+    private int headerNumber = 1;
+
+    /**
+     * 每批行数（读取时使用）
+     * <p>
+     * 字段使用 {@link com.ericyl.excel.reader.formatter.IExcelBulkReaderFormatter} 时，每读取该数量的数据行批量转换一次
+     * </p>
+     */
+    @Builder.Default
+    private int batchSize = ExcelReaderBatch.DEFAULT_BATCH_SIZE;
+
+    /**
+     * 换行符（写入时使用，读取时自动识别 LF 和 CRLF）
+     */
+    @Builder.Default
+    private String lineSeparator = "\r\n";
+
+    /**
+     * 写入时是否输出 BOM
+     * 使用 Excel 直接打开 UTF-8 编码的文件时需要开启，否则中文会显示为乱码
+     */
+    private boolean bom;
+
+    /**
+     * TSV（制表符分隔）配置
+     *
+     * @return 配置
+     */
+    public static CsvOptions tsv() {
+        return new CsvOptions().setDelimiter('\t');
+    }
+
+}
@@ -0,0 +1,215 @@
+package com.ericyl.excel.formatter;
+
+import com.ericyl.excel.ExcelReaderUtils;
+import com.ericyl.excel.reader.formatter.ExcelConvertException;
+import com.ericyl.excel.reader.formatter.IExcelReaderFormatter;
+import com.ericyl.excel.reader.formatter.SimpleDateExcelReaderFormatter;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.CellType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 类型转换器注册表
+ * <p>
+ * 未配置 @ExcelReader(formatter) 的字段按字段类型（数组、集合为元素类型）从这里获取转换器，
+ * 在解析字段映射关系时获取一次，读取每个单元格时直接调用，不再逐个判断类型。
+ * 基本类型按对应的包装类型处理。内置以下类型，也可以注册其他类型或覆盖内置的转换器：
+ * </p>
+ * <ul>
+ * <li>String、Boolean、Character</li>
+ * <li>Byte、Short、Integer、Long、Float、Double、BigInteger、BigDecimal（整数类型不允许有小数部分，文本单元格按字符串解析）</li>
+ * <li>Date、LocalDate、LocalDateTime、LocalTime（文本单元格的格式与 {@link SimpleDateExcelReaderFormatter} 相同）</li>
+ * <li>UUID</li>
+ * </ul>
+ * <p>
+ * 数据不符合类型时抛出不带堆栈的 {@link ExcelConvertException}
+ * </p>
+ *
+ * <pre>
+ * ConverterRegistry.register(Money.class, cell -&gt; Money.of(cell.getNumericCellValue()));
+ * </pre>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class ConverterRegistry {
+
+    /**
+     * 内置转换器
+     */
+    private static final Map<Class<?>, IExcelReaderFormatter<?>> DEFAULT_MAP = new HashMap<>();
+
+    /**
+     * 调用方注册的转换器
+     */
+    private static final Map<Class<?>, IExcelReaderFormatter<?>> REGISTERED_MAP = new ConcurrentHashMap<>();
+
+    static {
+        IExcelReaderFormatter<Date> dateConverter = new SimpleDateExcelReaderFormatter();
+        IExcelReaderFormatter<String> stringConverter = cell -> {
+            Object object = ExcelReaderUtils.getCellValue(cell);
+            return object == null ? null : object.toString();
+        };
+
+        DEFAULT_MAP.put(String.class, stringConverter);
+        DEFAULT_MAP.put(Boolean.class, cell -> cell.getBooleanCellValue());
+        DEFAULT_MAP.put(Character.class, cell -> {
+            String value = stringConverter.format(cell);
+            if (StringUtils.isEmpty(value))
+                return null;
+            if (value.length() != 1)
+                throw new ExcelConvertException("当前数据不是单个字符，无法转换为字符");
+            return value.charAt(0);
+        });
+        DEFAULT_MAP.put(Byte.class, number(true, BigDecimal::byteValueExact, Byte::parseByte));
+        DEFAULT_MAP.put(Short.class, number(true, BigDecimal::shortValueExact, Short::parseShort));
+        DEFAULT_MAP.put(Integer.class, number(true, BigDecimal::intValueExact, Integer::parseInt));
+        DEFAULT_MAP.put(Long.class, number(true, BigDecimal::longValueExact, Long::parseLong));
+        DEFAULT_MAP.put(BigInteger.class, number(true, BigDecimal::toBigIntegerExact, BigInteger::new));
+        DEFAULT_MAP.put(Float.class, number(false, BigDecimal::floatValue, Float::parseFloat));
+        DEFAULT_MAP.put(Double.class, number(false, BigDecimal::doubleValue, Double::parseDouble));
+        DEFAULT_MAP.put(BigDecimal.class, number(false, value -> value, BigDecimal::new));
+        DEFAULT_MAP.put(Date.class, dateConverter);
+        DEFAULT_MAP.put(LocalDateTime.class, cell -> {
+            Date date = dateConverter.format(cell);
+            return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        });
+        DEFAULT_MAP.put(LocalDate.class, cell -> {
+            Date date = dateConverter.format(cell);
+            return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()).toLocalDate();
+        });
+        DEFAULT_MAP.put(LocalTime.class, cell -> {
+            Date date = dateConverter.format(cell);
+            return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()).toLocalTime();
+        });
+        DEFAULT_MAP.put(UUID.class, cell -> {
+            String value = stringConverter.format(cell);
+            if (StringUtils.isBlank(value))
+                return null;
+            try {
+                return UUID.fromString(value.trim());
+            } catch (IllegalArgumentException e) {
+                throw new ExcelConvertException("当前数据不是UUID，无法转换: " + value, e);
+            }
+        });
+    }
+
+    /**
+     * 注册类型转换器
+     * <p>
+     * 对之后解析字段映射关系的读取生效，由调用方保证线程安全
+     * </p>
+     *
+     * @param type      字段类型（基本类型按包装类型注册）
+     * @param converter 转换器
+     * @param <T>       字段类型
+     */
+    public static <T> void register(Class<T> type, IExcelReaderFormatter<? extends T> converter) {
+        REGISTERED_MAP.put(ClassUtils.primitiveToWrapper(type), converter);
+    }
+
+    /**
+     * 取消注册的类型转换器，内置类型恢复使用内置转换器
+     *
+     * @param type 字段类型
+     */
+    public static void unregister(Class<?> type) {
+        REGISTERED_MAP.remove(ClassUtils.primitiveToWrapper(type));
+    }
+
+    /**
+     * 获取类型转换器
+     *
+     * @param type 字段类型
+     * @return 转换器，注册的转换器优先；不支持该类型时返回空
+     */
+    public static IExcelReaderFormatter<?> getReaderConverter(Class<?> type) {
+        if (type == null)
+            return null;
+        Class<?> wrapperType = ClassUtils.primitiveToWrapper(type);
+        IExcelReaderFormatter<?> converter = REGISTERED_MAP.get(wrapperType);
+        return converter != null ? converter : DEFAULT_MAP.get(wrapperType);
+    }
+
+    /**
+     * 是否为内置转换器
+     *
+     * @param type      字段类型
+     * @param converter 转换器
+     * @return 是该类型的内置转换器时返回true
+     */
+    public static boolean isDefaultReaderConverter(Class<?> type, IExcelReaderFormatter<?> converter) {
+        return converter != null && DEFAULT_MAP.get(ClassUtils.primitiveToWrapper(type)) == converter;
+    }
+
+    /**
+     * 数字类型转换器
+     * <p>
+     * 数字单元格按 {@link BigDecimal} 精确转换，超出目标类型范围时抛出异常；文本单元格按字符串解析，空字符串返回空。
+     * 先判断单元格类型再取值，不通过捕获异常区分数字和文本单元格
+     * </p>
+     *
+     * @param integral    是否为整数类型（有小数部分时抛出异常）
+     * @param fromDecimal 数字转换
+     * @param parser      字符串解析
+     * @param <T>         数字类型
+     * @return 转换器
+     */
+    private static <T> IExcelReaderFormatter<T> number(boolean integral, Function<BigDecimal, T> fromDecimal,
+                                                       Function<String, T> parser) {
+        return cell -> {
+            if (cell.getCellType() == CellType.STRING) {
+                // 从字符串解析数字
+                String cellValue = cell.getStringCellValue();
+                if (StringUtils.isEmpty(cellValue))
+                    return null;
+                if (integral && !isInteger(cellValue))
+                    throw new ExcelConvertException("当前数据不是整数，无法转换: " + cellValue);
+                try {
+                    return parser.apply(cellValue);
+                } catch (NumberFormatException e) {
+                    throw new ExcelConvertException("当前数据不是数字，无法转换: " + cellValue, e);
+                }
+            }
+            double value = cell.getNumericCellValue();
+            // 检查整数类型是否包含小数部分
+            if (integral && value != Math.rint(value))
+                throw new ExcelConvertException("当前数据是浮点类型，无法转换为整数");
+            try {
+                return fromDecimal.apply(BigDecimal.valueOf(value));
+            } catch (ArithmeticException e) {
+                throw new ExcelConvertException("当前数据超出取值范围，无法转换: " + BigDecimal.valueOf(value).toPlainString(), e);
+            }
+        };
+    }
+
+    /**
+     * 是否为整数（可带正负号的数字序列），与 {@link Long#parseLong(String)} 接受的格式相同
+     *
+     * @param value 字符串
+     * @return 是整数时返回true
+     */
+    private static boolean isInteger(String value) {
+        int start = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        if (start == value.length())
+            return false;
+        for (int i = start; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ericyl.excel.formatter;
+
+import com.ericyl.excel.formatter.model.FormatterCacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 转换结果缓存
+ * <p>
+ * 按最近最少使用（LRU）淘汰的有界缓存，供带缓存的转换器使用。
+ * 转换结果为null时同样缓存，避免不存在的编码被反复查询。
+ * 未命中时在锁外调用转换方法，耗时的查询不会阻塞其他线程读取缓存
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class FormatterCache {
+
+    /**
+     * 默认最大条目数
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    /**
+     * 缓存null结果时使用的占位对象
+     */
+    private static final Object NULL = new Object();
+
+    private final int maximumSize;
+    private final LinkedHashMap<Object, Object> map;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param maximumSize 最大条目数
+     */
+    public FormatterCache(int maximumSize) {
+        if (maximumSize <= 0)
+            throw new RuntimeException("缓存大小必须大于0");
+        this.maximumSize = maximumSize;
+        this.map = new LinkedHashMap<Object, Object>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                if (size() <= FormatterCache.this.maximumSize)
+                    return false;
+                evictionCount++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存的结果，不存在时调用转换方法并缓存
+     *
+     * @param key    缓存键
+     * @param loader 转换方法
+     * @return 转换结果
+     */
+    public Object get(Object key, Function<Object, Object> loader) {
+        synchronized (this) {
+            Object value = map.get(key);
+            if (value != null) {
+                hitCount++;
+                return value == NULL ? null : value;
+            }
+            missCount++;
+        }
+        Object value = loader.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param key   缓存键
+     * @param value 转换结果
+     */
+    public synchronized void put(Object key, Object value) {
+        map.put(key, value == null ? NULL : value);
+    }
+
+    /**
+     * 清空缓存和统计数据
+     */
+    public synchronized void clear() {
+        map.clear();
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * 获取统计数据
+     *
+     * @return 当前统计数据
+     */
+    public synchronized FormatterCacheStats getStats() {
+        return new FormatterCacheStats(hitCount, missCount, evictionCount, map.size());
+    }
+}
@@ -0,0 +1,182 @@
+package com.ericyl.excel.formatter;
+
+import com.ericyl.excel.formatter.annotation.ExcelStatefulFormatter;
+import com.ericyl.excel.reader.formatter.IExcelReaderFormatter;
+import com.ericyl.excel.writer.formatter.IExcelWriterFormatter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 数据转换器注册表
+ * <p>
+ * 注解中配置的转换器（@ExcelReader(formatter)、@ExcelWriter(formatter)）统一从这里获取，
+ * 同一个转换器类只创建一次，不再每次读写、每个字段都创建新实例：
+ * </p>
+ * <ul>
+ * <li>通过 register 注册的实例优先使用，可用于注册依赖注入创建的转换器（如需要查询数据库的转换器）</li>
+ * <li>标记了 {@link ExcelStatefulFormatter} 的转换器每个线程一个实例</li>
+ * <li>其他转换器视为无状态，全局共享一个实例</li>
+ * </ul>
+ *
+ * <pre>
+ * FormatterRegistry.register(DictExcelReaderFormatter.class, new DictExcelReaderFormatter(dictService));
+ * </pre>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class FormatterRegistry {
+
+    /**
+     * 调用方注册的实例
+     */
+    private static final Map<Class<?>, Object> REGISTERED_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 无状态转换器的共享实例
+     */
+    private static final Map<Class<?>, Object> SINGLETON_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 有状态转换器的线程实例
+     */
+    private static final Map<Class<?>, ThreadLocal<Object>> THREAD_LOCAL_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 注册读取转换器实例
+     * <p>
+     * 注册后所有配置了该转换器类的字段都使用此实例（由调用方保证线程安全），
+     * 实例可以是其他实现，如 {@link com.ericyl.excel.reader.formatter.CachingExcelReaderFormatter}
+     * </p>
+     *
+     * @param clazz     注解中配置的转换器类
+     * @param formatter 转换器实例
+     */
+    public static void register(Class<? extends IExcelReaderFormatter<?>> clazz, IExcelReaderFormatter<?> formatter) {
+        put(clazz, formatter);
+    }
+
+    /**
+     * 注册写入转换器实例
+     * <p>
+     * 注册后所有配置了该转换器类的字段都使用此实例（由调用方保证线程安全），
+     * 实例可以是其他实现，如 {@link com.ericyl.excel.writer.formatter.CachingExcelWriterFormatter}
+     * </p>
+     *
+     * @param clazz     注解中配置的转换器类
+     * @param formatter 转换器实例
+     */
+    public static void register(Class<? extends IExcelWriterFormatter> clazz, IExcelWriterFormatter formatter) {
+        put(clazz, formatter);
+    }
+
+    /**
+     * 取消注册的转换器实例
+     *
+     * @param clazz 转换器类
+     */
+    public static void unregister(Class<?> clazz) {
+        REGISTERED_MAP.remove(clazz);
+    }
+
+    /**
+     * 清空注册的实例和已创建的实例
+     */
+    public static void clear() {
+        REGISTERED_MAP.clear();
+        SINGLETON_MAP.clear();
+        THREAD_LOCAL_MAP.clear();
+    }
+
+    /**
+     * 获取读取转换器实例，需要创建时通过无参构造方法创建
+     *
+     * @param clazz 转换器类
+     * @return 转换器实例
+     * @throws RuntimeException 当转换器创建失败时抛出
+     */
+    public static IExcelReaderFormatter<?> getReaderFormatter(Class<? extends IExcelReaderFormatter<?>> clazz) {
+        return (IExcelReaderFormatter<?>) get(clazz, () -> newInstance(clazz));
+    }
+
+    /**
+     * 获取读取转换器实例
+     *
+     * @param clazz   转换器类
+     * @param factory 需要创建实例时使用的创建方法（编译期生成的映射类直接调用构造方法）
+     * @return 转换器实例
+     */
+    public static IExcelReaderFormatter<?> getReaderFormatter(Class<? extends IExcelReaderFormatter<?>> clazz,
+                                                              Supplier<? extends IExcelReaderFormatter<?>> factory) {
+        return (IExcelReaderFormatter<?>) get(clazz, factory);
+    }
+
+    /**
+     * 获取写入转换器实例，需要创建时通过无参构造方法创建
+     *
+     * @param clazz 转换器类
+     * @return 转换器实例
+     * @throws RuntimeException 当转换器创建失败时抛出
+     */
+    public static IExcelWriterFormatter getWriterFormatter(Class<? extends IExcelWriterFormatter> clazz) {
+        return (IExcelWriterFormatter) get(clazz, () -> newInstance(clazz));
+    }
+
+    /**
+     * 获取写入转换器实例
+     *
+     * @param clazz   转换器类
+     * @param factory 需要创建实例时使用的创建方法（编译期生成的映射类直接调用构造方法）
+     * @return 转换器实例
+     */
+    public static IExcelWriterFormatter getWriterFormatter(Class<? extends IExcelWriterFormatter> clazz,
+                                                           Supplier<? extends IExcelWriterFormatter> factory) {
+        return (IExcelWriterFormatter) get(clazz, factory);
+    }
+
+    /**
+     * 获取转换器在当前线程中使用的实例
+     * <p>
+     * 有状态转换器的线程实例只能在获取它的线程中使用。在其他线程中使用已获取的转换器（如并行生成文档）时，
+     * 通过此方法换成当前线程的实例；无状态转换器、调用方注册的实例原样返回
+     * </p>
+     *
+     * @param formatter 已获取的转换器实例
+     * @param <F>       转换器类型
+     * @return 当前线程可用的实例
+     */
+    @SuppressWarnings("unchecked")
+    public static <F> F forCurrentThread(F formatter) {
+        if (formatter == null || !formatter.getClass().isAnnotationPresent(ExcelStatefulFormatter.class))
+            return formatter;
+        ThreadLocal<Object> threadLocal = THREAD_LOCAL_MAP.get(formatter.getClass());
+        if (threadLocal == null || REGISTERED_MAP.containsValue(formatter))
+            return formatter;
+        return (F) threadLocal.get();
+    }
+
+    private static void put(Class<?> clazz, Object formatter) {
+        if (clazz == null || formatter == null)
+            throw new RuntimeException("转换器不能为空");
+        REGISTERED_MAP.put(clazz, formatter);
+    }
+
+    private static Object get(Class<?> clazz, Supplier<?> factory) {
+        Object formatter = REGISTERED_MAP.get(clazz);
+        if (formatter != null)
+            return formatter;
+        if (clazz.isAnnotationPresent(ExcelStatefulFormatter.class))
+            return THREAD_LOCAL_MAP.computeIfAbsent(clazz, key -> ThreadLocal.withInitial(factory::get)).get();
+        return SINGLETON_MAP.computeIfAbsent(clazz, key -> factory.get());
+    }
+
+    private static Object newInstance(Class<?> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("创建格式化器失败: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ericyl.excel.formatter.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 有状态的数据转换器
+ * <p>
+ * 标记在 {@link com.ericyl.excel.reader.formatter.IExcelReaderFormatter} 或
+ * {@link com.ericyl.excel.writer.formatter.IExcelWriterFormatter} 的实现类上，
+ * 表示转换器内部保存了非线程安全的状态（如 SimpleDateFormat），
+ * {@link com.ericyl.excel.formatter.FormatterRegistry} 会为每个线程创建一个实例，而不是全局共享一个实例
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@Inherited
+@Documented
+public @interface ExcelStatefulFormatter {
+}
@@ -0,0 +1,44 @@
+package com.ericyl.excel.formatter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 转换结果缓存统计
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormatterCacheStats {
+
+    /**
+     * 命中次数
+     */
+    private long hitCount;
+
+    /**
+     * 未命中次数（即调用被装饰转换器的次数）
+     */
+    private long missCount;
+
+    /**
+     * 因超出容量被淘汰的条目数
+     */
+    private long evictionCount;
+
+    /**
+     * 当前缓存条目数
+     */
+    private int size;
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率，没有请求时为0
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ericyl.excel.mapper;
+
+import com.ericyl.excel.mapper.model.MappedField;
+
+import java.util.List;
+
+/**
+ * 行数据映射器
+ * <p>
+ * 由 excel-plus-processor 在编译期为带 @ExcelReader 注解的类生成（类名为 {@code 类名_RowMapper}），
+ * 并通过 META-INF/services 注册，读取时由 {@link RowMappers} 自动加载，
+ * 创建对象和设置字段值均不再使用反射。
+ * </p>
+ *
+ * @param <T> 目标类型
+ * @author ericyl
+ * @since 1.0
+ */
+public interface IRowMapper<T> {
+
+    /**
+     * 获取目标类型
+     *
+     * @return 目标类型
+     */
+    Class<T> getType();
+
+    /**
+     * 创建对象实例
+     *
+     * @return 对象实例
+     */
+    T newInstance();
+
+    /**
+     * 获取带 @ExcelReader 注解的字段（按声明顺序）
+     * <p>
+     * 每次调用返回新的列表，数据转换器从 {@link com.ericyl.excel.formatter.FormatterRegistry} 获取
+     * </p>
+     *
+     * @return 字段映射信息列表
+     */
+    List<MappedField> getFields();
+}
@@ -0,0 +1,36 @@
+package com.ericyl.excel.mapper;
+
+import com.ericyl.excel.mapper.model.MappedField;
+
+import java.util.List;
+
+/**
+ * 行数据写入映射器
+ * <p>
+ * 由 excel-plus-processor 在编译期为带 @ExcelWriter 注解的类生成（类名为 {@code 类名_RowWriter}），
+ * 并通过 META-INF/services 注册，写入时由 {@link RowMappers} 自动加载，读取字段值不再使用反射。
+ * </p>
+ *
+ * @param <T> 数据类型
+ * @author ericyl
+ * @since 1.0
+ */
+public interface IRowWriter<T> {
+
+    /**
+     * 获取数据类型
+     *
+     * @return 数据类型
+     */
+    Class<T> getType();
+
+    /**
+     * 获取带 @ExcelWriter 注解的字段（按声明顺序）
+     * <p>
+     * 每次调用返回新的列表，数据转换器从 {@link com.ericyl.excel.formatter.FormatterRegistry} 获取
+     * </p>
+     *
+     * @return 字段映射信息列表
+     */
+    List<MappedField> getFields();
+}
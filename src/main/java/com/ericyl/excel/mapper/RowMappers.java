@@ -0,0 +1,183 @@
+package com.ericyl.excel.mapper;
+
+import com.ericyl.excel.mapper.model.MappedField;
+import com.ericyl.excel.reader.annotation.ExcelReader;
+import com.ericyl.excel.util.ObjectUtils;
+import com.ericyl.excel.writer.annotation.ExcelWriter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 行数据映射器工具类
+ * <p>
+ * 首次使用时通过 {@link ServiceLoader} 加载编译期生成的 {@link IRowMapper}、{@link IRowWriter}，
+ * 之后按类型直接查找；没有对应的映射类（未启用 excel-plus-processor，或该类无法生成）时通过反射解析，
+ * 两种方式得到的字段映射信息相同，读写结果一致。
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class RowMappers {
+
+    private static class RowMapperHolder {
+        // 服务接口只能以原始类型的 Class 加载
+        @SuppressWarnings("rawtypes")
+        private static final Map<Class<?>, Object> ROW_MAPPER_MAP = load(IRowMapper.class, IRowMapper::getType);
+    }
+
+    private static class RowWriterHolder {
+        // 服务接口只能以原始类型的 Class 加载
+        @SuppressWarnings("rawtypes")
+        private static final Map<Class<?>, Object> ROW_WRITER_MAP = load(IRowWriter.class, IRowWriter::getType);
+    }
+
+    /**
+     * 获取生成的行数据映射器
+     *
+     * @param clazz 目标类型
+     * @param <T>   目标类型
+     * @return 映射器，未生成时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IRowMapper<T> getRowMapper(Class<T> clazz) {
+        return (IRowMapper<T>) RowMapperHolder.ROW_MAPPER_MAP.get(clazz);
+    }
+
+    /**
+     * 获取生成的行数据写入映射器
+     *
+     * @param clazz 数据类型
+     * @param <T>   数据类型
+     * @return 映射器，未生成时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IRowWriter<T> getRowWriter(Class<T> clazz) {
+        return (IRowWriter<T>) RowWriterHolder.ROW_WRITER_MAP.get(clazz);
+    }
+
+    /**
+     * 创建对象实例
+     *
+     * @param clazz 目标类型
+     * @param <T>   目标类型
+     * @return 对象实例
+     * @throws RuntimeException 当对象创建失败时抛出
+     */
+    public static <T> T newInstance(Class<T> clazz) {
+        IRowMapper<T> rowMapper = getRowMapper(clazz);
+        try {
+            if (rowMapper != null)
+                return rowMapper.newInstance();
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("创建对象实例失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取带 @ExcelReader 注解的字段
+     *
+     * @param clazz 目标类型
+     * @return 字段映射信息列表（按声明顺序）
+     */
+    public static List<MappedField> getReaderFields(Class<?> clazz) {
+        IRowMapper<?> rowMapper = getRowMapper(clazz);
+        if (rowMapper != null)
+            return rowMapper.getFields();
+        return Arrays.stream(clazz.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(ExcelReader.class))
+                .map(field -> getMappedField(field).setReader(field.getAnnotation(ExcelReader.class)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取带 @ExcelWriter 注解的字段
+     *
+     * @param clazz 数据类型
+     * @return 字段映射信息列表（按声明顺序）
+     */
+    public static List<MappedField> getWriterFields(Class<?> clazz) {
+        IRowWriter<?> rowWriter = getRowWriter(clazz);
+        if (rowWriter != null)
+            return rowWriter.getFields();
+        return Arrays.stream(clazz.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(ExcelWriter.class))
+                .map(field -> getMappedField(field).setWriter(field.getAnnotation(ExcelWriter.class)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 通过反射创建字段映射信息
+     */
+    private static MappedField getMappedField(Field field) {
+        field.setAccessible(true);
+        Class<?> elementType = null;
+        if (Collection.class.isAssignableFrom(field.getType())) {
+            Type genericType = field.getGenericType();
+            if (genericType instanceof ParameterizedType) {
+                Type[] types = ((ParameterizedType) genericType).getActualTypeArguments();
+                if (types.length == 1 && types[0] instanceof Class)
+                    elementType = (Class<?>) types[0];
+            }
+        }
+        MappedField mappedField = new MappedField()
+                .setName(field.getName())
+                .setType(field.getType())
+                .setElementType(elementType)
+                .setField(field)
+                .setGetter(obj -> ObjectUtils.getField(obj, field))
+                .setSetter((obj, value) -> ObjectUtils.setField(obj, field, value));
+        // 基本类型的数字字段按原始类型读取，不装箱
+        Class<?> type = field.getType();
+        if (type == byte.class || type == short.class || type == int.class || type == long.class)
+            mappedField.setLongGetter(obj -> {
+                try {
+                    return field.getLong(obj);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("获取字段值失败: " + field.getName(), e);
+                }
+            });
+        else if (type == float.class || type == double.class)
+            mappedField.setDoubleGetter(obj -> {
+                try {
+                    return field.getDouble(obj);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("获取字段值失败: " + field.getName(), e);
+                }
+            });
+        return mappedField;
+    }
+
+    /**
+     * 加载生成的映射类，无法加载的映射类忽略（对应类型改用反射）
+     * <p>
+     * 注册文件读取失败时 hasNext 会反复抛出同一个错误，因此遇到错误后停止加载，已加载的映射类照常使用
+     * </p>
+     */
+    private static <S> Map<Class<?>, Object> load(Class<S> service, Function<S, Class<?>> typeGetter) {
+        Map<Class<?>, Object> map = new HashMap<>();
+        Iterator<S> iterator = ServiceLoader.load(service).iterator();
+        try {
+            while (iterator.hasNext()) {
+                S s = iterator.next();
+                map.putIfAbsent(typeGetter.apply(s), s);
+            }
+        } catch (ServiceConfigurationError e) {
+            // 忽略无法加载的映射类
+        }
+        return map;
+    }
+}
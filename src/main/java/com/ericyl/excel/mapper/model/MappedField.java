@@ -0,0 +1,96 @@
+package com.ericyl.excel.mapper.model;
+
+import com.ericyl.excel.reader.annotation.ExcelReader;
+import com.ericyl.excel.reader.formatter.IExcelReaderFormatter;
+import com.ericyl.excel.writer.annotation.ExcelWriter;
+import com.ericyl.excel.writer.formatter.IExcelWriterFormatter;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 字段映射信息
+ * <p>
+ * 描述一个带 @ExcelReader 或 @ExcelWriter 注解的字段：注解配置、类型以及读写字段值的方法。
+ * 由编译期生成的映射类创建时，读写直接调用 getter/setter（或直接访问字段），不使用反射；
+ * 未生成映射类时由 {@link com.ericyl.excel.mapper.RowMappers} 通过反射创建
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+public class MappedField {
+
+    /**
+     * 字段名称
+     */
+    private String name;
+
+    /**
+     * 字段类型
+     */
+    private Class<?> type;
+
+    /**
+     * 集合元素类型
+     * 字段为集合且指定了泛型参数时有值
+     */
+    private Class<?> elementType;
+
+    /**
+     * 反射字段
+     * 使用生成的映射类时为null
+     */
+    private Field field;
+
+    /**
+     * 读取注解
+     */
+    private ExcelReader reader;
+
+    /**
+     * 写入注解
+     */
+    private ExcelWriter writer;
+
+    /**
+     * 读取数据转换器的创建方法
+     * 转换器实例在每次读取时从 {@link com.ericyl.excel.formatter.FormatterRegistry} 获取（有状态转换器每个线程一个实例），
+     * 需要创建时使用此方法；为空时通过反射创建
+     */
+    private Supplier<? extends IExcelReaderFormatter<?>> readerFormatterFactory;
+
+    /**
+     * 写入数据转换器的创建方法
+     * 转换器实例在每次写入时从 {@link com.ericyl.excel.formatter.FormatterRegistry} 获取（有状态转换器每个线程一个实例），
+     * 需要创建时使用此方法；为空时通过反射创建
+     */
+    private Supplier<? extends IExcelWriterFormatter> writerFormatterFactory;
+
+    /**
+     * 读取字段值
+     */
+    private Function<Object, Object> getter;
+
+    /**
+     * 读取整数字段（byte、short、int、long）的值，不装箱
+     * 其他类型的字段为null
+     */
+    private ToLongFunction<Object> longGetter;
+
+    /**
+     * 读取浮点数字段（float、double）的值，不装箱
+     * 其他类型的字段为null
+     */
+    private ToDoubleFunction<Object> doubleGetter;
+
+    /**
+     * 设置字段值
+     */
+    private BiConsumer<Object, Object> setter;
+}
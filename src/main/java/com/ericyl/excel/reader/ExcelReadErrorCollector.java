@@ -0,0 +1,105 @@
+package com.ericyl.excel.reader;
+
+import com.ericyl.excel.ExcelReaderUtils;
+import com.ericyl.excel.reader.model.ExcelReadError;
+import com.ericyl.excel.reader.model.ExcelReadResult;
+import com.ericyl.excel.reader.model.FieldCell;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读取错误收集器
+ * <p>
+ * 宽松模式下代替抛出异常：单元格转换失败时记录行、列、原始值和错误原因，该字段不赋值，继续读取。
+ * 错误数量达到上限后不再记录，读取方在读取下一行前调用 {@link #shouldStop()}，需要停止时不再读取后续的行
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class ExcelReadErrorCollector {
+
+    private final int maxErrors;
+    private final List<ExcelReadError> errorList = new ArrayList<>();
+    private boolean truncated;
+
+    /**
+     * @param maxErrors 错误数量上限
+     */
+    public ExcelReadErrorCollector(int maxErrors) {
+        if (maxErrors <= 0)
+            throw new RuntimeException("错误数量上限必须大于0");
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * 记录转换错误
+     *
+     * @param rowIndex  行下标
+     * @param cellIndex 列下标
+     * @param fieldCell 字段
+     * @param cell      单元格
+     * @param e         转换时抛出的异常
+     */
+    public void add(int rowIndex, int cellIndex, FieldCell fieldCell, Cell cell, RuntimeException e) {
+        if (isFull())
+            return;
+        add(rowIndex, cellIndex, fieldCell, ExcelReaderUtils.getCellValue(cell), e);
+    }
+
+    /**
+     * 记录转换错误
+     * <p>
+     * 用于已取出单元格值的情况，如批量转换失败时记录单元格的键
+     * </p>
+     *
+     * @param rowIndex  行下标
+     * @param cellIndex 列下标
+     * @param fieldCell 字段
+     * @param value     单元格的值
+     * @param e         转换时抛出的异常
+     */
+    public void add(int rowIndex, int cellIndex, FieldCell fieldCell, Object value, RuntimeException e) {
+        if (isFull())
+            return;
+        String message = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+        errorList.add(new ExcelReadError(rowIndex, cellIndex, fieldCell.getField().getName(), value, message));
+    }
+
+    /**
+     * 错误数量是否已达到上限
+     *
+     * @return 达到上限时返回true
+     */
+    public boolean isFull() {
+        return errorList.size() >= maxErrors;
+    }
+
+    /**
+     * 读取下一行前检查是否需要停止读取
+     * <p>
+     * 错误数量已达到上限且还有待读取的行时停止，读取结果标记为不完整；
+     * 最后一行恰好达到上限时不会再调用，结果仍是完整的
+     * </p>
+     *
+     * @return 需要停止读取时返回true
+     */
+    public boolean shouldStop() {
+        if (isFull())
+            truncated = true;
+        return truncated;
+    }
+
+    /**
+     * 生成读取结果
+     *
+     * @param list 数据列表
+     * @param <T>  数据类型
+     * @return 读取结果
+     */
+    public <T> ExcelReadResult<T> toResult(List<T> list) {
+        return new ExcelReadResult<>(list, errorList, truncated);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ericyl.excel.reader;
+
+import com.ericyl.excel.formatter.FormatterCache;
+import com.ericyl.excel.formatter.model.FormatterCacheStats;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 读取计划缓存
+ * <p>
+ * 按表头名称读取列表时，需要先解析表头，再逐个字段匹配 @ExcelReader(name) 得到列下标。
+ * 反复读取同一模板的文件时，按（目标类，表头布局指纹）缓存匹配结果，
+ * 相同布局的表格扫描表头行得到指纹后直接使用缓存的列下标，不再解析表头和匹配表头名称。
+ * </p>
+ * <p>
+ * 指纹由表头行中非空单元格的位置和值、以及合并单元格的范围组成，按内容比较。
+ * 只缓存列下标，转换器仍在每次读取时从注册表获取。
+ * 缓存按最近最少使用淘汰，默认最多 {@value #DEFAULT_MAXIMUM_SIZE} 个布局
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class ExcelReadPlanCache {
+
+    /**
+     * 默认最大条目数
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private static volatile FormatterCache cache = new FormatterCache(DEFAULT_MAXIMUM_SIZE);
+
+    /**
+     * 获取读取计划，不存在时解析并缓存
+     *
+     * @param clazz       目标类
+     * @param fingerprint 表头布局指纹
+     * @param loader      解析各字段列下标的方法
+     * @return 各字段的列下标（按字段顺序，每项为开始、结束列下标）
+     */
+    public static Integer[][] get(Class<?> clazz, List<Object> fingerprint, Supplier<Integer[][]> loader) {
+        return (Integer[][]) cache.get(Arrays.asList(clazz, fingerprint), key -> loader.get());
+    }
+
+    /**
+     * 设置最大条目数，已缓存的读取计划和统计数据会被清空
+     *
+     * @param maximumSize 最大条目数
+     */
+    public static void setMaximumSize(int maximumSize) {
+        cache = new FormatterCache(maximumSize);
+    }
+
+    /**
+     * 清空缓存和统计数据
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+    /**
+     * 获取统计数据
+     *
+     * @return 当前统计数据
+     */
+    public static FormatterCacheStats getStats() {
+        return cache.getStats();
+    }
+}
@@ -0,0 +1,144 @@
+package com.ericyl.excel.reader;
+
+import com.ericyl.excel.reader.formatter.IExcelBulkReaderFormatter;
+import com.ericyl.excel.reader.model.FieldCell;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 批量读取缓冲区
+ * <p>
+ * 读取列表时暂存转换后的对象，以及使用 {@link IExcelBulkReaderFormatter} 的字段收集到的键。
+ * 攒够一批后按字段对去重的键调用一次 {@link IExcelBulkReaderFormatter#resolve(Set)}，
+ * 把结果赋值给对象，再按读取顺序交给 consumer。
+ * 有错误收集器时，批量转换抛出的异常记录为该批中此列每个单元格的错误，字段不赋值，继续处理
+ * </p>
+ *
+ * @param <T> 对象类型
+ * @author ericyl
+ * @since 1.0
+ */
+public class ExcelReaderBatch<T> {
+
+    /**
+     * 默认每批行数
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final int batchSize;
+    private final Predicate<T> filter;
+    private final Consumer<T> consumer;
+    private final ExcelReadErrorCollector errors;
+
+    private final List<T> objList = new ArrayList<>();
+    private final Map<FieldCell, List<Pending<T>>> pendingMap = new IdentityHashMap<>();
+
+    /**
+     * @param batchSize 每批行数
+     * @param filter    赋值完成后判断对象是否保留
+     * @param consumer  数据处理
+     */
+    public ExcelReaderBatch(int batchSize, Predicate<T> filter, Consumer<T> consumer) {
+        this(batchSize, filter, consumer, null);
+    }
+
+    /**
+     * @param batchSize 每批行数
+     * @param filter    赋值完成后判断对象是否保留
+     * @param consumer  数据处理
+     * @param errors    错误收集器，为空时批量转换失败直接抛出异常
+     */
+    public ExcelReaderBatch(int batchSize, Predicate<T> filter, Consumer<T> consumer, ExcelReadErrorCollector errors) {
+        if (batchSize <= 0)
+            throw new RuntimeException("每批行数必须大于0");
+        this.batchSize = batchSize;
+        this.filter = filter;
+        this.consumer = consumer;
+        this.errors = errors;
+    }
+
+    /**
+     * 记录待批量转换的字段
+     *
+     * @param obj       对象
+     * @param fieldCell 字段（转换器为 {@link IExcelBulkReaderFormatter}）
+     * @param rowIndex  行下标
+     * @param cellIndex 列下标
+     * @param key       单元格的键
+     */
+    public void defer(T obj, FieldCell fieldCell, int rowIndex, int cellIndex, Object key) {
+        pendingMap.computeIfAbsent(fieldCell, it -> new ArrayList<>()).add(new Pending<>(obj, rowIndex, cellIndex, key));
+    }
+
+    /**
+     * 添加一行对象，攒够一批时自动处理
+     *
+     * @param obj 对象
+     */
+    public void add(T obj) {
+        objList.add(obj);
+        if (objList.size() >= batchSize)
+            flush();
+    }
+
+    /**
+     * 处理当前批次
+     */
+    public void flush() {
+        for (Map.Entry<FieldCell, List<Pending<T>>> entry : pendingMap.entrySet()) {
+            FieldCell fieldCell = entry.getKey();
+            Set<Object> keys = new LinkedHashSet<>();
+            for (Pending<T> pending : entry.getValue())
+                keys.add(pending.key);
+            Map<Object, ?> resultMap;
+            try {
+                resultMap = ((IExcelBulkReaderFormatter<?>) fieldCell.getFormatter()).resolve(keys);
+            } catch (RuntimeException e) {
+                if (errors == null)
+                    throw e;
+                for (Pending<T> pending : entry.getValue())
+                    errors.add(pending.rowIndex, pending.cellIndex, fieldCell, pending.key, e);
+                continue;
+            }
+            if (resultMap == null)
+                continue;
+            for (Pending<T> pending : entry.getValue()) {
+                Object value = resultMap.get(pending.key);
+                if (value != null)
+                    fieldCell.getField().getSetter().accept(pending.obj, value);
+            }
+        }
+        pendingMap.clear();
+
+        for (T obj : objList) {
+            if (filter.test(obj))
+                consumer.accept(obj);
+        }
+        objList.clear();
+    }
+
+    /**
+     * 待批量转换的单元格
+     */
+    private static class Pending<T> {
+
+        private final T obj;
+        private final int rowIndex;
+        private final int cellIndex;
+        private final Object key;
+
+        Pending(T obj, int rowIndex, int cellIndex, Object key) {
+            this.obj = obj;
+            this.rowIndex = rowIndex;
+            this.cellIndex = cellIndex;
+            this.key = key;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ericyl.excel.reader;
 
+import com.ericyl.excel.reader.common.EmptyRowMode;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 
@@ -52,4 +53,56 @@ public interface IExcelReaderListener {
      * @return 如果是表尾行返回true，否则返回false
      */
     boolean isFooter(Row row);
+
+    /**
+     * 是否在第一个表尾行结束读取
+     * <p>
+     * 返回true时遇到 {@link #isFooter(Row)} 为true的行即停止读取，表尾之后的行（如备注说明）不再处理；
+     * 默认只跳过表尾行，继续读取之后的行
+     * </p>
+     *
+     * @return 是否在表尾结束读取，默认为false
+     */
+    default boolean stopAtFooter() {
+        return false;
+    }
+
+    /**
+     * 获取连续空白行数上限
+     * <p>
+     * 连续出现该数量的空白行（不存在的行，或字段对应的单元格均为空白的行）时结束读取，
+     * 用于跳过表格下方残留格式造成的大量空行
+     * </p>
+     *
+     * @return 连续空白行数上限，默认为0（不限制）
+     */
+    default int maxBlankRows() {
+        return 0;
+    }
+
+    /**
+     * 获取每批行数
+     * <p>
+     * 字段使用 {@link com.ericyl.excel.reader.formatter.IExcelBulkReaderFormatter} 时，
+     * 每读取该数量的数据行调用一次批量转换
+     * </p>
+     *
+     * @return 每批行数，默认为 {@link ExcelReaderBatch#DEFAULT_BATCH_SIZE}
+     */
+    default int batchSize() {
+        return ExcelReaderBatch.DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * 获取空行判断方式
+     * <p>
+     * 默认在转换前按单元格判断，数值为0的数据行会保留；
+     * 需要同时跳过所有字段为0的数据行时返回 {@link EmptyRowMode#EMPTY_OBJECT}
+     * </p>
+     *
+     * @return 空行判断方式，默认为 {@link EmptyRowMode#BLANK_CELLS}
+     */
+    default EmptyRowMode emptyRowMode() {
+        return EmptyRowMode.BLANK_CELLS;
+    }
 }
\ No newline at end of file
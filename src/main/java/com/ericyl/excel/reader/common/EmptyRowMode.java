@@ -0,0 +1,23 @@
+package com.ericyl.excel.reader.common;
+
+/**
+ * 读取列表时的空行判断方式
+ */
+public enum EmptyRowMode {
+
+    /**
+     * 转换前判断：字段对应的单元格均为空白（无单元格、空白类型或空字符串）时跳过，不创建对象
+     */
+    BLANK_CELLS,
+
+    /**
+     * 转换后判断：对象所有字段均为空、空字符串或数值为0时跳过
+     */
+    EMPTY_OBJECT,
+
+    /**
+     * 不跳过
+     */
+    NONE;
+
+}
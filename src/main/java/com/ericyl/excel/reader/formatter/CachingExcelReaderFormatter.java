@@ -0,0 +1,103 @@
+package com.ericyl.excel.reader.formatter;
+
+import com.ericyl.excel.ExcelReaderUtils;
+import com.ericyl.excel.formatter.FormatterCache;
+import com.ericyl.excel.formatter.model.FormatterCacheStats;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.Map;
+
+/**
+ * 带缓存的数据转换器
+ * <p>
+ * 装饰需要查询数据库或远程服务的转换器（如编码转名称、编码转枚举），按单元格的值缓存转换结果，
+ * 相同的值只查询一次。只适用于结果只取决于单元格值的转换器。
+ * 缓存键为 {@link ExcelReaderUtils#getCellValue(Cell)} 的结果，其中整数值统一为 Long，
+ * 因此数字单元格 1 与预加载的 1、1L 对应同一个键；空单元格不缓存，直接交给被装饰的转换器。
+ * </p>
+ *
+ * <pre>
+ * FormatterRegistry.register(DictExcelReaderFormatter.class,
+ *         new CachingExcelReaderFormatter&lt;&gt;(new DictExcelReaderFormatter(dictService), 1000)
+ *                 .preload(dictService.findAll()));
+ * </pre>
+ *
+ * @param <T> 转换后的数据类型
+ * @author ericyl
+ * @since 1.0
+ */
+public class CachingExcelReaderFormatter<T> implements IExcelReaderFormatter<T> {
+
+    private final IExcelReaderFormatter<T> formatter;
+    private final FormatterCache cache;
+
+    /**
+     * @param formatter 被装饰的转换器
+     */
+    public CachingExcelReaderFormatter(IExcelReaderFormatter<T> formatter) {
+        this(formatter, FormatterCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param formatter   被装饰的转换器
+     * @param maximumSize 最大缓存条目数，超出时淘汰最近最少使用的条目
+     */
+    public CachingExcelReaderFormatter(IExcelReaderFormatter<T> formatter, int maximumSize) {
+        if (formatter == null)
+            throw new RuntimeException("转换器不能为空");
+        this.formatter = formatter;
+        this.cache = new FormatterCache(maximumSize);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T format(Cell cell) {
+        Object key = getKey(ExcelReaderUtils.getCellValue(cell));
+        if (key == null)
+            return formatter.format(cell);
+        return (T) cache.get(key, it -> formatter.format(cell));
+    }
+
+    /**
+     * 批量预加载转换结果
+     *
+     * @param values 单元格值与转换结果的映射
+     * @return 当前实例
+     */
+    public CachingExcelReaderFormatter<T> preload(Map<?, ? extends T> values) {
+        for (Map.Entry<?, ? extends T> entry : values.entrySet()) {
+            Object key = getKey(entry.getKey());
+            if (key != null)
+                cache.put(key, entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * 获取缓存统计数据
+     *
+     * @return 统计数据
+     */
+    public FormatterCacheStats getStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * 统一数字类型，整数值使用 Long，其他使用 Double
+     */
+    private static Object getKey(Object value) {
+        if (!(value instanceof Number))
+            return value;
+        double number = ((Number) value).doubleValue();
+        if (number == Math.rint(number) && Math.abs(number) < 1e15)
+            return (long) number;
+        return number;
+    }
+}
@@ -5,7 +5,7 @@ import com.ericyl.excel.ExcelReaderUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.Cell;
 
-import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -29,17 +29,18 @@ public abstract class DateExcelReaderFormatter implements IExcelReaderFormatter<
         else if (Number.class.isAssignableFrom(obj.getClass()))
             cellValue = String.valueOf(((Number)obj).longValue());
         else
-            throw new RuntimeException("Not support type of " + obj.getClass());
+            throw new ExcelConvertException("Not support type of " + obj.getClass());
         if (StringUtils.isEmpty(cellValue))
             return null;
         String formatter = formatter(cellValue);
         if (StringUtils.isEmpty(formatter))
             return null;
-        try {
-            return new SimpleDateFormat(formatter(cellValue)).parse(cellValue);
-        } catch (ParseException ex) {
-            throw new RuntimeException(ex);
-        }
+        // 使用 ParsePosition 解析，失败时不创建 ParseException
+        ParsePosition position = new ParsePosition(0);
+        Date date = new SimpleDateFormat(formatter).parse(cellValue, position);
+        if (date == null)
+            throw new ExcelConvertException("Unparseable date: \"" + cellValue + "\"");
+        return date;
 
     }
 
@@ -0,0 +1,32 @@
+package com.ericyl.excel.reader.formatter;
+
+/**
+ * 单元格数据转换异常
+ * <p>
+ * 单元格数据不符合字段类型时由转换器抛出。这类错误由数据引起，宽松模式下每个错误单元格都会抛出一次，
+ * 因此不记录异常堆栈，只保留错误信息。自定义转换器也可以使用此异常
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class ExcelConvertException extends RuntimeException {
+
+    public ExcelConvertException(String message) {
+        super(message);
+    }
+
+    public ExcelConvertException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * 不记录异常堆栈
+     *
+     * @return 当前异常
+     */
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
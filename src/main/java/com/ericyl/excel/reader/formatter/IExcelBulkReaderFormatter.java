@@ -0,0 +1,58 @@
+package com.ericyl.excel.reader.formatter;
+
+import com.ericyl.excel.ExcelReaderUtils;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批量数据转换器接口
+ * <p>
+ * 适用于需要查询外部数据的转换（如根据客户编码查询客户信息）。读取列表时分两步进行：
+ * 第一步逐行调用 {@link #getKey(Cell)} 收集单元格的键；每攒够一批数据行后，
+ * 对该列去重后的所有键调用一次 {@link #resolve(Set)}（如一次 IN 查询），
+ * 第二步再把结果按键赋值给各行对象，使每批数据只需一次查询，而不是每行一次。
+ * </p>
+ * <p>
+ * 按坐标读取单个对象或多列（数组、集合）字段时没有批次，退化为 {@link #format(Cell)} 逐个转换
+ * </p>
+ *
+ * @param <T> 转换后的数据类型
+ * @author ericyl
+ * @since 1.0
+ */
+public interface IExcelBulkReaderFormatter<T> extends IExcelReaderFormatter<T> {
+
+    /**
+     * 获取单元格的键
+     * <p>
+     * 读取 CSV 时单元格实例会被复用，只能返回从单元格中取出的值，不能保留单元格本身。
+     * 默认返回单元格原始值（数字为 Double），键为空时该字段不赋值
+     * </p>
+     *
+     * @param cell 单元格
+     * @return 键
+     */
+    default Object getKey(Cell cell) {
+        return ExcelReaderUtils.getCellValue(cell);
+    }
+
+    /**
+     * 批量转换
+     *
+     * @param keys 一批数据行中该列去重后的键
+     * @return 键与转换结果的映射，未包含的键对应的字段不赋值
+     */
+    Map<Object, T> resolve(Set<Object> keys);
+
+    @Override
+    default T format(Cell cell) {
+        Object key = getKey(cell);
+        if (key == null)
+            return null;
+        Map<Object, T> map = resolve(Collections.singleton(key));
+        return map == null ? null : map.get(key);
+    }
+}
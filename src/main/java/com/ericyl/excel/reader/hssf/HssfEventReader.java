@@ -0,0 +1,321 @@
+package com.ericyl.excel.reader.hssf;
+
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MergeCellsRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * .xls（BIFF8）事件方式读取器
+ * <p>
+ * 基于 {@link HSSFEventFactory} 逐条处理记录，不创建 HSSFWorkbook 的完整记录模型。
+ * 读取时把指定工作表的单元格按行写入调用方提供的（通常是空的临时）工作表，
+ * 每行结束时回调一次，由调用方决定保留或删除该行，因此内存占用与总行数无关。
+ * </p>
+ * <p>
+ * 数字单元格的格式由 {@link FormatTrackingHSSFListener} 跟踪，日期格式会同步到临时工作表的样式上，
+ * 使 {@link DateUtil#isCellDateFormatted(Cell)} 与读取 HSSFWorkbook 时结果相同；公式单元格取缓存的计算结果。
+ * 合并单元格记录位于工作表数据之后，每次读取结束后可通过 {@link #getMergedRegions()} 获取。
+ * 回调中调用 {@link #stop()} 可以中止读取，之后的记录不再处理；指定工作表的记录结束后也不再处理后续的记录。
+ * </p>
+ * <p>
+ * 工作表下标与工作表名称（BoundSheetRecord）的顺序一致，图表等非普通工作表也占用下标，但不会写入数据。
+ * 需要多个工作表时使用 {@link #readAll(IntFunction, IntPredicate, Consumer)} 只读取一遍文件
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class HssfEventReader implements HSSFListener {
+
+    private final POIFSFileSystem fileSystem;
+    private final int sheetIndex;
+
+    private FormatTrackingHSSFListener formatListener;
+    private SSTRecord sstRecord;
+    private int currentSheetIndex;
+    /**
+     * BOF/EOF 嵌套层级，1 表示位于工作表（而不是工作表内嵌的图表）中
+     */
+    private int depth;
+    private final List<CellRangeAddress> mergedRegions = new ArrayList<>();
+    private final List<String> sheetNames = new ArrayList<>();
+
+    private IntFunction<Sheet> sheetFactory;
+    private Consumer<Sheet> sheetConsumer;
+    private Sheet sheet;
+    private IntPredicate rowFilter;
+    private Consumer<Row> rowConsumer;
+    private Map<Integer, CellStyle> dateStyles;
+    private boolean stopped;
+
+    /**
+     * 缓存结果为字符串的公式，值在紧随其后的 StringRecord 中
+     */
+    private FormulaRecord stringFormulaRecord;
+
+    /**
+     * @param fileSystem .xls 文件
+     * @param sheetIndex 工作表下标（读取所有工作表时不使用）
+     */
+    public HssfEventReader(POIFSFileSystem fileSystem, int sheetIndex) {
+        this.fileSystem = fileSystem;
+        this.sheetIndex = sheetIndex;
+    }
+
+    /**
+     * 读取一遍指定工作表
+     *
+     * @param sheet       接收数据的工作表（行号与原工作表相同）
+     * @param rowFilter   需要写入的行（按行下标判断），不需要的行直接跳过
+     * @param rowConsumer 每行写入完成后的回调
+     * @throws IOException IO异常
+     */
+    public void read(Sheet sheet, IntPredicate rowFilter, Consumer<Row> rowConsumer) throws IOException {
+        // 指定工作表结束后不再需要后续的记录
+        process(index -> index == sheetIndex ? sheet : null, rowFilter, rowConsumer, it -> stop());
+    }
+
+    /**
+     * 读取一遍所有工作表
+     * <p>
+     * 每个普通工作表开始时通过 sheetFactory 获取接收数据的工作表（返回null时跳过该工作表），
+     * 此时可通过 {@link #getSheetNames()} 获取工作表名称；工作表结束时回调 sheetConsumer，
+     * 此时可通过 {@link #getMergedRegions()} 获取该工作表的合并单元格
+     * </p>
+     *
+     * @param sheetFactory  按工作表下标获取接收数据的工作表
+     * @param rowFilter     需要写入的行（按行下标判断），不需要的行直接跳过
+     * @param sheetConsumer 每个工作表读取完成后的回调
+     * @throws IOException IO异常
+     */
+    public void readAll(IntFunction<Sheet> sheetFactory, IntPredicate rowFilter, Consumer<Sheet> sheetConsumer)
+            throws IOException {
+        process(sheetFactory, rowFilter, row -> {
+        }, sheetConsumer);
+    }
+
+    private void process(IntFunction<Sheet> sheetFactory, IntPredicate rowFilter, Consumer<Row> rowConsumer,
+                         Consumer<Sheet> sheetConsumer) throws IOException {
+        this.sheetFactory = sheetFactory;
+        this.sheetConsumer = sheetConsumer;
+        this.sheet = null;
+        this.rowFilter = rowFilter;
+        this.rowConsumer = rowConsumer;
+        this.dateStyles = new HashMap<>();
+        this.sstRecord = null;
+        this.currentSheetIndex = -1;
+        this.depth = 0;
+        this.stringFormulaRecord = null;
+        this.mergedRegions.clear();
+        this.sheetNames.clear();
+        this.stopped = false;
+
+        HSSFRequest request = new HSSFRequest();
+        formatListener = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(this));
+        request.addListenerForAllRecords(new AbortableHSSFListener() {
+            @Override
+            public short abortableProcessRecord(Record record) {
+                formatListener.processRecord(record);
+                return (short) (stopped ? 1 : 0);
+            }
+        });
+        try {
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
+        } catch (HSSFUserException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 中止本次读取，在行回调中调用
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * 获取最近一次读取的工作表中的合并单元格
+     *
+     * @return 合并单元格列表
+     */
+    public List<CellRangeAddress> getMergedRegions() {
+        return mergedRegions;
+    }
+
+    /**
+     * 获取最近一次读取到的所有工作表名称（按工作表顺序）
+     *
+     * @return 工作表名称列表
+     */
+    public List<String> getSheetNames() {
+        return sheetNames;
+    }
+
+    @Override
+    public void processRecord(Record record) {
+        if (record instanceof BOFRecord) {
+            // 工作簿之后的每个顶层子流对应一个工作表，工作表内嵌的图表子流不计入
+            int type = ((BOFRecord) record).getType();
+            if (depth++ == 0 && type != BOFRecord.TYPE_WORKBOOK) {
+                currentSheetIndex++;
+                mergedRegions.clear();
+                stringFormulaRecord = null;
+                sheet = type == BOFRecord.TYPE_WORKSHEET ? sheetFactory.apply(currentSheetIndex) : null;
+            }
+            return;
+        }
+        if (record instanceof EOFRecord) {
+            if (--depth == 0 && sheet != null) {
+                Sheet finishedSheet = sheet;
+                sheet = null;
+                sheetConsumer.accept(finishedSheet);
+            }
+            return;
+        }
+        if (record instanceof SSTRecord) {
+            sstRecord = (SSTRecord) record;
+            return;
+        }
+        if (record instanceof BoundSheetRecord) {
+            sheetNames.add(((BoundSheetRecord) record).getSheetname());
+            return;
+        }
+        if (sheet == null || depth != 1)
+            return;
+
+        switch (record.getSid()) {
+            case NumberRecord.sid: {
+                NumberRecord numberRecord = (NumberRecord) record;
+                Cell cell = createCell(numberRecord);
+                if (cell != null)
+                    setNumericValue(cell, numberRecord, numberRecord.getValue());
+                break;
+            }
+            case LabelSSTRecord.sid: {
+                LabelSSTRecord labelSSTRecord = (LabelSSTRecord) record;
+                Cell cell = createCell(labelSSTRecord);
+                if (cell != null)
+                    cell.setCellValue(sstRecord.getString(labelSSTRecord.getSSTIndex()).getString());
+                break;
+            }
+            case LabelRecord.sid: {
+                LabelRecord labelRecord = (LabelRecord) record;
+                Cell cell = createCell(labelRecord);
+                if (cell != null)
+                    cell.setCellValue(labelRecord.getValue());
+                break;
+            }
+            case BoolErrRecord.sid: {
+                BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+                Cell cell = createCell(boolErrRecord);
+                if (cell == null)
+                    break;
+                if (boolErrRecord.isBoolean())
+                    cell.setCellValue(boolErrRecord.getBooleanValue());
+                else
+                    cell.setCellErrorValue(boolErrRecord.getErrorValue());
+                break;
+            }
+            case FormulaRecord.sid: {
+                FormulaRecord formulaRecord = (FormulaRecord) record;
+                if (!rowFilter.test(formulaRecord.getRow()))
+                    break;
+                CellType cellType = formulaRecord.getCachedResultTypeEnum();
+                if (cellType == CellType.STRING) {
+                    stringFormulaRecord = formulaRecord;
+                    break;
+                }
+                Cell cell = createCell(formulaRecord);
+                if (cellType == CellType.NUMERIC)
+                    setNumericValue(cell, formulaRecord, formulaRecord.getValue());
+                else if (cellType == CellType.BOOLEAN)
+                    cell.setCellValue(formulaRecord.getCachedBooleanValue());
+                else if (cellType == CellType.ERROR)
+                    cell.setCellErrorValue((byte) formulaRecord.getCachedErrorValue());
+                break;
+            }
+            case StringRecord.sid: {
+                if (stringFormulaRecord != null) {
+                    createCell(stringFormulaRecord).setCellValue(((StringRecord) record).getString());
+                    stringFormulaRecord = null;
+                }
+                break;
+            }
+            case MergeCellsRecord.sid: {
+                MergeCellsRecord mergeCellsRecord = (MergeCellsRecord) record;
+                for (int i = 0; i < mergeCellsRecord.getNumAreas(); i++)
+                    mergedRegions.add(mergeCellsRecord.getAreaAt(i));
+                break;
+            }
+            default:
+                if (record instanceof LastCellOfRowDummyRecord) {
+                    Row row = sheet.getRow(((LastCellOfRowDummyRecord) record).getRow());
+                    if (row != null)
+                        rowConsumer.accept(row);
+                }
+                break;
+        }
+    }
+
+    private Cell createCell(CellValueRecordInterface record) {
+        int rowIndex = record.getRow();
+        if (!rowFilter.test(rowIndex))
+            return null;
+        Row row = sheet.getRow(rowIndex);
+        if (row == null)
+            row = sheet.createRow(rowIndex);
+        return row.createCell(record.getColumn());
+    }
+
+    /**
+     * 写入数字，日期格式的单元格同时设置对应的样式
+     */
+    private void setNumericValue(Cell cell, CellValueRecordInterface record, double value) {
+        cell.setCellValue(value);
+        int formatIndex = formatListener.getFormatIndex(record);
+        String formatString = formatListener.getFormatString(formatIndex);
+        if (!DateUtil.isADateFormat(formatIndex, formatString))
+            return;
+        CellStyle cellStyle = dateStyles.computeIfAbsent(formatIndex, key -> {
+            CellStyle style = sheet.getWorkbook().createCellStyle();
+            style.setDataFormat(sheet.getWorkbook().createDataFormat().getFormat(formatString));
+            return style;
+        });
+        cell.setCellStyle(cellStyle);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ericyl.excel.reader.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 读取错误
+ * <p>
+ * 宽松模式下单元格转换失败时记录，只保留错误信息，不保留异常堆栈
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcelReadError {
+
+    /**
+     * 行下标
+     */
+    private int rowIndex;
+
+    /**
+     * 列下标
+     */
+    private int cellIndex;
+
+    /**
+     * 字段名
+     */
+    private String fieldName;
+
+    /**
+     * 单元格原始值
+     */
+    private Object value;
+
+    /**
+     * 错误原因
+     */
+    private String message;
+}
@@ -0,0 +1,42 @@
+package com.ericyl.excel.reader.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 宽松模式读取结果
+ *
+ * @param <T> 数据类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcelReadResult<T> {
+
+    /**
+     * 数据列表（转换失败的字段不赋值，其他字段照常读取）
+     */
+    private List<T> list;
+
+    /**
+     * 错误列表，按读取顺序排列
+     */
+    private List<ExcelReadError> errorList;
+
+    /**
+     * 是否因错误数量达到上限而提前停止读取（后续的行未读取，结果不完整）
+     */
+    private boolean truncated;
+
+    /**
+     * 是否有错误
+     *
+     * @return 有错误时返回true
+     */
+    public boolean hasErrors() {
+        return !errorList.isEmpty();
+    }
+}
@@ -1,10 +1,9 @@
 package com.ericyl.excel.reader.model;
 
+import com.ericyl.excel.mapper.model.MappedField;
 import com.ericyl.excel.reader.formatter.IExcelReaderFormatter;
 import lombok.Data;
 
-import java.lang.reflect.Field;
-
 /**
  * 基础单元格
  */
@@ -13,7 +12,7 @@ public class FieldCell {
     /**
      * 属性
      */
-    private Field field;
+    private MappedField field;
     /**
      * 行下标
      * 在列表时为null
@@ -31,4 +30,9 @@ public class FieldCell {
      * 数据转换器
      */
     private IExcelReaderFormatter<?> formatter;
+    /**
+     * 单元格转换器
+     * 有数据转换器时为数据转换器，否则为按字段类型（数组、集合为元素类型）获取的类型转换器，不支持该类型时为null
+     */
+    private IExcelReaderFormatter<?> converter;
 }
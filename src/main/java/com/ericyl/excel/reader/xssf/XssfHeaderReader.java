@@ -0,0 +1,399 @@
+package com.ericyl.excel.reader.xssf;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * .xlsx 表头读取器
+ * <p>
+ * 不创建 XSSFWorkbook，逐个工作表以 SAX 方式解析，读取到指定行数后即停止解析单元格，
+ * 把读取到的行写入调用方提供的（通常是空的临时）工作簿中同名的工作表，用于快速获取每个工作表的表头。
+ * </p>
+ * <p>
+ * 合并单元格位于工作表数据之后，另外按字节查找 mergeCell 元素，只保留起始行在读取范围内的合并单元格；
+ * 共享字符串只解析到表头用到的最大下标，日期格式的数字单元格会同步样式，
+ * 使 {@link DateUtil#isCellDateFormatted(Cell)} 的结果与读取 XSSFWorkbook 时相同
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class XssfHeaderReader {
+
+    private static final byte[] MERGE_CELL = "mergeCell ref=\"".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * 停止解析
+     */
+    private static final SAXException STOP = new SAXException("stop");
+
+    private final OPCPackage opcPackage;
+
+    private XSSFReader xssfReader;
+    private StylesTable stylesTable;
+    private Map<Short, CellStyle> dateStyles;
+    private List<Cell> sharedStringCellList;
+    private List<Integer> sharedStringIndexList;
+
+    /**
+     * @param opcPackage .xlsx 文件（由调用方负责关闭）
+     */
+    public XssfHeaderReader(OPCPackage opcPackage) {
+        this.opcPackage = opcPackage;
+    }
+
+    /**
+     * 读取每个工作表的前几行
+     *
+     * @param workbook  接收数据的工作簿（按原工作表的顺序和名称创建工作表，行号与原工作表相同）
+     * @param rowNumber 每个工作表读取的行数
+     * @throws IOException IO异常或文件格式错误
+     */
+    public void read(Workbook workbook, int rowNumber) throws IOException {
+        this.stylesTable = null;
+        this.dateStyles = new HashMap<>();
+        this.sharedStringCellList = new ArrayList<>();
+        this.sharedStringIndexList = new ArrayList<>();
+        try {
+            xssfReader = new XSSFReader(opcPackage);
+            XSSFReader.SheetIterator iterator = xssfReader.getSheetIterator();
+            while (iterator.hasNext()) {
+                Sheet sheet;
+                try (InputStream inputStream = iterator.next()) {
+                    sheet = workbook.createSheet(iterator.getSheetName());
+                    parse(inputStream, new SheetHandler(sheet, rowNumber));
+                }
+                try (InputStream inputStream = iterator.getSheetPart().getInputStream()) {
+                    for (CellRangeAddress mergedRegion : readMergedRegions(inputStream)) {
+                        if (mergedRegion.getFirstRow() < rowNumber)
+                            sheet.addMergedRegionUnsafe(mergedRegion);
+                    }
+                }
+            }
+
+            // 只解析用到的共享字符串
+            if (!sharedStringCellList.isEmpty()) {
+                int maxIndex = sharedStringIndexList.stream().mapToInt(Integer::intValue).max().orElse(0);
+                List<String> sharedStringList = new ArrayList<>();
+                try (InputStream inputStream = xssfReader.getSharedStringsData()) {
+                    parse(inputStream, new SharedStringsHandler(sharedStringList, maxIndex));
+                }
+                for (int i = 0; i < sharedStringCellList.size(); i++) {
+                    int index = sharedStringIndexList.get(i);
+                    if (index < sharedStringList.size())
+                        sharedStringCellList.get(i).setCellValue(sharedStringList.get(index));
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解析XML，处理器抛出 {@link #STOP} 时正常结束
+     */
+    private static void parse(InputStream inputStream, DefaultHandler handler)
+            throws IOException, SAXException, ParserConfigurationException {
+        XMLReader xmlReader = XMLHelper.newXMLReader();
+        xmlReader.setContentHandler(handler);
+        try {
+            xmlReader.parse(new InputSource(inputStream));
+        } catch (SAXException e) {
+            if (e != STOP)
+                throw e;
+        }
+    }
+
+    /**
+     * 按字节查找工作表中的合并单元格（mergeCell 元素的 ref 属性）
+     */
+    private static List<CellRangeAddress> readMergedRegions(InputStream inputStream) throws IOException {
+        List<CellRangeAddress> mergedRegionList = new ArrayList<>();
+        byte[] buffer = new byte[64 * 1024];
+        StringBuilder ref = null;
+        int matched = 0;
+        byte last = 0;
+        boolean isElement = false;
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            for (int i = 0; i < length; i++) {
+                byte b = buffer[i];
+                if (ref != null) {
+                    // 读取 ref 属性值
+                    if (b != '"') {
+                        ref.append((char) b);
+                        continue;
+                    }
+                    if (isElement && ref.indexOf(":") != -1)
+                        mergedRegionList.add(CellRangeAddress.valueOf(ref.toString()));
+                    ref = null;
+                    continue;
+                }
+                if (matched > 0) {
+                    if (b == MERGE_CELL[matched]) {
+                        if (++matched == MERGE_CELL.length) {
+                            ref = new StringBuilder();
+                            matched = 0;
+                        }
+                        continue;
+                    }
+                    matched = 0;
+                }
+                if (b == MERGE_CELL[0]) {
+                    // 元素名前只能是 '<' 或命名空间前缀
+                    byte previous = i > 0 ? buffer[i - 1] : last;
+                    isElement = previous == '<' || previous == ':';
+                    matched = 1;
+                }
+            }
+            if (length > 0)
+                last = buffer[length - 1];
+        }
+        return mergedRegionList;
+    }
+
+    /**
+     * 获取日期格式对应的样式，不是日期格式时返回空
+     */
+    private CellStyle getDateStyle(Workbook workbook, int styleIndex) throws IOException {
+        try {
+            if (stylesTable == null)
+                stylesTable = xssfReader.getStylesTable();
+        } catch (OpenXML4JException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        if (stylesTable == null || styleIndex >= stylesTable.getNumCellStyles())
+            return null;
+        XSSFCellStyle cellStyle = stylesTable.getStyleAt(styleIndex);
+        if (cellStyle == null)
+            return null;
+        short formatIndex = cellStyle.getDataFormat();
+        String formatString = cellStyle.getDataFormatString();
+        if (!DateUtil.isADateFormat(formatIndex, formatString))
+            return null;
+        return dateStyles.computeIfAbsent(formatIndex, key -> {
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat(formatString));
+            return style;
+        });
+    }
+
+    /**
+     * 工作表处理器，读取到指定行数或工作表数据结束时停止
+     */
+    private class SheetHandler extends DefaultHandler {
+
+        private final Sheet sheet;
+        private final int rowNumber;
+        private final StringBuilder value = new StringBuilder();
+
+        private int rowIndex = -1;
+        private int cellIndex = -1;
+        private String cellType;
+        private String styleIndex;
+        private boolean hasValue;
+        private boolean inValue;
+        private boolean inInlineString;
+
+        private SheetHandler(Sheet sheet, int rowNumber) {
+            this.sheet = sheet;
+            this.rowNumber = rowNumber;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            switch (localName) {
+                case "row": {
+                    String ref = attributes.getValue("r");
+                    rowIndex = ref == null ? rowIndex + 1 : Integer.parseInt(ref) - 1;
+                    cellIndex = -1;
+                    if (rowIndex >= rowNumber)
+                        throw STOP;
+                    break;
+                }
+                case "c": {
+                    String ref = attributes.getValue("r");
+                    cellIndex = ref == null ? cellIndex + 1 : new CellReference(ref).getCol();
+                    cellType = attributes.getValue("t");
+                    styleIndex = attributes.getValue("s");
+                    value.setLength(0);
+                    hasValue = false;
+                    break;
+                }
+                case "is":
+                    inInlineString = true;
+                    break;
+                case "v":
+                    inValue = true;
+                    hasValue = true;
+                    break;
+                case "t":
+                    if (inInlineString) {
+                        inValue = true;
+                        hasValue = true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue)
+                value.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v":
+                case "t":
+                    inValue = false;
+                    break;
+                case "is":
+                    inInlineString = false;
+                    break;
+                case "c":
+                    if (hasValue)
+                        setCellValue();
+                    break;
+                case "sheetData":
+                    throw STOP;
+                default:
+                    break;
+            }
+        }
+
+        private void setCellValue() throws SAXException {
+            Row row = sheet.getRow(rowIndex);
+            if (row == null)
+                row = sheet.createRow(rowIndex);
+            Cell cell = row.createCell(cellIndex);
+            String str = value.toString();
+            if (cellType == null || "n".equals(cellType)) {
+                if (str.isEmpty())
+                    return;
+                cell.setCellValue(Double.parseDouble(str));
+                if (styleIndex == null)
+                    return;
+                try {
+                    CellStyle dateStyle = getDateStyle(sheet.getWorkbook(), Integer.parseInt(styleIndex));
+                    if (dateStyle != null)
+                        cell.setCellStyle(dateStyle);
+                } catch (IOException e) {
+                    throw new SAXException(e);
+                }
+                return;
+            }
+            switch (cellType) {
+                case "s":
+                    sharedStringCellList.add(cell);
+                    sharedStringIndexList.add(Integer.parseInt(str.trim()));
+                    break;
+                case "b":
+                    cell.setCellValue("1".equals(str) || "true".equalsIgnoreCase(str));
+                    break;
+                case "e":
+                    try {
+                        cell.setCellErrorValue(FormulaError.forString(str).getCode());
+                    } catch (IllegalArgumentException e) {
+                        cell.setCellValue(str);
+                    }
+                    break;
+                default:
+                    // inlineStr、str（公式结果）、d（ISO 8601 日期文本）
+                    cell.setCellValue(str);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 共享字符串处理器，解析到指定下标后停止
+     */
+    private static class SharedStringsHandler extends DefaultHandler {
+
+        private final List<String> sharedStringList;
+        private final int maxIndex;
+        private final StringBuilder value = new StringBuilder();
+
+        private boolean inText;
+        private boolean inPhonetic;
+
+        private SharedStringsHandler(List<String> sharedStringList, int maxIndex) {
+            this.sharedStringList = sharedStringList;
+            this.maxIndex = maxIndex;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "si":
+                    value.setLength(0);
+                    break;
+                case "rPh":
+                    inPhonetic = true;
+                    break;
+                case "t":
+                    inText = !inPhonetic;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText)
+                value.append(ch, start, length);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "t":
+                    inText = false;
+                    break;
+                case "rPh":
+                    inPhonetic = false;
+                    break;
+                case "si":
+                    sharedStringList.add(value.toString());
+                    if (sharedStringList.size() > maxIndex)
+                        throw STOP;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
@@ -40,14 +40,101 @@ public class ObjectUtils {
      * @return 对应的数字索引（从1开始）
      */
     public static int convertToNumber(String s) {
+        return convertToNumber(s, 0, s.length());
+    }
+
+    /**
+     * Excel列坐标转换为数字索引
+     * <p>
+     * 与 {@link #convertToNumber(String)} 相同，只转换指定范围内的字符，不创建子字符串，大小写均可
+     * </p>
+     *
+     * @param s     包含列坐标的字符序列
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 对应的数字索引（从1开始）
+     */
+    public static int convertToNumber(CharSequence s, int start, int end) {
         int result = 0;
-        for (int i = 0; i < s.length(); i++) {
+        for (int i = start; i < end; i++) {
             // 将字符转换为0-25之间的数字，然后根据位置加权（26的幂）
-            result = result * 26 + (s.charAt(i) - 'A' + 1);
+            result = result * 26 + (Character.toUpperCase(s.charAt(i)) - 'A' + 1);
         }
         return result;
     }
 
+    /**
+     * 解析Excel单元格坐标
+     * <p>
+     * 将坐标（如 "A1", "$B$2", "AA10"）解析为从0开始的行号与列号，解析过程不创建任何对象。
+     * 结果的高32位为行号，低32位为列号，可通过 {@link #getRowIndex(long)}、{@link #getCellIndex(long)} 获取。
+     * 按结果排序即为按行、列的顺序排序。
+     * </p>
+     *
+     * <pre>
+     * long coordinate = convertToCoordinate("B3");
+     * getRowIndex(coordinate)  // 返回 2
+     * getCellIndex(coordinate) // 返回 1
+     * </pre>
+     *
+     * @param xy 单元格坐标
+     * @return 坐标值，坐标无效时返回-1
+     */
+    public static long convertToCoordinate(CharSequence xy) {
+        if (xy == null)
+            return -1;
+
+        int length = xy.length();
+        int i = 0;
+        if (i < length && xy.charAt(i) == '$')
+            i++;
+
+        // 列坐标
+        int columnStart = i;
+        while (i < length && isLetter(xy.charAt(i)))
+            i++;
+        int columnEnd = i;
+        if (columnEnd == columnStart || columnEnd - columnStart > 3)
+            return -1;
+
+        if (i < length && xy.charAt(i) == '$')
+            i++;
+
+        // 行号
+        int rowStart = i;
+        long row = 0;
+        while (i < length && xy.charAt(i) >= '0' && xy.charAt(i) <= '9' && row <= Integer.MAX_VALUE)
+            row = row * 10 + (xy.charAt(i++) - '0');
+        if (i == rowStart || i != length || row < 1 || row > Integer.MAX_VALUE)
+            return -1;
+
+        return (row - 1) << 32 | (convertToNumber(xy, columnStart, columnEnd) - 1);
+    }
+
+    /**
+     * 获取坐标中的行号
+     *
+     * @param coordinate {@link #convertToCoordinate(CharSequence)} 的解析结果
+     * @return 行号（从0开始）
+     */
+    public static int getRowIndex(long coordinate) {
+        return (int) (coordinate >>> 32);
+    }
+
+    /**
+     * 获取坐标中的列号
+     *
+     * @param coordinate {@link #convertToCoordinate(CharSequence)} 的解析结果
+     * @return 列号（从0开始）
+     */
+    public static int getCellIndex(long coordinate) {
+        return (int) coordinate;
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
     /**
      * 通过反射设置对象字段的值
      * <p>
@@ -127,4 +127,16 @@ public @interface ExcelWriter {
      * @return 文本是否自动换行，默认不换行
      */
     boolean wrapText() default false;
+
+    /**
+     * 日期格式
+     * <p>
+     * 设置后 Date、LocalDate、LocalDateTime 类型的数据以日期数值写入单元格，
+     * 并使用此格式显示（如 "yyyy-MM-dd"），写入的单元格可在 Excel 中按日期排序、筛选。
+     * 与 formatter 同时使用时，formatter 转换后的数据不是日期类型则此配置不生效。
+     * </p>
+     *
+     * @return 日期格式，默认为空（不设置数据格式）
+     */
+    String dateFormat() default "";
 }
@@ -0,0 +1,82 @@
+package com.ericyl.excel.writer.formatter;
+
+import com.ericyl.excel.formatter.FormatterCache;
+import com.ericyl.excel.formatter.model.FormatterCacheStats;
+
+import java.util.Map;
+
+/**
+ * 带缓存的数据转换器
+ * <p>
+ * 装饰需要查询数据库或远程服务的转换器（如编码转名称），按字段值缓存转换结果，相同的值只查询一次。
+ * 字段值需正确实现 equals/hashCode；字段值为空时不缓存，直接交给被装饰的转换器。
+ * </p>
+ *
+ * <pre>
+ * FormatterRegistry.register(DictExcelWriterFormatter.class,
+ *         new CachingExcelWriterFormatter(new DictExcelWriterFormatter(dictService), 1000));
+ * </pre>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class CachingExcelWriterFormatter implements IExcelWriterFormatter {
+
+    private final IExcelWriterFormatter formatter;
+    private final FormatterCache cache;
+
+    /**
+     * @param formatter 被装饰的转换器
+     */
+    public CachingExcelWriterFormatter(IExcelWriterFormatter formatter) {
+        this(formatter, FormatterCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param formatter   被装饰的转换器
+     * @param maximumSize 最大缓存条目数，超出时淘汰最近最少使用的条目
+     */
+    public CachingExcelWriterFormatter(IExcelWriterFormatter formatter, int maximumSize) {
+        if (formatter == null)
+            throw new RuntimeException("转换器不能为空");
+        this.formatter = formatter;
+        this.cache = new FormatterCache(maximumSize);
+    }
+
+    @Override
+    public Object format(Object obj) {
+        if (obj == null)
+            return formatter.format(null);
+        return cache.get(obj, formatter::format);
+    }
+
+    /**
+     * 批量预加载转换结果
+     *
+     * @param values 字段值与转换结果的映射
+     * @return 当前实例
+     */
+    public CachingExcelWriterFormatter preload(Map<?, ?> values) {
+        for (Map.Entry<?, ?> entry : values.entrySet()) {
+            if (entry.getKey() != null)
+                cache.put(entry.getKey(), entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * 获取缓存统计数据
+     *
+     * @return 统计数据
+     */
+    public FormatterCacheStats getStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,182 @@
+package com.ericyl.excel.writer.layout;
+
+import java.util.Arrays;
+
+/**
+ * 单元格占用表
+ * <p>
+ * 记录合并单元格在后续行中占用的列，每行使用一个 long[] 位图保存。
+ * 行按环形缓冲区存放，调用 {@link #advance(int)} 后，已不可能再被影响的行会被清空并复用，
+ * 因此占用内存只与最大跨行数有关，与表格总行数无关。
+ * </p>
+ */
+public class OccupancyGrid {
+
+    private static final int WORD_BITS = 64;
+
+    /**
+     * 行位图（环形缓冲区，容量为2的幂）
+     */
+    private long[][] rows;
+
+    /**
+     * 当前仍有效的最小行号
+     */
+    private int baseRow;
+
+    public OccupancyGrid() {
+        this(0);
+    }
+
+    /**
+     * @param baseRow 起始行号
+     */
+    public OccupancyGrid(int baseRow) {
+        this.rows = new long[16][];
+        this.baseRow = baseRow;
+    }
+
+    /**
+     * 推进到指定行，释放该行之前的所有行
+     *
+     * @param rowIndex 当前行号
+     */
+    public void advance(int rowIndex) {
+        if (rowIndex <= baseRow)
+            return;
+        int end = Math.min(rowIndex, baseRow + rows.length);
+        for (int index = baseRow; index < end; index++) {
+            long[] words = rows[index & (rows.length - 1)];
+            if (words != null)
+                Arrays.fill(words, 0L);
+        }
+        baseRow = rowIndex;
+    }
+
+    /**
+     * 查找指定行中从起始列开始、连续 colspan 列均未被占用的第一个位置
+     *
+     * @param rowIndex    行号
+     * @param startColumn 起始列
+     * @param colspan     跨列数
+     * @return 可用的起始列
+     */
+    public int findAvailable(int rowIndex, int startColumn, int colspan) {
+        long[] words = getRow(rowIndex);
+        if (words == null)
+            return startColumn;
+
+        int columnIndex = startColumn;
+        while (true) {
+            columnIndex = nextClearBit(words, columnIndex);
+            int occupied = nextSetBit(words, columnIndex);
+            if (occupied < 0 || occupied - columnIndex >= colspan)
+                return columnIndex;
+            columnIndex = occupied;
+        }
+    }
+
+    /**
+     * 标记区域为已占用
+     *
+     * @param rowIndex    起始行号
+     * @param columnIndex 起始列
+     * @param rowspan     跨行数
+     * @param colspan     跨列数
+     */
+    public void mark(int rowIndex, int columnIndex, int rowspan, int colspan) {
+        int lastRow = rowIndex + rowspan - 1;
+        if (lastRow - baseRow >= rows.length)
+            grow(lastRow - baseRow + 1);
+
+        int toColumn = columnIndex + colspan;
+        for (int index = Math.max(rowIndex, baseRow); index <= lastRow; index++) {
+            int slot = index & (rows.length - 1);
+            long[] words = rows[slot];
+            int wordCount = (toColumn - 1) / WORD_BITS + 1;
+            if (words == null || words.length < wordCount)
+                rows[slot] = words = words == null ? new long[wordCount] : Arrays.copyOf(words, Math.max(wordCount, words.length * 2));
+            setRange(words, columnIndex, toColumn);
+        }
+    }
+
+    /**
+     * 判断区域内是否有已占用的单元格
+     *
+     * @param rowIndex    起始行号
+     * @param columnIndex 起始列
+     * @param rowspan     跨行数
+     * @param colspan     跨列数
+     * @return 有已占用的单元格时返回true
+     */
+    public boolean isOccupied(int rowIndex, int columnIndex, int rowspan, int colspan) {
+        for (int index = rowIndex; index < rowIndex + rowspan; index++) {
+            long[] words = getRow(index);
+            if (words == null)
+                continue;
+            int occupied = nextSetBit(words, columnIndex);
+            if (occupied >= 0 && occupied < columnIndex + colspan)
+                return true;
+        }
+        return false;
+    }
+
+    private long[] getRow(int rowIndex) {
+        if (rowIndex < baseRow || rowIndex - baseRow >= rows.length)
+            return null;
+        return rows[rowIndex & (rows.length - 1)];
+    }
+
+    private void grow(int capacity) {
+        int length = rows.length;
+        while (length < capacity)
+            length <<= 1;
+        long[][] newRows = new long[length][];
+        for (int index = baseRow; index < baseRow + rows.length; index++)
+            newRows[index & (length - 1)] = rows[index & (rows.length - 1)];
+        rows = newRows;
+    }
+
+    private static void setRange(long[] words, int fromColumn, int toColumn) {
+        int startWord = fromColumn / WORD_BITS;
+        int endWord = (toColumn - 1) / WORD_BITS;
+        long firstMask = -1L << fromColumn;
+        long lastMask = -1L >>> -toColumn;
+        if (startWord == endWord) {
+            words[startWord] |= firstMask & lastMask;
+            return;
+        }
+        words[startWord] |= firstMask;
+        for (int index = startWord + 1; index < endWord; index++)
+            words[index] = -1L;
+        words[endWord] |= lastMask;
+    }
+
+    private static int nextClearBit(long[] words, int fromColumn) {
+        int wordIndex = fromColumn / WORD_BITS;
+        if (wordIndex >= words.length)
+            return fromColumn;
+        long word = ~words[wordIndex] & (-1L << fromColumn);
+        while (true) {
+            if (word != 0)
+                return wordIndex * WORD_BITS + Long.numberOfTrailingZeros(word);
+            if (++wordIndex == words.length)
+                return wordIndex * WORD_BITS;
+            word = ~words[wordIndex];
+        }
+    }
+
+    private static int nextSetBit(long[] words, int fromColumn) {
+        int wordIndex = fromColumn / WORD_BITS;
+        if (wordIndex >= words.length)
+            return -1;
+        long word = words[wordIndex] & (-1L << fromColumn);
+        while (true) {
+            if (word != 0)
+                return wordIndex * WORD_BITS + Long.numberOfTrailingZeros(word);
+            if (++wordIndex == words.length)
+                return -1;
+            word = words[wordIndex];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ericyl.excel.writer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+
+/**
+ * 单元格样式
+ * <p>
+ * 从 {@link ExcelColumn} 中提取的与样式相关的属性，可作为样式去重的键使用
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcelCellStyle {
+
+    private VerticalAlignment verticalAlignment;
+
+    private HorizontalAlignment horizontalAlignment;
+
+    private ExcelColumnBorder border;
+
+    private boolean wrapText;
+
+    private String dateFormat;
+
+}
@@ -28,6 +28,7 @@ public class ExcelColumn implements Comparable<ExcelColumn> {
     private HorizontalAlignment horizontalAlignment;
     private ExcelColumnBorder border;
     private boolean wrapText;
+    private String dateFormat;
 
     public ExcelColumn(String key) {
         this(null, key, 1, 1);
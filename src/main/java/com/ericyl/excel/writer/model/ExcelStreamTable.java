@@ -0,0 +1,27 @@
+package com.ericyl.excel.writer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.experimental.SuperBuilder;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 流式表格结构
+ * <p>
+ * 与 {@link ExcelTable} 相同，但内容行通过迭代器逐行提供
+ * </p>
+ */
+@Data
+@Accessors(chain = true)
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcelStreamTable {
+    private List<List<ExcelColumn>> headers;
+    private Iterator<List<ExcelColumn>> columns;
+    private List<List<ExcelColumn>> footers;
+}
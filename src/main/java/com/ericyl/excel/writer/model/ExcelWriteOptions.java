@@ -0,0 +1,78 @@
+package com.ericyl.excel.writer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.experimental.SuperBuilder;
+
+import java.util.zip.Deflater;
+
+/**
+ * Excel 输出配置
+ */
+@Data
+@Accessors(chain = true)
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExcelWriteOptions {
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 仅存储，不压缩
+     * <p>
+     * 数据仍以 deflate 格式存储（压缩级别为0），文件体积接近原始 XML 大小，但几乎不消耗压缩 CPU，
+     * 适用于局域网内传输等不关心文件大小的场景
+     * </p>
+     */
+    public static final int STORED = Deflater.NO_COMPRESSION;
+
+    /**
+     * 最快压缩
+     */
+    public static final int BEST_SPEED = Deflater.BEST_SPEED;
+
+    /**
+     * 最高压缩
+     */
+    public static final int BEST_COMPRESSION = Deflater.BEST_COMPRESSION;
+
+    /**
+     * 输出缓冲区大小（字节）
+     */
+    @Builder.Default
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * ZIP 压缩级别（0-9），可使用 {@link #STORED}、{@link #BEST_SPEED}、{@link #BEST_COMPRESSION}
+     * 为空时使用默认压缩级别
+     */
+    private Integer compressionLevel;
+
+    /**
+     * 是否压缩 SXSSF 临时文件
+     * 仅在创建 {@link com.ericyl.excel.writer.workbook.StreamingWorkbook} 时生效
+     */
+    private boolean compressTempFiles;
+
+    /**
+     * SXSSF 临时文件读写缓冲区大小（字节）
+     * 为空时使用 POI 默认值，仅在创建 {@link com.ericyl.excel.writer.workbook.StreamingWorkbook} 时生效
+     */
+    private Integer tempFileBufferSize;
+
+    /**
+     * 是否在复杂表格写入完成后校验合并单元格（调试用）
+     * <p>
+     * 表格布局产生的合并单元格重叠默认即会抛出异常；开启后在写入完成时再用 POI 统一校验一次工作表上的所有合并单元格（包括写入前已存在的）
+     * </p>
+     */
+    private boolean verifyMergedRegions;
+
+}
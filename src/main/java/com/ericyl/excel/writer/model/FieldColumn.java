@@ -0,0 +1,35 @@
+package com.ericyl.excel.writer.model;
+
+import com.ericyl.excel.mapper.model.MappedField;
+import com.ericyl.excel.writer.formatter.IExcelWriterFormatter;
+import com.ericyl.excel.writer.value.ICellValueWriter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 字段与列的映射关系
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldColumn {
+    /**
+     * 属性
+     */
+    private MappedField field;
+    /**
+     * 列配置
+     * 其中 data 为表头名称（未设置时为null）
+     */
+    private ExcelColumn excelColumn;
+    /**
+     * 数据转换器
+     * 使用默认转换器时为null
+     */
+    private IExcelWriterFormatter formatter;
+    /**
+     * 单元格数据写入器
+     */
+    private ICellValueWriter valueWriter;
+}
@@ -0,0 +1,187 @@
+package com.ericyl.excel.writer.style;
+
+import com.ericyl.excel.writer.common.BorderValue;
+import com.ericyl.excel.writer.model.ExcelCellStyle;
+import com.ericyl.excel.writer.model.ExcelColumn;
+import com.ericyl.excel.writer.model.ExcelColumnBorder;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * 单元格样式缓存
+ * <p>
+ * 按工作簿缓存已创建的单元格样式，相同配置的单元格共用同一个样式，
+ * 避免每个单元格都创建新的 CellStyle（同时避免超出 Excel 样式数量上限）。
+ * 数据格式（如日期格式）在创建样式时通过 {@link DataFormat} 解析一次，之后随样式一起复用。
+ * </p>
+ * <p>
+ * 缓存中只保存样式下标，不持有工作簿的强引用，工作簿被回收后缓存自动失效。
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class CellStyleCache {
+
+    private static final Map<Workbook, Map<ExcelCellStyle, Integer>> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * 获取单元格配置对应的样式
+     *
+     * @param workbook    Excel工作簿
+     * @param excelColumn 单元格配置
+     * @return 单元格样式
+     */
+    public static CellStyle getCellStyle(Workbook workbook, ExcelColumn excelColumn) {
+        return getCellStyle(workbook, toCellStyle(excelColumn));
+    }
+
+    /**
+     * 获取样式配置对应的样式，不存在时创建
+     *
+     * @param workbook       Excel工作簿
+     * @param excelCellStyle 样式配置
+     * @return 单元格样式
+     */
+    public static CellStyle getCellStyle(Workbook workbook, ExcelCellStyle excelCellStyle) {
+        Map<ExcelCellStyle, Integer> styleMap = CACHE.computeIfAbsent(workbook, key -> new ConcurrentHashMap<>());
+        Integer index = styleMap.get(excelCellStyle);
+        if (index != null && index < workbook.getNumCellStyles())
+            return workbook.getCellStyleAt(index);
+
+        CellStyle cellStyle = createCellStyle(workbook, excelCellStyle);
+        styleMap.put(excelCellStyle, (int) cellStyle.getIndex());
+        return cellStyle;
+    }
+
+    /**
+     * 提取单元格配置中与样式相关的属性
+     * <p>
+     * 边框配置会被复制，避免缓存键随单元格配置的修改而变化
+     * </p>
+     *
+     * @param excelColumn 单元格配置
+     * @return 样式配置
+     */
+    public static ExcelCellStyle toCellStyle(ExcelColumn excelColumn) {
+        ExcelColumnBorder border = excelColumn.getBorder();
+        if (border != null)
+            border = new ExcelColumnBorder(ArrayUtils.clone(border.getValue()), border.getStyle(), border.getColor());
+        return new ExcelCellStyle(excelColumn.getVerticalAlignment(), excelColumn.getHorizontalAlignment(), border,
+                excelColumn.isWrapText(), excelColumn.getDateFormat());
+    }
+
+    /**
+     * 创建单元格样式
+     * <p>
+     * 包括边框、对齐方式、数据格式等样式设置
+     * </p>
+     *
+     * @param workbook       Excel工作簿
+     * @param excelCellStyle 样式配置
+     * @return 单元格样式
+     */
+    private static CellStyle createCellStyle(Workbook workbook, ExcelCellStyle excelCellStyle) {
+        CellStyle cellStyle = workbook.createCellStyle();
+        applyCellStyle(cellStyle, excelCellStyle, format -> workbook.getCreationHelper().createDataFormat().getFormat(format));
+        return cellStyle;
+    }
+
+    /**
+     * 将样式配置应用到单元格样式
+     * <p>
+     * 包括边框、对齐方式、数据格式等样式设置，用于不经过 {@link Workbook} 直接操作样式表的场景
+     * </p>
+     *
+     * @param cellStyle      单元格样式
+     * @param excelCellStyle 样式配置
+     * @param dataFormat     数据格式解析（格式字符串到格式编号）
+     */
+    public static void applyCellStyle(CellStyle cellStyle, ExcelCellStyle excelCellStyle, ToIntFunction<String> dataFormat) {
+
+        // 设置边框样式
+        ExcelColumnBorder excelColumnBorder = excelCellStyle.getBorder();
+        if (excelColumnBorder != null && ArrayUtils.isNotEmpty(excelColumnBorder.getValue())) {
+            BorderStyle style = excelColumnBorder.getStyle();
+            IndexedColors color = excelColumnBorder.getColor();
+
+            for (BorderValue value : excelColumnBorder.getValue()) {
+                switch (value) {
+                    case ALL:
+                        // 设置所有边框
+                        cellStyle.setBorderTop(style);
+                        cellStyle.setBorderBottom(style);
+                        cellStyle.setBorderLeft(style);
+                        cellStyle.setBorderRight(style);
+                        if (color != null) {
+                            cellStyle.setTopBorderColor(color.getIndex());
+                            cellStyle.setBottomBorderColor(color.getIndex());
+                            cellStyle.setLeftBorderColor(color.getIndex());
+                            cellStyle.setRightBorderColor(color.getIndex());
+                        }
+                        break;
+                    case X:
+                        // 设置左右边框
+                        cellStyle.setBorderLeft(style);
+                        cellStyle.setBorderRight(style);
+                        if (color != null) {
+                            cellStyle.setLeftBorderColor(color.getIndex());
+                            cellStyle.setRightBorderColor(color.getIndex());
+                        }
+                        break;
+                    case Y:
+                        // 设置上下边框
+                        cellStyle.setBorderTop(style);
+                        cellStyle.setBorderBottom(style);
+                        if (color != null) {
+                            cellStyle.setTopBorderColor(color.getIndex());
+                            cellStyle.setBottomBorderColor(color.getIndex());
+                        }
+                        break;
+                    case TOP:
+                        cellStyle.setBorderTop(style);
+                        if (color != null)
+                            cellStyle.setTopBorderColor(color.getIndex());
+                        break;
+                    case BOTTOM:
+                        cellStyle.setBorderBottom(style);
+                        if (color != null)
+                            cellStyle.setBottomBorderColor(color.getIndex());
+                        break;
+                    case LEFT:
+                        cellStyle.setBorderLeft(style);
+                        if (color != null)
+                            cellStyle.setLeftBorderColor(color.getIndex());
+                        break;
+                    case RIGHT:
+                        cellStyle.setBorderRight(style);
+                        if (color != null)
+                            cellStyle.setRightBorderColor(color.getIndex());
+                        break;
+                }
+            }
+        }
+
+        // 设置对齐方式
+        VerticalAlignment verticalAlignment = excelCellStyle.getVerticalAlignment();
+        if (verticalAlignment != null)
+            cellStyle.setVerticalAlignment(verticalAlignment);
+
+        HorizontalAlignment horizontalAlignment = excelCellStyle.getHorizontalAlignment();
+        if (horizontalAlignment != null)
+            cellStyle.setAlignment(horizontalAlignment);
+
+        cellStyle.setWrapText(excelCellStyle.isWrapText());
+
+        // 设置数据格式
+        if (StringUtils.isNotEmpty(excelCellStyle.getDateFormat()))
+            cellStyle.setDataFormat((short) dataFormat.applyAsInt(excelCellStyle.getDateFormat()));
+    }
+}
@@ -0,0 +1,234 @@
+package com.ericyl.excel.writer.value;
+
+import com.ericyl.excel.mapper.model.MappedField;
+import com.ericyl.excel.writer.formatter.IExcelWriterFormatter;
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 单元格数据写入工具类
+ * <p>
+ * 数字直接按类型写入，不再经过 String 和 BigDecimal 转换；
+ * 基本类型字段通过 {@link Field#getInt(Object)} 等方法读取，不产生装箱对象。
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class CellValueWriters {
+
+    /**
+     * 10 的整数次幂（double 可精确表示的范围）
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 根据字段类型创建单元格数据写入器
+     *
+     * @param field     字段（需已设置访问权限）
+     * @param formatter 数据转换器，为空时不转换
+     * @return 单元格数据写入器
+     */
+    public static ICellValueWriter of(Field field, IExcelWriterFormatter formatter) {
+        if (formatter != null)
+            return (cell, obj) -> {
+                Object data = field.get(obj);
+                return data != null && setCellValue(cell, formatter.format(data));
+            };
+
+        Class<?> type = field.getType();
+        if (type == int.class)
+            return (cell, obj) -> {
+                cell.setCellValue(field.getInt(obj));
+                return true;
+            };
+        if (type == long.class)
+            return (cell, obj) -> {
+                cell.setCellValue(field.getLong(obj));
+                return true;
+            };
+        if (type == double.class)
+            return (cell, obj) -> {
+                cell.setCellValue(field.getDouble(obj));
+                return true;
+            };
+        if (type == float.class)
+            return (cell, obj) -> {
+                cell.setCellValue(toDouble(field.getFloat(obj)));
+                return true;
+            };
+        if (type == short.class)
+            return (cell, obj) -> {
+                cell.setCellValue(field.getShort(obj));
+                return true;
+            };
+        if (type == byte.class)
+            return (cell, obj) -> {
+                cell.setCellValue(field.getByte(obj));
+                return true;
+            };
+        if (type == boolean.class)
+            return (cell, obj) -> {
+                cell.setCellValue(field.getBoolean(obj));
+                return true;
+            };
+        if (type == char.class)
+            return (cell, obj) -> {
+                cell.setCellValue(String.valueOf(field.getChar(obj)));
+                return true;
+            };
+        if (type == String.class)
+            return (cell, obj) -> {
+                Object data = field.get(obj);
+                if (data == null)
+                    return false;
+                cell.setCellValue((String) data);
+                return true;
+            };
+        return (cell, obj) -> setCellValue(cell, field.get(obj));
+    }
+
+    /**
+     * 根据映射字段创建单元格写入器
+     * <p>
+     * 有反射字段时按字段类型读取；否则整数、浮点数字段通过基本类型读取函数取值，不装箱
+     * </p>
+     *
+     * @param field     映射字段
+     * @param formatter 数据转换器，为空时直接写入字段值
+     * @return 单元格写入器
+     */
+    public static ICellValueWriter of(MappedField field, IExcelWriterFormatter formatter) {
+        if (field.getField() != null)
+            return of(field.getField(), formatter);
+        if (formatter == null && field.getLongGetter() != null) {
+            ToLongFunction<Object> getter = field.getLongGetter();
+            return (cell, obj) -> {
+                cell.setCellValue(getter.applyAsLong(obj));
+                return true;
+            };
+        }
+        if (formatter == null && field.getDoubleGetter() != null) {
+            ToDoubleFunction<Object> getter = field.getDoubleGetter();
+            if (field.getType() == float.class)
+                return (cell, obj) -> {
+                    cell.setCellValue(toDouble((float) getter.applyAsDouble(obj)));
+                    return true;
+                };
+            return (cell, obj) -> {
+                cell.setCellValue(getter.applyAsDouble(obj));
+                return true;
+            };
+        }
+        return of(field.getGetter(), formatter);
+    }
+
+    /**
+     * 根据字段读取方法创建单元格数据写入器
+     * <p>
+     * 用于编译期生成的映射类，字段值由 getter 直接读取，不使用反射
+     * </p>
+     *
+     * @param getter    字段读取方法
+     * @param formatter 数据转换器，为空时不转换
+     * @return 单元格数据写入器
+     */
+    public static ICellValueWriter of(Function<Object, Object> getter, IExcelWriterFormatter formatter) {
+        if (formatter != null)
+            return (cell, obj) -> {
+                Object data = getter.apply(obj);
+                return data != null && setCellValue(cell, formatter.format(data));
+            };
+        return (cell, obj) -> setCellValue(cell, getter.apply(obj));
+    }
+
+    /**
+     * 根据数据类型设置单元格的值
+     * <p>
+     * 支持字符串、数字、日期（Date、Calendar、LocalDate、LocalDateTime）、布尔、字符、枚举类型，
+     * 枚举写入 {@link Enum#name()}，如需其他内容请使用数据转换器
+     * </p>
+     *
+     * @param cell 单元格
+     * @param obj  数据
+     * @return 是否写入了数据（数据为空时返回false）
+     * @throws RuntimeException 当数据类型不支持时抛出
+     */
+    public static boolean setCellValue(Cell cell, Object obj) {
+        if (obj == null)
+            return false;
+
+        if (obj instanceof String) {
+            cell.setCellValue((String) obj);
+        } else if (obj instanceof Double || obj instanceof Integer || obj instanceof Long
+                || obj instanceof Short || obj instanceof Byte) {
+            cell.setCellValue(((Number) obj).doubleValue());
+        } else if (obj instanceof Float) {
+            cell.setCellValue(toDouble((Float) obj));
+        } else if (obj instanceof BigDecimal) {
+            cell.setCellValue(((BigDecimal) obj).doubleValue());
+        } else if (obj instanceof BigInteger) {
+            cell.setCellValue(((BigInteger) obj).doubleValue());
+        } else if (obj instanceof Number) {
+            cell.setCellValue(((Number) obj).doubleValue());
+        } else if (obj instanceof Date) {
+            cell.setCellValue((Date) obj);
+        } else if (obj instanceof LocalDateTime) {
+            cell.setCellValue((LocalDateTime) obj);
+        } else if (obj instanceof LocalDate) {
+            cell.setCellValue((LocalDate) obj);
+        } else if (obj instanceof Calendar) {
+            cell.setCellValue((Calendar) obj);
+        } else if (obj instanceof Boolean) {
+            cell.setCellValue((Boolean) obj);
+        } else if (obj instanceof Character) {
+            cell.setCellValue(obj.toString());
+        } else if (obj instanceof Enum) {
+            cell.setCellValue(((Enum<?>) obj).name());
+        } else {
+            throw new RuntimeException("暂不支持当前数据类型: " + obj.getClass().getName());
+        }
+        return true;
+    }
+
+    /**
+     * float 转 double
+     * <p>
+     * 直接转换会得到 0.1f = 0.10000000149011612，此处取能还原为同一 float 的最短十进制值（与十进制字面值一致），
+     * 按有效位数逐位尝试，不经过字符串；超出 double 精确计算范围的极小、极大值直接转换
+     * </p>
+     *
+     * @param value float 值
+     * @return double 值
+     */
+    public static double toDouble(float value) {
+        double widened = value;
+        if (value == 0 || Float.isNaN(value) || Float.isInfinite(value))
+            return widened;
+        int exponent = (int) Math.floor(Math.log10(Math.abs(widened)));
+        // float 最多 9 位有效数字即可唯一表示
+        for (int digits = 1; digits <= 9; digits++) {
+            int scale = digits - 1 - exponent;
+            if (scale >= POWERS_OF_TEN.length || -scale >= POWERS_OF_TEN.length)
+                return widened;
+            double candidate = scale >= 0 ? Math.rint(widened * POWERS_OF_TEN[scale]) / POWERS_OF_TEN[scale]
+                    : Math.rint(widened / POWERS_OF_TEN[-scale]) * POWERS_OF_TEN[-scale];
+            if ((float) candidate == value)
+                return candidate;
+        }
+        return widened;
+    }
+}
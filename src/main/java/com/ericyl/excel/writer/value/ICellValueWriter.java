@@ -0,0 +1,27 @@
+package com.ericyl.excel.writer.value;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * 单元格数据写入器
+ * <p>
+ * 按字段类型在解析列配置时选定，写入时直接从对象字段读取数据并写入单元格，
+ * 不再逐个单元格判断数据类型
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ICellValueWriter {
+
+    /**
+     * 读取对象字段的数据并写入单元格
+     *
+     * @param cell 单元格
+     * @param obj  对象实例
+     * @return 是否写入了数据（数据为空时返回false）
+     * @throws IllegalAccessException 字段访问失败时抛出
+     */
+    boolean write(Cell cell, Object obj) throws IllegalAccessException;
+}
@@ -0,0 +1,225 @@
+package com.ericyl.excel.writer.workbook;
+
+import com.ericyl.excel.writer.model.ExcelWriteOptions;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.streaming.GZIPSheetDataWriter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 支持设置压缩级别的 SXSSF 工作簿
+ * <p>
+ * {@link SXSSFWorkbook} 在输出时总是使用默认压缩级别，
+ * 通过此类创建的工作簿可在输出时使用指定的 ZIP 压缩级别，
+ * 并可为临时文件指定更大的读写缓冲区。
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class StreamingWorkbook extends SXSSFWorkbook {
+
+    /**
+     * ZIP 压缩级别（0-9）
+     * 为空时使用默认压缩级别
+     */
+    @Getter
+    @Setter
+    private Integer compressionLevel;
+
+    /**
+     * 临时文件读写缓冲区大小（字节）
+     * 为空时使用 POI 默认值，在工作表第一次写入临时文件时读取，之后修改不影响该工作表
+     */
+    @Getter
+    @Setter
+    private Integer tempFileBufferSize;
+
+    public StreamingWorkbook() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    public StreamingWorkbook(int rowAccessWindowSize) {
+        this(null, rowAccessWindowSize, null);
+    }
+
+    public StreamingWorkbook(XSSFWorkbook workbook, int rowAccessWindowSize) {
+        this(workbook, rowAccessWindowSize, null);
+    }
+
+    /**
+     * 根据输出配置创建工作簿
+     *
+     * @param rowAccessWindowSize 内存中保留的行数
+     * @param options             输出配置
+     */
+    public StreamingWorkbook(int rowAccessWindowSize, ExcelWriteOptions options) {
+        this(null, rowAccessWindowSize, options);
+    }
+
+    /**
+     * 根据模板和输出配置创建工作簿
+     *
+     * @param workbook            模板工作簿
+     * @param rowAccessWindowSize 内存中保留的行数
+     * @param options             输出配置
+     */
+    public StreamingWorkbook(XSSFWorkbook workbook, int rowAccessWindowSize, ExcelWriteOptions options) {
+        super(workbook, rowAccessWindowSize, options != null && options.isCompressTempFiles());
+        if (options != null) {
+            this.compressionLevel = options.getCompressionLevel();
+            this.tempFileBufferSize = options.getTempFileBufferSize();
+        }
+    }
+
+    /**
+     * 获取当前生效的临时文件缓冲区大小
+     *
+     * @return 缓冲区大小，为空时使用 POI 默认值
+     */
+    private Integer getBufferSize() {
+        return tempFileBufferSize == null || tempFileBufferSize <= 0 ? null : tempFileBufferSize;
+    }
+
+    @Override
+    protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+        ZipArchiveOutputStream zipArchiveOutputStream = super.createArchiveOutputStream(out);
+        if (compressionLevel != null)
+            zipArchiveOutputStream.setLevel(compressionLevel);
+        return zipArchiveOutputStream;
+    }
+
+    /**
+     * 创建临时文件写入器
+     * <p>
+     * 根据模板创建时，父类构造方法会为模板中已有的工作表创建写入器，此时字段尚未赋值，
+     * 因此写入器在第一次写入临时文件时才读取缓冲区大小
+     * </p>
+     */
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        if (isCompressTempFiles())
+            return new BufferedGZIPSheetDataWriter(getSharedStringSource());
+        return new BufferedSheetDataWriter(getSharedStringSource());
+    }
+
+    /**
+     * 使用指定缓冲区大小的临时文件写入器
+     * <p>
+     * 缓冲区大小在第一次写入时确定，未设置时与 POI 默认行为一致
+     * </p>
+     */
+    private class BufferedSheetDataWriter extends SheetDataWriter {
+
+        private Integer bufferSize;
+
+        BufferedSheetDataWriter(SharedStringsTable sharedStringsTable) throws IOException {
+            super(sharedStringsTable);
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) {
+            return new LazyOutputStream() {
+                @Override
+                protected OutputStream open() {
+                    bufferSize = getBufferSize();
+                    return bufferSize == null ? fos : new BufferedOutputStream(fos, bufferSize);
+                }
+            };
+        }
+
+        @Override
+        protected InputStream decorateInputStream(FileInputStream fis) {
+            return bufferSize == null ? fis : new BufferedInputStream(fis, bufferSize);
+        }
+    }
+
+    /**
+     * 使用指定缓冲区大小的 GZIP 临时文件写入器
+     * <p>
+     * 临时文件只在输出时读取一次，使用最快压缩级别
+     * </p>
+     */
+    private class BufferedGZIPSheetDataWriter extends GZIPSheetDataWriter {
+
+        private Integer bufferSize;
+
+        BufferedGZIPSheetDataWriter(SharedStringsTable sharedStringsTable) throws IOException {
+            super(sharedStringsTable);
+        }
+
+        @Override
+        protected OutputStream decorateOutputStream(FileOutputStream fos) {
+            // GZIPOutputStream 在创建时即写入文件头，同样延迟到第一次写入时创建
+            return new LazyOutputStream() {
+                @Override
+                protected OutputStream open() throws IOException {
+                    bufferSize = getBufferSize();
+                    if (bufferSize == null)
+                        return new GZIPOutputStream(fos);
+                    return new GZIPOutputStream(fos, bufferSize) {
+                        {
+                            def.setLevel(Deflater.BEST_SPEED);
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        protected InputStream decorateInputStream(FileInputStream fis) throws IOException {
+            return bufferSize == null ? new GZIPInputStream(fis) : new GZIPInputStream(fis, bufferSize);
+        }
+    }
+
+    /**
+     * 第一次使用时才创建的输出流
+     */
+    private abstract static class LazyOutputStream extends OutputStream {
+
+        private OutputStream out;
+
+        /**
+         * 创建实际写入的输出流
+         *
+         * @return 输出流
+         * @throws IOException IO异常
+         */
+        protected abstract OutputStream open() throws IOException;
+
+        private OutputStream out() throws IOException {
+            if (out == null)
+                out = open();
+            return out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out().flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out().close();
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.ericyl.excel.writer.xlsx;
+
+import com.ericyl.excel.writer.model.ExcelCellStyle;
+import com.ericyl.excel.writer.model.ExcelColumn;
+import com.ericyl.excel.writer.model.ExcelWriteOptions;
+import com.ericyl.excel.writer.style.CellStyleCache;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTXf;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XLSX 追加写入器
+ * <p>
+ * 在不加载工作簿的情况下向已有 .xlsx 文件的指定工作表（默认第一个）末尾追加数据行：
+ * 工作表按 workbook.xml 中的名称及其关系（workbook.xml.rels）定位到对应的部件；
+ * 除工作表和样式表之外的部件以压缩后的原始数据直接复制；工作表 XML 以流的方式逐段复制，
+ * 只记录已有的最大行号，在 &lt;/sheetData&gt; 之前写入新行。
+ * 追加的开销只与追加的行数和文件大小（复制）有关，不随已有行数增加而解析更多数据。
+ * </p>
+ * <p>
+ * 工作表中的 &lt;dimension&gt; 元素会被移除（可选元素，由 Excel 打开时重新计算），
+ * 样式表中只会新增尚不存在的样式。使用方式与 {@link XlsxWriter} 相同：
+ * </p>
+ *
+ * <pre>
+ * try (XlsxAppender appender = new XlsxAppender(file, out, columnList, options)) {
+ *     appender.startRow(height);
+ *     appender.writeCell(0, value);
+ *     appender.endRow();
+ * }
+ * </pre>
+ * <p>
+ * 注意：{@link #close()} 只会结束 ZIP 数据，不会关闭传入的输出流
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class XlsxAppender implements Closeable {
+
+    private final ZipFile zipFile;
+    private final ZipArchiveOutputStream zipOutputStream;
+    private final Writer writer;
+    private final XlsxCellWriter cellWriter;
+    private final List<ZipArchiveEntry> entryList;
+
+    private final String sheetEntryName;
+    private final String stylesEntryName;
+    private final StylesTable stylesTable;
+
+    /**
+     * 各列的单元格引用前缀（如 "A", "B", "AA"）
+     */
+    private final char[][] columnNames;
+    /**
+     * 各列对应的样式下标（cellXfs 中的位置）
+     */
+    private final int[] columnStyles;
+
+    /**
+     * 工作表 XML 的读取
+     */
+    private Reader sheetReader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    /**
+     * 下一个待复制的 ZIP 条目
+     */
+    private int entryPosition;
+
+    private long rowNumber;
+    private boolean rowStarted;
+    private boolean finished;
+
+    /**
+     * 创建追加写入器，并复制第一个工作表中已有的全部行
+     *
+     * @param source       已有的 .xlsx 文件
+     * @param outputStream 输出流（不能指向 source）
+     * @param columnList   列配置（决定样式，按位置对应列下标）
+     * @param options      输出配置（缓冲区大小、压缩级别），为空时使用默认配置
+     * @throws IOException IO异常
+     */
+    public XlsxAppender(File source, OutputStream outputStream, List<ExcelColumn> columnList,
+                        ExcelWriteOptions options) throws IOException {
+        this(source, null, outputStream, columnList, options);
+    }
+
+    /**
+     * 创建追加写入器，并复制指定工作表中已有的全部行
+     *
+     * @param source       已有的 .xlsx 文件
+     * @param sheetName    工作表名称，为空时使用第一个工作表
+     * @param outputStream 输出流（不能指向 source）
+     * @param columnList   列配置（决定样式，按位置对应列下标）
+     * @param options      输出配置（缓冲区大小、压缩级别），为空时使用默认配置
+     * @throws IOException      IO异常
+     * @throws RuntimeException 当工作表不存在时抛出
+     */
+    public XlsxAppender(File source, String sheetName, OutputStream outputStream, List<ExcelColumn> columnList,
+                        ExcelWriteOptions options) throws IOException {
+        if (options == null)
+            options = new ExcelWriteOptions();
+
+        // 只读取样式表和工作表位置，不解析工作表
+        OPCPackage opcPackage;
+        try {
+            opcPackage = OPCPackage.open(source, PackageAccess.READ);
+        } catch (InvalidFormatException e) {
+            throw new IOException("文件格式错误: " + e.getMessage(), e);
+        }
+        try {
+            XSSFReader reader = new XSSFReader(opcPackage);
+            this.sheetEntryName = getSheetEntryName(reader, sheetName);
+            this.stylesTable = reader.getStylesTable();
+            this.stylesEntryName = stylesTable == null ? null : stylesTable.getPackagePart().getPartName().getName().substring(1);
+        } catch (OpenXML4JException e) {
+            throw new IOException("文件读取失败: " + e.getMessage(), e);
+        } finally {
+            opcPackage.revert();
+        }
+        if (stylesTable == null)
+            throw new RuntimeException("文件中不存在样式表");
+
+        // 样式去重（同一配置只查找一次）
+        int size = columnList.size();
+        this.columnNames = new char[size][];
+        this.columnStyles = new int[size];
+        Map<ExcelCellStyle, Integer> styleMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            columnNames[i] = CellReference.convertNumToColString(i).toCharArray();
+            columnStyles[i] = styleMap.computeIfAbsent(CellStyleCache.toCellStyle(columnList.get(i)), this::getStyleIndex);
+        }
+
+        this.zipFile = ZipFile.builder().setFile(source).get();
+        this.entryList = Collections.list(zipFile.getEntriesInPhysicalOrder());
+        this.zipOutputStream = new ZipArchiveOutputStream(CloseShieldOutputStream.wrap(outputStream));
+        if (options.getCompressionLevel() != null)
+            zipOutputStream.setLevel(options.getCompressionLevel());
+        this.writer = new BufferedWriter(new OutputStreamWriter(CloseShieldOutputStream.wrap(zipOutputStream),
+                StandardCharsets.UTF_8), options.getBufferSize());
+        this.cellWriter = new XlsxCellWriter(writer);
+
+        try {
+            // 复制工作表之前的部件
+            copyEntries(sheetEntryName);
+
+            // 复制工作表中已有的行
+            ZipArchiveEntry sheetEntry = entryList.get(entryPosition++);
+            zipOutputStream.putArchiveEntry(new ZipArchiveEntry(sheetEntry.getName()));
+            InputStream inputStream = zipFile.getInputStream(sheetEntry);
+            this.sheetReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+            copySheetData();
+        } catch (IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 按 workbook.xml 中的工作表顺序及关系查找工作表部件，返回其 ZIP 条目名称
+     */
+    private static String getSheetEntryName(XSSFReader reader, String sheetName)
+            throws IOException, InvalidFormatException {
+        // 只按工作簿中的顺序定位部件，不读取工作表内容
+        XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheetIterator.hasNext()) {
+            sheetIterator.next().close();
+            if (sheetName == null || sheetName.equals(sheetIterator.getSheetName()))
+                return sheetIterator.getSheetPart().getPartName().getName().substring(1);
+        }
+        throw new RuntimeException(sheetName == null ? "文件中不存在工作表" : "文件中不存在工作表: " + sheetName);
+    }
+
+    /**
+     * 获取已有的最大行号
+     *
+     * @return 行号（从1开始，没有数据时为0）
+     */
+    public long getLastRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * 开始新的一行
+     *
+     * @param height 行高，为空时使用默认行高
+     * @throws IOException IO异常
+     */
+    public void startRow(Float height) throws IOException {
+        if (rowStarted)
+            endRow();
+        rowNumber++;
+        writer.write("<row r=\"");
+        cellWriter.writeLong(rowNumber);
+        if (height != null && height > 0) {
+            writer.write("\" ht=\"");
+            writer.write(Float.toString(height));
+            writer.write("\" customHeight=\"1");
+        }
+        writer.write("\">");
+        rowStarted = true;
+    }
+
+    /**
+     * 写入当前行的单元格
+     * <p>
+     * 值为空时不写入任何内容
+     * </p>
+     *
+     * @param cellIndex 列下标
+     * @param obj       单元格数据
+     * @throws IOException      IO异常
+     * @throws RuntimeException 当数据类型不支持时抛出
+     */
+    public void writeCell(int cellIndex, Object obj) throws IOException {
+        if (obj == null)
+            return;
+        if (!rowStarted)
+            throw new RuntimeException("请先调用 startRow 开始新的一行");
+        cellWriter.writeCell(columnNames[cellIndex], rowNumber, columnStyles[cellIndex], obj);
+    }
+
+    /**
+     * 写入整数单元格，不装箱
+     *
+     * @param cellIndex 列下标
+     * @param value     数据
+     * @throws IOException IO异常
+     */
+    public void writeNumber(int cellIndex, long value) throws IOException {
+        if (!rowStarted)
+            throw new RuntimeException("请先调用 startRow 开始新的一行");
+        cellWriter.writeCell(columnNames[cellIndex], rowNumber, columnStyles[cellIndex], value);
+    }
+
+    /**
+     * 写入浮点数单元格，不装箱
+     * <p>
+     * NaN 写为 #NUM! 错误，正负无穷写为 #DIV/0! 错误
+     * </p>
+     *
+     * @param cellIndex 列下标
+     * @param value     数据
+     * @throws IOException IO异常
+     */
+    public void writeNumber(int cellIndex, double value) throws IOException {
+        if (!rowStarted)
+            throw new RuntimeException("请先调用 startRow 开始新的一行");
+        cellWriter.writeCell(columnNames[cellIndex], rowNumber, columnStyles[cellIndex], value);
+    }
+
+    /**
+     * 结束当前行
+     *
+     * @throws IOException IO异常
+     */
+    public void endRow() throws IOException {
+        if (!rowStarted)
+            return;
+        writer.write("</row>");
+        rowStarted = false;
+    }
+
+    /**
+     * 复制工作表剩余部分及其余部件，并完成 ZIP 数据的写入
+     * <p>
+     * 不会关闭传入的输出流
+     * </p>
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished)
+            return;
+        finished = true;
+        try {
+            endRow();
+            writer.write("</sheetData>");
+            // 复制工作表剩余部分
+            writer.write(buffer, position, limit - position);
+            int length;
+            while ((length = sheetReader.read(buffer)) != -1)
+                writer.write(buffer, 0, length);
+            sheetReader.close();
+            writer.flush();
+            zipOutputStream.closeArchiveEntry();
+
+            copyEntries(null);
+            zipOutputStream.finish();
+            zipOutputStream.flush();
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    /**
+     * 查找或新增样式，返回其在 cellXfs 中的位置
+     * <p>
+     * 按显示效果（而不是 XML 文本）比较，已有的等效样式会被复用
+     * </p>
+     */
+    private int getStyleIndex(ExcelCellStyle excelCellStyle) {
+        XSSFCellStyle cellStyle = new XSSFCellStyle(stylesTable);
+        CTXf xf = cellStyle.getCoreXf();
+        xf.setNumFmtId(0);
+        xf.setFontId(0);
+        xf.setFillId(0);
+        xf.setBorderId(0);
+        xf.setXfId(0);
+        CellStyleCache.applyCellStyle(cellStyle, excelCellStyle, stylesTable::putNumberFormat);
+
+        String key = getStyleKey(cellStyle);
+        for (int i = 0; i < stylesTable.getNumCellStyles(); i++) {
+            if (key.equals(getStyleKey(stylesTable.getStyleAt(i))))
+                return i;
+        }
+        return stylesTable.putCellXf(xf) - 1;
+    }
+
+    private static String getStyleKey(XSSFCellStyle cellStyle) {
+        return cellStyle.getDataFormat() + "|" + cellStyle.getFontIndex()
+                + "|" + cellStyle.getFillPattern() + "|" + cellStyle.getFillForegroundColor()
+                + "|" + cellStyle.getBorderTop() + "|" + cellStyle.getTopBorderColor()
+                + "|" + cellStyle.getBorderBottom() + "|" + cellStyle.getBottomBorderColor()
+                + "|" + cellStyle.getBorderLeft() + "|" + cellStyle.getLeftBorderColor()
+                + "|" + cellStyle.getBorderRight() + "|" + cellStyle.getRightBorderColor()
+                + "|" + cellStyle.getAlignment() + "|" + cellStyle.getVerticalAlignment()
+                + "|" + cellStyle.getWrapText();
+    }
+
+    /**
+     * 复制部件，直到遇到指定名称的条目（为空时复制全部）
+     */
+    private void copyEntries(String stopEntryName) throws IOException {
+        while (entryPosition < entryList.size()) {
+            ZipArchiveEntry entry = entryList.get(entryPosition);
+            if (entry.getName().equals(stopEntryName))
+                return;
+            entryPosition++;
+
+            if (entry.getName().equals(stylesEntryName)) {
+                // 样式表可能新增了样式，重新写入
+                zipOutputStream.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                stylesTable.writeTo(CloseShieldOutputStream.wrap(zipOutputStream));
+                zipOutputStream.closeArchiveEntry();
+                continue;
+            }
+            try (InputStream inputStream = zipFile.getRawInputStream(entry)) {
+                zipOutputStream.addRawArchiveEntry(new ZipArchiveEntry(entry), inputStream);
+            }
+        }
+        if (stopEntryName != null)
+            throw new RuntimeException("文件中不存在工作表: " + stopEntryName);
+    }
+
+    /**
+     * 复制工作表 XML，直到 &lt;/sheetData&gt;（不含）
+     * <p>
+     * 文本按块复制，只有标签会被暂存以识别行号
+     * </p>
+     */
+    private void copySheetData() throws IOException {
+        StringBuilder tag = new StringBuilder(256);
+        while (true) {
+            if (position == limit && !fill())
+                throw new RuntimeException("暂不支持当前工作表格式");
+
+            // 复制标签之前的文本
+            int start = position;
+            while (position < limit && buffer[position] != '<')
+                position++;
+            if (position > start)
+                writer.write(buffer, start, position - start);
+            if (position == limit)
+                continue;
+
+            // 读取完整的标签
+            tag.setLength(0);
+            while (true) {
+                if (position == limit && !fill())
+                    throw new RuntimeException("暂不支持当前工作表格式");
+                char c = buffer[position++];
+                tag.append(c);
+                if (c == '>')
+                    break;
+            }
+
+            if (isTag(tag, "row")) {
+                String r = getAttribute(tag, "r");
+                rowNumber = r == null ? rowNumber + 1 : Long.parseLong(r);
+            } else if (isTag(tag, "dimension")) {
+                continue;
+            } else if (isTag(tag, "/sheetData")) {
+                return;
+            } else if (isTag(tag, "sheetData") && tag.charAt(tag.length() - 2) == '/') {
+                writer.write("<sheetData>");
+                return;
+            }
+            writer.append(tag);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int length = sheetReader.read(buffer);
+        if (length == -1)
+            return false;
+        position = 0;
+        limit = length;
+        return true;
+    }
+
+    private static boolean isTag(CharSequence tag, String name) {
+        int length = name.length();
+        if (tag.length() < length + 2)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (tag.charAt(i + 1) != name.charAt(i))
+                return false;
+        }
+        char next = tag.charAt(length + 1);
+        return next == ' ' || next == '>' || next == '/' || next == '\t' || next == '\n' || next == '\r';
+    }
+
+    private static String getAttribute(StringBuilder tag, String name) {
+        int start = tag.indexOf(' ' + name + "=\"");
+        if (start == -1)
+            return null;
+        start += name.length() + 3;
+        return tag.substring(start, tag.indexOf("\"", start));
+    }
+}
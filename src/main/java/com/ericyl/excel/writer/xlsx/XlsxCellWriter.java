@@ -0,0 +1,221 @@
+package com.ericyl.excel.writer.xlsx;
+
+import com.ericyl.excel.writer.value.CellValueWriters;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * 单元格 XML 写入器
+ * <p>
+ * 将单元格数据以 OOXML 格式（&lt;c&gt; 元素）写入，字符串使用内联字符串（inlineStr），
+ * 数字直接写入，不创建中间字符串。
+ * 与 POI 一致，NaN 写为 #NUM! 错误，正负无穷写为 #DIV/0! 错误（Excel 不支持这些值）
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+class XlsxCellWriter {
+
+    private final Writer writer;
+
+    /**
+     * 数字转换的缓冲区
+     */
+    private final char[] numberBuffer = new char[20];
+
+    XlsxCellWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * 写入单元格
+     * <p>
+     * 值为空时不写入任何内容
+     * </p>
+     *
+     * @param columnName 列名（如 "A", "AA"）
+     * @param rowNumber  行号（从1开始）
+     * @param styleIndex 样式下标（cellXfs 中的位置）
+     * @param obj        单元格数据
+     * @throws IOException      IO异常
+     * @throws RuntimeException 当数据类型不支持时抛出
+     */
+    void writeCell(char[] columnName, long rowNumber, int styleIndex, Object obj) throws IOException {
+        if (obj == null)
+            return;
+
+        writeStart(columnName, rowNumber, styleIndex);
+        if (obj instanceof String) {
+            writeInlineString((String) obj);
+        } else if (obj instanceof Integer || obj instanceof Long || obj instanceof Short || obj instanceof Byte
+                || obj instanceof BigInteger) {
+            if (obj instanceof BigInteger) {
+                writeNumber(((BigInteger) obj).doubleValue());
+            } else {
+                writer.write("\"><v>");
+                writeLong(((Number) obj).longValue());
+                writer.write("</v></c>");
+            }
+        } else if (obj instanceof Float) {
+            writeNumber(CellValueWriters.toDouble((Float) obj));
+        } else if (obj instanceof Number) {
+            writeNumber(((Number) obj).doubleValue());
+        } else if (obj instanceof Date) {
+            writeNumber(DateUtil.getExcelDate((Date) obj));
+        } else if (obj instanceof LocalDateTime) {
+            writeNumber(DateUtil.getExcelDate((LocalDateTime) obj));
+        } else if (obj instanceof LocalDate) {
+            writeNumber(DateUtil.getExcelDate((LocalDate) obj));
+        } else if (obj instanceof Calendar) {
+            writeNumber(DateUtil.getExcelDate((Calendar) obj, false));
+        } else if (obj instanceof Boolean) {
+            writer.write("\" t=\"b\"><v>");
+            writer.write((Boolean) obj ? '1' : '0');
+            writer.write("</v></c>");
+        } else if (obj instanceof Character) {
+            writeInlineString(obj.toString());
+        } else if (obj instanceof Enum) {
+            writeInlineString(((Enum<?>) obj).name());
+        } else {
+            throw new RuntimeException("暂不支持当前数据类型: " + obj.getClass().getName());
+        }
+    }
+
+    /**
+     * 写入整数单元格，不装箱
+     *
+     * @param columnName 列名（如 "A", "AA"）
+     * @param rowNumber  行号（从1开始）
+     * @param styleIndex 样式下标（cellXfs 中的位置）
+     * @param value      数据
+     * @throws IOException IO异常
+     */
+    void writeCell(char[] columnName, long rowNumber, int styleIndex, long value) throws IOException {
+        writeStart(columnName, rowNumber, styleIndex);
+        writer.write("\"><v>");
+        writeLong(value);
+        writer.write("</v></c>");
+    }
+
+    /**
+     * 写入浮点数单元格，不装箱
+     *
+     * @param columnName 列名（如 "A", "AA"）
+     * @param rowNumber  行号（从1开始）
+     * @param styleIndex 样式下标（cellXfs 中的位置）
+     * @param value      数据
+     * @throws IOException IO异常
+     */
+    void writeCell(char[] columnName, long rowNumber, int styleIndex, double value) throws IOException {
+        writeStart(columnName, rowNumber, styleIndex);
+        writeNumber(value);
+    }
+
+    private void writeStart(char[] columnName, long rowNumber, int styleIndex) throws IOException {
+        writer.write("<c r=\"");
+        writer.write(columnName);
+        writeLong(rowNumber);
+        writer.write("\" s=\"");
+        writeLong(styleIndex);
+    }
+
+    /**
+     * 写入数字单元格的类型和值，非有限数字写为错误值
+     */
+    private void writeNumber(double value) throws IOException {
+        if (Double.isNaN(value)) {
+            writer.write("\" t=\"e\"><v>#NUM!</v></c>");
+            return;
+        }
+        if (Double.isInfinite(value)) {
+            writer.write("\" t=\"e\"><v>#DIV/0!</v></c>");
+            return;
+        }
+        writer.write("\"><v>");
+        writeDouble(value);
+        writer.write("</v></c>");
+    }
+
+    private void writeInlineString(String str) throws IOException {
+        writer.write("\" t=\"inlineStr\"><is><t");
+        if (!str.isEmpty() && (Character.isWhitespace(str.charAt(0))
+                || Character.isWhitespace(str.charAt(str.length() - 1))))
+            writer.write(" xml:space=\"preserve\"");
+        writer.write('>');
+        writeEscaped(str);
+        writer.write("</t></is></c>");
+    }
+
+    /**
+     * 写入转义后的 XML 文本，并过滤 XML 不允许的控制字符
+     */
+    void writeEscaped(String str) throws IOException {
+        int length = str.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            String replacement;
+            switch (c) {
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                default:
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r')
+                        continue;
+                    replacement = "";
+                    break;
+            }
+            if (i > start)
+                writer.write(str, start, i - start);
+            writer.write(replacement);
+            start = i + 1;
+        }
+        if (length > start)
+            writer.write(str, start, length - start);
+    }
+
+    void writeDouble(double value) throws IOException {
+        if (value == (long) value && Math.abs(value) < 1e15)
+            writeLong((long) value);
+        else
+            writer.write(Double.toString(value));
+    }
+
+    /**
+     * 不创建字符串的整数写入
+     */
+    void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writer.write(Long.toString(value));
+            return;
+        }
+        boolean negative = value < 0;
+        if (negative)
+            value = -value;
+        int position = numberBuffer.length;
+        do {
+            numberBuffer[--position] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        if (negative)
+            numberBuffer[--position] = '-';
+        writer.write(numberBuffer, position, numberBuffer.length - position);
+    }
+}
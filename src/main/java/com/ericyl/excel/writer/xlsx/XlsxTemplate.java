@@ -0,0 +1,474 @@
+package com.ericyl.excel.writer.xlsx;
+
+import com.ericyl.excel.formatter.FormatterRegistry;
+import com.ericyl.excel.util.ObjectUtils;
+import com.ericyl.excel.writer.model.ExcelColumn;
+import com.ericyl.excel.writer.model.ExcelWriteOptions;
+import com.ericyl.excel.writer.model.FieldColumn;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.poi.ss.util.CellReference;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XLSX 模板
+ * <p>
+ * 模板只解析一次：除目标工作表之外的所有部件（样式、共享字符串、图片等）以压缩后的原始数据保存，
+ * 生成文档时直接复制，不再解压和重新压缩；目标工作表的 XML 预先拆分为行和单元格，
+ * 生成文档时只需将按坐标写入的数据合并进去。
+ * </p>
+ * <p>
+ * 实例不可变，可在多个线程中同时生成文档；有状态的数据转换器（{@link com.ericyl.excel.formatter.annotation.ExcelStatefulFormatter}）
+ * 在每个生成文档的线程中使用各自的实例
+ * </p>
+ *
+ * @param <T> 数据类型
+ * @author ericyl
+ * @since 1.0
+ */
+public class XlsxTemplate<T> {
+
+    private static final String SHEET_DATA = "<sheetData";
+    private static final String SHEET_DATA_END = "</sheetData>";
+
+    private static final String CALC_CHAIN = "xl/calcChain.xml";
+    private static final String CONTENT_TYPES = "[Content_Types].xml";
+    private static final String WORKBOOK_RELS = "xl/_rels/workbook.xml.rels";
+
+    /**
+     * 模板中的 ZIP 条目及其压缩后的原始数据
+     */
+    private final List<ZipArchiveEntry> entryList = new ArrayList<>();
+    private final List<byte[]> rawDataList = new ArrayList<>();
+
+    /**
+     * 修改过的部件（未压缩的内容），生成文档时重新压缩
+     */
+    private final Map<String, byte[]> replacedDataMap = new HashMap<>();
+
+    /**
+     * 目标工作表的 ZIP 条目名称
+     */
+    private final String sheetEntryName;
+
+    /**
+     * 工作表 XML 中 sheetData 之前（含开始标签）与之后（含结束标签）的内容
+     */
+    private final String prefix;
+    private final String suffix;
+
+    /**
+     * 模板中已有的行（按行号排序）
+     */
+    private final List<TemplateRow> rowList = new ArrayList<>();
+
+    /**
+     * 按行、列排序的字段列映射
+     */
+    private final List<FieldColumn> fieldColumnList;
+
+    /**
+     * 各字段的列名、样式下标（-1 表示沿用模板单元格的样式）
+     */
+    private final char[][] columnNames;
+    private final int[] styleIndexes;
+
+    private final ExcelWriteOptions options;
+
+    /**
+     * 解析模板
+     *
+     * @param packageBytes    模板文件内容（.xlsx）
+     * @param sheetEntryName  目标工作表的 ZIP 条目名称（如 "xl/worksheets/sheet1.xml"）
+     * @param fieldColumnList 带坐标的字段列映射（按行、列排序）
+     * @param styleIndexes    各字段的样式下标，-1 表示沿用模板单元格的样式
+     * @param options         输出配置
+     * @throws IOException      IO异常
+     * @throws RuntimeException 当多个字段的坐标相同或模板格式不支持时抛出
+     */
+    public XlsxTemplate(byte[] packageBytes, String sheetEntryName, List<FieldColumn> fieldColumnList,
+                        int[] styleIndexes, ExcelWriteOptions options) throws IOException {
+        this.sheetEntryName = sheetEntryName;
+        this.fieldColumnList = Collections.unmodifiableList(new ArrayList<>(fieldColumnList));
+        this.styleIndexes = styleIndexes.clone();
+        this.options = options == null ? new ExcelWriteOptions() : options;
+
+        this.columnNames = new char[fieldColumnList.size()][];
+        for (int i = 0; i < fieldColumnList.size(); i++) {
+            ExcelColumn excelColumn = fieldColumnList.get(i).getExcelColumn();
+            // 同一坐标只能写入一个字段，否则会生成重复的单元格
+            if (i > 0) {
+                ExcelColumn previous = fieldColumnList.get(i - 1).getExcelColumn();
+                if (previous.getRowIndex().equals(excelColumn.getRowIndex())
+                        && previous.getCellIndex().equals(excelColumn.getCellIndex()))
+                    throw new RuntimeException("字段坐标重复: " + fieldColumnList.get(i - 1).getField().getName()
+                            + ", " + fieldColumnList.get(i).getField().getName());
+            }
+            columnNames[i] = CellReference.convertNumToColString(excelColumn.getCellIndex()).toCharArray();
+        }
+
+        String sheetXml = null;
+        Map<String, String> partXmlMap = new HashMap<>();
+        try (ZipFile zipFile = ZipFile.builder().setSeekableByteChannel(new SeekableInMemoryByteChannel(packageBytes)).get()) {
+            Enumeration<ZipArchiveEntry> entries = zipFile.getEntriesInPhysicalOrder();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
+                if (sheetEntryName.equals(entry.getName())) {
+                    try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                        sheetXml = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+                    }
+                } else if (CONTENT_TYPES.equals(entry.getName()) || WORKBOOK_RELS.equals(entry.getName())) {
+                    try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                        partXmlMap.put(entry.getName(), IOUtils.toString(inputStream, StandardCharsets.UTF_8));
+                    }
+                }
+                try (InputStream inputStream = zipFile.getRawInputStream(entry)) {
+                    entryList.add(entry);
+                    rawDataList.add(IOUtils.toByteArray(inputStream));
+                }
+            }
+        }
+        if (sheetXml == null)
+            throw new RuntimeException("模板中不存在工作表: " + sheetEntryName);
+
+        // 拆分 sheetData
+        int start = sheetXml.indexOf(SHEET_DATA);
+        if (start == -1)
+            throw new RuntimeException("暂不支持当前模板工作表格式");
+        int tagEnd = sheetXml.indexOf('>', start);
+        if (sheetXml.charAt(tagEnd - 1) == '/') {
+            this.prefix = sheetXml.substring(0, start) + "<sheetData>";
+            this.suffix = SHEET_DATA_END + sheetXml.substring(tagEnd + 1);
+        } else {
+            int end = sheetXml.indexOf(SHEET_DATA_END, tagEnd);
+            this.prefix = sheetXml.substring(0, tagEnd + 1);
+            this.suffix = sheetXml.substring(end);
+            parseRows(sheetXml, tagEnd + 1, end);
+        }
+
+        // 计算链中的单元格必须是公式，写入数据会覆盖模板中的公式时移除计算链（Excel 打开时重新生成）
+        if (overwritesFormula())
+            removeCalcChain(partXmlMap);
+    }
+
+    /**
+     * 获取字段列映射
+     *
+     * @return 按行、列排序的字段列映射
+     */
+    public List<FieldColumn> getFieldColumns() {
+        return fieldColumnList;
+    }
+
+    /**
+     * 根据模板生成文档
+     * <p>
+     * 值为空的字段保留模板中的原有内容，不会关闭传入的输出流
+     * </p>
+     *
+     * @param outputStream 输出流
+     * @param obj          数据
+     * @throws IOException      IO异常
+     * @throws RuntimeException 当获取字段值失败或数据类型不支持时抛出
+     */
+    public void write(OutputStream outputStream, T obj) throws IOException {
+        Object[] values = getValues(obj);
+
+        ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(CloseShieldOutputStream.wrap(outputStream));
+        if (options.getCompressionLevel() != null)
+            zipOutputStream.setLevel(options.getCompressionLevel());
+
+        for (int i = 0; i < entryList.size(); i++) {
+            ZipArchiveEntry entry = entryList.get(i);
+            byte[] replacedData = replacedDataMap.get(entry.getName());
+            if (replacedData != null) {
+                zipOutputStream.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                zipOutputStream.write(replacedData);
+                zipOutputStream.closeArchiveEntry();
+                continue;
+            }
+            if (!sheetEntryName.equals(entry.getName())) {
+                // 其余部件直接复制压缩后的数据
+                zipOutputStream.addRawArchiveEntry(new ZipArchiveEntry(entry), new ByteArrayInputStream(rawDataList.get(i)));
+                continue;
+            }
+
+            zipOutputStream.putArchiveEntry(new ZipArchiveEntry(sheetEntryName));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(CloseShieldOutputStream.wrap(zipOutputStream),
+                    StandardCharsets.UTF_8), options.getBufferSize());
+            writeSheet(writer, values);
+            writer.flush();
+            zipOutputStream.closeArchiveEntry();
+        }
+        zipOutputStream.finish();
+        zipOutputStream.flush();
+    }
+
+    private Object[] getValues(T obj) {
+        Object[] values = new Object[fieldColumnList.size()];
+        for (int i = 0; i < fieldColumnList.size(); i++) {
+            FieldColumn fieldColumn = fieldColumnList.get(i);
+            Object data = fieldColumn.getField().getGetter().apply(obj);
+            if (data != null && fieldColumn.getFormatter() != null)
+                data = FormatterRegistry.forCurrentThread(fieldColumn.getFormatter()).format(data);
+            values[i] = data;
+        }
+        return values;
+    }
+
+    /**
+     * 合并模板行与数据写入工作表
+     */
+    private void writeSheet(Writer writer, Object[] values) throws IOException {
+        XlsxCellWriter cellWriter = new XlsxCellWriter(writer);
+        writer.write(prefix);
+
+        int rowPosition = 0;
+        int valuePosition = nextValue(values, 0);
+        while (rowPosition < rowList.size() || valuePosition < values.length) {
+            TemplateRow templateRow = rowPosition < rowList.size() ? rowList.get(rowPosition) : null;
+            int valueRowIndex = valuePosition < values.length ? getRowIndex(valuePosition) : Integer.MAX_VALUE;
+
+            if (templateRow != null && templateRow.rowIndex < valueRowIndex) {
+                // 没有数据的模板行原样输出
+                writer.write(templateRow.xml);
+                rowPosition++;
+                continue;
+            }
+
+            int rowIndex = valueRowIndex;
+            boolean hasTemplateRow = templateRow != null && templateRow.rowIndex == rowIndex;
+            if (hasTemplateRow) {
+                writer.write(templateRow.startTag);
+                rowPosition++;
+            } else {
+                writer.write("<row r=\"");
+                cellWriter.writeLong(rowIndex + 1L);
+                writer.write("\">");
+            }
+
+            // 按列合并模板单元格与数据
+            int cellPosition = 0;
+            int cellCount = hasTemplateRow ? templateRow.cellIndexes.length : 0;
+            while (cellPosition < cellCount || (valuePosition < values.length && getRowIndex(valuePosition) == rowIndex)) {
+                int templateCellIndex = cellPosition < cellCount ? templateRow.cellIndexes[cellPosition] : Integer.MAX_VALUE;
+                int valueCellIndex = valuePosition < values.length && getRowIndex(valuePosition) == rowIndex
+                        ? fieldColumnList.get(valuePosition).getExcelColumn().getCellIndex() : Integer.MAX_VALUE;
+
+                if (templateCellIndex < valueCellIndex) {
+                    writer.write(templateRow.cellXmls[cellPosition++]);
+                    continue;
+                }
+
+                int styleIndex = styleIndexes[valuePosition];
+                if (templateCellIndex == valueCellIndex) {
+                    // 替换模板单元格，沿用其样式
+                    if (styleIndex == -1)
+                        styleIndex = templateRow.cellStyles[cellPosition];
+                    cellPosition++;
+                }
+                cellWriter.writeCell(columnNames[valuePosition], rowIndex + 1L, Math.max(styleIndex, 0), values[valuePosition]);
+                valuePosition = nextValue(values, valuePosition + 1);
+            }
+            writer.write("</row>");
+        }
+
+        writer.write(suffix);
+    }
+
+    private int getRowIndex(int position) {
+        return fieldColumnList.get(position).getExcelColumn().getRowIndex();
+    }
+
+    private static int nextValue(Object[] values, int position) {
+        while (position < values.length && values[position] == null)
+            position++;
+        return position;
+    }
+
+    /**
+     * 解析 sheetData 中的行与单元格
+     */
+    private void parseRows(String xml, int from, int to) {
+        int position = from;
+        int lastRowIndex = -1;
+        while (true) {
+            int rowStart = indexOfTag(xml, "row", position, to);
+            if (rowStart == -1)
+                break;
+            int tagEnd = xml.indexOf('>', rowStart);
+            boolean empty = xml.charAt(tagEnd - 1) == '/';
+            String startTag = removeAttribute(xml.substring(rowStart, empty ? tagEnd - 1 : tagEnd), "spans") + ">";
+
+            String r = getAttribute(startTag, "r");
+            int rowIndex = r == null ? lastRowIndex + 1 : Integer.parseInt(r) - 1;
+            lastRowIndex = rowIndex;
+
+            int rowEnd = empty ? tagEnd + 1 : xml.indexOf("</row>", tagEnd) + "</row>".length();
+            List<Integer> cellIndexList = new ArrayList<>();
+            List<String> cellXmlList = new ArrayList<>();
+            List<Integer> cellStyleList = new ArrayList<>();
+            if (!empty) {
+                int cellPosition = tagEnd + 1;
+                int lastCellIndex = -1;
+                while (true) {
+                    int cellStart = indexOfTag(xml, "c", cellPosition, rowEnd);
+                    if (cellStart == -1)
+                        break;
+                    int cellTagEnd = xml.indexOf('>', cellStart);
+                    int cellEnd = xml.charAt(cellTagEnd - 1) == '/' ? cellTagEnd + 1 : xml.indexOf("</c>", cellTagEnd) + "</c>".length();
+                    String cellTag = xml.substring(cellStart, cellTagEnd);
+
+                    String reference = getAttribute(cellTag, "r");
+                    long coordinate = reference == null ? -1 : ObjectUtils.convertToCoordinate(reference);
+                    int cellIndex = coordinate == -1 ? lastCellIndex + 1 : ObjectUtils.getCellIndex(coordinate);
+                    lastCellIndex = cellIndex;
+                    String style = getAttribute(cellTag, "s");
+
+                    cellIndexList.add(cellIndex);
+                    cellXmlList.add(xml.substring(cellStart, cellEnd));
+                    cellStyleList.add(style == null ? 0 : Integer.parseInt(style));
+                    cellPosition = cellEnd;
+                }
+            }
+            rowList.add(new TemplateRow(rowIndex, xml.substring(rowStart, rowEnd), startTag,
+                    cellIndexList.stream().mapToInt(Integer::intValue).toArray(),
+                    cellXmlList.toArray(new String[0]),
+                    cellStyleList.stream().mapToInt(Integer::intValue).toArray()));
+            position = rowEnd;
+        }
+        rowList.sort((o1, o2) -> Integer.compare(o1.rowIndex, o2.rowIndex));
+    }
+
+    /**
+     * 是否有字段写入模板中的公式单元格
+     */
+    private boolean overwritesFormula() {
+        int rowPosition = 0;
+        for (FieldColumn fieldColumn : fieldColumnList) {
+            ExcelColumn excelColumn = fieldColumn.getExcelColumn();
+            while (rowPosition < rowList.size() && rowList.get(rowPosition).rowIndex < excelColumn.getRowIndex())
+                rowPosition++;
+            if (rowPosition == rowList.size())
+                return false;
+            TemplateRow templateRow = rowList.get(rowPosition);
+            if (templateRow.rowIndex != excelColumn.getRowIndex())
+                continue;
+            for (int cellPosition = 0; cellPosition < templateRow.cellIndexes.length; cellPosition++) {
+                if (templateRow.cellIndexes[cellPosition] == excelColumn.getCellIndex()
+                        && indexOfTag(templateRow.cellXmls[cellPosition], "f", 0, templateRow.cellXmls[cellPosition].length()) != -1)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 移除计算链部件及其在 [Content_Types].xml、workbook.xml.rels 中的声明
+     *
+     * @param partXmlMap [Content_Types].xml 与 workbook.xml.rels 的内容
+     */
+    private void removeCalcChain(Map<String, String> partXmlMap) {
+        int index = -1;
+        for (int i = 0; i < entryList.size(); i++) {
+            if (CALC_CHAIN.equals(entryList.get(i).getName()))
+                index = i;
+        }
+        if (index == -1)
+            return;
+        entryList.remove(index);
+        rawDataList.remove(index);
+        for (Map.Entry<String, String> entry : partXmlMap.entrySet()) {
+            String xml = entry.getValue();
+            int position = xml.indexOf("calcChain.xml\"");
+            if (position == -1)
+                continue;
+            int start = xml.lastIndexOf('<', position);
+            int end = xml.indexOf('>', position) + 1;
+            replacedDataMap.put(entry.getKey(), (xml.substring(0, start) + xml.substring(end)).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * 查找指定名称的开始标签（名称后须为空白、'/' 或 '&gt;'）
+     */
+    private static int indexOfTag(String xml, String name, int from, int to) {
+        int position = from;
+        while (true) {
+            int start = xml.indexOf('<' + name, position);
+            if (start == -1 || start >= to)
+                return -1;
+            char next = xml.charAt(start + name.length() + 1);
+            if (next == ' ' || next == '>' || next == '/' || next == '\t' || next == '\n' || next == '\r')
+                return start;
+            position = start + 1;
+        }
+    }
+
+    private static String getAttribute(String tag, String name) {
+        int start = tag.indexOf(' ' + name + "=\"");
+        if (start == -1)
+            return null;
+        start += name.length() + 3;
+        return tag.substring(start, tag.indexOf('"', start));
+    }
+
+    private static String removeAttribute(String tag, String name) {
+        int start = tag.indexOf(' ' + name + "=\"");
+        if (start == -1)
+            return tag;
+        int end = tag.indexOf('"', start + name.length() + 3);
+        return tag.substring(0, start) + tag.substring(end + 1);
+    }
+
+    /**
+     * 模板行
+     */
+    private static class TemplateRow {
+
+        private final int rowIndex;
+
+        /**
+         * 整行 XML（无数据写入时原样输出）
+         */
+        private final String xml;
+
+        /**
+         * 行开始标签（去掉了 spans 属性）
+         */
+        private final String startTag;
+
+        private final int[] cellIndexes;
+
+        private final String[] cellXmls;
+
+        private final int[] cellStyles;
+
+        TemplateRow(int rowIndex, String xml, String startTag, int[] cellIndexes, String[] cellXmls, int[] cellStyles) {
+            this.rowIndex = rowIndex;
+            this.xml = xml;
+            this.startTag = startTag;
+            this.cellIndexes = cellIndexes;
+            this.cellXmls = cellXmls;
+            this.cellStyles = cellStyles;
+        }
+    }
+}
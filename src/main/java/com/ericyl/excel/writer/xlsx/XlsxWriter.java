@@ -0,0 +1,502 @@
+package com.ericyl.excel.writer.xlsx;
+
+import com.ericyl.excel.writer.common.BorderValue;
+import com.ericyl.excel.writer.model.ExcelCellStyle;
+import com.ericyl.excel.writer.model.ExcelColumn;
+import com.ericyl.excel.writer.model.ExcelColumnBorder;
+import com.ericyl.excel.writer.model.ExcelWriteOptions;
+import com.ericyl.excel.writer.style.CellStyleCache;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.VerticalAlignment;
+import org.apache.poi.ss.util.CellReference;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * XLSX 直写器
+ * <p>
+ * 不经过 POI usermodel（也不经过 SXSSF 的临时文件），直接将单个工作表的数据以 OOXML 格式写入 {@link ZipOutputStream}。
+ * 字符串使用内联字符串（inlineStr）写入，样式表仅包含列配置中出现过的样式。
+ * 适用于只有一个工作表、无合并单元格的普通列表导出。
+ * </p>
+ * <p>
+ * 使用方式：
+ * </p>
+ *
+ * <pre>
+ * try (XlsxWriter writer = new XlsxWriter(out, "Sheet1", columnList)) {
+ *     writer.startRow(height);
+ *     writer.writeCell(0, value);
+ *     writer.endRow();
+ * }
+ * </pre>
+ * <p>
+ * 注意：{@link #close()} 只会结束 ZIP 数据，不会关闭传入的输出流
+ * </p>
+ *
+ * @author ericyl
+ * @since 1.0
+ */
+public class XlsxWriter implements Closeable {
+
+    private static final String MAIN_NAMESPACE = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIP_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PACKAGE_RELATIONSHIP_NAMESPACE = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    private final ZipOutputStream zipOutputStream;
+    private final Writer writer;
+
+    /**
+     * 各列的单元格引用前缀（如 "A", "B", "AA"）
+     */
+    private final char[][] columnNames;
+    /**
+     * 各列对应的样式下标（cellXfs 中的位置）
+     */
+    private final int[] columnStyles;
+    private final XlsxCellWriter cellWriter;
+
+    private int rowNumber;
+    private boolean rowStarted;
+    private boolean finished;
+
+    /**
+     * 创建直写器并写入除工作表数据之外的所有部件
+     *
+     * @param outputStream 输出流
+     * @param sheetName    工作表名称
+     * @param columnList   列配置（决定列宽、样式，按位置对应列下标）
+     * @throws IOException IO异常
+     */
+    public XlsxWriter(OutputStream outputStream, String sheetName, List<ExcelColumn> columnList) throws IOException {
+        this(outputStream, sheetName, columnList, null);
+    }
+
+    /**
+     * 创建直写器并写入除工作表数据之外的所有部件
+     *
+     * @param outputStream 输出流
+     * @param sheetName    工作表名称
+     * @param columnList   列配置（决定列宽、样式，按位置对应列下标）
+     * @param options      输出配置（缓冲区大小、压缩级别），为空时使用默认配置
+     * @throws IOException IO异常
+     */
+    public XlsxWriter(OutputStream outputStream, String sheetName, List<ExcelColumn> columnList,
+                      ExcelWriteOptions options) throws IOException {
+        if (options == null)
+            options = new ExcelWriteOptions();
+        this.zipOutputStream = new ZipOutputStream(outputStream);
+        if (options.getCompressionLevel() != null)
+            zipOutputStream.setLevel(options.getCompressionLevel());
+        this.writer = new BufferedWriter(new OutputStreamWriter(zipOutputStream, StandardCharsets.UTF_8),
+                options.getBufferSize());
+        this.cellWriter = new XlsxCellWriter(writer);
+
+        int size = columnList.size();
+        this.columnNames = new char[size][];
+        this.columnStyles = new int[size];
+
+        // 样式去重，0 为默认样式
+        Map<ExcelCellStyle, Integer> styleMap = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            columnNames[i] = CellReference.convertNumToColString(i).toCharArray();
+            ExcelCellStyle style = CellStyleCache.toCellStyle(columnList.get(i));
+            Integer styleIndex = styleMap.get(style);
+            if (styleIndex == null) {
+                styleIndex = styleMap.size() + 1;
+                styleMap.put(style, styleIndex);
+            }
+            columnStyles[i] = styleIndex;
+        }
+
+        writeContentTypes();
+        writeRelationships(sheetName);
+        writeStyles(styleMap.keySet());
+
+        // 工作表数据
+        zipOutputStream.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<worksheet xmlns=\"" + MAIN_NAMESPACE + "\" xmlns:r=\"" + RELATIONSHIP_NAMESPACE + "\">");
+        writeColumns(columnList);
+        writer.write("<sheetData>");
+    }
+
+    /**
+     * 开始新的一行
+     *
+     * @param height 行高，为空时使用默认行高
+     * @throws IOException IO异常
+     */
+    public void startRow(Float height) throws IOException {
+        if (rowStarted)
+            endRow();
+        rowNumber++;
+        writer.write("<row r=\"");
+        cellWriter.writeLong(rowNumber);
+        if (height != null && height > 0) {
+            writer.write("\" ht=\"");
+            writer.write(Float.toString(height));
+            writer.write("\" customHeight=\"1");
+        }
+        writer.write("\">");
+        rowStarted = true;
+    }
+
+    /**
+     * 写入当前行的单元格
+     * <p>
+     * 值为空时不写入任何内容
+     * </p>
+     *
+     * @param cellIndex 列下标
+     * @param obj       单元格数据
+     * @throws IOException      IO异常
+     * @throws RuntimeException 当数据类型不支持时抛出
+     */
+    public void writeCell(int cellIndex, Object obj) throws IOException {
+        if (obj == null)
+            return;
+        if (!rowStarted)
+            throw new RuntimeException("请先调用 startRow 开始新的一行");
+
+        cellWriter.writeCell(columnNames[cellIndex], rowNumber, columnStyles[cellIndex], obj);
+    }
+
+    /**
+     * 写入整数单元格，不装箱
+     *
+     * @param cellIndex 列下标
+     * @param value     数据
+     * @throws IOException IO异常
+     */
+    public void writeNumber(int cellIndex, long value) throws IOException {
+        if (!rowStarted)
+            throw new RuntimeException("请先调用 startRow 开始新的一行");
+        cellWriter.writeCell(columnNames[cellIndex], rowNumber, columnStyles[cellIndex], value);
+    }
+
+    /**
+     * 写入浮点数单元格，不装箱
+     * <p>
+     * NaN 写为 #NUM! 错误，正负无穷写为 #DIV/0! 错误
+     * </p>
+     *
+     * @param cellIndex 列下标
+     * @param value     数据
+     * @throws IOException IO异常
+     */
+    public void writeNumber(int cellIndex, double value) throws IOException {
+        if (!rowStarted)
+            throw new RuntimeException("请先调用 startRow 开始新的一行");
+        cellWriter.writeCell(columnNames[cellIndex], rowNumber, columnStyles[cellIndex], value);
+    }
+
+    /**
+     * 结束当前行
+     *
+     * @throws IOException IO异常
+     */
+    public void endRow() throws IOException {
+        if (!rowStarted)
+            return;
+        writer.write("</row>");
+        rowStarted = false;
+    }
+
+    /**
+     * 结束工作表并完成 ZIP 数据的写入
+     * <p>
+     * 不会关闭传入的输出流
+     * </p>
+     *
+     * @throws IOException IO异常
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished)
+            return;
+        finished = true;
+        endRow();
+        writer.write("</sheetData></worksheet>");
+        writer.flush();
+        zipOutputStream.closeEntry();
+        zipOutputStream.finish();
+        zipOutputStream.flush();
+    }
+
+    private void writeContentTypes() throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        writer.write("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        writer.write("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        writer.write("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        writer.write("<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        writer.write("<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        writer.write("</Types>");
+        closeEntry();
+    }
+
+    private void writeRelationships(String sheetName) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry("_rels/.rels"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<Relationships xmlns=\"" + PACKAGE_RELATIONSHIP_NAMESPACE + "\">");
+        writer.write("<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIP_NAMESPACE + "/officeDocument\" Target=\"xl/workbook.xml\"/>");
+        writer.write("</Relationships>");
+        closeEntry();
+
+        zipOutputStream.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<workbook xmlns=\"" + MAIN_NAMESPACE + "\" xmlns:r=\"" + RELATIONSHIP_NAMESPACE + "\"><sheets><sheet name=\"");
+        cellWriter.writeEscaped(sheetName);
+        writer.write("\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+        closeEntry();
+
+        zipOutputStream.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<Relationships xmlns=\"" + PACKAGE_RELATIONSHIP_NAMESPACE + "\">");
+        writer.write("<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIP_NAMESPACE + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>");
+        writer.write("<Relationship Id=\"rId2\" Type=\"" + RELATIONSHIP_NAMESPACE + "/styles\" Target=\"styles.xml\"/>");
+        writer.write("</Relationships>");
+        closeEntry();
+    }
+
+    private void writeStyles(Collection<ExcelCellStyle> styleList) throws IOException {
+        zipOutputStream.putNextEntry(new ZipEntry("xl/styles.xml"));
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        writer.write("<styleSheet xmlns=\"" + MAIN_NAMESPACE + "\">");
+
+        // 自定义数据格式，编号从164开始
+        Map<String, Integer> formatMap = new LinkedHashMap<>();
+        for (ExcelCellStyle style : styleList) {
+            if (StringUtils.isNotEmpty(style.getDateFormat()) && !formatMap.containsKey(style.getDateFormat()))
+                formatMap.put(style.getDateFormat(), 164 + formatMap.size());
+        }
+        if (!formatMap.isEmpty()) {
+            writer.write("<numFmts count=\"");
+            cellWriter.writeLong(formatMap.size());
+            writer.write("\">");
+            for (Map.Entry<String, Integer> entry : formatMap.entrySet()) {
+                writer.write("<numFmt numFmtId=\"");
+                cellWriter.writeLong(entry.getValue());
+                writer.write("\" formatCode=\"");
+                cellWriter.writeEscaped(entry.getKey());
+                writer.write("\"/>");
+            }
+            writer.write("</numFmts>");
+        }
+        writer.write("<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"Calibri\"/><family val=\"2\"/></font></fonts>");
+        writer.write("<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>");
+
+        // 边框：0 为无边框，之后每种样式一个
+        writer.write("<borders count=\"");
+        cellWriter.writeLong(styleList.size() + 1);
+        writer.write("\"><border><left/><right/><top/><bottom/><diagonal/></border>");
+        for (ExcelCellStyle style : styleList)
+            writeBorder(style.getBorder());
+        writer.write("</borders>");
+
+        writer.write("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+
+        writer.write("<cellXfs count=\"");
+        cellWriter.writeLong(styleList.size() + 1);
+        writer.write("\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>");
+        int borderId = 1;
+        for (ExcelCellStyle style : styleList) {
+            Integer numFmtId = StringUtils.isEmpty(style.getDateFormat()) ? null : formatMap.get(style.getDateFormat());
+            writer.write("<xf numFmtId=\"");
+            cellWriter.writeLong(numFmtId == null ? 0 : numFmtId);
+            writer.write("\" fontId=\"0\" fillId=\"0\" borderId=\"");
+            cellWriter.writeLong(borderId++);
+            writer.write(numFmtId == null ? "\" xfId=\"0\"" : "\" xfId=\"0\" applyNumberFormat=\"1\"");
+            writer.write(" applyBorder=\"1\" applyAlignment=\"1\"><alignment");
+            HorizontalAlignment horizontalAlignment = style.getHorizontalAlignment();
+            if (horizontalAlignment != null && horizontalAlignment != HorizontalAlignment.GENERAL) {
+                writer.write(" horizontal=\"");
+                writer.write(getHorizontalAlignment(horizontalAlignment));
+                writer.write('"');
+            }
+            VerticalAlignment verticalAlignment = style.getVerticalAlignment();
+            if (verticalAlignment != null && verticalAlignment != VerticalAlignment.BOTTOM) {
+                writer.write(" vertical=\"");
+                writer.write(getVerticalAlignment(verticalAlignment));
+                writer.write('"');
+            }
+            if (style.isWrapText())
+                writer.write(" wrapText=\"1\"");
+            writer.write("/></xf>");
+        }
+        writer.write("</cellXfs>");
+
+        writer.write("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        writer.write("</styleSheet>");
+        closeEntry();
+    }
+
+    private void writeBorder(ExcelColumnBorder border) throws IOException {
+        BorderStyle[] styles = new BorderStyle[4];
+        IndexedColors color = null;
+        if (border != null && ArrayUtils.isNotEmpty(border.getValue())) {
+            color = border.getColor();
+            for (BorderValue value : border.getValue()) {
+                switch (value) {
+                    case ALL:
+                        styles[0] = styles[1] = styles[2] = styles[3] = border.getStyle();
+                        break;
+                    case X:
+                        styles[0] = styles[1] = border.getStyle();
+                        break;
+                    case Y:
+                        styles[2] = styles[3] = border.getStyle();
+                        break;
+                    case LEFT:
+                        styles[0] = border.getStyle();
+                        break;
+                    case RIGHT:
+                        styles[1] = border.getStyle();
+                        break;
+                    case TOP:
+                        styles[2] = border.getStyle();
+                        break;
+                    case BOTTOM:
+                        styles[3] = border.getStyle();
+                        break;
+                }
+            }
+        }
+        writer.write("<border>");
+        writeBorderSide("left", styles[0], color);
+        writeBorderSide("right", styles[1], color);
+        writeBorderSide("top", styles[2], color);
+        writeBorderSide("bottom", styles[3], color);
+        writer.write("<diagonal/></border>");
+    }
+
+    private void writeBorderSide(String side, BorderStyle style, IndexedColors color) throws IOException {
+        writer.write('<');
+        writer.write(side);
+        if (style == null || style == BorderStyle.NONE) {
+            writer.write("/>");
+            return;
+        }
+        writer.write(" style=\"");
+        writer.write(getBorderStyle(style));
+        writer.write('"');
+        if (color == null) {
+            writer.write("/>");
+            return;
+        }
+        writer.write("><color indexed=\"");
+        cellWriter.writeLong(color.getIndex());
+        writer.write("\"/></");
+        writer.write(side);
+        writer.write('>');
+    }
+
+    private void writeColumns(List<ExcelColumn> columnList) throws IOException {
+        boolean started = false;
+        for (int i = 0; i < columnList.size(); i++) {
+            Integer width = columnList.get(i).getWidth();
+            if (width == null || width <= 0)
+                continue;
+            if (!started) {
+                writer.write("<cols>");
+                started = true;
+            }
+            writer.write("<col min=\"");
+            cellWriter.writeLong(i + 1);
+            writer.write("\" max=\"");
+            cellWriter.writeLong(i + 1);
+            writer.write("\" width=\"");
+            writer.write(Double.toString(width / 256.0));
+            writer.write("\" customWidth=\"1\"/>");
+        }
+        if (started)
+            writer.write("</cols>");
+    }
+
+    private void closeEntry() throws IOException {
+        writer.flush();
+        zipOutputStream.closeEntry();
+    }
+
+    private static String getHorizontalAlignment(HorizontalAlignment alignment) {
+        switch (alignment) {
+            case LEFT:
+                return "left";
+            case CENTER:
+                return "center";
+            case RIGHT:
+                return "right";
+            case FILL:
+                return "fill";
+            case JUSTIFY:
+                return "justify";
+            case CENTER_SELECTION:
+                return "centerContinuous";
+            case DISTRIBUTED:
+                return "distributed";
+            default:
+                return "general";
+        }
+    }
+
+    private static String getVerticalAlignment(VerticalAlignment alignment) {
+        switch (alignment) {
+            case TOP:
+                return "top";
+            case CENTER:
+                return "center";
+            case JUSTIFY:
+                return "justify";
+            case DISTRIBUTED:
+                return "distributed";
+            default:
+                return "bottom";
+        }
+    }
+
+    private static String getBorderStyle(BorderStyle style) {
+        switch (style) {
+            case MEDIUM:
+                return "medium";
+            case DASHED:
+                return "dashed";
+            case DOTTED:
+                return "dotted";
+            case THICK:
+                return "thick";
+            case DOUBLE:
+                return "double";
+            case HAIR:
+                return "hair";
+            case MEDIUM_DASHED:
+                return "mediumDashed";
+            case DASH_DOT:
+                return "dashDot";
+            case MEDIUM_DASH_DOT:
+                return "mediumDashDot";
+            case DASH_DOT_DOT:
+                return "dashDotDot";
+            case MEDIUM_DASH_DOT_DOT:
+                return "mediumDashDotDot";
+            case SLANTED_DASH_DOT:
+                return "slantDashDot";
+            default:
+                return "thin";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.csv.CsvTokenizer;
+import com.ericyl.excel.csv.model.CsvOptions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvUtilsTest {
+
+    @org.junit.jupiter.api.Test
+    void list2CsvQuotesFieldsAndFormatsDates() throws Exception {
+        Date time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2024-01-02 03:04:05");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        CsvUtils.list2Csv(outputStream, Arrays.asList(
+                new Writer2("a,\"b\"", LocalDate.of(2024, 1, 2), time),
+                new Writer2("c", null, null)), Writer2.class);
+
+        assertEquals("名称,日期,时间\r\n"
+                        + "\"a,\"\"b\"\"\",2024-01-02,2024-01-02 03:04:05\r\n"
+                        + "c,,\r\n",
+                new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListParsesQuotedFieldsAcrossBufferRefills() {
+        String csv = "\uFEFF名称,金额,时间,编号,备注\r\n"
+                + "\"多行\n\"\"文本\"\"\",12.50,2024-01-02 03:04:05,9007199254740993,\r\n"
+                + "\r\n"
+                + ",,,,\n"
+                + "b,-3,,42,说明";
+        // 缓冲区小于单条记录，覆盖补充数据和扩容
+        CsvOptions options = new CsvOptions().setBufferSize(16);
+        List<Reader4> list = CsvUtils.doList(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                Reader4.class, options);
+
+        assertEquals(2, list.size());
+        Reader4 first = list.get(0);
+        assertEquals("多行\n\"文本\"", first.getName());
+        assertEquals(new BigDecimal("12.50"), first.getMoney());
+        assertEquals(LocalDate.of(2024, 1, 2), first.getTime().toInstant()
+                .atZone(ZoneId.systemDefault()).toLocalDate());
+        assertEquals(9007199254740993L, first.getId());
+        assertNull(first.getRemark());
+
+        Reader4 second = list.get(1);
+        assertEquals("b", second.getName());
+        assertEquals(new BigDecimal("-3"), second.getMoney());
+        assertEquals(42L, second.getId());
+        assertEquals("说明", second.getRemark());
+    }
+
+    @org.junit.jupiter.api.Test
+    void tokenizerGrowsBufferForSupplementaryCharacterAtBufferEnd() {
+        // 记录占满缓冲区只剩一个字符时，下一个字符是代理对
+        String value = String.join("", Collections.nCopies(15, "a")) + "\uD83D\uDE00"
+                + String.join("", Collections.nCopies(40, "b"));
+        CsvTokenizer tokenizer = new CsvTokenizer(Channels.newChannel(
+                new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8))), new CsvOptions().setBufferSize(16));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertTrue(tokenizer.next());
+            assertEquals(1, tokenizer.getFieldCount());
+            assertEquals(value, tokenizer.getString(0));
+            assertFalse(tokenizer.next());
+        });
+    }
+
+}
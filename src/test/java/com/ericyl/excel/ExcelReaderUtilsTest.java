@@ -0,0 +1,638 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.formatter.ConverterRegistry;
+import com.ericyl.excel.formatter.FormatterRegistry;
+import com.ericyl.excel.formatter.annotation.ExcelStatefulFormatter;
+import com.ericyl.excel.formatter.model.FormatterCacheStats;
+import com.ericyl.excel.reader.ExcelReadPlanCache;
+import com.ericyl.excel.reader.IExcelReaderListener;
+import com.ericyl.excel.reader.annotation.ExcelReader;
+import com.ericyl.excel.reader.common.EmptyRowMode;
+import com.ericyl.excel.reader.formatter.CachingExcelReaderFormatter;
+import com.ericyl.excel.reader.formatter.ExcelConvertException;
+import com.ericyl.excel.reader.formatter.IExcelBulkReaderFormatter;
+import com.ericyl.excel.reader.formatter.IExcelReaderFormatter;
+import com.ericyl.excel.reader.model.ExcelReadError;
+import com.ericyl.excel.reader.model.ExcelReadResult;
+import com.ericyl.excel.reader.model.HeaderCell;
+import lombok.Data;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExcelReaderUtilsTest {
+
+    @org.junit.jupiter.api.Test
+    void doListStreamsXlsLikeUsermodelSheet() throws Exception {
+        byte[] bytes;
+        try (Workbook workbook = new HSSFWorkbook(); ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+
+            Row title = sheet.createRow(0);
+            title.createCell(0).setCellValue("导出数据");
+            Row header = sheet.createRow(1);
+            String[] names = {"名称", "金额", "时间", "编号", "备注"};
+            for (int i = 0; i < names.length; i++)
+                header.createCell(i).setCellValue(names[i]);
+            for (int i = 0; i < 3; i++) {
+                Row row = sheet.createRow(2 + i);
+                if (i == 0)
+                    row.createCell(0).setCellValue("合并");
+                row.createCell(1).setCellValue(10.5 + i);
+                row.createCell(2).setCellValue(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2024-01-0" + (i + 1) + " 08:00:00"));
+                row.getCell(2).setCellStyle(dateStyle);
+                row.createCell(3).setCellFormula((100 + i) + "*1");
+                row.createCell(4).setCellFormula("\"备注" + i + "\"");
+            }
+            // 名称在三行中合并，应向下填充
+            sheet.addMergedRegion(new CellRangeAddress(2, 4, 0, 0));
+            sheet.createRow(5).createCell(0).setCellValue("合计");
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            workbook.write(outputStream);
+            bytes = outputStream.toByteArray();
+        }
+
+        IExcelReaderListener listener = new IExcelReaderListener() {
+            @Override
+            public int startHeaderNumber(Sheet sheet) {
+                return 2;
+            }
+
+            @Override
+            public int endHeaderNumber(Sheet sheet) {
+                return 2;
+            }
+
+            @Override
+            public boolean isFooter(Row row) {
+                return row.getCell(0) != null && "合计".equals(row.getCell(0).getStringCellValue());
+            }
+        };
+
+        List<Reader4> streamed = ExcelReaderUtils.doList(new ByteArrayInputStream(bytes), Reader4.class, listener);
+        List<Reader4> expected;
+        try (Workbook workbook = new HSSFWorkbook(new ByteArrayInputStream(bytes))) {
+            expected = ExcelReaderUtils.doList(workbook.getSheetAt(0), Reader4.class, listener);
+        }
+
+        assertEquals(3, streamed.size());
+        assertEquals(expected, streamed);
+        assertEquals("合并", streamed.get(2).getName());
+        assertEquals(new BigDecimal("12.5"), streamed.get(2).getMoney());
+        assertEquals(102L, streamed.get(2).getId());
+        assertEquals("备注2", streamed.get(2).getRemark());
+        assertEquals(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").parse("2024-01-03 08:00:00"), streamed.get(2).getTime());
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListReusesCachedFormatterResults() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(4).setCellValue("备注");
+        String[] remarks = {"A", "B", "A", "A", "C"};
+        for (int i = 0; i < remarks.length; i++)
+            sheet.createRow(1 + i).createCell(4).setCellValue(remarks[i]);
+
+        AtomicInteger count = new AtomicInteger();
+        CachingExcelReaderFormatter<String> formatter = new CachingExcelReaderFormatter<>(cell -> {
+            count.incrementAndGet();
+            return "备注" + cell.getStringCellValue();
+        }, 2).preload(Collections.singletonMap("B", "预加载"));
+        FormatterRegistry.register(Reader3StringReaderFormatter.class, formatter);
+        try {
+            List<Reader4> list = ExcelReaderUtils.doList(sheet, Reader4.class, new IExcelReaderListener() {
+                @Override
+                public int startHeaderNumber(Sheet sheet) {
+                    return 1;
+                }
+
+                @Override
+                public int endHeaderNumber(Sheet sheet) {
+                    return 1;
+                }
+
+                @Override
+                public boolean isFooter(Row row) {
+                    return false;
+                }
+            });
+            assertEquals(Arrays.asList("备注A", "预加载", "备注A", "备注A", "备注C"),
+                    list.stream().map(Reader4::getRemark).collect(Collectors.toList()));
+        } finally {
+            FormatterRegistry.unregister(Reader3StringReaderFormatter.class);
+        }
+
+        // A、C 各查询一次，容量为2时 C 淘汰最久未使用的 B
+        assertEquals(2, count.get());
+        FormatterCacheStats stats = formatter.getStats();
+        assertEquals(3, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(2, stats.getSize());
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListResolvesBulkFormatterPerBatch() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(4).setCellValue("备注");
+        String[] remarks = {"A", "B", "A", "A", "C"};
+        for (int i = 0; i < remarks.length; i++)
+            sheet.createRow(1 + i).createCell(4).setCellValue(remarks[i]);
+
+        List<Set<Object>> keysList = new ArrayList<>();
+        IExcelBulkReaderFormatter<String> formatter = keys -> {
+            keysList.add(keys);
+            return keys.stream().filter(key -> !"C".equals(key))
+                    .collect(Collectors.toMap(key -> key, key -> "备注" + key));
+        };
+        FormatterRegistry.register(Reader3StringReaderFormatter.class, formatter);
+        try {
+            List<Reader4> list = ExcelReaderUtils.doList(sheet, Reader4.class, new IExcelReaderListener() {
+                @Override
+                public int endHeaderNumber(Sheet sheet) {
+                    return 1;
+                }
+
+                @Override
+                public boolean isFooter(Row row) {
+                    return false;
+                }
+
+                @Override
+                public int batchSize() {
+                    return 2;
+                }
+            });
+            // 未查询到的 C 不赋值
+            assertEquals(Arrays.asList("备注A", "备注B", "备注A", "备注A", null),
+                    list.stream().map(Reader4::getRemark).collect(Collectors.toList()));
+        } finally {
+            FormatterRegistry.unregister(Reader3StringReaderFormatter.class);
+        }
+
+        // 每两行查询一次，同一批次内的键去重
+        assertEquals(Arrays.asList(new HashSet<>(Arrays.asList("A", "B")), Collections.singleton("A"),
+                Collections.singleton("C")), keysList);
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListLenientCollectsConversionErrors() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("名称");
+        header.createCell(1).setCellValue("金额");
+        Object[][] rows = {{"甲", "12.5", 1D}, {"乙", "abc", 2.5D}, {"丙", "3", 3D}, {"丁", "x", 1E20D}};
+        for (int i = 0; i < rows.length; i++) {
+            Row row = sheet.createRow(1 + i);
+            row.createCell(0).setCellValue((String) rows[i][0]);
+            row.createCell(1).setCellValue((String) rows[i][1]);
+            row.createCell(3).setCellValue((Double) rows[i][2]);
+        }
+        IExcelReaderListener doExcel = new IExcelReaderListener() {
+            @Override
+            public int endHeaderNumber(Sheet sheet) {
+                return 1;
+            }
+
+            @Override
+            public boolean isFooter(Row row) {
+                return false;
+            }
+        };
+
+        ExcelReadResult<Reader4> result = ExcelReaderUtils.doListLenient(sheet, Reader4.class, doExcel);
+        assertEquals(Arrays.asList("甲", "乙", "丙", "丁"),
+                result.getList().stream().map(Reader4::getName).collect(Collectors.toList()));
+        assertNull(result.getList().get(1).getMoney());
+        assertNull(result.getList().get(1).getId());
+        assertEquals(new BigDecimal("3"), result.getList().get(2).getMoney());
+        assertFalse(result.isTruncated());
+        assertEquals(4, result.getErrorList().size());
+        ExcelReadError error = result.getErrorList().get(0);
+        assertEquals("money", error.getFieldName());
+        assertEquals("当前数据不是数字，无法转换: abc", error.getMessage());
+        error = result.getErrorList().get(1);
+        assertEquals(2, error.getRowIndex());
+        assertEquals(3, error.getCellIndex());
+        assertEquals("id", error.getFieldName());
+        assertEquals(2.5D, error.getValue());
+        assertEquals("当前数据是浮点类型，无法转换为整数", error.getMessage());
+        // 超出 Long 范围的数字不会被截断
+        error = result.getErrorList().get(3);
+        assertEquals(4, error.getRowIndex());
+        assertEquals("id", error.getFieldName());
+        assertEquals("当前数据超出取值范围，无法转换: 100000000000000000000", error.getMessage());
+
+        // 达到上限后不再读取后续的行
+        result = ExcelReaderUtils.doListLenient(sheet, Reader4.class, doExcel, 2);
+        assertEquals(2, result.getList().size());
+        assertEquals(2, result.getErrorList().size());
+        assertTrue(result.isTruncated());
+
+        // 最后一行恰好达到上限时读取完整
+        result = ExcelReaderUtils.doListLenient(sheet, Reader4.class, doExcel, 4);
+        assertEquals(4, result.getList().size());
+        assertEquals(4, result.getErrorList().size());
+        assertFalse(result.isTruncated());
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListLenientCollectsBulkFormatterErrors() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("名称");
+        header.createCell(4).setCellValue("备注");
+        String[] remarks = {"A", "B", "C"};
+        for (int i = 0; i < remarks.length; i++) {
+            Row row = sheet.createRow(1 + i);
+            row.createCell(0).setCellValue("名称" + i);
+            row.createCell(4).setCellValue(remarks[i]);
+        }
+
+        IExcelBulkReaderFormatter<String> formatter = keys -> {
+            if (keys.contains("C"))
+                throw new ExcelConvertException("备注不存在");
+            return keys.stream().collect(Collectors.toMap(key -> key, key -> "备注" + key));
+        };
+        FormatterRegistry.register(Reader3StringReaderFormatter.class, formatter);
+        try {
+            ExcelReadResult<Reader4> result = ExcelReaderUtils.doListLenient(sheet, Reader4.class, new IExcelReaderListener() {
+                @Override
+                public int endHeaderNumber(Sheet sheet) {
+                    return 1;
+                }
+
+                @Override
+                public boolean isFooter(Row row) {
+                    return false;
+                }
+
+                @Override
+                public int batchSize() {
+                    return 2;
+                }
+            });
+            // 批量转换失败的批次中该列不赋值，其他列和其他批次照常读取
+            assertEquals(Arrays.asList("备注A", "备注B", null),
+                    result.getList().stream().map(Reader4::getRemark).collect(Collectors.toList()));
+            assertEquals("名称2", result.getList().get(2).getName());
+            assertEquals(1, result.getErrorList().size());
+            ExcelReadError error = result.getErrorList().get(0);
+            assertEquals(3, error.getRowIndex());
+            assertEquals(4, error.getCellIndex());
+            assertEquals("remark", error.getFieldName());
+            assertEquals("C", error.getValue());
+            assertEquals("备注不存在", error.getMessage());
+        } finally {
+            FormatterRegistry.unregister(Reader3StringReaderFormatter.class);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void convertExceptionHasNoStackTrace() {
+        assertEquals(0, new ExcelConvertException("当前数据不是整数，无法转换: x").getStackTrace().length);
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListSkipsBlankRowsBeforeMapping() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row header = sheet.createRow(0);
+        header.createCell(0).setCellValue("名称");
+        header.createCell(1).setCellValue("金额");
+        Row zeroRow = sheet.createRow(1);
+        zeroRow.createCell(1).setCellValue(0D);
+        Row blankRow = sheet.createRow(2);
+        blankRow.createCell(0).setBlank();
+        blankRow.createCell(1).setCellValue("");
+        blankRow.createCell(5).setCellValue("未映射的列");
+        sheet.createRow(3).createCell(0).setCellValue("甲");
+
+        List<Reader4> list = ExcelReaderUtils.doList(sheet, Reader4.class, new IExcelReaderListener() {
+            @Override
+            public int endHeaderNumber(Sheet sheet) {
+                return 1;
+            }
+
+            @Override
+            public boolean isFooter(Row row) {
+                return false;
+            }
+        });
+        assertEquals(2, list.size());
+        assertEquals(0, BigDecimal.ZERO.compareTo(list.get(0).getMoney()));
+        assertEquals("甲", list.get(1).getName());
+
+        // 按对象判断时数值为0的数据行也被跳过
+        list = ExcelReaderUtils.doList(sheet, Reader4.class, new IExcelReaderListener() {
+            @Override
+            public int endHeaderNumber(Sheet sheet) {
+                return 1;
+            }
+
+            @Override
+            public boolean isFooter(Row row) {
+                return false;
+            }
+
+            @Override
+            public EmptyRowMode emptyRowMode() {
+                return EmptyRowMode.EMPTY_OBJECT;
+            }
+        });
+        assertEquals(Collections.singletonList("甲"), list.stream().map(Reader4::getName).collect(Collectors.toList()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListStopsAtFooterAndTrailingBlankRows() throws Exception {
+        byte[] bytes;
+        try (Workbook workbook = new HSSFWorkbook(); ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("名称");
+            sheet.createRow(1).createCell(0).setCellValue("甲");
+            sheet.createRow(3).createCell(0).setCellValue("乙");
+            sheet.createRow(4).createCell(0).setCellValue("合计");
+            sheet.createRow(5).createCell(0).setCellValue("丙");
+            // 残留格式的空白行
+            for (int rowIndex = 6; rowIndex < 10; rowIndex++)
+                sheet.createRow(rowIndex).createCell(0).setBlank();
+            sheet.createRow(20).createCell(0).setCellValue("丁");
+            workbook.write(outputStream);
+            bytes = outputStream.toByteArray();
+        }
+
+        for (boolean stopAtFooter : new boolean[]{true, false}) {
+            IExcelReaderListener doExcel = new IExcelReaderListener() {
+                @Override
+                public int endHeaderNumber(Sheet sheet) {
+                    return 1;
+                }
+
+                @Override
+                public boolean isFooter(Row row) {
+                    return row.getCell(0) != null && "合计".equals(row.getCell(0).getStringCellValue());
+                }
+
+                @Override
+                public boolean stopAtFooter() {
+                    return stopAtFooter;
+                }
+
+                @Override
+                public int maxBlankRows() {
+                    return 3;
+                }
+            };
+            List<String> expected = stopAtFooter ? Arrays.asList("甲", "乙") : Arrays.asList("甲", "乙", "丙");
+
+            List<Reader4> list;
+            try (Workbook workbook = new HSSFWorkbook(new ByteArrayInputStream(bytes))) {
+                list = ExcelReaderUtils.doList(workbook.getSheetAt(0), Reader4.class, doExcel);
+            }
+            assertEquals(expected, list.stream().map(Reader4::getName).collect(Collectors.toList()));
+
+            list = ExcelReaderUtils.doList(new ByteArrayInputStream(bytes), Reader4.class, doExcel);
+            assertEquals(expected, list.stream().map(Reader4::getName).collect(Collectors.toList()));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListConvertsRegisteredAndBuiltInTypes() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        Row row = sheet.createRow(0);
+        row.createCell(0).setCellValue(3);
+        row.createCell(1).setCellValue("7");
+        row.createCell(2).setCellValue("2024-05-06");
+        row.createCell(3).setCellValue("123e4567-e89b-12d3-a456-426614174000");
+        row.createCell(4).setCellValue("CNY");
+
+        ConverterRegistry.register(Currency.class, cell -> Currency.getInstance(cell.getStringCellValue()));
+        try {
+            List<Reader5> list = ExcelReaderUtils.doList(sheet, Reader5.class, null);
+            assertEquals(1, list.size());
+            Reader5 reader5 = list.get(0);
+            assertEquals(3, reader5.getCount());
+            assertEquals(Short.valueOf((short) 7), reader5.getLevel());
+            assertEquals(LocalDate.of(2024, 5, 6), reader5.getDay());
+            assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), reader5.getUuid());
+            assertEquals(Currency.getInstance("CNY"), reader5.getCurrency());
+        } finally {
+            ConverterRegistry.unregister(Currency.class);
+        }
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> ExcelReaderUtils.doList(sheet, Reader5.class, null));
+        assertEquals("暂不支持该数据类型: java.util.Currency", e.getMessage());
+    }
+
+    @org.junit.jupiter.api.Test
+    void getHeadersFromFileReadsOnlyHeaderRows(@org.junit.jupiter.api.io.TempDir Path dir) throws Exception {
+        IExcelReaderListener listener = new IExcelReaderListener() {
+            @Override
+            public int startHeaderNumber(Sheet sheet) {
+                return "订单".equals(sheet.getSheetName()) ? 2 : 1;
+            }
+
+            @Override
+            public int endHeaderNumber(Sheet sheet) {
+                return "订单".equals(sheet.getSheetName()) ? 3 : 1;
+            }
+
+            @Override
+            public boolean isFooter(Row row) {
+                return false;
+            }
+        };
+
+        for (Workbook source : Arrays.asList(new XSSFWorkbook(), new HSSFWorkbook())) {
+            File file = dir.resolve(source instanceof XSSFWorkbook ? "headers.xlsx" : "headers.xls").toFile();
+            try (Workbook workbook = source; FileOutputStream outputStream = new FileOutputStream(file)) {
+                CellStyle dateStyle = workbook.createCellStyle();
+                dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd"));
+
+                Sheet orders = workbook.createSheet("订单");
+                orders.createRow(0).createCell(0).setCellValue("订单导出");
+                Row header = orders.createRow(1);
+                header.createCell(0).setCellValue("名称");
+                header.createCell(1).setCellValue("金额");
+                header.createCell(3).setCellValue(new SimpleDateFormat("yyyy-MM-dd").parse("2024-01-01"));
+                header.getCell(3).setCellStyle(dateStyle);
+                Row subHeader = orders.createRow(2);
+                subHeader.createCell(1).setCellValue("人民币");
+                subHeader.createCell(2).setCellValue("美元");
+                subHeader.createCell(3).setCellValue(2024);
+                orders.addMergedRegion(new CellRangeAddress(1, 2, 0, 0));
+                orders.addMergedRegion(new CellRangeAddress(1, 1, 1, 2));
+                for (int i = 0; i < 300; i++) {
+                    Row row = orders.createRow(3 + i);
+                    row.createCell(0).setCellValue("名称" + i);
+                    row.createCell(1).setCellValue(i);
+                }
+                // 预览范围之外的合并单元格不读取
+                orders.addMergedRegion(new CellRangeAddress(200, 201, 0, 0));
+
+                Sheet customers = workbook.createSheet("客户");
+                Row customerHeader = customers.createRow(0);
+                customerHeader.createCell(0).setCellValue("编号");
+                customerHeader.createCell(1).setCellValue(true);
+                customerHeader.createCell(2).setCellValue("名称");
+                workbook.write(outputStream);
+            }
+
+            Map<String, List<HeaderCell>> headerMap = ExcelReaderUtils.getHeaders(file, true, listener);
+            assertEquals(Arrays.asList("订单", "客户"), new ArrayList<>(headerMap.keySet()));
+            try (Workbook workbook = WorkbookFactory.create(file)) {
+                for (Sheet sheet : workbook)
+                    assertEquals(ExcelReaderUtils.getHeaders(sheet, true, listener), headerMap.get(sheet.getSheetName()));
+            }
+            assertEquals(Arrays.asList("名称", "金额-人民币", "金额-美元"), headerMap.get("订单").subList(0, 3).stream()
+                    .map(it -> it.getCellValue().toString()).collect(Collectors.toList()));
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void doListReusesReadPlanForSameHeaderLayout() throws Exception {
+        IExcelReaderListener listener = new IExcelReaderListener() {
+            @Override
+            public int endHeaderNumber(Sheet sheet) {
+                return 1;
+            }
+
+            @Override
+            public boolean isFooter(Row row) {
+                return false;
+            }
+        };
+
+        ExcelReadPlanCache.clear();
+        try (Workbook workbook = new XSSFWorkbook()) {
+            List<String[]> headers = Arrays.asList(new String[]{"名称", "金额"}, new String[]{"名称", "金额"},
+                    new String[]{"金额", "名称"});
+            List<List<Reader4>> results = new ArrayList<>();
+            for (int i = 0; i < headers.size(); i++) {
+                Sheet sheet = workbook.createSheet();
+                Row header = sheet.createRow(0);
+                Row row = sheet.createRow(1);
+                for (int cellIndex = 0; cellIndex < 2; cellIndex++) {
+                    String name = headers.get(i)[cellIndex];
+                    header.createCell(cellIndex).setCellValue(name);
+                    if ("名称".equals(name))
+                        row.createCell(cellIndex).setCellValue("名称" + i);
+                    else
+                        row.createCell(cellIndex).setCellValue(i + 0.5);
+                }
+                results.add(ExcelReaderUtils.doList(sheet, Reader4.class, listener));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("名称" + i, results.get(i).get(0).getName());
+                assertEquals(BigDecimal.valueOf(i + 0.5), results.get(i).get(0).getMoney());
+            }
+            // 前两个工作表布局相同，第三个工作表列顺序不同
+            FormatterCacheStats stats = ExcelReadPlanCache.getStats();
+            assertEquals(1, stats.getHitCount());
+            assertEquals(2, stats.getMissCount());
+        }
+    }
+
+
+    @org.junit.jupiter.api.Test
+    void doListUsesThreadInstancesOfStatefulFormatters() throws Exception {
+        IExcelReaderListener listener = new IExcelReaderListener() {
+            @Override
+            public int endHeaderNumber(Sheet sheet) {
+                return 1;
+            }
+
+            @Override
+            public boolean isFooter(Row row) {
+                return false;
+            }
+        };
+        List<List<String>> results = Arrays.asList(new ArrayList<>(), new ArrayList<>());
+        Thread[] threads = new Thread[results.size()];
+        for (int i = 0; i < threads.length; i++) {
+            List<String> result = results.get(i);
+            threads[i] = new Thread(() -> {
+                try (Workbook workbook = new XSSFWorkbook()) {
+                    Sheet sheet = workbook.createSheet();
+                    sheet.createRow(0).createCell(0).setCellValue("线程");
+                    sheet.createRow(1).createCell(0).setCellValue("a");
+                    sheet.createRow(2).createCell(0).setCellValue("b");
+                    ExcelReaderUtils.doList(sheet, StatefulReader.class, listener)
+                            .forEach(reader -> result.add(reader.getThread()));
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }, "reader-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        // 每个线程使用自己创建的转换器实例
+        assertEquals(Arrays.asList("reader-0", "reader-0"), results.get(0));
+        assertEquals(Arrays.asList("reader-1", "reader-1"), results.get(1));
+    }
+
+    @Data
+    public static class StatefulReader {
+
+        @ExcelReader(index = 0, formatter = ThreadNameReaderFormatter.class)
+        private String thread;
+
+    }
+
+    /**
+     * 返回创建它的线程名称
+     */
+    @ExcelStatefulFormatter
+    public static class ThreadNameReaderFormatter implements IExcelReaderFormatter<String> {
+
+        private final String owner = Thread.currentThread().getName();
+
+        @Override
+        public String format(Cell cell) {
+            return owner;
+        }
+    }
+
+}
@@ -1,15 +1,74 @@
 package com.ericyl.excel;
 
+import com.ericyl.excel.formatter.FormatterRegistry;
+import com.ericyl.excel.formatter.annotation.ExcelStatefulFormatter;
+import com.ericyl.excel.writer.annotation.ExcelWriter;
+import com.ericyl.excel.writer.common.BorderValue;
+import com.ericyl.excel.writer.formatter.IExcelWriterFormatter;
 import com.ericyl.excel.writer.model.ExcelColumn;
+import com.ericyl.excel.writer.model.ExcelColumnBorder;
+import com.ericyl.excel.writer.model.ExcelStreamTable;
 import com.ericyl.excel.writer.model.ExcelTable;
+import com.ericyl.excel.writer.model.ExcelWriteOptions;
+import com.ericyl.excel.writer.workbook.StreamingWorkbook;
+import com.ericyl.excel.writer.xlsx.XlsxTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.model.CalculationChain;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFFactory;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCalcCell;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ExcelWriterUtilsTest {
 
@@ -52,4 +111,650 @@ class ExcelWriterUtilsTest {
         assertEquals(4096, sheet.getColumnWidth(0));
         assertEquals(6144, sheet.getColumnWidth(1));
     }
+
+    @org.junit.jupiter.api.Test
+    void list2ExcelWritesXlsxStreamWithoutWorkbook() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelWriterUtils.list2Excel(out, Arrays.asList(
+                new Writer1("name <0>", 10.5),
+                new Writer1("name & 1", 11D)), Writer1.class);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("名称", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("金额", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals("时间", sheet.getRow(0).getCell(2).getStringCellValue());
+            assertEquals("name <0>", sheet.getRow(1).getCell(0).getStringCellValue());
+            assertEquals(10.5, sheet.getRow(1).getCell(1).getNumericCellValue(), 0.001);
+            assertEquals("name & 1", sheet.getRow(2).getCell(0).getStringCellValue());
+            assertEquals(1000F, sheet.getRow(2).getHeightInPoints(), 0.01F);
+            assertEquals(1000, sheet.getColumnWidth(2));
+            assertEquals(HorizontalAlignment.CENTER, sheet.getRow(1).getCell(1).getCellStyle().getAlignment());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void streamingWorkbookBuffersTemplateSheetTempFiles() throws Exception {
+        XSSFWorkbook template = new XSSFWorkbook();
+        template.createSheet("模板");
+        try (StreamingWorkbook streamingWorkbook = new StreamingWorkbook(template, 10,
+                new ExcelWriteOptions().setTempFileBufferSize(128 * 1024))) {
+            // 模板中的工作表在父类构造方法中创建写入器
+            java.lang.reflect.Field writerField = SXSSFSheet.class.getDeclaredField("_writer");
+            writerField.setAccessible(true);
+            assertEquals("BufferedSheetDataWriter",
+                    writerField.get(streamingWorkbook.getSheetAt(0)).getClass().getSimpleName());
+            assertEquals("BufferedSheetDataWriter",
+                    writerField.get(streamingWorkbook.createSheet()).getClass().getSimpleName());
+
+            // 缓冲区大小在第一次写入临时文件时读取，此时构造已经完成
+            SXSSFSheet sheet = streamingWorkbook.getSheetAt(0);
+            sheet.createRow(0).createCell(0).setCellValue("模板数据");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExcelWriterUtils.toStream(out, streamingWorkbook);
+            Object writer = writerField.get(sheet);
+            java.lang.reflect.Field bufferSizeField = writer.getClass().getDeclaredField("bufferSize");
+            bufferSizeField.setAccessible(true);
+            assertEquals(128 * 1024, bufferSizeField.get(writer));
+            try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                assertEquals("模板数据", workbook.getSheetAt(0).getRow(0).getCell(0).getStringCellValue());
+            }
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void streamingWorkbookCompressesTempFilesWithDefaultBuffer() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (StreamingWorkbook streamingWorkbook = new StreamingWorkbook(1, new ExcelWriteOptions().setCompressTempFiles(true))) {
+            ExcelWriterUtils.list2Excel(streamingWorkbook, streamingWorkbook.createSheet(), Arrays.asList(
+                    new Writer1("a", 1D), new Writer1("b", 2D)), Writer1.class);
+            // 未写入任何行的工作表同样需要生成有效的临时文件
+            streamingWorkbook.createSheet();
+            ExcelWriterUtils.toStream(out, streamingWorkbook);
+        }
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("b", workbook.getSheetAt(0).getRow(2).getCell(0).getStringCellValue());
+            assertEquals(2, workbook.getNumberOfSheets());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void toStreamWritesWorkbookWithCompressionLevel() throws IOException {
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        try (StreamingWorkbook streamingWorkbook = new StreamingWorkbook(10, new ExcelWriteOptions()
+                .setCompressTempFiles(true).setTempFileBufferSize(128 * 1024))) {
+            ExcelWriterUtils.list2Excel(streamingWorkbook, streamingWorkbook.createSheet(),
+                    Collections.singletonList(new Writer1("name", 1D)), Writer1.class);
+            ExcelWriterUtils.toStream(stored, streamingWorkbook, new ExcelWriteOptions().setCompressionLevel(ExcelWriteOptions.STORED));
+            // 压缩级别只作用于本次输出
+            assertNull(streamingWorkbook.getCompressionLevel());
+        }
+
+        Workbook workbook = new XSSFWorkbook();
+        ExcelWriterUtils.list2Excel(workbook, workbook.createSheet(),
+                Collections.singletonList(new Writer1("name", 1D)), Writer1.class);
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        ExcelWriterUtils.toStream(deflated, workbook, new ExcelWriteOptions().setCompressionLevel(ExcelWriteOptions.BEST_COMPRESSION));
+
+        try (Workbook storedWorkbook = new XSSFWorkbook(new ByteArrayInputStream(stored.toByteArray()));
+             Workbook deflatedWorkbook = new XSSFWorkbook(new ByteArrayInputStream(deflated.toByteArray()))) {
+            assertEquals("name", storedWorkbook.getSheetAt(0).getRow(1).getCell(0).getStringCellValue());
+            assertEquals("name", deflatedWorkbook.getSheetAt(0).getRow(1).getCell(0).getStringCellValue());
+        }
+        assertTrue(stored.size() > deflated.size());
+    }
+
+    @org.junit.jupiter.api.Test
+    void toStreamRejectsCompressionLevelForPlainSxssfWorkbook() throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook()) {
+            workbook.createSheet();
+            RuntimeException exception = assertThrows(RuntimeException.class, () -> ExcelWriterUtils.toStream(
+                    new ByteArrayOutputStream(), workbook, new ExcelWriteOptions().setCompressionLevel(ExcelWriteOptions.STORED)));
+            assertEquals("SXSSFWorkbook 不支持设置压缩级别，请使用 StreamingWorkbook", exception.getMessage());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void list2ExcelWritesNativeDateCellsWithSharedStyle() throws IOException {
+        List<Writer2> list = Arrays.asList(
+                new Writer2("a", LocalDate.of(2024, 1, 2), new Date()),
+                new Writer2("b", LocalDate.of(2024, 3, 4), new Date()));
+
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        ExcelWriterUtils.list2Excel(workbook, sheet, list, Writer2.class);
+
+        Cell first = sheet.getRow(1).getCell(1);
+        Cell second = sheet.getRow(2).getCell(1);
+        assertEquals(CellType.NUMERIC, first.getCellType());
+        assertTrue(DateUtil.isCellDateFormatted(first));
+        assertEquals(LocalDate.of(2024, 3, 4), second.getLocalDateTimeCellValue().toLocalDate());
+        assertEquals(first.getCellStyle().getIndex(), second.getCellStyle().getIndex());
+        assertEquals("yyyy-mm-dd hh:mm:ss", sheet.getRow(1).getCell(2).getCellStyle().getDataFormatString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelWriterUtils.list2Excel(out, list, Writer2.class);
+        try (Workbook streamed = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Cell cell = streamed.getSheetAt(0).getRow(1).getCell(1);
+            assertTrue(DateUtil.isCellDateFormatted(cell));
+            assertEquals("yyyy-mm-dd", cell.getCellStyle().getDataFormatString());
+            assertEquals(LocalDate.of(2024, 1, 2), cell.getLocalDateTimeCellValue().toLocalDate());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void list2ExcelUsesRegisteredFormatterInstance() {
+        assertSame(FormatterRegistry.getWriterFormatter(Writer1DateExcelWriterFormatter.class),
+                FormatterRegistry.getWriterFormatter(Writer1DateExcelWriterFormatter.class));
+
+        FormatterRegistry.register(Writer1DateExcelWriterFormatter.class, new Writer1DateExcelWriterFormatter() {
+            @Override
+            public Object format(Object obj) {
+                return "registered";
+            }
+        });
+        try {
+            Workbook workbook = new XSSFWorkbook();
+            Sheet sheet = workbook.createSheet();
+            ExcelWriterUtils.list2Excel(workbook, sheet, Collections.singletonList(
+                    new Writer1("name", 1D, new Date())), Writer1.class);
+            assertEquals("registered", sheet.getRow(1).getCell(2).getStringCellValue());
+        } finally {
+            FormatterRegistry.unregister(Writer1DateExcelWriterFormatter.class);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void list2ExcelWritesPrimitiveFieldsAsNumbers() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        ExcelWriterUtils.list2Excel(workbook, sheet, Collections.singletonList(
+                new Writer3(7, 12345678901L, 0.1F, new BigDecimal("12.34"), 'A')), Writer3.class);
+
+        assertEquals(7D, sheet.getRow(1).getCell(0).getNumericCellValue());
+        assertEquals(12345678901D, sheet.getRow(1).getCell(1).getNumericCellValue());
+        assertEquals(0.1D, sheet.getRow(1).getCell(2).getNumericCellValue());
+        assertEquals(12.34D, sheet.getRow(1).getCell(3).getNumericCellValue());
+        assertEquals("A", sheet.getRow(1).getCell(4).getStringCellValue());
+    }
+
+    @org.junit.jupiter.api.Test
+    void list2ExcelWritesPrimitiveFieldsToXlsxStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelWriterUtils.list2Excel(out, Arrays.asList(
+                new Writer3(7, 12345678901L, 0.1F, new BigDecimal("12.34"), 'A'),
+                new Writer3(8, 1L, Float.NaN, null, 'B'),
+                new Writer3(9, 2L, Float.NEGATIVE_INFINITY, null, 'C')), Writer3.class);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(7D, sheet.getRow(1).getCell(0).getNumericCellValue());
+            assertEquals(12345678901D, sheet.getRow(1).getCell(1).getNumericCellValue());
+            assertEquals(0.1D, sheet.getRow(1).getCell(2).getNumericCellValue());
+            // 与 POI 一致：NaN 写为 #NUM!，无穷写为 #DIV/0!
+            assertEquals(CellType.ERROR, sheet.getRow(2).getCell(2).getCellType());
+            assertEquals(FormulaError.NUM.getCode(), sheet.getRow(2).getCell(2).getErrorCellValue());
+            assertEquals(CellType.ERROR, sheet.getRow(3).getCell(2).getCellType());
+            assertEquals(FormulaError.DIV0.getCode(), sheet.getRow(3).getCell(2).getErrorCellValue());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void list2ExcelExportsOnlyAnnotatedFields() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        ExcelWriterUtils.list2Excel(workbook, sheet, Collections.singletonList(
+                new PartialWriter("a", "备注", 3)), PartialWriter.class);
+
+        // 未注解的字段不生成列，后面的列不会右移
+        assertEquals(2, sheet.getRow(0).getLastCellNum());
+        assertEquals("名称", sheet.getRow(0).getCell(0).getStringCellValue());
+        assertEquals("数量", sheet.getRow(0).getCell(1).getStringCellValue());
+        assertEquals("a", sheet.getRow(1).getCell(0).getStringCellValue());
+        assertEquals(3D, sheet.getRow(1).getCell(1).getNumericCellValue());
+        assertEquals(2, sheet.getRow(1).getLastCellNum());
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class PartialWriter {
+
+        @ExcelWriter(name = "名称")
+        private String name;
+
+        private String remark;
+
+        @ExcelWriter(name = "数量")
+        private Integer count;
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void table2ExcelPlacesCellsAroundPendingRowspans() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        ExcelTable table = new ExcelTable(
+                Arrays.asList(
+                        Arrays.asList(
+                                new ExcelColumn("a", "a").setRowspan(3),
+                                new ExcelColumn("b", "b").setColspan(70).setRowspan(2),
+                                new ExcelColumn("c", "c")),
+                        Collections.singletonList(new ExcelColumn("d", "d")),
+                        Arrays.asList(new ExcelColumn("e", "e"), new ExcelColumn("f", "f"))),
+                Collections.emptyList(),
+                Collections.emptyList());
+
+        ExcelWriterUtils.table2Excel(workbook, sheet, table);
+
+        assertEquals("c", sheet.getRow(0).getCell(71).getStringCellValue());
+        assertEquals("d", sheet.getRow(1).getCell(71).getStringCellValue());
+        assertEquals("e", sheet.getRow(2).getCell(1).getStringCellValue());
+        assertEquals("f", sheet.getRow(2).getCell(2).getStringCellValue());
+        assertEquals(2, sheet.getNumMergedRegions());
+    }
+
+    @org.junit.jupiter.api.Test
+    void table2ExcelRejectsMergedRegionsOverlappingAcrossSections() {
+        ExcelTable table = new ExcelTable(
+                Collections.singletonList(Collections.singletonList(new ExcelColumn("a", "a").setRowspan(2))),
+                Collections.singletonList(Collections.singletonList(new ExcelColumn("b", "b").setColspan(2))),
+                Collections.emptyList());
+
+        // 表头跨行进入内容，与内容的合并单元格重叠
+        Workbook workbook = new XSSFWorkbook();
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> ExcelWriterUtils.table2Excel(workbook, workbook.createSheet(), table));
+        assertEquals("合并单元格重叠: A2:B2", e.getMessage());
+        assertThrows(RuntimeException.class, () -> ExcelWriterUtils.table2Excel(workbook, workbook.createSheet(), table,
+                new ExcelWriteOptions().setVerifyMergedRegions(true)));
+
+        // 不重叠时正常写入并通过校验
+        ExcelTable validTable = new ExcelTable(
+                Collections.singletonList(Collections.singletonList(new ExcelColumn("a", "a").setRowspan(2))),
+                Collections.singletonList(Arrays.asList(new ExcelColumn("x", "x"), new ExcelColumn("b", "b").setColspan(2))),
+                Collections.emptyList());
+        Sheet sheet = workbook.createSheet();
+        ExcelWriterUtils.table2Excel(workbook, sheet, validTable, new ExcelWriteOptions().setVerifyMergedRegions(true));
+        assertEquals(2, sheet.getNumMergedRegions());
+    }
+
+    @org.junit.jupiter.api.Test
+    void table2ExcelStreamsBodyRowsThroughSlidingWindow() throws IOException {
+        Iterator<List<ExcelColumn>> columns = IntStream.range(0, 1000)
+                .mapToObj(index -> index % 2 == 0
+                        ? Arrays.asList(new ExcelColumn("r" + index, "a").setRowspan(2), new ExcelColumn(index, "b"))
+                        : Collections.singletonList(new ExcelColumn(index, "b")))
+                .iterator();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SXSSFWorkbook streamingWorkbook = new SXSSFWorkbook(5)) {
+            ExcelWriterUtils.table2Excel(streamingWorkbook, streamingWorkbook.createSheet(), new ExcelStreamTable(
+                    Collections.singletonList(Arrays.asList(new ExcelColumn("a", "a"), new ExcelColumn("b", "b"))),
+                    columns,
+                    Collections.singletonList(Collections.singletonList(new ExcelColumn("footer", "f")))));
+            ExcelWriterUtils.toStream(out, streamingWorkbook);
+        }
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("r998", sheet.getRow(999).getCell(0).getStringCellValue());
+            assertEquals(999D, sheet.getRow(1000).getCell(1).getNumericCellValue());
+            assertEquals("footer", sheet.getRow(1001).getCell(0).getStringCellValue());
+            assertEquals(500, sheet.getNumMergedRegions());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void table2ExcelStylesOnlyRegionEdges() {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        ExcelColumn block = new ExcelColumn("block", "a").setRowspan(4).setColspan(4)
+                .setBorder(new ExcelColumnBorder(new BorderValue[]{BorderValue.ALL}, BorderStyle.THIN, null));
+        ExcelWriterUtils.table2Excel(workbook, sheet, new ExcelTable(
+                Collections.singletonList(Collections.singletonList(block)),
+                Collections.emptyList(),
+                Collections.emptyList()));
+
+        CellStyle style = sheet.getRow(0).getCell(0).getCellStyle();
+        assertEquals(BorderStyle.THIN, style.getBorderTop());
+        assertEquals(style.getIndex(), sheet.getRow(3).getCell(3).getCellStyle().getIndex());
+        assertEquals(style.getIndex(), sheet.getRow(1).getCell(3).getCellStyle().getIndex());
+        assertNull(sheet.getRow(1).getCell(1));
+    }
+
+    @org.junit.jupiter.api.Test
+    void template2ExcelStreamsRowsWithTemplateStyles() throws IOException {
+        ByteArrayOutputStream template = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("title");
+            CellStyle moneyStyle = workbook.createCellStyle();
+            moneyStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+            Row dataRow = sheet.createRow(2);
+            dataRow.createCell(1).setCellStyle(moneyStyle);
+            // 数据行中的固定文字和公式复制到每个数据行
+            CellStyle unitStyle = workbook.createCellStyle();
+            unitStyle.setAlignment(HorizontalAlignment.RIGHT);
+            dataRow.createCell(2).setCellValue("元");
+            dataRow.getCell(2).setCellStyle(unitStyle);
+            dataRow.createCell(3).setCellFormula("B3*2+$B$3");
+            Row footer = sheet.createRow(3);
+            footer.createCell(0).setCellValue("footer");
+            footer.createCell(2).setCellFormula("SUM(B3:B3)");
+            footer.createCell(3).setCellFormula("C4*2");
+            sheet.addMergedRegion(new CellRangeAddress(3, 3, 0, 1));
+            workbook.write(template);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelWriterUtils.template2Excel(new ByteArrayInputStream(template.toByteArray()), out,
+                new WriterObj("obj", 1D), Arrays.asList(new Writer4("a", 1D), new Writer4("b", 2D), new Writer4("c", 3D)),
+                Writer4.class);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("title", sheet.getRow(0).getCell(0).getStringCellValue());
+            // 模板数据行之后的坐标内容随数据顺延
+            assertEquals("obj", sheet.getRow(6).getCell(5).getStringCellValue());
+            assertEquals("a", sheet.getRow(2).getCell(0).getStringCellValue());
+            assertEquals(3D, sheet.getRow(4).getCell(1).getNumericCellValue());
+            assertEquals("0.00", sheet.getRow(4).getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(sheet.getRow(2).getCell(1).getCellStyle().getIndex(), sheet.getRow(3).getCell(1).getCellStyle().getIndex());
+            assertEquals("元", sheet.getRow(4).getCell(2).getStringCellValue());
+            assertEquals(HorizontalAlignment.RIGHT, sheet.getRow(4).getCell(2).getCellStyle().getAlignment());
+            assertEquals("B3*2+$B$3", sheet.getRow(2).getCell(3).getCellFormula());
+            assertEquals("B5*2+$B$3", sheet.getRow(4).getCell(3).getCellFormula());
+            assertEquals("footer", sheet.getRow(5).getCell(0).getStringCellValue());
+            assertEquals(5, sheet.getMergedRegion(0).getFirstRow());
+            // 表尾公式覆盖全部数据行，引用表尾的单元格随之顺延
+            assertEquals("SUM(B3:B5)", sheet.getRow(5).getCell(2).getCellFormula());
+            assertEquals("C6*2", sheet.getRow(5).getCell(3).getCellFormula());
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void template2ExcelRejectsListFieldWithoutColumn() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ExcelWriterUtils.template2Excel(
+                new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream(), null,
+                Collections.singletonList(new NameOnlyWriter()), NameOnlyWriter.class));
+        assertEquals("列表字段需设置 @ExcelWriter(value) 或 @ExcelWriter(index): name", e.getMessage());
+    }
+
+    static class NameOnlyWriter {
+
+        @ExcelWriter(name = "名称")
+        private String name;
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void xyWritesCoordinateMapSortedByRow() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("C3", 3D);
+        data.put("$A$1", "a1");
+        data.put("b2", "b2");
+        data.put("AA10", 10);
+        data.put("A2", null);
+        data.put("1A", "invalid");
+
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        ExcelWriterUtils.xy(workbook, sheet, data);
+
+        assertEquals("a1", sheet.getRow(0).getCell(0).getStringCellValue());
+        assertEquals("b2", sheet.getRow(1).getCell(1).getStringCellValue());
+        assertNull(sheet.getRow(1).getCell(0));
+        assertEquals(3D, sheet.getRow(2).getCell(2).getNumericCellValue());
+        assertEquals(10D, sheet.getRow(9).getCell(26).getNumericCellValue());
+        assertEquals(sheet.getRow(0).getCell(0).getCellStyle().getIndex(), sheet.getRow(2).getCell(2).getCellStyle().getIndex());
+        assertEquals(4, sheet.getPhysicalNumberOfRows());
+    }
+
+    @org.junit.jupiter.api.Test
+    void template2ZipStampsDocumentsFromPreparedTemplate() throws IOException {
+        ByteArrayOutputStream template = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("title");
+            sheet.createRow(4).createCell(0).setCellValue("name");
+            CellStyle moneyStyle = workbook.createCellStyle();
+            moneyStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+            Cell money = sheet.createRow(5).createCell(5);
+            money.setCellValue(0D);
+            money.setCellStyle(moneyStyle);
+            sheet.createRow(9).createCell(0).setCellValue("footer");
+            workbook.write(template);
+        }
+
+        XlsxTemplate<WriterObj> xlsxTemplate = ExcelWriterUtils.prepareTemplate(
+                new ByteArrayInputStream(template.toByteArray()), WriterObj.class);
+        List<WriterObj> list = IntStream.range(0, 300)
+                .mapToObj(index -> new WriterObj("name" + index, (double) index))
+                .collect(Collectors.toList());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExcelWriterUtils.template2Zip(xlsxTemplate, out, list, obj -> obj.getName() + ".xlsx");
+
+        int count = 0;
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                assertEquals("name" + count + ".xlsx", entry.getName());
+                try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(IOUtils.toByteArray(zipInputStream)))) {
+                    Sheet sheet = workbook.getSheetAt(0);
+                    assertEquals("title", sheet.getRow(0).getCell(0).getStringCellValue());
+                    assertEquals("name", sheet.getRow(4).getCell(0).getStringCellValue());
+                    assertEquals("name" + count, sheet.getRow(4).getCell(5).getStringCellValue());
+                    assertEquals(count, sheet.getRow(5).getCell(5).getNumericCellValue());
+                    assertEquals("0.00", sheet.getRow(5).getCell(5).getCellStyle().getDataFormatString());
+                    assertEquals(BorderStyle.THIN, sheet.getRow(4).getCell(5).getCellStyle().getBorderTop());
+                    assertNull(sheet.getRow(6));
+                    assertEquals("footer", sheet.getRow(9).getCell(0).getStringCellValue());
+                }
+                count++;
+            }
+        }
+        assertEquals(300, count);
+    }
+
+    @org.junit.jupiter.api.Test
+    void template2ZipUsesThreadInstancesOfStatefulFormatters() throws Exception {
+        XlsxTemplate<StatefulWriter> xlsxTemplate = ExcelWriterUtils.prepareTemplate(
+                new ByteArrayInputStream(emptyTemplate()), StatefulWriter.class);
+        List<StatefulWriter> list = IntStream.range(0, 64)
+                .mapToObj(index -> new StatefulWriter("name" + index))
+                .collect(Collectors.toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ExcelWriterUtils.template2Zip(xlsxTemplate, out, list, obj -> obj.getName() + ".xlsx", executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        int count = 0;
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            while (zipInputStream.getNextEntry() != null) {
+                try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(IOUtils.toByteArray(zipInputStream)))) {
+                    assertEquals("name" + count + "!", workbook.getSheetAt(0).getRow(1).getCell(1).getStringCellValue());
+                }
+                count++;
+            }
+        }
+        assertEquals(64, count);
+    }
+
+    @org.junit.jupiter.api.Test
+    void statefulFormatterHasOneInstancePerThread() throws Exception {
+        Object[][] instances = new Object[2][];
+        Thread[] threads = new Thread[2];
+        for (int i = 0; i < threads.length; i++) {
+            int index = i;
+            threads[i] = new Thread(() -> instances[index] = new Object[]{
+                    FormatterRegistry.getWriterFormatter(ThreadConfinedFormatter.class),
+                    ExcelWriterUtils.getFieldColumns(StatefulWriter.class).get(0).getFormatter()
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        // 同一线程中注册表和字段列使用同一个实例，不同线程使用不同实例
+        assertNotNull(instances[0][0]);
+        assertSame(instances[0][0], instances[0][1]);
+        assertSame(instances[1][0], instances[1][1]);
+        assertNotSame(instances[0][0], instances[1][0]);
+        // 生成的映射类已缓存时，当前线程仍然得到自己的实例
+        assertNotSame(instances[0][1], ExcelWriterUtils.getFieldColumns(StatefulWriter.class).get(0).getFormatter());
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class StatefulWriter {
+
+        @ExcelWriter(value = "B2", formatter = ThreadConfinedFormatter.class)
+        private String name;
+
+    }
+
+    /**
+     * 只能在创建它的线程中使用的转换器
+     */
+    @ExcelStatefulFormatter
+    public static class ThreadConfinedFormatter implements IExcelWriterFormatter {
+
+        private final Thread owner = Thread.currentThread();
+
+        @Override
+        public Object format(Object t) {
+            if (Thread.currentThread() != owner)
+                throw new IllegalStateException("转换器在其他线程中使用");
+            return t + "!";
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void prepareTemplateRejectsDuplicateCoordinates() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ExcelWriterUtils.prepareTemplate(
+                new ByteArrayInputStream(emptyTemplate()), DuplicateCoordinateWriter.class));
+        assertEquals("字段坐标重复: name, remark", e.getMessage());
+    }
+
+    @Data
+    public static class DuplicateCoordinateWriter {
+
+        @ExcelWriter("B2")
+        private String name;
+
+        @ExcelWriter("B2")
+        private String remark;
+
+    }
+
+    @org.junit.jupiter.api.Test
+    void prepareTemplateDropsCalcChainWhenOverwritingFormula() throws IOException {
+        ByteArrayOutputStream template = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue(1D);
+            sheet.createRow(5).createCell(5).setCellFormula("A1*2");
+            CalculationChain calcChain = (CalculationChain) workbook.createRelationship(XSSFRelation.CALC_CHAIN,
+                    XSSFFactory.getInstance());
+            CTCalcCell calcCell = calcChain.getCTCalcChain().addNewC();
+            calcCell.setR("F6");
+            calcCell.setI(1);
+            workbook.write(template);
+        }
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(template.toByteArray()))) {
+            assertEquals("F6", workbook.getCalculationChain().getCTCalcChain().getCArray(0).getR());
+        }
+
+        XlsxTemplate<WriterObj> xlsxTemplate = ExcelWriterUtils.prepareTemplate(
+                new ByteArrayInputStream(template.toByteArray()), WriterObj.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        xlsxTemplate.write(out, new WriterObj("name", 3D));
+
+        // 计算链中不能保留已被数据覆盖的公式单元格
+        List<String> entryNameList = new ArrayList<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entryNameList.add(entry.getName());
+                if (entry.getName().endsWith(".xml") || entry.getName().endsWith(".rels"))
+                    assertFalse(new String(IOUtils.toByteArray(zipInputStream), StandardCharsets.UTF_8).contains("calcChain"));
+            }
+        }
+        assertFalse(entryNameList.contains("xl/calcChain.xml"));
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertNull(workbook.getCalculationChain());
+            assertEquals(CellType.NUMERIC, workbook.getSheetAt(0).getRow(5).getCell(5).getCellType());
+            assertEquals(3D, workbook.getSheetAt(0).getRow(5).getCell(5).getNumericCellValue());
+        }
+    }
+
+    private static byte[] emptyTemplate() {
+        ByteArrayOutputStream template = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            workbook.createSheet();
+            workbook.write(template);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return template.toByteArray();
+    }
+
+    @org.junit.jupiter.api.Test
+    void append2ExcelAddsRowsAfterLastRow(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("ledger.xlsx").toFile();
+        try (OutputStream outputStream = Files.newOutputStream(file.toPath())) {
+            ExcelWriterUtils.list2Excel(outputStream, Arrays.asList(
+                    new Writer2("a", LocalDate.of(2024, 1, 1), null),
+                    new Writer2("b", LocalDate.of(2024, 1, 2), null)), Writer2.class);
+        }
+
+        ExcelWriterUtils.append2Excel(file.getPath(), Collections.singletonList(
+                new Writer2("c", LocalDate.of(2024, 1, 3), null)), Writer2.class);
+        ExcelWriterUtils.append2Excel(file.getPath(), Collections.singletonList(
+                new Writer2("d", LocalDate.of(2024, 1, 4), null)), Writer2.class);
+
+        try (Workbook workbook = new XSSFWorkbook(file)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(4, sheet.getLastRowNum());
+            assertEquals("名称", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("b", sheet.getRow(2).getCell(0).getStringCellValue());
+            assertEquals("d", sheet.getRow(4).getCell(0).getStringCellValue());
+            assertEquals(LocalDate.of(2024, 1, 4), sheet.getRow(4).getCell(1).getLocalDateTimeCellValue().toLocalDate());
+            assertEquals("yyyy-mm-dd", sheet.getRow(4).getCell(1).getCellStyle().getDataFormatString());
+            assertEquals(sheet.getRow(1).getCell(1).getCellStyle().getIndex(), sheet.getRow(4).getCell(1).getCellStyle().getIndex());
+        } catch (org.apache.poi.openxml4j.exceptions.InvalidFormatException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void append2ExcelAddsRowsToNamedSheet(@TempDir Path tempDir) throws IOException {
+        File file = tempDir.resolve("sheets.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream outputStream = Files.newOutputStream(file.toPath())) {
+            workbook.createSheet("汇总").createRow(0).createCell(0).setCellValue("total");
+            Sheet detail = workbook.createSheet("明细");
+            detail.createRow(0).createCell(0).setCellValue("名称");
+            detail.createRow(1).createCell(0).setCellValue("a");
+            workbook.write(outputStream);
+        }
+
+        ExcelWriterUtils.append2Excel(file.getPath(), "明细", Collections.singletonList(
+                new Writer2("b", LocalDate.of(2024, 1, 2), null)), Writer2.class, new ExcelWriteOptions());
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ExcelWriterUtils.append2Excel(file.getPath(),
+                "不存在", Collections.singletonList(new Writer2("c", null, null)), Writer2.class, new ExcelWriteOptions()));
+        assertEquals("文件中不存在工作表: 不存在", e.getMessage());
+
+        try (Workbook workbook = new XSSFWorkbook(file)) {
+            assertEquals(0, workbook.getSheet("汇总").getLastRowNum());
+            Sheet sheet = workbook.getSheet("明细");
+            assertEquals(2, sheet.getLastRowNum());
+            assertEquals("a", sheet.getRow(1).getCell(0).getStringCellValue());
+            assertEquals("b", sheet.getRow(2).getCell(0).getStringCellValue());
+        } catch (org.apache.poi.openxml4j.exceptions.InvalidFormatException ex) {
+            throw new IOException(ex);
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.reader.annotation.ExcelReader;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+@Data
+public class Reader4 {
+
+    @ExcelReader(name = "名称")
+    private String name;
+
+    @ExcelReader(name = "金额")
+    private BigDecimal money;
+
+    @ExcelReader(name = "时间")
+    private Date time;
+
+    @ExcelReader(index = 3)
+    private Long id;
+
+    @ExcelReader(name = "备注", formatter = Reader3StringReaderFormatter.class)
+    private String remark;
+
+}
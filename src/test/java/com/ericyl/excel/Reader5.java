@@ -0,0 +1,28 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.reader.annotation.ExcelReader;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.UUID;
+
+@Data
+public class Reader5 {
+
+    @ExcelReader(index = 0)
+    private int count;
+
+    @ExcelReader(index = 1)
+    private Short level;
+
+    @ExcelReader(index = 2)
+    private LocalDate day;
+
+    @ExcelReader(index = 3)
+    private UUID uuid;
+
+    @ExcelReader(index = 4)
+    private Currency currency;
+
+}
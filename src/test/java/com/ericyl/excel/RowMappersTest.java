@@ -0,0 +1,101 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.mapper.IRowMapper;
+import com.ericyl.excel.mapper.IRowWriter;
+import com.ericyl.excel.mapper.RowMappers;
+import com.ericyl.excel.mapper.model.MappedField;
+import com.ericyl.excel.reader.annotation.ExcelReader;
+import com.ericyl.excel.writer.annotation.ExcelWriter;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RowMappersTest {
+
+    @org.junit.jupiter.api.Test
+    void generatedRowMapperMatchesReflection() {
+        // 测试类由 excel-plus-processor 生成映射类
+        IRowMapper<Reader4> rowMapper = RowMappers.getRowMapper(Reader4.class);
+        assertNotNull(rowMapper);
+        assertEquals("Reader4_RowMapper", rowMapper.getClass().getSimpleName());
+
+        List<Field> fieldList = Arrays.stream(Reader4.class.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(ExcelReader.class))
+                .collect(Collectors.toList());
+        List<MappedField> mappedFieldList = RowMappers.getReaderFields(Reader4.class);
+        assertEquals(fieldList.size(), mappedFieldList.size());
+        for (int i = 0; i < fieldList.size(); i++) {
+            Field field = fieldList.get(i);
+            MappedField mappedField = mappedFieldList.get(i);
+            assertEquals(field.getName(), mappedField.getName());
+            assertEquals(field.getType(), mappedField.getType());
+            assertEquals(field.getAnnotation(ExcelReader.class), mappedField.getReader());
+            assertNull(mappedField.getField());
+        }
+
+        Reader4 reader = RowMappers.newInstance(Reader4.class);
+        mappedFieldList.get(1).getSetter().accept(reader, new BigDecimal("1.5"));
+        assertEquals(new BigDecimal("1.5"), reader.getMoney());
+    }
+
+    @org.junit.jupiter.api.Test
+    void generatedRowWriterMatchesReflection() {
+        IRowWriter<Writer1> rowWriter = RowMappers.getRowWriter(Writer1.class);
+        assertNotNull(rowWriter);
+        assertEquals("Writer1_RowWriter", rowWriter.getClass().getSimpleName());
+
+        List<Field> fieldList = Arrays.stream(Writer1.class.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(ExcelWriter.class))
+                .collect(Collectors.toList());
+        List<MappedField> mappedFieldList = RowMappers.getWriterFields(Writer1.class);
+        assertEquals(fieldList.size(), mappedFieldList.size());
+        for (int i = 0; i < fieldList.size(); i++) {
+            Field field = fieldList.get(i);
+            MappedField mappedField = mappedFieldList.get(i);
+            assertEquals(field.getName(), mappedField.getName());
+            assertEquals(field.getType(), mappedField.getType());
+            assertEquals(field.getAnnotation(ExcelWriter.class), mappedField.getWriter());
+        }
+        assertEquals("a", mappedFieldList.get(0).getGetter().apply(new Writer1("a", 1D)));
+    }
+
+    @org.junit.jupiter.api.Test
+    void generatedSetterWidensLikeReflection() throws Exception {
+        IRowMapper<PrimitiveReader> rowMapper = RowMappers.getRowMapper(PrimitiveReader.class);
+        assertNotNull(rowMapper);
+        List<MappedField> mappedFieldList = RowMappers.getReaderFields(PrimitiveReader.class);
+
+        // 反射 Field.set 允许拓宽转换，生成的 setter 保持一致
+        PrimitiveReader expected = new PrimitiveReader();
+        PrimitiveReader.class.getDeclaredField("total").set(expected, 3);
+        PrimitiveReader.class.getDeclaredField("rate").set(expected, 'a');
+        PrimitiveReader actual = new PrimitiveReader();
+        mappedFieldList.get(0).getSetter().accept(actual, 3);
+        mappedFieldList.get(1).getSetter().accept(actual, 'a');
+        assertEquals(expected.total, actual.total);
+        assertEquals(expected.rate, actual.rate);
+
+        mappedFieldList.get(0).getSetter().accept(actual, 5L);
+        mappedFieldList.get(1).getSetter().accept(actual, 1.5F);
+        assertEquals(5L, actual.total);
+        assertEquals(1.5D, actual.rate);
+    }
+
+    static class PrimitiveReader {
+
+        @ExcelReader(index = 0)
+        long total;
+
+        @ExcelReader(index = 1)
+        double rate;
+
+    }
+
+}
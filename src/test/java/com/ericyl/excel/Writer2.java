@@ -0,0 +1,25 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.writer.annotation.ExcelWriter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Writer2 {
+
+    @ExcelWriter(name = "名称", index = 0)
+    private String name;
+
+    @ExcelWriter(name = "日期", index = 1, dateFormat = "yyyy-mm-dd")
+    private LocalDate date;
+
+    @ExcelWriter(name = "时间", index = 2, dateFormat = "yyyy-mm-dd hh:mm:ss")
+    private Date time;
+
+}
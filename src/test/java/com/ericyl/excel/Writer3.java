@@ -0,0 +1,30 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.writer.annotation.ExcelWriter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Writer3 {
+
+    @ExcelWriter(name = "数量", index = 0)
+    private int count;
+
+    @ExcelWriter(name = "编号", index = 1)
+    private long id;
+
+    @ExcelWriter(name = "比例", index = 2)
+    private float rate;
+
+    @ExcelWriter(name = "金额", index = 3)
+    private BigDecimal amount;
+
+    @ExcelWriter(name = "等级", index = 4)
+    private char level;
+
+}
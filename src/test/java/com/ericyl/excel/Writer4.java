@@ -0,0 +1,19 @@
+package com.ericyl.excel;
+
+import com.ericyl.excel.writer.annotation.ExcelWriter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Writer4 {
+
+    @ExcelWriter(value = "A3")
+    private String name;
+
+    @ExcelWriter(value = "B3")
+    private Double money;
+
+}